@@ -0,0 +1,809 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.jgltf.model.creation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+
+import de.javagl.jgltf.impl.v2.Accessor;
+import de.javagl.jgltf.impl.v2.Asset;
+import de.javagl.jgltf.impl.v2.Buffer;
+import de.javagl.jgltf.impl.v2.BufferView;
+import de.javagl.jgltf.impl.v2.GlTF;
+import de.javagl.jgltf.impl.v2.Image;
+import de.javagl.jgltf.impl.v2.Material;
+import de.javagl.jgltf.impl.v2.MaterialPbrMetallicRoughness;
+import de.javagl.jgltf.impl.v2.Mesh;
+import de.javagl.jgltf.impl.v2.MeshPrimitive;
+import de.javagl.jgltf.impl.v2.Node;
+import de.javagl.jgltf.impl.v2.Sampler;
+import de.javagl.jgltf.impl.v2.Scene;
+import de.javagl.jgltf.impl.v2.Texture;
+import de.javagl.jgltf.impl.v2.TextureInfo;
+import de.javagl.jgltf.model.AccessorModel;
+import de.javagl.jgltf.model.GltfConstants;
+import de.javagl.jgltf.model.MeshPrimitiveModel;
+import de.javagl.jgltf.model.io.Buffers;
+import de.javagl.jgltf.model.io.GltfWriter;
+import de.javagl.jgltf.model.io.v2.GltfAssetWriterV2;
+import de.javagl.jgltf.model.v2.GltfCreatorV2;
+
+/**
+ * A class for writing very large glTF 2.0 assets incrementally.<br>
+ * <br>
+ * In contrast to the {@link GltfModelBuilder}, which requires all model
+ * elements and their data to be in memory until the model is written,
+ * this class receives the elements one at a time. The data of the 
+ * accessors of each {@link MeshPrimitiveModel} is written into a 
+ * temporary file as soon as the mesh primitive is added, and only the 
+ * glTF JSON elements are kept in memory. So the memory requirements 
+ * only depend on the size of the JSON, and not on the size of the
+ * geometry data.<br>
+ * <br>
+ * Samplers, textures, materials and nodes are given as the plain glTF 
+ * elements. They may refer to the other elements by the indices that 
+ * are returned by the <code>add...</code> methods. The data of images
+ * may either be written into the binary data, or the images may refer
+ * to external files. For example:
+ * <pre><code>
+ * try (IncrementalGltfWriter writer = new IncrementalGltfWriter())
+ * {
+ *     int imageIndex = writer.addImage(imageData, "image/png");
+ *     Texture texture = new Texture();
+ *     texture.setSource(imageIndex);
+ *     TextureInfo textureInfo = new TextureInfo();
+ *     textureInfo.setIndex(writer.addTexture(texture));
+ *     MaterialPbrMetallicRoughness pbr = new MaterialPbrMetallicRoughness();
+ *     pbr.setBaseColorTexture(textureInfo);
+ *     Material material = new Material();
+ *     material.setPbrMetallicRoughness(pbr);
+ *     int materialIndex = writer.addMaterial(material);
+ *     int meshIndex = writer.addMesh("mesh");
+ *     writer.addMeshPrimitive(meshIndex, meshPrimitiveModel, materialIndex);
+ *     Node node = new Node();
+ *     node.setMesh(meshIndex);
+ *     writer.addSceneNode(writer.addNode(node));
+ *     writer.writeBinary(path);
+ * }
+ * </code></pre>
+ * The asset is finally written with {@link #writeBinary(Path)} or 
+ * {@link #write(Path)}. The temporary file is deleted when the writer
+ * is {@link #close() closed}.<br>
+ * <br>
+ * This class is not thread-safe.
+ */
+public final class IncrementalGltfWriter implements Closeable
+{
+    /**
+     * The path of the temporary file for the binary data
+     */
+    private final Path binaryPath;
+    
+    /**
+     * The channel for writing the binary data
+     */
+    private final FileChannel binaryChannel;
+    
+    /**
+     * The number of bytes that have been written to the binary data
+     */
+    private long binaryLength;
+    
+    /**
+     * The {@link BufferView} elements
+     */
+    private final List<BufferView> bufferViews;
+    
+    /**
+     * The {@link Accessor} elements
+     */
+    private final List<Accessor> accessors;
+    
+    /**
+     * The {@link Sampler} elements
+     */
+    private final List<Sampler> samplers;
+    
+    /**
+     * The {@link Image} elements
+     */
+    private final List<Image> images;
+    
+    /**
+     * The {@link Texture} elements
+     */
+    private final List<Texture> textures;
+    
+    /**
+     * The {@link Material} elements
+     */
+    private final List<Material> materials;
+    
+    /**
+     * The {@link Mesh} elements
+     */
+    private final List<Mesh> meshes;
+    
+    /**
+     * The {@link MeshPrimitive} elements of each mesh
+     */
+    private final List<List<MeshPrimitive>> meshPrimitives;
+    
+    /**
+     * The {@link Node} elements
+     */
+    private final List<Node> nodes;
+    
+    /**
+     * The indices of the nodes of the scene
+     */
+    private final List<Integer> sceneNodes;
+    
+    /**
+     * Whether the asset has already been written
+     */
+    private boolean written;
+    
+    /**
+     * Creates a new instance that stores the binary data in a temporary
+     * file in the default temporary-file directory
+     * 
+     * @throws IOException If the temporary file cannot be created
+     */
+    public IncrementalGltfWriter() throws IOException
+    {
+        this(null);
+    }
+    
+    /**
+     * Creates a new instance that stores the binary data in a temporary
+     * file in the given directory. When the asset is written with 
+     * {@link #write(Path)}, then the temporary file will be moved to
+     * the location of the binary file, so this should preferably be
+     * a directory on the same file store.
+     * 
+     * @param temporaryDirectory The directory for the temporary file.
+     * If this is <code>null</code>, then the default temporary-file 
+     * directory will be used.
+     * @throws IOException If the temporary file cannot be created
+     */
+    public IncrementalGltfWriter(Path temporaryDirectory) throws IOException
+    {
+        if (temporaryDirectory == null)
+        {
+            this.binaryPath = Files.createTempFile("jgltf", ".bin");
+        }
+        else
+        {
+            this.binaryPath = 
+                Files.createTempFile(temporaryDirectory, "jgltf", ".bin");
+        }
+        this.binaryChannel = FileChannel.open(binaryPath, 
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.bufferViews = new ArrayList<BufferView>();
+        this.accessors = new ArrayList<Accessor>();
+        this.samplers = new ArrayList<Sampler>();
+        this.images = new ArrayList<Image>();
+        this.textures = new ArrayList<Texture>();
+        this.materials = new ArrayList<Material>();
+        this.meshes = new ArrayList<Mesh>();
+        this.meshPrimitives = new ArrayList<List<MeshPrimitive>>();
+        this.nodes = new ArrayList<Node>();
+        this.sceneNodes = new ArrayList<Integer>();
+    }
+    
+    /**
+     * Add the given {@link Sampler}
+     * 
+     * @param sampler The {@link Sampler}
+     * @return The index of the sampler
+     * @throws IllegalStateException If the asset was already written
+     */
+    public int addSampler(Sampler sampler)
+    {
+        checkNotWritten();
+        samplers.add(sampler);
+        return samplers.size() - 1;
+    }
+    
+    /**
+     * Add an {@link Image} with the given data. The data is written into
+     * the temporary file, and the image will refer to it with a buffer
+     * view.
+     * 
+     * @param imageData The image data
+     * @param mimeType The MIME type of the image, for example,
+     * <code>"image/png"</code>
+     * @return The index of the image
+     * @throws IllegalStateException If the asset was already written
+     * @throws IOException If the data cannot be written
+     */
+    public int addImage(ByteBuffer imageData, String mimeType) 
+        throws IOException
+    {
+        checkNotWritten();
+        Objects.requireNonNull(mimeType, "The mimeType may not be null");
+        BufferView bufferView = 
+            writeData(Buffers.createSlice(imageData), null, null);
+        bufferViews.add(bufferView);
+        Image image = new Image();
+        image.setBufferView(bufferViews.size() - 1);
+        image.setMimeType(mimeType);
+        images.add(image);
+        return images.size() - 1;
+    }
+    
+    /**
+     * Add an {@link Image} that refers to the given URI. The caller is
+     * responsible for making sure that the URI can be resolved relative
+     * to the location of the asset that is written.
+     * 
+     * @param uri The URI of the image
+     * @return The index of the image
+     * @throws IllegalStateException If the asset was already written
+     */
+    public int addImage(String uri)
+    {
+        checkNotWritten();
+        Objects.requireNonNull(uri, "The uri may not be null");
+        Image image = new Image();
+        image.setUri(uri);
+        images.add(image);
+        return images.size() - 1;
+    }
+    
+    /**
+     * Add the given {@link Texture}. Its sampler and source have to be 
+     * given as indices that have been returned by this writer.
+     * 
+     * @param texture The {@link Texture}
+     * @return The index of the texture
+     * @throws IllegalArgumentException If the sampler index or the 
+     * source index are not valid
+     * @throws IllegalStateException If the asset was already written
+     */
+    public int addTexture(Texture texture)
+    {
+        checkNotWritten();
+        if (texture.getSampler() != null)
+        {
+            checkIndex("sampler", texture.getSampler(), samplers.size());
+        }
+        if (texture.getSource() != null)
+        {
+            checkIndex("image", texture.getSource(), images.size());
+        }
+        textures.add(texture);
+        return textures.size() - 1;
+    }
+    
+    /**
+     * Add the given {@link Material}. The texture infos of the material
+     * have to refer to textures by indices that have been returned by 
+     * this writer.
+     * 
+     * @param material The {@link Material}
+     * @return The index of the material
+     * @throws IllegalArgumentException If the material refers to a
+     * texture index that is not valid
+     * @throws IllegalStateException If the asset was already written
+     */
+    public int addMaterial(Material material)
+    {
+        checkNotWritten();
+        List<Integer> textureIndices = new ArrayList<Integer>();
+        MaterialPbrMetallicRoughness pbrMetallicRoughness = 
+            material.getPbrMetallicRoughness();
+        if (pbrMetallicRoughness != null)
+        {
+            addTextureIndex(pbrMetallicRoughness.getBaseColorTexture(), 
+                textureIndices);
+            addTextureIndex(pbrMetallicRoughness.getMetallicRoughnessTexture(), 
+                textureIndices);
+        }
+        if (material.getNormalTexture() != null)
+        {
+            textureIndices.add(material.getNormalTexture().getIndex());
+        }
+        if (material.getOcclusionTexture() != null)
+        {
+            textureIndices.add(material.getOcclusionTexture().getIndex());
+        }
+        addTextureIndex(material.getEmissiveTexture(), textureIndices);
+        for (Integer textureIndex : textureIndices)
+        {
+            if (textureIndex == null)
+            {
+                throw new IllegalArgumentException(
+                    "The material contains a texture info without an index");
+            }
+            checkIndex("texture", textureIndex, textures.size());
+        }
+        materials.add(material);
+        return materials.size() - 1;
+    }
+    
+    /**
+     * Add the index of the given texture info to the given list, if the
+     * texture info is not <code>null</code>
+     * 
+     * @param textureInfo The {@link TextureInfo}
+     * @param textureIndices The texture indices
+     */
+    private static void addTextureIndex(
+        TextureInfo textureInfo, List<Integer> textureIndices)
+    {
+        if (textureInfo != null)
+        {
+            textureIndices.add(textureInfo.getIndex());
+        }
+    }
+    
+    /**
+     * Add a new {@link Mesh} with the given name. The mesh primitives
+     * of this mesh have to be added with
+     * {@link #addMeshPrimitive(int, MeshPrimitiveModel, int)}.
+     * 
+     * @param name The name. May be <code>null</code>.
+     * @return The index of the mesh
+     * @throws IllegalStateException If the asset was already written
+     */
+    public int addMesh(String name)
+    {
+        checkNotWritten();
+        Mesh mesh = new Mesh();
+        mesh.setName(name);
+        meshes.add(mesh);
+        meshPrimitives.add(new ArrayList<MeshPrimitive>());
+        return meshes.size() - 1;
+    }
+    
+    /**
+     * Add the given {@link MeshPrimitiveModel} to the specified mesh.<br>
+     * <br>
+     * The data of the indices, attributes and morph targets of the given
+     * mesh primitive is written into the temporary file, with one buffer 
+     * view for each accessor. The given model is not referenced by this 
+     * writer afterwards. The {@link MeshPrimitiveModel#getMaterialModel() 
+     * material model} of the given mesh primitive is ignored. Instead, the 
+     * given material index is used.
+     * 
+     * @param meshIndex The index of the mesh
+     * @param meshPrimitiveModel The {@link MeshPrimitiveModel}
+     * @param materialIndex The index of the material, or a negative value
+     * if the mesh primitive should not have a material
+     * @throws IllegalArgumentException If the mesh index or the material
+     * index are not valid
+     * @throws IllegalStateException If the asset was already written
+     * @throws IOException If the data cannot be written
+     */
+    public void addMeshPrimitive(int meshIndex, 
+        MeshPrimitiveModel meshPrimitiveModel, int materialIndex) 
+            throws IOException
+    {
+        checkNotWritten();
+        checkIndex("mesh", meshIndex, meshes.size());
+        if (materialIndex >= 0)
+        {
+            checkIndex("material", materialIndex, materials.size());
+        }
+        
+        // Accessors that appear multiple times in the mesh primitive
+        // are only written once
+        Map<AccessorModel, Integer> accessorIndices = 
+            new IdentityHashMap<AccessorModel, Integer>();
+        
+        MeshPrimitive meshPrimitive = new MeshPrimitive();
+        AccessorModel indices = meshPrimitiveModel.getIndices();
+        if (indices != null)
+        {
+            meshPrimitive.setIndices(addAccessor(indices, 
+                GltfConstants.GL_ELEMENT_ARRAY_BUFFER, accessorIndices));
+        }
+        meshPrimitive.setAttributes(addAccessors(
+            meshPrimitiveModel.getAttributes(), accessorIndices));
+        List<Map<String, Integer>> targets = 
+            new ArrayList<Map<String, Integer>>();
+        for (Map<String, AccessorModel> target : 
+            meshPrimitiveModel.getTargets())
+        {
+            targets.add(addAccessors(target, accessorIndices));
+        }
+        if (!targets.isEmpty())
+        {
+            meshPrimitive.setTargets(targets);
+        }
+        meshPrimitive.setMode(meshPrimitiveModel.getMode());
+        if (materialIndex >= 0)
+        {
+            meshPrimitive.setMaterial(materialIndex);
+        }
+        meshPrimitives.get(meshIndex).add(meshPrimitive);
+    }
+    
+    /**
+     * Add the given {@link Node}. Its mesh and children have to be given
+     * as indices that have been returned by this writer.
+     * 
+     * @param node The {@link Node}
+     * @return The index of the node
+     * @throws IllegalStateException If the asset was already written
+     */
+    public int addNode(Node node)
+    {
+        checkNotWritten();
+        nodes.add(node);
+        return nodes.size() - 1;
+    }
+    
+    /**
+     * Add the specified node as a root node of the scene
+     * 
+     * @param nodeIndex The node index
+     * @throws IllegalArgumentException If the node index is not valid
+     * @throws IllegalStateException If the asset was already written
+     */
+    public void addSceneNode(int nodeIndex)
+    {
+        checkNotWritten();
+        checkIndex("node", nodeIndex, nodes.size());
+        sceneNodes.add(nodeIndex);
+    }
+    
+    /**
+     * Returns the number of bytes of binary data that have been written 
+     * into the temporary file until now
+     * 
+     * @return The number of bytes
+     */
+    public long getBinaryLength()
+    {
+        return binaryLength;
+    }
+    
+    /**
+     * Write the asset as a binary glTF to the given path. The binary
+     * data will be transferred from the temporary file into the 
+     * resulting file. Afterwards, no further elements may be added.
+     * 
+     * @param path The path
+     * @throws IOException If an IO error occurs
+     * @throws IllegalStateException If the asset was already written,
+     * or one of the meshes does not have any primitives
+     */
+    public void writeBinary(Path path) throws IOException
+    {
+        checkNotWritten();
+        GlTF gltf = createGltf(null);
+        written = true;
+        try (FileChannel channel = FileChannel.open(path, 
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            GltfAssetWriterV2 gltfAssetWriter = new GltfAssetWriterV2();
+            gltfAssetWriter.writeBinary(gltf, binaryChannel, channel);
+        }
+        close();
+    }
+    
+    /**
+     * Write the asset as a glTF JSON file to the given path. The binary
+     * data will be stored in a file in the same directory, which has the
+     * same name as the given file, with the extension <code>.bin</code>.
+     * The temporary file will be moved to this location. Afterwards, no 
+     * further elements may be added.
+     * 
+     * @param path The path
+     * @throws IOException If an IO error occurs
+     * @throws IllegalStateException If the asset was already written,
+     * or one of the meshes does not have any primitives
+     */
+    public void write(Path path) throws IOException
+    {
+        checkNotWritten();
+        String fileName = path.getFileName().toString();
+        int dotIndex = fileName.lastIndexOf('.');
+        String baseName = 
+            dotIndex > 0 ? fileName.substring(0, dotIndex) : fileName;
+        String binaryFileName = baseName + ".bin";
+        GlTF gltf = createGltf(binaryFileName);
+        written = true;
+        binaryChannel.close();
+        if (binaryLength > 0)
+        {
+            Files.move(binaryPath, path.resolveSibling(binaryFileName), 
+                StandardCopyOption.REPLACE_EXISTING);
+        }
+        try (FileChannel channel = FileChannel.open(path, 
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            GltfWriter gltfWriter = new GltfWriter();
+            gltfWriter.write(gltf, Channels.newOutputStream(channel));
+        }
+        close();
+    }
+    
+    /**
+     * Closes this writer, and deletes the temporary file. This may be 
+     * called multiple times.
+     * 
+     * @throws IOException If an IO error occurs
+     */
+    @Override
+    public void close() throws IOException
+    {
+        written = true;
+        binaryChannel.close();
+        Files.deleteIfExists(binaryPath);
+    }
+    
+    /**
+     * Write the data of all given accessors into the temporary file, 
+     * and return the mapping from the keys to the accessor indices
+     * 
+     * @param accessorModels The {@link AccessorModel} objects
+     * @param accessorIndices The indices of accessors that have already 
+     * been written for the current mesh primitive
+     * @return The mapping from the keys to the accessor indices
+     * @throws IOException If the data cannot be written
+     */
+    private Map<String, Integer> addAccessors(
+        Map<String, AccessorModel> accessorModels,
+        Map<AccessorModel, Integer> accessorIndices) throws IOException
+    {
+        Map<String, Integer> result = new LinkedHashMap<String, Integer>();
+        for (Entry<String, AccessorModel> entry : accessorModels.entrySet())
+        {
+            result.put(entry.getKey(), addAccessor(entry.getValue(), 
+                GltfConstants.GL_ARRAY_BUFFER, accessorIndices));
+        }
+        return result;
+    }
+    
+    /**
+     * Write the data of the given {@link AccessorModel} into the temporary
+     * file, and add the {@link BufferView} and {@link Accessor} for it, 
+     * if it was not already written for the current mesh primitive
+     * 
+     * @param accessorModel The {@link AccessorModel}
+     * @param target The target of the buffer view
+     * @param accessorIndices The indices of accessors that have already 
+     * been written for the current mesh primitive
+     * @return The index of the {@link Accessor}
+     * @throws IOException If the data cannot be written
+     */
+    private int addAccessor(AccessorModel accessorModel, int target,
+        Map<AccessorModel, Integer> accessorIndices) throws IOException
+    {
+        Integer existingIndex = accessorIndices.get(accessorModel);
+        if (existingIndex != null)
+        {
+            return existingIndex;
+        }
+        ByteBuffer data = accessorModel.getAccessorData().createByteBuffer();
+        
+        // Elements of vertex attributes have to be aligned to 4 bytes
+        int elementSize = accessorModel.getElementSizeInBytes();
+        Integer byteStride = null;
+        if (target == GltfConstants.GL_ARRAY_BUFFER && elementSize % 4 != 0)
+        {
+            int stride = accessorModel.getElementType().getByteStride(
+                accessorModel.getComponentType());
+            data = pad(data, accessorModel.getCount(), elementSize, stride);
+            byteStride = stride;
+        }
+        
+        Buffers.position(data, 0);
+        BufferView bufferView = writeData(data, byteStride, target);
+        bufferViews.add(bufferView);
+        
+        Accessor accessor = GltfCreatorV2.createAccessor(
+            accessorModel, bufferViews.size() - 1);
+        accessor.setByteOffset(null);
+        accessors.add(accessor);
+        
+        int index = accessors.size() - 1;
+        accessorIndices.put(accessorModel, index);
+        return index;
+    }
+    
+    /**
+     * Write the remaining bytes of the given data into the temporary 
+     * file, and return a {@link BufferView} for the written data
+     * 
+     * @param data The data
+     * @param byteStride The byte stride of the buffer view
+     * @param target The target of the buffer view
+     * @return The {@link BufferView}
+     * @throws IOException If the data cannot be written
+     */
+    private BufferView writeData(ByteBuffer data, Integer byteStride,
+        Integer target) throws IOException
+    {
+        // Buffer views are aligned to 4 bytes. The byte length of a 
+        // buffer is limited to the maximum integer value
+        long byteOffset = (binaryLength + 3) & ~3L;
+        int byteLength = data.remaining();
+        if (byteOffset + byteLength > Integer.MAX_VALUE)
+        {
+            throw new IOException("The binary data would exceed the " 
+                + "maximum buffer size, with " + (byteOffset + byteLength)
+                + " bytes");
+        }
+        long position = byteOffset;
+        while (data.hasRemaining())
+        {
+            position += binaryChannel.write(data, position);
+        }
+        binaryLength = byteOffset + byteLength;
+
+        BufferView bufferView = new BufferView();
+        bufferView.setBuffer(0);
+        bufferView.setByteOffset((int) byteOffset);
+        bufferView.setByteLength(byteLength);
+        bufferView.setByteStride(byteStride);
+        bufferView.setTarget(target);
+        return bufferView;
+    }
+    
+    /**
+     * Create a copy of the given tightly packed data, where each element
+     * is padded to the given stride
+     * 
+     * @param data The data
+     * @param count The number of elements
+     * @param elementSize The size of one element, in bytes
+     * @param stride The stride
+     * @return The padded data
+     */
+    private static ByteBuffer pad(
+        ByteBuffer data, int count, int elementSize, int stride)
+    {
+        ByteBuffer result = Buffers.create(count * stride);
+        for (int i = 0; i < count; i++)
+        {
+            for (int j = 0; j < elementSize; j++)
+            {
+                result.put(i * stride + j, data.get(i * elementSize + j));
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Create the {@link GlTF} containing all elements
+     * 
+     * @param binaryUri The URI of the binary data. This is 
+     * <code>null</code> for binary glTF
+     * @return The {@link GlTF}
+     * @throws IllegalStateException If one of the meshes does not have 
+     * any primitives
+     */
+    private GlTF createGltf(String binaryUri)
+    {
+        for (int i = 0; i < meshes.size(); i++)
+        {
+            List<MeshPrimitive> primitives = meshPrimitives.get(i);
+            if (primitives.isEmpty())
+            {
+                throw new IllegalStateException(
+                    "The mesh " + i + " does not have any primitives");
+            }
+            meshes.get(i).setPrimitives(primitives);
+        }
+        
+        GlTF gltf = new GlTF();
+        Asset asset = new Asset();
+        asset.setVersion("2.0");
+        asset.setGenerator("JglTF from https://github.com/javagl/JglTF");
+        gltf.setAsset(asset);
+        
+        // The lists are only set when they are not empty, because the
+        // setters of the glTF classes do not accept empty lists
+        if (binaryLength > 0)
+        {
+            Buffer buffer = new Buffer();
+            buffer.setUri(binaryUri);
+            buffer.setByteLength((int) binaryLength);
+            gltf.addBuffers(buffer);
+        }
+        gltf.setBufferViews(nullIfEmpty(bufferViews));
+        gltf.setAccessors(nullIfEmpty(accessors));
+        gltf.setSamplers(nullIfEmpty(samplers));
+        gltf.setImages(nullIfEmpty(images));
+        gltf.setTextures(nullIfEmpty(textures));
+        gltf.setMaterials(nullIfEmpty(materials));
+        gltf.setMeshes(nullIfEmpty(meshes));
+        gltf.setNodes(nullIfEmpty(nodes));
+        if (!sceneNodes.isEmpty())
+        {
+            Scene scene = new Scene();
+            scene.setNodes(sceneNodes);
+            gltf.addScenes(scene);
+            gltf.setScene(0);
+        }
+        return gltf;
+    }
+    
+    /**
+     * Returns the given list, or <code>null</code> if it is empty
+     * 
+     * @param <T> The element type
+     * @param list The list
+     * @return The result
+     */
+    private static <T> List<T> nullIfEmpty(List<T> list)
+    {
+        return list.isEmpty() ? null : list;
+    }
+    
+    /**
+     * Check that the asset was not written yet
+     * 
+     * @throws IllegalStateException If the asset was already written
+     */
+    private void checkNotWritten()
+    {
+        if (written)
+        {
+            throw new IllegalStateException(
+                "The asset was already written, or the writer was closed");
+        }
+    }
+    
+    /**
+     * Check that the given index is valid
+     * 
+     * @param name The name of the element
+     * @param index The index
+     * @param size The number of elements
+     * @throws IllegalArgumentException If the index is not valid
+     */
+    private static void checkIndex(String name, int index, int size)
+    {
+        if (index < 0 || index >= size)
+        {
+            throw new IllegalArgumentException("The " + name + " index " 
+                + index + " is not valid, there are " + size + " elements");
+        }
+    }
+}
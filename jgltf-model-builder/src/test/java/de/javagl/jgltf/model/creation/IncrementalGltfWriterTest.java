@@ -0,0 +1,237 @@
+package de.javagl.jgltf.model.creation;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import de.javagl.jgltf.impl.v2.Material;
+import de.javagl.jgltf.impl.v2.MaterialPbrMetallicRoughness;
+import de.javagl.jgltf.impl.v2.Node;
+import de.javagl.jgltf.impl.v2.Sampler;
+import de.javagl.jgltf.impl.v2.Texture;
+import de.javagl.jgltf.impl.v2.TextureInfo;
+import de.javagl.jgltf.model.AccessorModel;
+import de.javagl.jgltf.model.GltfModel;
+import de.javagl.jgltf.model.ImageModel;
+import de.javagl.jgltf.model.MeshPrimitiveModel;
+import de.javagl.jgltf.model.io.GltfModelReader;
+import de.javagl.jgltf.model.v2.MaterialModelV2;
+
+/**
+ * Tests for the {@link IncrementalGltfWriter}
+ */
+@SuppressWarnings("javadoc")
+public class IncrementalGltfWriterTest
+{
+    @Test
+    public void testWriteBinary() throws IOException
+    {
+        Path directory = Files.createTempDirectory("IncrementalGltfWriter");
+        try
+        {
+            Path path = directory.resolve("scene.glb");
+            try (IncrementalGltfWriter writer = 
+                new IncrementalGltfWriter(directory))
+            {
+                addElements(writer, 10);
+                writer.writeBinary(path);
+            }
+            assertModel(new GltfModelReader().read(path), 10);
+            assertEquals(1, countFiles(directory));
+        }
+        finally
+        {
+            deleteAll(directory);
+        }
+    }
+    
+    @Test
+    public void testWrite() throws IOException
+    {
+        Path directory = Files.createTempDirectory("IncrementalGltfWriter");
+        try
+        {
+            Path path = directory.resolve("scene.gltf");
+            try (IncrementalGltfWriter writer = 
+                new IncrementalGltfWriter(directory))
+            {
+                addElements(writer, 3);
+                writer.write(path);
+            }
+            assertTrue(Files.exists(directory.resolve("scene.bin")));
+            assertModel(new GltfModelReader().read(path), 3);
+            assertEquals(2, countFiles(directory));
+        }
+        finally
+        {
+            deleteAll(directory);
+        }
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testMeshWithoutPrimitives() throws IOException
+    {
+        Path directory = Files.createTempDirectory("IncrementalGltfWriter");
+        try (IncrementalGltfWriter writer = 
+            new IncrementalGltfWriter(directory))
+        {
+            writer.addMesh("empty");
+            writer.writeBinary(directory.resolve("scene.glb"));
+        }
+        finally
+        {
+            deleteAll(directory);
+        }
+    }
+    
+    @Test
+    public void testTexturedMaterial() throws IOException
+    {
+        Path directory = Files.createTempDirectory("IncrementalGltfWriter");
+        try
+        {
+            Path path = directory.resolve("scene.glb");
+            byte imageBytes[] = { 1, 2, 3, 4, 5 };
+            try (IncrementalGltfWriter writer = 
+                new IncrementalGltfWriter(directory))
+            {
+                int imageIndex = writer.addImage(
+                    ByteBuffer.wrap(imageBytes), "image/png");
+                Texture texture = new Texture();
+                texture.setSampler(writer.addSampler(new Sampler()));
+                texture.setSource(imageIndex);
+                TextureInfo textureInfo = new TextureInfo();
+                textureInfo.setIndex(writer.addTexture(texture));
+                MaterialPbrMetallicRoughness pbr = 
+                    new MaterialPbrMetallicRoughness();
+                pbr.setBaseColorTexture(textureInfo);
+                Material material = new Material();
+                material.setPbrMetallicRoughness(pbr);
+                writer.addMaterial(material);
+                addElements(writer, 2);
+                writer.writeBinary(path);
+            }
+            GltfModel gltfModel = new GltfModelReader().read(path);
+            assertEquals(1, gltfModel.getTextureModels().size());
+            ImageModel imageModel = gltfModel.getImageModels().get(0);
+            assertEquals("image/png", imageModel.getMimeType());
+            ByteBuffer imageData = imageModel.getImageData();
+            byte actualBytes[] = new byte[imageData.remaining()];
+            imageData.slice().get(actualBytes);
+            assertArrayEquals(imageBytes, actualBytes);
+            MaterialModelV2 materialModel = 
+                (MaterialModelV2) gltfModel.getMaterialModels().get(0);
+            assertEquals(imageModel, 
+                materialModel.getBaseColorTexture().getImageModel());
+        }
+        finally
+        {
+            deleteAll(directory);
+        }
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaterialWithInvalidTextureIndex() throws IOException
+    {
+        Path directory = Files.createTempDirectory("IncrementalGltfWriter");
+        try (IncrementalGltfWriter writer = 
+            new IncrementalGltfWriter(directory))
+        {
+            TextureInfo textureInfo = new TextureInfo();
+            textureInfo.setIndex(0);
+            Material material = new Material();
+            material.setEmissiveTexture(textureInfo);
+            writer.addMaterial(material);
+        }
+        finally
+        {
+            deleteAll(directory);
+        }
+    }
+    
+    private static void addElements(IncrementalGltfWriter writer, int n)
+        throws IOException
+    {
+        Material material = new Material();
+        material.setName("material");
+        int materialIndex = writer.addMaterial(material);
+        for (int i = 0; i < n; i++)
+        {
+            int indices[] = { 0, 1, 2 };
+            float positions[] =
+            {
+                0.0f, 0.0f, i,
+                1.0f, 0.0f, i,
+                0.5f, 1.0f, i
+            };
+            MeshPrimitiveModel meshPrimitiveModel =
+                MeshPrimitiveModels.create(indices, positions, null, null);
+            int meshIndex = writer.addMesh("mesh" + i);
+            writer.addMeshPrimitive(meshIndex, meshPrimitiveModel, 
+                i % 2 == 0 ? materialIndex : -1);
+            Node node = new Node();
+            node.setMesh(meshIndex);
+            writer.addSceneNode(writer.addNode(node));
+        }
+    }
+    
+    private static void assertModel(GltfModel gltfModel, int n)
+    {
+        assertEquals(n, gltfModel.getMeshModels().size());
+        assertEquals(n, gltfModel.getNodeModels().size());
+        assertEquals(1, gltfModel.getMaterialModels().size());
+        assertEquals(n, gltfModel.getSceneModels().get(0)
+            .getNodeModels().size());
+        for (int i = 0; i < n; i++)
+        {
+            MeshPrimitiveModel meshPrimitiveModel = gltfModel.getMeshModels()
+                .get(i).getMeshPrimitiveModels().get(0);
+            AccessorModel positions = 
+                meshPrimitiveModel.getAttributes().get("POSITION");
+            assertEquals(3, positions.getCount());
+            assertEquals(i, positions.getMax()[2].floatValue(), 0.0f);
+            assertEquals(0, positions.getByteOffset());
+            assertEquals(3, meshPrimitiveModel.getIndices().getCount());
+            if (i % 2 == 0)
+            {
+                assertEquals(gltfModel.getMaterialModels().get(0),
+                    meshPrimitiveModel.getMaterialModel());
+            }
+            else
+            {
+                assertNull(meshPrimitiveModel.getMaterialModel());
+            }
+        }
+        assertFalse(gltfModel.getBufferModels().isEmpty());
+    }
+    
+    private static long countFiles(Path directory) throws IOException
+    {
+        try (Stream<Path> stream = Files.list(directory))
+        {
+            return stream.count();
+        }
+    }
+
+    private static void deleteAll(Path directory) throws IOException
+    {
+        try (Stream<Path> stream = Files.list(directory))
+        {
+            for (Path path : (Iterable<Path>) stream::iterator)
+            {
+                Files.delete(path);
+            }
+        }
+        Files.delete(directory);
+    }
+}
@@ -29,6 +29,8 @@ package de.javagl.jgltf.model;
 import java.nio.ByteBuffer;
 import java.util.Objects;
 
+import de.javagl.jgltf.model.io.Buffers;
+
 /**
  * Package-private abstract base implementation of an {@link AccessorData}
  */
@@ -71,6 +73,25 @@ abstract class AbstractAccessorData implements AccessorData
      */
     private final int byteStridePerElement;
 
+    /**
+     * Whether the elements are stored without gaps between them,
+     * and without padding bytes between matrix columns
+     */
+    private final boolean tightlyPacked;
+    
+    /**
+     * The offsets, in bytes, of the components relative to the start of
+     * their element, including possible padding for matrix columns
+     */
+    private final int componentByteOffsets[];
+    
+    /**
+     * The modification count. This is not synchronized: Modifications
+     * that are done concurrently with reading the count require external
+     * synchronization, as for the data itself.
+     */
+    private long modificationCount;
+
     /**
      * Default constructor
      * 
@@ -110,6 +131,34 @@ abstract class AbstractAccessorData implements AccessorData
         {
             this.byteStridePerElement = byteStride;
         }
+        boolean columnPadding = computeColumnPadding();
+        this.tightlyPacked = !columnPadding && byteStridePerElement 
+            == elementType.getNumComponents() * numBytesPerComponent;
+        this.componentByteOffsets = new int[elementType.getNumComponents()];
+        for (int c = 0; c < componentByteOffsets.length; c++)
+        {
+            componentByteOffsets[c] = getByteIndex(0, c) - byteOffset;
+        }
+    }
+    
+    /**
+     * Computes whether the columns of matrix elements are padded, as 
+     * specified in 3.6.2.4. Data Alignment
+     * 
+     * @return Whether the columns are padded
+     */
+    private boolean computeColumnPadding()
+    {
+        if (componentType == byte.class)
+        {
+            return elementType == ElementType.MAT2 
+                || elementType == ElementType.MAT3;
+        }
+        if (componentType == short.class)
+        {
+            return elementType == ElementType.MAT3;
+        }
+        return false;
     }
     
     @Override
@@ -136,6 +185,21 @@ abstract class AbstractAccessorData implements AccessorData
         return numElements * getNumComponentsPerElement();
     }
     
+    @Override
+    public final long getModificationCount()
+    {
+        return modificationCount;
+    }
+    
+    /**
+     * Increment the {@link #getModificationCount() modification count}.
+     * This has to be called once by each method that modifies the data.
+     */
+    protected final void markModified()
+    {
+        modificationCount++;
+    }
+    
     /**
      * Returns the index of the byte in the byte buffer where the specified
      * component starts
@@ -219,5 +283,120 @@ abstract class AbstractAccessorData implements AccessorData
     {
         return numBytesPerComponent;
     }
+    
+    /**
+     * Returns whether the elements are stored in the underlying buffer
+     * without gaps between them, and without padding bytes between
+     * matrix columns. If this is the case, then the components of 
+     * consecutive elements may be read and written with bulk operations.
+     * 
+     * @return Whether the data is tightly packed
+     */
+    public final boolean isTightlyPacked()
+    {
+        return tightlyPacked;
+    }
+    
+    /**
+     * Returns the offset, in bytes, of the specified component relative
+     * to the start of its element. This takes possible padding for 
+     * matrix columns into account.
+     * 
+     * @param componentIndex The component index
+     * @return The byte offset
+     */
+    protected final int getComponentByteOffset(int componentIndex)
+    {
+        return componentByteOffsets[componentIndex];
+    }
+    
+    /**
+     * Prepare a bulk access to the specified range of elements, using 
+     * an array with the given length.<br>
+     * <br>
+     * If the data {@link #isTightlyPacked() is tightly packed}, then
+     * this returns a slice of the underlying byte buffer that contains
+     * exactly the components of the specified elements. Otherwise, 
+     * <code>null</code> is returned, and the components have to be
+     * accessed individually.
+     * 
+     * @param arrayLength The length of the array
+     * @param firstElement The index of the first element
+     * @param numElements The number of elements
+     * @return The slice, or <code>null</code>
+     * @throws IndexOutOfBoundsException If the specified range is not 
+     * valid for this data
+     * @throws IllegalArgumentException If the array is too small to
+     * hold all components of the specified elements
+     */
+    protected final ByteBuffer prepareBulkAccess(
+        int arrayLength, int firstElement, int numElements)
+    {
+        if (firstElement < 0 || numElements < 0 || 
+            firstElement + numElements > this.numElements)
+        {
+            throw new IndexOutOfBoundsException("Cannot access " 
+                + numElements + " elements starting at " + firstElement 
+                + ", the data has " + this.numElements + " elements");
+        }
+        int numComponents = numElements * getNumComponentsPerElement();
+        if (arrayLength < numComponents)
+        {
+            throw new IllegalArgumentException("The array must have a "
+                + "length of at least " + numComponents + ", but has "
+                + "a length of " + arrayLength);
+        }
+        if (!tightlyPacked)
+        {
+            return null;
+        }
+        return createByteBufferSlice(firstElement, numElements);
+    }
+    
+    /**
+     * Creates a slice of the underlying byte buffer that contains the
+     * components of all elements, to be used as the basis of a buffer 
+     * view. If the data {@link #isTightlyPacked() is not tightly packed},
+     * then <code>null</code> is returned.
+     * 
+     * @return The slice, or <code>null</code>
+     */
+    protected final ByteBuffer createBufferViewSlice()
+    {
+        if (!tightlyPacked)
+        {
+            return null;
+        }
+        return createByteBufferSlice(0, numElements);
+    }
+    
+    /**
+     * Creates a slice of the underlying byte buffer that contains the
+     * specified elements. The slice will have the same byte order as
+     * the underlying buffer. This may only be called when the data
+     * {@link #isTightlyPacked() is tightly packed}. The underlying 
+     * buffer is not modified, so this may be called concurrently.
+     * 
+     * @param firstElement The index of the first element
+     * @param numElements The number of elements
+     * @return The slice
+     */
+    private ByteBuffer createByteBufferSlice(
+        int firstElement, int numElements)
+    {
+        int start = byteOffset + firstElement * byteStridePerElement;
+        int end = start;
+        if (numElements > 0)
+        {
+            end += (numElements - 1) * byteStridePerElement 
+                + getNumComponentsPerElement() * numBytesPerComponent;
+        }
+        ByteBuffer duplicate = bufferViewByteBuffer.duplicate();
+        Buffers.limit(duplicate, end);
+        Buffers.position(duplicate, start);
+        // The byte order of a duplicate is always big endian
+        duplicate.order(bufferViewByteBuffer.order());
+        return Buffers.createSlice(duplicate);
+    }
 
 }
@@ -87,5 +87,23 @@ public interface AccessorData
      * @return The byte buffer
      */
     ByteBuffer createByteBuffer();
+    
+    /**
+     * Returns a counter that is incremented whenever the data is modified
+     * with one of the <code>set</code> or <code>writeFrom</code> methods
+     * of this object. This may be used for detecting whether values that 
+     * have been derived from the data are still up to date. Modifications
+     * that are done directly in the underlying buffer, or through another
+     * {@link AccessorData} object, are not detected.<br>
+     * <br>
+     * The default implementation returns -1, meaning that modifications
+     * are not tracked, and derived values always have to be recomputed.
+     * 
+     * @return The modification count, or -1 if it is not known
+     */
+    default long getModificationCount()
+    {
+        return -1;
+    }
 
 }
\ No newline at end of file
@@ -474,15 +474,68 @@ public class AccessorDatas
     }
     
     
+    /**
+     * Compute the the minimum and maximum component values of the given 
+     * {@link AccessorData}. The result will be an array with length 2, 
+     * containing the minimum values and the maximum values, as they 
+     * would be returned by {@link #computeMin(AccessorData)} and 
+     * {@link #computeMax(AccessorData)}.<br>
+     * <br>
+     * The values are computed in a single pass over the data. For data
+     * with many elements, ranges of elements are processed in parallel.
+     * 
+     * @param accessorData The {@link AccessorData}
+     * @return The minimum and maximum values
+     * @throws IllegalArgumentException If the given model has an unknown type
+     */
+    public static Number[][] computeMinMax(AccessorData accessorData)
+    {
+        return MinMaxComputer.computeMinMax(accessorData);
+    }
+    
     /**
      * Compute the the minimum component values of the given 
-     * {@link AccessorData}
+     * {@link AccessorData}.<br>
+     * <br>
+     * This performs a full {@link #computeMinMax(AccessorData)} 
+     * computation. Callers that need the minimum and the maximum 
+     * should call that method instead.
      * 
      * @param accessorData The {@link AccessorData}
      * @return The minimum values
      * @throws IllegalArgumentException If the given model has an unknown type
      */
     public static Number[] computeMin(AccessorData accessorData)
+    {
+        return computeMinMax(accessorData)[0];
+    }
+    
+    /**
+     * Compute the the maximum component values of the given 
+     * {@link AccessorData}.<br>
+     * <br>
+     * This performs a full {@link #computeMinMax(AccessorData)} 
+     * computation. Callers that need the minimum and the maximum 
+     * should call that method instead.
+     * 
+     * @param accessorData The {@link AccessorData}
+     * @return The maximum values
+     * @throws IllegalArgumentException If the given model has an unknown type
+     */
+    public static Number[] computeMax(AccessorData accessorData)
+    {
+        return computeMinMax(accessorData)[1];
+    }
+    
+    /**
+     * Compute the the minimum component values of the given 
+     * {@link AccessorData}, element by element
+     * 
+     * @param accessorData The {@link AccessorData}
+     * @return The minimum values
+     * @throws IllegalArgumentException If the given model has an unknown type
+     */
+    static Number[] computeMinSequential(AccessorData accessorData)
     {
         if (accessorData instanceof AccessorByteData) 
         {
@@ -518,13 +571,13 @@ public class AccessorDatas
     
     /**
      * Compute the the maximum component values of the given 
-     * {@link AccessorData}
+     * {@link AccessorData}, element by element
      * 
      * @param accessorData The {@link AccessorData}
      * @return The maximum values
      * @throws IllegalArgumentException If the given model has an unknown type
      */
-    public static Number[] computeMax(AccessorData accessorData)
+    static Number[] computeMaxSequential(AccessorData accessorData)
     {
         if (accessorData instanceof AccessorByteData) 
         {
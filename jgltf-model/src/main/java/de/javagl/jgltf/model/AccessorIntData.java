@@ -28,6 +28,7 @@ package de.javagl.jgltf.model;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.IntBuffer;
 import java.util.Arrays;
 import java.util.Locale;
 
@@ -142,6 +143,7 @@ public final class AccessorIntData
     {
         int byteIndex = getByteIndex(elementIndex, componentIndex);
         getBufferViewByteBuffer().putInt(byteIndex, value);
+        markModified();
     }
     
     /**
@@ -196,6 +198,109 @@ public final class AccessorIntData
         return unsigned ? Integer.toUnsignedLong(value) : value;
     }
     
+    /**
+     * Read the components of the specified elements into the given array.
+     * The components of the first element will be written to the start
+     * of the array. If the data {@link #isTightlyPacked() is tightly 
+     * packed}, then the components are read with a single bulk 
+     * operation. Otherwise, they are read one by one.
+     * 
+     * @param dst The target array
+     * @param firstElement The index of the first element
+     * @param numElements The number of elements
+     * @throws IndexOutOfBoundsException If the specified range is not 
+     * valid for this data
+     * @throws IllegalArgumentException If the array is too small to 
+     * hold all components of the specified elements
+     */
+    public void readInto(int dst[], int firstElement, int numElements)
+    {
+        ByteBuffer slice = 
+            prepareBulkAccess(dst.length, firstElement, numElements);
+        int nc = getNumComponentsPerElement();
+        if (slice != null)
+        {
+            slice.asIntBuffer().get(dst, 0, numElements * nc);
+            return;
+        }
+        ByteBuffer byteBuffer = getBufferViewByteBuffer();
+        int stride = getByteStridePerElement();
+        int byteIndex = getByteIndex(firstElement, 0);
+        int index = 0;
+        for (int e = 0; e < numElements; e++)
+        {
+            for (int c = 0; c < nc; c++)
+            {
+                dst[index++] = byteBuffer.getInt(
+                    byteIndex + getComponentByteOffset(c));
+            }
+            byteIndex += stride;
+        }
+    }
+    
+    /**
+     * Write the components of the specified elements from the given array.
+     * The components of the first element are taken from the start of 
+     * the array. If the data {@link #isTightlyPacked() is tightly 
+     * packed}, then the components are written with a single bulk 
+     * operation. Otherwise, they are written one by one.
+     * 
+     * @param src The source array
+     * @param firstElement The index of the first element
+     * @param numElements The number of elements
+     * @throws IndexOutOfBoundsException If the specified range is not 
+     * valid for this data
+     * @throws IllegalArgumentException If the array is too small to 
+     * contain all components of the specified elements
+     */
+    public void writeFrom(int src[], int firstElement, int numElements)
+    {
+        ByteBuffer slice = 
+            prepareBulkAccess(src.length, firstElement, numElements);
+        int nc = getNumComponentsPerElement();
+        if (slice != null)
+        {
+            slice.asIntBuffer().put(src, 0, numElements * nc);
+            markModified();
+            return;
+        }
+        ByteBuffer byteBuffer = getBufferViewByteBuffer();
+        int stride = getByteStridePerElement();
+        int byteIndex = getByteIndex(firstElement, 0);
+        int index = 0;
+        for (int e = 0; e < numElements; e++)
+        {
+            for (int c = 0; c < nc; c++)
+            {
+                byteBuffer.putInt(
+                    byteIndex + getComponentByteOffset(c), src[index++]);
+            }
+            byteIndex += stride;
+        }
+        markModified();
+    }
+    
+    /**
+     * Creates a read-only IntBuffer that is a view on the components of
+     * all elements. Changes in this data will be visible in the returned
+     * buffer. Modifications have to be done with the <code>set</code>
+     * or {@link #writeFrom} methods, so that they are reflected in the 
+     * {@link #getModificationCount() modification count}. If this data 
+     * {@link #isTightlyPacked() is not tightly packed}, then 
+     * <code>null</code> is returned.
+     * 
+     * @return The view, or <code>null</code>
+     */
+    public IntBuffer createIntBufferView()
+    {
+        ByteBuffer slice = createBufferViewSlice();
+        if (slice == null)
+        {
+            return null;
+        }
+        return slice.asIntBuffer().asReadOnlyBuffer();
+    }
+    
     /**
      * Returns an array containing the minimum component values of all elements 
      * of this accessor data. This will be an array whose length is the 
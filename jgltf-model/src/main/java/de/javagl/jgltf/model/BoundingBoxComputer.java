@@ -26,12 +26,44 @@
  */
 package de.javagl.jgltf.model;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.logging.Logger;
 
 /**
- * A (package-private!) utility class to compute bounding volumes
+ * A (package-private!) utility class to compute bounding volumes.<br>
+ * <br>
+ * The local bounding box of each {@link MeshPrimitiveModel} is derived 
+ * from the minimum and maximum values of its <code>"POSITION"</code> 
+ * {@link AccessorModel}, and the local bounding box of each 
+ * {@link MeshModel} is computed only once, even when the mesh is 
+ * attached to multiple nodes. For each node, only the 8 corners of 
+ * this local bounding box are transformed with the global transform 
+ * of the node. The global transforms of the nodes of each scene are 
+ * computed with a {@link SceneTransformEngine}. The nodes of large 
+ * scenes are processed in parallel.<br>
+ * <br>
+ * An instance of this class may be used for multiple computations. 
+ * The {@link SceneTransformEngine} of each scene is then reused as 
+ * long as the node hierarchy of the scene does not change, and only
+ * {@link SceneTransformEngine#update() updated}. The local bounding box
+ * of each {@link MeshPrimitiveModel} is reused as long as its 
+ * <code>"POSITION"</code> {@link AccessorModel} refers to the same 
+ * {@link AccessorData} with the same 
+ * {@link AccessorData#getModificationCount() modification count}. 
+ * The cost of a repeated computation is therefore proportional to the 
+ * number of nodes, and not to the number of vertices.<br>
+ * <br>
+ * This class is not thread-safe.
  */
 class BoundingBoxComputer
 {
@@ -42,137 +74,384 @@ class BoundingBoxComputer
         Logger.getLogger(BoundingBoxComputer.class.getName());
     
     /**
-     * The {@link GltfModel} 
+     * The number of nodes above which the nodes are split into ranges
+     * that are processed in parallel
      */
-    private final GltfModel gltfModel;
+    private static final int PARALLEL_THRESHOLD = 4096;
     
     /**
-     * Create a new bounding box computer for the given {@link GltfModel}
-     * 
-     * @param gltfModel The {@link GltfModel}
+     * The global transforms of the {@link NodeModel} objects that refer 
+     * to meshes with a bounding box
+     */
+    private final List<float[]> globalTransforms;
+    
+    /**
+     * The local bounding boxes of the meshes of the {@link NodeModel} 
+     * objects, corresponding to the {@link #globalTransforms}
      */
-    BoundingBoxComputer(GltfModel gltfModel)
+    private final List<BoundingBox> localBoundingBoxes;
+    
+    /**
+     * The {@link SceneTransformEngine} objects for the {@link SceneModel}
+     * objects that have been processed
+     */
+    private final Map<SceneModel, SceneTransformEngine> sceneTransformEngines;
+    
+    /**
+     * The cached local bounding boxes of the {@link MeshPrimitiveModel}
+     * objects that have been processed
+     */
+    private final Map<MeshPrimitiveModel, CachedBoundingBox> 
+        meshPrimitiveBoundingBoxes;
+    
+    /**
+     * Create a new bounding box computer
+     */
+    BoundingBoxComputer()
     {
-        this.gltfModel = gltfModel;
+        this.globalTransforms = new ArrayList<float[]>();
+        this.localBoundingBoxes = new ArrayList<BoundingBox>();
+        this.sceneTransformEngines = 
+            new WeakHashMap<SceneModel, SceneTransformEngine>();
+        this.meshPrimitiveBoundingBoxes = 
+            new WeakHashMap<MeshPrimitiveModel, CachedBoundingBox>();
     }
     
     /**
-     * Compute the bounding box of the {@link GltfModel}
+     * Compute the bounding box of the given {@link GltfModel}
      * 
+     * @param gltfModel The {@link GltfModel}
      * @return The bounding box
      */
-    BoundingBox compute()
+    BoundingBox compute(GltfModel gltfModel)
     {
-        BoundingBox boundingBox = new BoundingBox();
-        List<SceneModel> sceneModels = gltfModel.getSceneModels();
-        for (SceneModel sceneModel : sceneModels)
+        globalTransforms.clear();
+        localBoundingBoxes.clear();
+        Map<MeshModel, BoundingBox> meshBoundingBoxes = 
+            new IdentityHashMap<MeshModel, BoundingBox>();
+        Set<NodeModel> visited = Collections.newSetFromMap(
+            new IdentityHashMap<NodeModel, Boolean>());
+        for (SceneModel sceneModel : gltfModel.getSceneModels())
         {
-            float rootTransform[] = MathUtils.createIdentity4x4();
-            computeSceneBoundingBox(sceneModel, rootTransform, boundingBox);
+            SceneTransformEngine sceneTransformEngine = 
+                obtainSceneTransformEngine(sceneModel);
+            if (sceneTransformEngine == null)
+            {
+                for (NodeModel nodeModel : collectNodeModels(sceneModel))
+                {
+                    addNodeModel(nodeModel, 
+                        nodeModel.computeGlobalTransform(null),
+                        visited, meshBoundingBoxes);
+                }
+                continue;
+            }
+            List<NodeModel> nodeModels = sceneTransformEngine.getNodeModels();
+            for (int i = 0; i < nodeModels.size(); i++)
+            {
+                addNodeModel(nodeModels.get(i), 
+                    sceneTransformEngine.getGlobalTransform(i, null),
+                    visited, meshBoundingBoxes);
+            }
         }
-        return boundingBox;
+        int n = globalTransforms.size();
+        BoundingBox result;
+        if (n < PARALLEL_THRESHOLD)
+        {
+            result = computeBoundingBox(0, n);
+        }
+        else
+        {
+            result = ForkJoinPool.commonPool().invoke(
+                new BoundingBoxTask(0, n));
+        }
+        globalTransforms.clear();
+        localBoundingBoxes.clear();
+        return result;
     }
     
     /**
-     * Recursively compute the bounding box of the {@link MeshPrimitiveModel}
-     * objects of all {@link MeshModel} objects in the given {@link SceneModel} 
-     * (including the respective global node transforms). 
-     * If the given result is <code>null</code>, then a new bounding box
-     * will be created and returned.
+     * Obtain the {@link SceneTransformEngine} for the given 
+     * {@link SceneModel}. If an engine was created for the scene 
+     * earlier, and the node hierarchy did not change since then, then
+     * it is {@link SceneTransformEngine#update() updated} and returned.
+     * Otherwise, a new engine is created. If the scene cannot be 
+     * handled by a {@link SceneTransformEngine}, because it contains
+     * nodes more than once, then a warning is printed and 
+     * <code>null</code> is returned.
      * 
      * @param sceneModel The {@link SceneModel}
-     * @param transform The root transform, as a column major 4x4 matrix
-     * @param boundingBox The optional bounding box that will store the result 
-     * @return The result
+     * @return The {@link SceneTransformEngine}, or <code>null</code>
      */
-    private BoundingBox computeSceneBoundingBox(
-        SceneModel sceneModel, float transform[], BoundingBox boundingBox)
+    private SceneTransformEngine obtainSceneTransformEngine(
+        SceneModel sceneModel)
     {
-        BoundingBox localResult = boundingBox;
-        if (localResult == null)
+        SceneTransformEngine sceneTransformEngine = 
+            sceneTransformEngines.get(sceneModel);
+        if (sceneTransformEngine != null && 
+            hasHierarchy(sceneTransformEngine, sceneModel))
+        {
+            sceneTransformEngine.update();
+            return sceneTransformEngine;
+        }
+        sceneTransformEngines.remove(sceneModel);
+        try
         {
-            localResult = new BoundingBox();
+            sceneTransformEngine = new SceneTransformEngine(sceneModel);
         }
-        List<NodeModel> nodeModels = sceneModel.getNodeModels();
-        for (NodeModel nodeModel : nodeModels)
+        catch (IllegalArgumentException e)
         {
-            computeNodeBoundingBox(nodeModel, transform, localResult);
+            logger.warning("Could not compute the transforms of scene " 
+                + sceneModel + ": " + e.getMessage());
+            return null;
         }
-        return localResult;
+        sceneTransformEngines.put(sceneModel, sceneTransformEngine);
+        return sceneTransformEngine;
     }
     
+    /**
+     * Returns whether the given {@link SceneTransformEngine} was created
+     * for the current node hierarchy of the given {@link SceneModel}. 
+     * This is the case when the engine contains the root nodes of the 
+     * scene as root nodes, and the children of each node of the engine 
+     * with this node as their parent, and no further nodes.
+     * 
+     * @param sceneTransformEngine The {@link SceneTransformEngine}
+     * @param sceneModel The {@link SceneModel}
+     * @return Whether the engine has the hierarchy of the scene
+     */
+    private static boolean hasHierarchy(
+        SceneTransformEngine sceneTransformEngine, SceneModel sceneModel)
+    {
+        int count = 0;
+        for (NodeModel nodeModel : sceneModel.getNodeModels())
+        {
+            int index = sceneTransformEngine.getIndex(nodeModel);
+            if (index == -1 || 
+                sceneTransformEngine.getParentIndex(index) != -1)
+            {
+                return false;
+            }
+            count++;
+        }
+        List<NodeModel> nodeModels = sceneTransformEngine.getNodeModels();
+        for (int i = 0; i < nodeModels.size(); i++)
+        {
+            for (NodeModel child : nodeModels.get(i).getChildren())
+            {
+                int index = sceneTransformEngine.getIndex(child);
+                if (index == -1 || 
+                    sceneTransformEngine.getParentIndex(index) != i)
+                {
+                    return false;
+                }
+                count++;
+            }
+        }
+        return count == nodeModels.size();
+    }
     
     /**
-     * Recursively compute the bounding box of the {@link MeshPrimitiveModel}
-     * objects of all {@link MeshModel} objects in the given {@link NodeModel} 
-     * and its children (including the respective global node transforms). 
-     * If the given result is <code>null</code>, then a new bounding box
-     * will be created and returned.
+     * Add the given {@link NodeModel} with the given global transform to
+     * the nodes that are processed, if it was not visited yet and refers 
+     * to meshes with a bounding box
      * 
      * @param nodeModel The {@link NodeModel}
-     * @param parentTransform The transform, as a column major 4x4 matrix
-     * @param boundingBox The optional bounding box that will store the result 
-     * @return The result
+     * @param globalTransform The global transform of the node
+     * @param visited The nodes that have already been visited
+     * @param meshBoundingBoxes The bounding boxes of the meshes
+     */
+    private void addNodeModel(NodeModel nodeModel, float globalTransform[],
+        Set<NodeModel> visited, Map<MeshModel, BoundingBox> meshBoundingBoxes)
+    {
+        if (!visited.add(nodeModel))
+        {
+            return;
+        }
+        BoundingBox localBoundingBox = 
+            computeLocalBoundingBox(nodeModel, meshBoundingBoxes);
+        if (localBoundingBox != null)
+        {
+            globalTransforms.add(globalTransform);
+            localBoundingBoxes.add(localBoundingBox);
+        }
+    }
+    
+    /**
+     * Collect all {@link NodeModel} objects that appear in the given
+     * {@link SceneModel}, each one only once. This is only used for
+     * scenes that cannot be handled by a {@link SceneTransformEngine},
+     * because they contain nodes more than once.
+     * 
+     * @param sceneModel The {@link SceneModel}
+     * @return The {@link NodeModel} objects
      */
-    private BoundingBox computeNodeBoundingBox(
-        NodeModel nodeModel, float parentTransform[], BoundingBox boundingBox) 
+    private static List<NodeModel> collectNodeModels(SceneModel sceneModel)
     {
-        BoundingBox result = boundingBox;
-        if (result == null)
+        List<NodeModel> result = new ArrayList<NodeModel>();
+        Set<NodeModel> visited = Collections.newSetFromMap(
+            new IdentityHashMap<NodeModel, Boolean>());
+        Deque<NodeModel> stack = new ArrayDeque<NodeModel>();
+        stack.addAll(sceneModel.getNodeModels());
+        while (!stack.isEmpty())
         {
-            result = new BoundingBox();
+            NodeModel nodeModel = stack.pop();
+            if (visited.add(nodeModel))
+            {
+                result.add(nodeModel);
+                stack.addAll(nodeModel.getChildren());
+            }
         }
+        return result;
+    }
+    
+    /**
+     * A task for computing the bounding box of a range of the
+     * {@link #localBoundingBoxes}
+     */
+    private final class BoundingBoxTask extends RecursiveTask<BoundingBox>
+    {
+        /**
+         * Serial UID
+         */
+        private static final long serialVersionUID = 1L;
 
-        float[] localTransform = nodeModel.computeLocalTransform(null);
-        float[] transform = new float[16];
-        MathUtils.mul4x4(parentTransform, localTransform, transform);
+        /**
+         * The start index, inclusive
+         */
+        private final int start;
+        
+        /**
+         * The end index, exclusive
+         */
+        private final int end;
         
-        List<MeshModel> meshModels = nodeModel.getMeshModels();
-        for (MeshModel meshModel : meshModels)
+        /**
+         * Creates a new task for the given range
+         * 
+         * @param start The start index, inclusive
+         * @param end The end index, exclusive
+         */
+        BoundingBoxTask(int start, int end)
         {
-            BoundingBox meshBoundingBox =
-                computeMeshBoundingBox(
-                    meshModel, transform, result);
-            result.combine(meshBoundingBox);
+            this.start = start;
+            this.end = end;
         }
         
-        List<NodeModel> children = nodeModel.getChildren();
-        for (NodeModel child : children)
+        @Override
+        protected BoundingBox compute()
         {
-            computeNodeBoundingBox(child, transform, result);
+            if (end - start < PARALLEL_THRESHOLD)
+            {
+                return computeBoundingBox(start, end);
+            }
+            int middle = start + (end - start) / 2;
+            BoundingBoxTask left = new BoundingBoxTask(start, middle);
+            BoundingBoxTask right = new BoundingBoxTask(middle, end);
+            left.fork();
+            BoundingBox result = right.compute();
+            result.combine(left.join());
+            return result;
+        }
+    }
+    
+    /**
+     * Compute the bounding box of the specified range of the 
+     * {@link #localBoundingBoxes}, by transforming their corners
+     * with the corresponding {@link #globalTransforms}.
+     * 
+     * @param start The start index, inclusive
+     * @param end The end index, exclusive
+     * @return The bounding box
+     */
+    private BoundingBox computeBoundingBox(int start, int end)
+    {
+        BoundingBox result = new BoundingBox();
+        float corner[] = new float[3];
+        float transformedCorner[] = new float[3];
+        for (int i = start; i < end; i++)
+        {
+            float transform[] = globalTransforms.get(i);
+            BoundingBox localBoundingBox = localBoundingBoxes.get(i);
+            for (int c = 0; c < 8; c++)
+            {
+                corner[0] = (c & 1) == 0 ? 
+                    localBoundingBox.getMinX() : localBoundingBox.getMaxX();
+                corner[1] = (c & 2) == 0 ? 
+                    localBoundingBox.getMinY() : localBoundingBox.getMaxY();
+                corner[2] = (c & 4) == 0 ? 
+                    localBoundingBox.getMinZ() : localBoundingBox.getMaxZ();
+                MathUtils.transformPoint3D(
+                    transform, corner, transformedCorner);
+                result.combine(
+                    transformedCorner[0], 
+                    transformedCorner[1], 
+                    transformedCorner[2]);
+            }
         }
         return result;
     }
-
+    
     /**
-     * Compute the bounding box of the given {@link MeshModel}, under
-     * the given transform.
-     * If the given result is <code>null</code>, then a new bounding box
-     * will be created and returned.
+     * Compute the local bounding box of the {@link MeshModel} objects
+     * of the given {@link NodeModel}. The bounding boxes of the meshes 
+     * are looked up in the given map, and stored in this map when they 
+     * are computed.
      * 
-     * @param meshModel The {@link MeshModel}
-     * @param transform The optional transform. If this is <code>null</code>,
-     * then the identity matrix will be assumed.
-     * @param boundingBox The optional bounding box that will store the result 
-     * @return The result
+     * @param nodeModel The {@link NodeModel}
+     * @param meshBoundingBoxes The bounding boxes of the meshes
+     * @return The bounding box, or <code>null</code> if none of the 
+     * meshes has a bounding box
      */
-    private BoundingBox computeMeshBoundingBox(
-        MeshModel meshModel, float transform[], BoundingBox boundingBox)
+    private BoundingBox computeLocalBoundingBox(NodeModel nodeModel,
+        Map<MeshModel, BoundingBox> meshBoundingBoxes)
     {
-        BoundingBox result = boundingBox;
-        if (result == null)
+        BoundingBox result = null;
+        for (MeshModel meshModel : nodeModel.getMeshModels())
         {
-            result = new BoundingBox();
+            BoundingBox meshBoundingBox;
+            if (meshBoundingBoxes.containsKey(meshModel))
+            {
+                meshBoundingBox = meshBoundingBoxes.get(meshModel);
+            }
+            else
+            {
+                meshBoundingBox = computeMeshBoundingBox(meshModel);
+                meshBoundingBoxes.put(meshModel, meshBoundingBox);
+            }
+            if (meshBoundingBox != null)
+            {
+                if (result == null)
+                {
+                    result = new BoundingBox();
+                }
+                result.combine(meshBoundingBox);
+            }
         }
-        
+        return result;
+    }
+
+    /**
+     * Compute the local bounding box of the given {@link MeshModel}
+     * 
+     * @param meshModel The {@link MeshModel}
+     * @return The bounding box, or <code>null</code> if none of the 
+     * mesh primitives has a bounding box
+     */
+    private BoundingBox computeMeshBoundingBox(MeshModel meshModel)
+    {
+        BoundingBox result = null;
         List<MeshPrimitiveModel> primitives = 
             meshModel.getMeshPrimitiveModels();
         for (MeshPrimitiveModel meshPrimitiveModel : primitives)
         {
             BoundingBox meshPrimitiveBoundingBox =
-                computeBoundingBox(meshPrimitiveModel, transform);
+                obtainBoundingBox(meshPrimitiveModel);
             if (meshPrimitiveBoundingBox != null)
             {
+                if (result == null)
+                {
+                    result = new BoundingBox();
+                }
                 result.combine(meshPrimitiveBoundingBox);
             }
         }
@@ -180,12 +459,119 @@ class BoundingBoxComputer
     }
     
     /**
-     * Compute the bounding box of the given {@link MeshPrimitiveModel}, under
-     * the given transform.
+     * Obtain the local bounding box of the given {@link MeshPrimitiveModel}.
+     * If a bounding box was computed for the given mesh primitive earlier,
+     * and its <code>"POSITION"</code> {@link AccessorModel} still refers
+     * to the same, unmodified {@link AccessorData}, then this bounding box 
+     * is returned. Otherwise, the bounding box is computed and stored.
+     * 
+     * @param meshPrimitiveModel The {@link MeshPrimitiveModel}
+     * @return The {@link BoundingBox}, or <code>null</code> if the given
+     * {@link MeshPrimitiveModel} does not have a bounding box
+     */
+    private BoundingBox obtainBoundingBox(
+        MeshPrimitiveModel meshPrimitiveModel)
+    {
+        AccessorModel accessorModel = 
+            meshPrimitiveModel.getAttributes().get("POSITION");
+        if (accessorModel == null)
+        {
+            return null;
+        }
+        AccessorData accessorData = accessorModel.getAccessorData();
+        CachedBoundingBox cachedBoundingBox = 
+            meshPrimitiveBoundingBoxes.get(meshPrimitiveModel);
+        if (cachedBoundingBox != null && 
+            cachedBoundingBox.isValidFor(accessorModel, accessorData))
+        {
+            return cachedBoundingBox.boundingBox;
+        }
+        BoundingBox boundingBox = computeBoundingBox(meshPrimitiveModel);
+        if (boundingBox == null)
+        {
+            meshPrimitiveBoundingBoxes.remove(meshPrimitiveModel);
+        }
+        else
+        {
+            meshPrimitiveBoundingBoxes.put(meshPrimitiveModel, 
+                new CachedBoundingBox(accessorModel, accessorData, 
+                    boundingBox));
+        }
+        return boundingBox;
+    }
+    
+    /**
+     * A local bounding box that was computed from the 
+     * <code>"POSITION"</code> {@link AccessorModel} of a 
+     * {@link MeshPrimitiveModel}
+     */
+    private static final class CachedBoundingBox
+    {
+        /**
+         * The {@link AccessorModel} that the bounding box was computed for
+         */
+        private final AccessorModel accessorModel;
+        
+        /**
+         * The {@link AccessorData} that the bounding box was computed for
+         */
+        private final AccessorData accessorData;
+        
+        /**
+         * The {@link AccessorData#getModificationCount() modification 
+         * count} of the {@link AccessorData} at the time when the 
+         * bounding box was computed
+         */
+        private final long modificationCount;
+        
+        /**
+         * The bounding box
+         */
+        private final BoundingBox boundingBox;
+        
+        /**
+         * Creates a new instance
+         * 
+         * @param accessorModel The {@link AccessorModel}
+         * @param accessorData The {@link AccessorData}
+         * @param boundingBox The bounding box
+         */
+        CachedBoundingBox(AccessorModel accessorModel, 
+            AccessorData accessorData, BoundingBox boundingBox)
+        {
+            this.accessorModel = accessorModel;
+            this.accessorData = accessorData;
+            this.modificationCount = accessorData == null ? 
+                -1 : accessorData.getModificationCount();
+            this.boundingBox = boundingBox;
+        }
+        
+        /**
+         * Returns whether this bounding box is still valid for the given
+         * {@link AccessorModel} and {@link AccessorData}. This is not 
+         * the case when the modifications of the data are not tracked, 
+         * as indicated by a modification count of -1.
+         * 
+         * @param accessorModel The {@link AccessorModel}
+         * @param accessorData The {@link AccessorData}
+         * @return Whether the bounding box is valid
+         */
+        boolean isValidFor(
+            AccessorModel accessorModel, AccessorData accessorData)
+        {
+            return this.accessorModel == accessorModel 
+                && this.accessorData == accessorData
+                && modificationCount != -1
+                && modificationCount == accessorData.getModificationCount();
+        }
+    }
+    
+    /**
+     * Compute the local bounding box of the given {@link MeshPrimitiveModel},
+     * from the minimum and maximum values of its <code>"POSITION"</code>
+     * attribute.
      * 
      * @param meshPrimitiveModel The {@link MeshPrimitiveModel}
-     * @param transform The optional transform. If this is <code>null</code>,
-     * then the identity matrix will be assumed.
      * @return The {@link BoundingBox}, or <code>null</code> if the given
      * {@link MeshPrimitiveModel} does not refer to an {@link AccessorModel} 
      * with its <code>"POSITION"</code> attribute. If if refers to
@@ -193,8 +579,8 @@ class BoundingBoxComputer
      * then a warning will be printed and <code>null</code> will be
      * returned. 
      */
-    private BoundingBox computeBoundingBox(
-        MeshPrimitiveModel meshPrimitiveModel, float transform[])
+    private static BoundingBox computeBoundingBox(
+        MeshPrimitiveModel meshPrimitiveModel)
     {
         Map<String, AccessorModel> attributes = 
             meshPrimitiveModel.getAttributes();
@@ -221,38 +607,27 @@ class BoundingBoxComputer
                 " attribute refers to an accessor with component type " + 
                 GltfConstants.stringFor(accessorModel.getComponentType()) + 
                 " - expected GL_FLOAT");
+            return null;
         }
-        
-        AccessorData accessorData = accessorModel.getAccessorData();
-        AccessorFloatData accessorFloatData = (AccessorFloatData)accessorData;
-        
-        float point[] = new float[3];
-        float transformedPoint[];
-        if (transform != null)
-        {
-            transformedPoint = new float[3];
-        }
-        else
+        if (accessorModel.getCount() == 0)
         {
-            transformedPoint = point;
+            return null;
         }
         
-        BoundingBox boundingBox = new BoundingBox();
-        for (int e = 0; e < accessorData.getNumElements(); e++)
+        Number min[] = accessorModel.getMin();
+        Number max[] = accessorModel.getMax();
+        if (min == null || max == null)
         {
-            for (int c = 0; c < 3; c++)
-            {
-                point[c] = accessorFloatData.get(e, c);
-            }
-            if (transform != null)
-            {
-                MathUtils.transformPoint3D(transform, point, transformedPoint);
-            }
-            boundingBox.combine(
-                transformedPoint[0], 
-                transformedPoint[1], 
-                transformedPoint[2]);
+            Number minMax[][] = AccessorDatas.computeMinMax(
+                accessorModel.getAccessorData());
+            min = minMax[0];
+            max = minMax[1];
         }
+        BoundingBox boundingBox = new BoundingBox();
+        boundingBox.combine(
+            min[0].floatValue(), min[1].floatValue(), min[2].floatValue());
+        boundingBox.combine(
+            max[0].floatValue(), max[1].floatValue(), max[2].floatValue());
         return boundingBox;
     }
     
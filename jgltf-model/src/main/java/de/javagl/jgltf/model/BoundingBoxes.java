@@ -26,7 +26,9 @@
  */
 package de.javagl.jgltf.model;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.WeakHashMap;
 
 /**
  * Utility methods for computing bounding boxes.<br>
@@ -36,9 +38,24 @@ import java.util.Objects;
  */
 public class BoundingBoxes
 {
+    /**
+     * The {@link BoundingBoxComputer} instances for the {@link GltfModel}
+     * objects. Each instance caches the data that may be reused when 
+     * the bounding box of the same model is computed again.
+     */
+    private static final Map<GltfModel, BoundingBoxComputer> 
+        boundingBoxComputers = 
+            new WeakHashMap<GltfModel, BoundingBoxComputer>();
+    
     /**
      * Compute the bounding box of the given {@link GltfModel}. The result
      * will be an array <code>[minX, minY, minZ, maxX, maxY, maxZ]</code>.
+     * <br>
+     * <br>
+     * Intermediate results, like the local bounding boxes of the meshes, 
+     * are cached for each model, and reused when the bounding box of the 
+     * same model is computed again, as long as the respective parts of 
+     * the model have not been modified.
      * 
      * @param gltfModel The {@link GltfModel}
      * @return The bounding box
@@ -47,9 +64,17 @@ public class BoundingBoxes
     {
         Objects.requireNonNull(gltfModel, "The gltfModel may not be null");
         
-        BoundingBoxComputer boundingBoxComputer =
-            new BoundingBoxComputer(gltfModel);
-        BoundingBox boundingBox = boundingBoxComputer.compute();
+        BoundingBoxComputer boundingBoxComputer;
+        synchronized (boundingBoxComputers)
+        {
+            boundingBoxComputer = boundingBoxComputers.computeIfAbsent(
+                gltfModel, m -> new BoundingBoxComputer());
+        }
+        BoundingBox boundingBox;
+        synchronized (boundingBoxComputer)
+        {
+            boundingBox = boundingBoxComputer.compute(gltfModel);
+        }
         
         float result[] = {
             boundingBox.getMinX(),
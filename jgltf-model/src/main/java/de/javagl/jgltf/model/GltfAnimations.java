@@ -226,10 +226,7 @@ public class GltfAnimations
     {
         int numKeyElements = timeData.getNumElements();
         float keys[] = new float[numKeyElements];
-        for (int e=0; e<numKeyElements; e++)
-        {
-            keys[e] = timeData.get(e);
-        }
+        timeData.readInto(keys, 0, numKeyElements);
         
         // Note: The number of components per element that is used here
         // is NOT outputData.getNumComponentsPerElement() !!!
@@ -243,16 +240,15 @@ public class GltfAnimations
             outputData.getTotalNumComponents();
         int numComponentsPerElement = 
             totalNumValueComponents / numKeyElements;
+        float allValues[] = new float[totalNumValueComponents];
+        outputData.readInto(allValues, 0, outputData.getNumElements());
         float values[][] = new float[numKeyElements][numComponentsPerElement];
-        for (int c = 0; c < numComponentsPerElement; c++)
+        for (int e = 0; e < numKeyElements; e++)
         {
-            for (int e = 0; e < numKeyElements; e++)
-            {
-                // Access the data using the global index, computed manually 
-                // based on the computed number of components per element
-                int globalIndex = e * numComponentsPerElement + c;
-                values[e][c] = outputData.get(globalIndex);
-            }
+            // Split the values based on the computed number of 
+            // components per element
+            System.arraycopy(allValues, e * numComponentsPerElement, 
+                values[e], 0, numComponentsPerElement);
         }
         return new Animation(
             keys, values, interpolatorType);
@@ -312,12 +308,12 @@ public class GltfAnimations
             if (translation == null)
             {
                 translation = values.clone();
-                nodeModel.setTranslation(translation);
             }
             else
             {
                 System.arraycopy(values, 0, translation, 0, values.length);
             }
+            nodeModel.setTranslation(translation);
         };
     }
     
@@ -338,12 +334,12 @@ public class GltfAnimations
             if (rotation == null)
             {
                 rotation = values.clone();
-                nodeModel.setRotation(rotation);
             }
             else
             {
                 System.arraycopy(values, 0, rotation, 0, values.length);
             }
+            nodeModel.setRotation(rotation);
         };
     }
     
@@ -364,12 +360,12 @@ public class GltfAnimations
             if (scale == null)
             {
                 scale = values.clone();
-                nodeModel.setScale(scale);
             }
             else
             {
                 System.arraycopy(values, 0, scale, 0, values.length);
             }
+            nodeModel.setScale(scale);
         };
     }
     
@@ -217,39 +217,57 @@ public class MathUtils
      */
     public static void mul4x4(float a[], float b[], float m[])
     {
-        float a00 = a[ 0];
-        float a10 = a[ 1];
-        float a20 = a[ 2];
-        float a30 = a[ 3];
-        float a01 = a[ 4];
-        float a11 = a[ 5];
-        float a21 = a[ 6];
-        float a31 = a[ 7];
-        float a02 = a[ 8];
-        float a12 = a[ 9];
-        float a22 = a[10];
-        float a32 = a[11];
-        float a03 = a[12];
-        float a13 = a[13];
-        float a23 = a[14];
-        float a33 = a[15];
+        mul4x4(a, 0, b, 0, m, 0);
+    }
+    
+    /**
+     * Fills the given result matrix with the product of the given matrices,
+     * which are stored in the given arrays, starting at the given offsets.
+     * The result may overlap with the inputs.
+     * 
+     * @param a The array containing the first matrix
+     * @param aOffset The offset of the first matrix
+     * @param b The array containing the second matrix
+     * @param bOffset The offset of the second matrix
+     * @param m The array for the result matrix
+     * @param mOffset The offset of the result matrix
+     */
+    public static void mul4x4(float a[], int aOffset, 
+        float b[], int bOffset, float m[], int mOffset)
+    {
+        float a00 = a[aOffset +  0];
+        float a10 = a[aOffset +  1];
+        float a20 = a[aOffset +  2];
+        float a30 = a[aOffset +  3];
+        float a01 = a[aOffset +  4];
+        float a11 = a[aOffset +  5];
+        float a21 = a[aOffset +  6];
+        float a31 = a[aOffset +  7];
+        float a02 = a[aOffset +  8];
+        float a12 = a[aOffset +  9];
+        float a22 = a[aOffset + 10];
+        float a32 = a[aOffset + 11];
+        float a03 = a[aOffset + 12];
+        float a13 = a[aOffset + 13];
+        float a23 = a[aOffset + 14];
+        float a33 = a[aOffset + 15];
 
-        float b00 = b[ 0];
-        float b10 = b[ 1];
-        float b20 = b[ 2];
-        float b30 = b[ 3];
-        float b01 = b[ 4];
-        float b11 = b[ 5];
-        float b21 = b[ 6];
-        float b31 = b[ 7];
-        float b02 = b[ 8];
-        float b12 = b[ 9];
-        float b22 = b[10];
-        float b32 = b[11];
-        float b03 = b[12];
-        float b13 = b[13];
-        float b23 = b[14];
-        float b33 = b[15];
+        float b00 = b[bOffset +  0];
+        float b10 = b[bOffset +  1];
+        float b20 = b[bOffset +  2];
+        float b30 = b[bOffset +  3];
+        float b01 = b[bOffset +  4];
+        float b11 = b[bOffset +  5];
+        float b21 = b[bOffset +  6];
+        float b31 = b[bOffset +  7];
+        float b02 = b[bOffset +  8];
+        float b12 = b[bOffset +  9];
+        float b22 = b[bOffset + 10];
+        float b32 = b[bOffset + 11];
+        float b03 = b[bOffset + 12];
+        float b13 = b[bOffset + 13];
+        float b23 = b[bOffset + 14];
+        float b33 = b[bOffset + 15];
 
         float m00 = a00 * b00 + a01 * b10 + a02 * b20 + a03 * b30;
         float m01 = a00 * b01 + a01 * b11 + a02 * b21 + a03 * b31;
@@ -271,22 +289,22 @@ public class MathUtils
         float m32 = a30 * b02 + a31 * b12 + a32 * b22 + a33 * b32;
         float m33 = a30 * b03 + a31 * b13 + a32 * b23 + a33 * b33;
 
-        m[ 0] = m00;
-        m[ 1] = m10;
-        m[ 2] = m20;
-        m[ 3] = m30;
-        m[ 4] = m01;
-        m[ 5] = m11;
-        m[ 6] = m21;
-        m[ 7] = m31;
-        m[ 8] = m02;
-        m[ 9] = m12;
-        m[10] = m22;
-        m[11] = m32;
-        m[12] = m03;
-        m[13] = m13;
-        m[14] = m23;
-        m[15] = m33;
+        m[mOffset +  0] = m00;
+        m[mOffset +  1] = m10;
+        m[mOffset +  2] = m20;
+        m[mOffset +  3] = m30;
+        m[mOffset +  4] = m01;
+        m[mOffset +  5] = m11;
+        m[mOffset +  6] = m21;
+        m[mOffset +  7] = m31;
+        m[mOffset +  8] = m02;
+        m[mOffset +  9] = m12;
+        m[mOffset + 10] = m22;
+        m[mOffset + 11] = m32;
+        m[mOffset + 12] = m03;
+        m[mOffset + 13] = m13;
+        m[mOffset + 14] = m23;
+        m[mOffset + 15] = m33;
     }
     
 
@@ -294,13 +312,21 @@ public class MathUtils
      * Fills the given matrix, with the values for the rotation that is 
      * described by the given quaternion. None of the arguments may be 
      * <code>null</code>. The quaternion must have at least length 4. 
+     * It will be normalized. If it has a length of 0, then the matrix
+     * will be set to the identity matrix.
      *  
      * @param q The quaternion
      * @param m The matrix
      */
     public static void quaternionToMatrix4x4(float q[], float m[])
     {
-        float invLength = 1.0f / (float)Math.sqrt(dot(q, q));
+        float lengthSquared = dot(q, q);
+        if (lengthSquared == 0.0f)
+        {
+            setIdentity4x4(m);
+            return;
+        }
+        float invLength = 1.0f / (float)Math.sqrt(lengthSquared);
 
         // Adapted from javax.vecmath.Matrix4f
         float qx = q[0] * invLength;
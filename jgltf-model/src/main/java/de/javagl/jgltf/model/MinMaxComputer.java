@@ -0,0 +1,396 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.jgltf.model;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Package-private class for computing the minimum and maximum component 
+ * values of {@link AccessorData}.<br>
+ * <br>
+ * The data is read in chunks, using the bulk methods of the accessor data
+ * classes, and the minimum and maximum values are computed in a single 
+ * pass. For data with many elements, the elements are split into ranges
+ * that are processed in parallel.<br>
+ * <br>
+ * The minimum and maximum values are accumulated as <code>double</code>
+ * values, which can represent all values of all component types exactly,
+ * and only converted into <code>Number</code> objects at the end. The
+ * types of these objects are the same as for the <code>computeMin</code>
+ * and <code>computeMax</code> methods of {@link AccessorDatas}.
+ */
+class MinMaxComputer
+{
+    /**
+     * The number of elements above which the computation is split into
+     * tasks that are executed in parallel
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    
+    /**
+     * The number of elements that are read at once
+     */
+    private static final int CHUNK_SIZE = 4096;
+    
+    /**
+     * Compute the minimum and maximum component values of the given 
+     * {@link AccessorData}. The result will be an array with length 2, 
+     * containing the minimum values and the maximum values.
+     * 
+     * @param accessorData The {@link AccessorData}
+     * @return The minimum and maximum values
+     * @throws IllegalArgumentException If the given data has an unknown type
+     */
+    static Number[][] computeMinMax(AccessorData accessorData)
+    {
+        if (!(accessorData instanceof AccessorByteData) &&
+            !(accessorData instanceof AccessorShortData) &&
+            !(accessorData instanceof AccessorIntData) &&
+            !(accessorData instanceof AccessorFloatData))
+        {
+            throw new IllegalArgumentException(
+                "Invalid data type: " + accessorData);
+        }
+        int numElements = accessorData.getNumElements();
+        if (numElements == 0)
+        {
+            // The results for empty data are the initial values of the
+            // computation, which depend on the component type
+            return new Number[][] 
+            { 
+                AccessorDatas.computeMinSequential(accessorData), 
+                AccessorDatas.computeMaxSequential(accessorData)
+            };
+        }
+        double minMax[];
+        if (numElements < PARALLEL_THRESHOLD)
+        {
+            minMax = compute(accessorData, 0, numElements);
+        }
+        else
+        {
+            minMax = ForkJoinPool.commonPool().invoke(
+                new MinMaxTask(accessorData, 0, numElements));
+        }
+        return toNumbers(accessorData, minMax);
+    }
+    
+    /**
+     * A task for computing the minimum and maximum values of a range of
+     * elements
+     */
+    private static final class MinMaxTask extends RecursiveTask<double[]>
+    {
+        /**
+         * Serial UID
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The {@link AccessorData}
+         */
+        private final AccessorData accessorData;
+        
+        /**
+         * The start index, inclusive
+         */
+        private final int start;
+        
+        /**
+         * The end index, exclusive
+         */
+        private final int end;
+        
+        /**
+         * Creates a new task for the given range
+         * 
+         * @param accessorData The {@link AccessorData}
+         * @param start The start index, inclusive
+         * @param end The end index, exclusive
+         */
+        MinMaxTask(AccessorData accessorData, int start, int end)
+        {
+            this.accessorData = accessorData;
+            this.start = start;
+            this.end = end;
+        }
+        
+        @Override
+        protected double[] compute()
+        {
+            if (end - start < PARALLEL_THRESHOLD)
+            {
+                return MinMaxComputer.compute(accessorData, start, end);
+            }
+            int middle = start + (end - start) / 2;
+            MinMaxTask left = new MinMaxTask(accessorData, start, middle);
+            MinMaxTask right = new MinMaxTask(accessorData, middle, end);
+            left.fork();
+            double rightResult[] = right.compute();
+            double leftResult[] = left.join();
+            return combine(leftResult, rightResult);
+        }
+    }
+    
+    /**
+     * Combine the given results of the computation for two ranges
+     * 
+     * @param a The first result
+     * @param b The second result
+     * @return The combined result
+     */
+    private static double[] combine(double a[], double b[])
+    {
+        int nc = a.length / 2;
+        double result[] = new double[a.length];
+        for (int c = 0; c < nc; c++)
+        {
+            result[c] = Math.min(a[c], b[c]);
+            result[nc + c] = Math.max(a[nc + c], b[nc + c]);
+        }
+        return result;
+    }
+    
+    /**
+     * Compute the minimum and maximum values of the specified range of
+     * elements. The result will be an array that contains the minimum
+     * values, followed by the maximum values.
+     * 
+     * @param accessorData The {@link AccessorData}
+     * @param start The start index, inclusive
+     * @param end The end index, exclusive
+     * @return The result
+     */
+    private static double[] compute(
+        AccessorData accessorData, int start, int end)
+    {
+        int nc = accessorData.getNumComponentsPerElement();
+        double result[] = new double[nc * 2];
+        for (int c = 0; c < nc; c++)
+        {
+            result[c] = Double.POSITIVE_INFINITY;
+            result[nc + c] = Double.NEGATIVE_INFINITY;
+        }
+        if (accessorData instanceof AccessorByteData)
+        {
+            compute((AccessorByteData) accessorData, start, end, result);
+        }
+        else if (accessorData instanceof AccessorShortData)
+        {
+            compute((AccessorShortData) accessorData, start, end, result);
+        }
+        else if (accessorData instanceof AccessorIntData)
+        {
+            compute((AccessorIntData) accessorData, start, end, result);
+        }
+        else
+        {
+            compute((AccessorFloatData) accessorData, start, end, result);
+        }
+        return result;
+    }
+    
+    /**
+     * Compute the minimum and maximum values of the specified range of 
+     * elements, and store them in the given result
+     * 
+     * @param accessorData The {@link AccessorByteData}
+     * @param start The start index, inclusive
+     * @param end The end index, exclusive
+     * @param result The result
+     */
+    private static void compute(AccessorByteData accessorData, 
+        int start, int end, double result[])
+    {
+        int nc = accessorData.getNumComponentsPerElement();
+        int mask = accessorData.isUnsigned() ? 0xFF : -1;
+        byte values[] = new byte[Math.min(CHUNK_SIZE, end - start) * nc];
+        for (int e = start; e < end; e += CHUNK_SIZE)
+        {
+            int n = Math.min(CHUNK_SIZE, end - e);
+            accessorData.readInto(values, e, n);
+            int index = 0;
+            for (int i = 0; i < n; i++)
+            {
+                for (int c = 0; c < nc; c++)
+                {
+                    int value = values[index++] & mask;
+                    result[c] = Math.min(result[c], value);
+                    result[nc + c] = Math.max(result[nc + c], value);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Compute the minimum and maximum values of the specified range of 
+     * elements, and store them in the given result
+     * 
+     * @param accessorData The {@link AccessorShortData}
+     * @param start The start index, inclusive
+     * @param end The end index, exclusive
+     * @param result The result
+     */
+    private static void compute(AccessorShortData accessorData, 
+        int start, int end, double result[])
+    {
+        int nc = accessorData.getNumComponentsPerElement();
+        int mask = accessorData.isUnsigned() ? 0xFFFF : -1;
+        short values[] = new short[Math.min(CHUNK_SIZE, end - start) * nc];
+        for (int e = start; e < end; e += CHUNK_SIZE)
+        {
+            int n = Math.min(CHUNK_SIZE, end - e);
+            accessorData.readInto(values, e, n);
+            int index = 0;
+            for (int i = 0; i < n; i++)
+            {
+                for (int c = 0; c < nc; c++)
+                {
+                    int value = values[index++] & mask;
+                    result[c] = Math.min(result[c], value);
+                    result[nc + c] = Math.max(result[nc + c], value);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Compute the minimum and maximum values of the specified range of 
+     * elements, and store them in the given result
+     * 
+     * @param accessorData The {@link AccessorIntData}
+     * @param start The start index, inclusive
+     * @param end The end index, exclusive
+     * @param result The result
+     */
+    private static void compute(AccessorIntData accessorData, 
+        int start, int end, double result[])
+    {
+        int nc = accessorData.getNumComponentsPerElement();
+        long mask = accessorData.isUnsigned() ? 0xFFFFFFFFL : -1L;
+        int values[] = new int[Math.min(CHUNK_SIZE, end - start) * nc];
+        for (int e = start; e < end; e += CHUNK_SIZE)
+        {
+            int n = Math.min(CHUNK_SIZE, end - e);
+            accessorData.readInto(values, e, n);
+            int index = 0;
+            for (int i = 0; i < n; i++)
+            {
+                for (int c = 0; c < nc; c++)
+                {
+                    long value = values[index++] & mask;
+                    result[c] = Math.min(result[c], value);
+                    result[nc + c] = Math.max(result[nc + c], value);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Compute the minimum and maximum values of the specified range of 
+     * elements, and store them in the given result
+     * 
+     * @param accessorData The {@link AccessorFloatData}
+     * @param start The start index, inclusive
+     * @param end The end index, exclusive
+     * @param result The result
+     */
+    private static void compute(AccessorFloatData accessorData, 
+        int start, int end, double result[])
+    {
+        int nc = accessorData.getNumComponentsPerElement();
+        float values[] = new float[Math.min(CHUNK_SIZE, end - start) * nc];
+        for (int e = start; e < end; e += CHUNK_SIZE)
+        {
+            int n = Math.min(CHUNK_SIZE, end - e);
+            accessorData.readInto(values, e, n);
+            int index = 0;
+            for (int i = 0; i < n; i++)
+            {
+                for (int c = 0; c < nc; c++)
+                {
+                    float value = values[index++];
+                    result[c] = Math.min(result[c], value);
+                    result[nc + c] = Math.max(result[nc + c], value);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Convert the given result of the computation into arrays of 
+     * <code>Number</code> objects, with the types that are appropriate 
+     * for the type of the given {@link AccessorData}
+     * 
+     * @param accessorData The {@link AccessorData}
+     * @param minMax The minimum and maximum values
+     * @return The minimum and maximum values
+     */
+    private static Number[][] toNumbers(
+        AccessorData accessorData, double minMax[])
+    {
+        int nc = minMax.length / 2;
+        Number min[] = new Number[nc];
+        Number max[] = new Number[nc];
+        for (int c = 0; c < nc; c++)
+        {
+            min[c] = toNumber(accessorData, minMax[c]);
+            max[c] = toNumber(accessorData, minMax[nc + c]);
+        }
+        return new Number[][] { min, max };
+    }
+    
+    /**
+     * Convert the given value into a <code>Number</code> with the type 
+     * that is appropriate for the type of the given {@link AccessorData}
+     * 
+     * @param accessorData The {@link AccessorData}
+     * @param value The value
+     * @return The number
+     */
+    private static Number toNumber(AccessorData accessorData, double value)
+    {
+        if (accessorData instanceof AccessorFloatData)
+        {
+            return (float) value;
+        }
+        if (accessorData instanceof AccessorIntData)
+        {
+            return (long) value;
+        }
+        return (int) value;
+    }
+    
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private MinMaxComputer()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
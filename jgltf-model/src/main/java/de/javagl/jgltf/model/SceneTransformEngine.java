@@ -0,0 +1,641 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.jgltf.model;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+/**
+ * A class for computing the global transforms of all nodes of a scene 
+ * in one pass.<br>
+ * <br>
+ * The node hierarchy is flattened into arrays when the instance is 
+ * created. The nodes are stored in depth-first order, so that each
+ * node is stored before its descendants, and the descendants of each 
+ * node are stored in a contiguous range directly after the node. The 
+ * translation, rotation, scale and matrix of each node are stored in 
+ * arrays, and the global transforms are computed from these arrays 
+ * with a linear pass. For large scenes, independent subtrees are
+ * processed in parallel.<br>
+ * <br>
+ * The global transforms are stored in a single array, containing one 
+ * 4x4 matrix in column-major order for each node, in the order of
+ * {@link #getNodeModels()}.<br>
+ * <br>
+ * The node hierarchy is assumed not to change after the instance was 
+ * created. Changes in the transform properties of the nodes are taken
+ * into account by calling {@link #update()}. Alternatively, the 
+ * transform properties may be written directly into the arrays that
+ * are returned by {@link #getTranslations()}, {@link #getRotations()}
+ * and {@link #getScales()}, followed by a call to 
+ * {@link #computeGlobalTransforms()}.<br>
+ * <br>
+ * This class is not thread-safe.
+ */
+public final class SceneTransformEngine
+{
+    /**
+     * The number of nodes above which the global transforms of 
+     * independent subtrees will be computed in parallel
+     */
+    private static final int PARALLEL_THRESHOLD = 8192;
+    
+    /**
+     * The {@link NodeModel} instances, in depth-first order
+     */
+    private final List<NodeModel> nodeModels;
+    
+    /**
+     * The mapping from {@link NodeModel} instances to their index
+     */
+    private final Map<NodeModel, Integer> indices;
+    
+    /**
+     * The index of the parent of each node, or -1 for root nodes
+     */
+    private final int parentIndices[];
+    
+    /**
+     * The index after the last descendant of each node
+     */
+    private final int subtreeEnds[];
+    
+    /**
+     * The translations, 3 elements for each node
+     */
+    private final float translations[];
+    
+    /**
+     * The rotation quaternions, 4 elements for each node
+     */
+    private final float rotations[];
+    
+    /**
+     * The scales, 3 elements for each node
+     */
+    private final float scales[];
+    
+    /**
+     * The local transform matrices, 16 elements for each node. For 
+     * nodes that have a matrix, this is the matrix of the node. For
+     * all other nodes, this is computed from the translation, rotation
+     * and scale.
+     */
+    private final float localTransforms[];
+    
+    /**
+     * Whether the nodes have a matrix
+     */
+    private final boolean hasMatrix[];
+    
+    /**
+     * The global transform matrices, 16 elements for each node
+     */
+    private final float globalTransforms[];
+    
+    /**
+     * Creates a new instance for the given {@link SceneModel}. The 
+     * transform properties of the nodes will be read, and the global
+     * transforms will be computed.
+     * 
+     * @param sceneModel The {@link SceneModel}
+     * @throws IllegalArgumentException If the scene contains a node 
+     * more than once
+     */
+    public SceneTransformEngine(SceneModel sceneModel)
+    {
+        this(Objects.requireNonNull(sceneModel, 
+            "The sceneModel may not be null").getNodeModels());
+    }
+    
+    /**
+     * Creates a new instance for the hierarchies of the given root 
+     * {@link NodeModel} instances. The transform properties of the 
+     * nodes will be read, and the global transforms will be computed.
+     * 
+     * @param rootNodeModels The root {@link NodeModel} instances
+     * @throws IllegalArgumentException If the hierarchy contains a node 
+     * more than once
+     */
+    public SceneTransformEngine(List<? extends NodeModel> rootNodeModels)
+    {
+        Objects.requireNonNull(rootNodeModels, 
+            "The rootNodeModels may not be null");
+        this.nodeModels = new ArrayList<NodeModel>();
+        this.indices = new IdentityHashMap<NodeModel, Integer>();
+        List<Integer> parentIndexList = new ArrayList<Integer>();
+        List<Integer> subtreeEndList = new ArrayList<Integer>();
+        for (NodeModel rootNodeModel : rootNodeModels)
+        {
+            flatten(rootNodeModel, -1, parentIndexList, subtreeEndList);
+        }
+        int n = nodeModels.size();
+        this.parentIndices = new int[n];
+        this.subtreeEnds = new int[n];
+        for (int i = 0; i < n; i++)
+        {
+            parentIndices[i] = parentIndexList.get(i);
+            subtreeEnds[i] = subtreeEndList.get(i);
+        }
+        this.translations = new float[n * 3];
+        this.rotations = new float[n * 4];
+        this.scales = new float[n * 3];
+        this.localTransforms = new float[n * 16];
+        this.hasMatrix = new boolean[n];
+        this.globalTransforms = new float[n * 16];
+        update();
+    }
+    
+    /**
+     * Add the given node and all its descendants to the flattened 
+     * hierarchy, in depth-first order
+     * 
+     * @param rootNodeModel The root {@link NodeModel}
+     * @param rootParentIndex The index of the parent of the root node
+     * @param parentIndexList The list of parent indices
+     * @param subtreeEndList The list of subtree end indices
+     * @throws IllegalArgumentException If the hierarchy contains a node 
+     * more than once
+     */
+    private void flatten(NodeModel rootNodeModel, int rootParentIndex,
+        List<Integer> parentIndexList, List<Integer> subtreeEndList)
+    {
+        // The traversal uses an explicit stack, because deep hierarchies 
+        // could otherwise cause a stack overflow. A negative entry marks 
+        // the end of the subtree of the node with the index (-entry-1).
+        Deque<Object> stack = new ArrayDeque<Object>();
+        stack.push(rootNodeModel);
+        Deque<Integer> parentStack = new ArrayDeque<Integer>();
+        parentStack.push(rootParentIndex);
+        while (!stack.isEmpty())
+        {
+            Object entry = stack.pop();
+            if (entry instanceof Integer)
+            {
+                int index = -((Integer) entry) - 1;
+                subtreeEndList.set(index, nodeModels.size());
+                parentStack.pop();
+                continue;
+            }
+            NodeModel nodeModel = (NodeModel) entry;
+            if (indices.containsKey(nodeModel))
+            {
+                throw new IllegalArgumentException(
+                    "The node hierarchy contains " + nodeModel
+                    + " more than once");
+            }
+            int index = nodeModels.size();
+            nodeModels.add(nodeModel);
+            indices.put(nodeModel, index);
+            parentIndexList.add(parentStack.peek());
+            subtreeEndList.add(-1);
+            
+            stack.push(-index - 1);
+            parentStack.push(index);
+            List<NodeModel> children = nodeModel.getChildren();
+            for (int i = children.size() - 1; i >= 0; i--)
+            {
+                stack.push(children.get(i));
+            }
+        }
+    }
+    
+    /**
+     * Returns an unmodifiable view on the list of {@link NodeModel} 
+     * instances, in the order in which their transforms are stored
+     * 
+     * @return The {@link NodeModel} instances
+     */
+    public List<NodeModel> getNodeModels()
+    {
+        return Collections.unmodifiableList(nodeModels);
+    }
+    
+    /**
+     * Returns the number of nodes
+     * 
+     * @return The number of nodes
+     */
+    public int getNodeCount()
+    {
+        return nodeModels.size();
+    }
+    
+    /**
+     * Returns the index of the given {@link NodeModel}, or -1 if the 
+     * given node is not part of the hierarchy
+     * 
+     * @param nodeModel The {@link NodeModel}
+     * @return The index
+     */
+    public int getIndex(NodeModel nodeModel)
+    {
+        Integer index = indices.get(nodeModel);
+        if (index == null)
+        {
+            return -1;
+        }
+        return index;
+    }
+    
+    /**
+     * Returns the index of the parent of the node with the given index,
+     * or -1 if the node is a root node
+     * 
+     * @param index The index of the node
+     * @return The parent index
+     * @throws IndexOutOfBoundsException If the index is negative or not 
+     * smaller than the {@link #getNodeCount() number of nodes}
+     */
+    public int getParentIndex(int index)
+    {
+        return parentIndices[index];
+    }
+    
+    /**
+     * Returns a <b>reference</b> to the array that contains the 
+     * translations of all nodes, with 3 elements for each node.
+     * 
+     * @return The translations
+     */
+    public float[] getTranslations()
+    {
+        return translations;
+    }
+    
+    /**
+     * Returns a <b>reference</b> to the array that contains the 
+     * rotation quaternions of all nodes, with 4 elements for each node.
+     * 
+     * @return The rotations
+     */
+    public float[] getRotations()
+    {
+        return rotations;
+    }
+    
+    /**
+     * Returns a <b>reference</b> to the array that contains the 
+     * scales of all nodes, with 3 elements for each node.
+     * 
+     * @return The scales
+     */
+    public float[] getScales()
+    {
+        return scales;
+    }
+    
+    /**
+     * Returns a <b>reference</b> to the array that contains the global
+     * transforms of all nodes, as 4x4 matrices in column-major order,
+     * with 16 elements for each node. Callers MUST NOT modify the 
+     * returned array.
+     * 
+     * @return The global transforms
+     */
+    public float[] getGlobalTransforms()
+    {
+        return globalTransforms;
+    }
+    
+    /**
+     * Returns a read-only buffer that is a view on the 
+     * {@link #getGlobalTransforms() global transforms}
+     * 
+     * @return The buffer
+     */
+    public FloatBuffer getGlobalTransformsBuffer()
+    {
+        return FloatBuffer.wrap(globalTransforms).asReadOnlyBuffer();
+    }
+    
+    /**
+     * Write the global transform of the node with the given index into
+     * the given array. If the given array is <code>null</code> or does 
+     * not have a length of 16, then a new array with length 16 will be 
+     * created and returned. 
+     * 
+     * @param index The index of the node
+     * @param result The result array
+     * @return The result array
+     * @throws IndexOutOfBoundsException If the index is negative or not 
+     * smaller than the {@link #getNodeCount() number of nodes}
+     */
+    public float[] getGlobalTransform(int index, float result[])
+    {
+        float localResult[] = Utils.validate(result, 16);
+        System.arraycopy(globalTransforms, index * 16, localResult, 0, 16);
+        return localResult;
+    }
+    
+    /**
+     * Creates a supplier for the global transform of the given
+     * {@link NodeModel}, as it was computed in the last call to
+     * {@link #update()} or {@link #computeGlobalTransforms()}.<br>
+     * <br>
+     * The supplier will always return the same array instance. 
+     * Callers MUST NOT store or modify the returned array. 
+     * 
+     * @param nodeModel The {@link NodeModel}
+     * @return The supplier
+     * @throws IllegalArgumentException If the given node is not part 
+     * of the hierarchy
+     */
+    public Supplier<float[]> createGlobalTransformSupplier(
+        NodeModel nodeModel)
+    {
+        int index = getIndex(nodeModel);
+        if (index == -1)
+        {
+            throw new IllegalArgumentException(
+                "The node " + nodeModel + " is not part of the hierarchy");
+        }
+        float transform[] = new float[16];
+        return () -> getGlobalTransform(index, transform);
+    }
+    
+    /**
+     * Read the transform properties of all nodes, and compute the
+     * global transforms
+     */
+    public void update()
+    {
+        readTransforms();
+        computeGlobalTransforms();
+    }
+    
+    /**
+     * Read the matrix, translation, rotation and scale of all nodes into
+     * the arrays of this instance. Missing properties will be replaced 
+     * with the respective identity values.
+     */
+    private void readTransforms()
+    {
+        int n = nodeModels.size();
+        for (int i = 0; i < n; i++)
+        {
+            NodeModel nodeModel = nodeModels.get(i);
+            float matrix[] = nodeModel.getMatrix();
+            if (matrix != null)
+            {
+                hasMatrix[i] = true;
+                System.arraycopy(matrix, 0, localTransforms, i * 16, 16);
+            }
+            else
+            {
+                hasMatrix[i] = false;
+            }
+            copy(nodeModel.getTranslation(), translations, i * 3, 0.0f, 3);
+            copy(nodeModel.getScale(), scales, i * 3, 1.0f, 3);
+            float rotation[] = nodeModel.getRotation();
+            if (rotation != null)
+            {
+                System.arraycopy(rotation, 0, rotations, i * 4, 4);
+            }
+            else
+            {
+                rotations[i * 4 + 0] = 0.0f;
+                rotations[i * 4 + 1] = 0.0f;
+                rotations[i * 4 + 2] = 0.0f;
+                rotations[i * 4 + 3] = 1.0f;
+            }
+        }
+    }
+    
+    /**
+     * Copy the given number of elements of the given source array into 
+     * the given target array, starting at the given offset. If the 
+     * source is <code>null</code>, then the target range is filled 
+     * with the given default value.
+     * 
+     * @param source The source
+     * @param target The target
+     * @param offset The offset in the target
+     * @param defaultValue The default value
+     * @param length The number of elements
+     */
+    private static void copy(float source[], float target[], int offset, 
+        float defaultValue, int length)
+    {
+        if (source != null)
+        {
+            System.arraycopy(source, 0, target, offset, length);
+        }
+        else
+        {
+            for (int i = 0; i < length; i++)
+            {
+                target[offset + i] = defaultValue;
+            }
+        }
+    }
+    
+    /**
+     * Compute the global transforms of all nodes, based on the current
+     * contents of the translation, rotation and scale arrays, and the
+     * matrices of the nodes as of the last call to {@link #update()}.
+     */
+    public void computeGlobalTransforms()
+    {
+        int n = nodeModels.size();
+        if (n < PARALLEL_THRESHOLD)
+        {
+            computeGlobalTransforms(0, n);
+        }
+        else
+        {
+            ForkJoinPool.commonPool().invoke(new GlobalTransformsTask(0, n));
+        }
+    }
+    
+    /**
+     * A task for computing the global transforms of a range of nodes
+     * in parallel
+     */
+    private final class GlobalTransformsTask extends RecursiveAction
+    {
+        /**
+         * Serial UID
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The start index, inclusive
+         */
+        private final int start;
+        
+        /**
+         * The end index, exclusive
+         */
+        private final int end;
+        
+        /**
+         * Creates a new task for the given range. The range must consist
+         * of complete subtrees, and the global transforms of the parents 
+         * of the roots of these subtrees must already be computed. 
+         * 
+         * @param start The start index, inclusive
+         * @param end The end index, exclusive
+         */
+        GlobalTransformsTask(int start, int end)
+        {
+            this.start = start;
+            this.end = end;
+        }
+        
+        @Override
+        protected void compute()
+        {
+            // As long as the range consists of a single subtree, compute
+            // the transform of its root, and continue with the subtrees
+            // of its children
+            int first = start;
+            while (end - first >= PARALLEL_THRESHOLD && 
+                subtreeEnds[first] == end)
+            {
+                computeGlobalTransforms(first, first + 1);
+                first++;
+            }
+            if (end - first < PARALLEL_THRESHOLD)
+            {
+                computeGlobalTransforms(first, end);
+                return;
+            }
+            
+            // Split the range at a subtree boundary that is close
+            // to the middle of the range
+            int middle = first + (end - first) / 2;
+            int split = first;
+            while (subtreeEnds[split] <= middle)
+            {
+                split = subtreeEnds[split];
+            }
+            if (split == first)
+            {
+                split = subtreeEnds[first];
+            }
+            invokeAll(
+                new GlobalTransformsTask(first, split),
+                new GlobalTransformsTask(split, end));
+        }
+    }
+    
+    /**
+     * Compute the global transforms of the nodes in the given range. The
+     * global transforms of the parents of the nodes that are not 
+     * contained in the range must already be computed.
+     * 
+     * @param start The start index, inclusive
+     * @param end The end index, exclusive
+     */
+    private void computeGlobalTransforms(int start, int end)
+    {
+        for (int i = start; i < end; i++)
+        {
+            if (!hasMatrix[i])
+            {
+                computeLocalTransform(i);
+            }
+            int parentIndex = parentIndices[i];
+            if (parentIndex == -1)
+            {
+                System.arraycopy(
+                    localTransforms, i * 16, globalTransforms, i * 16, 16);
+            }
+            else
+            {
+                MathUtils.mul4x4(globalTransforms, parentIndex * 16, 
+                    localTransforms, i * 16, globalTransforms, i * 16);
+            }
+        }
+    }
+    
+    /**
+     * Compute the local transform of the node with the given index from
+     * its translation, rotation and scale. This is equivalent to the
+     * product of the translation, the rotation and the scale matrix,
+     * in this order. The rotation is normalized, and a rotation with 
+     * a length of 0 is treated as the identity.
+     * 
+     * @param index The index of the node
+     */
+    private void computeLocalTransform(int index)
+    {
+        int t = index * 3;
+        int r = index * 4;
+        int m = index * 16;
+        float qx = rotations[r + 0];
+        float qy = rotations[r + 1];
+        float qz = rotations[r + 2];
+        float qw = rotations[r + 3];
+        float lengthSquared = qx * qx + qy * qy + qz * qz + qw * qw;
+        if (lengthSquared == 0.0f)
+        {
+            // A quaternion with length 0 is treated as the identity
+            // rotation, as in MathUtils#quaternionToMatrix4x4
+            qw = 1.0f;
+        }
+        else
+        {
+            float invLength = 1.0f / (float) Math.sqrt(lengthSquared);
+            qx *= invLength;
+            qy *= invLength;
+            qz *= invLength;
+            qw *= invLength;
+        }
+        float sx = scales[t + 0];
+        float sy = scales[t + 1];
+        float sz = scales[t + 2];
+        float lt[] = localTransforms;
+        lt[m +  0] = (1.0f - 2.0f * qy * qy - 2.0f * qz * qz) * sx;
+        lt[m +  1] = (2.0f * (qx * qy + qw * qz)) * sx;
+        lt[m +  2] = (2.0f * (qx * qz - qw * qy)) * sx;
+        lt[m +  3] = 0.0f;
+        lt[m +  4] = (2.0f * (qx * qy - qw * qz)) * sy;
+        lt[m +  5] = (1.0f - 2.0f * qx * qx - 2.0f * qz * qz) * sy;
+        lt[m +  6] = (2.0f * (qy * qz + qw * qx)) * sy;
+        lt[m +  7] = 0.0f;
+        lt[m +  8] = (2.0f * (qx * qz + qw * qy)) * sz;
+        lt[m +  9] = (2.0f * (qy * qz - qw * qx)) * sz;
+        lt[m + 10] = (1.0f - 2.0f * qx * qx - 2.0f * qy * qy) * sz;
+        lt[m + 11] = 0.0f;
+        lt[m + 12] = translations[t + 0];
+        lt[m + 13] = translations[t + 1];
+        lt[m + 14] = translations[t + 2];
+        lt[m + 15] = 1.0f;
+    }
+}
@@ -28,8 +28,6 @@ package de.javagl.jgltf.model.extensions;
 
 import java.util.Map;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 import de.javagl.jgltf.model.io.JacksonUtils;
 
 /**
@@ -113,8 +111,7 @@ public class GltfExtensions
     private static <T> T convertValue(Object object, Class<T> type)
         throws IllegalArgumentException
     {
-        ObjectMapper objectMapper = JacksonUtils.createObjectMapper();
-        return objectMapper.convertValue(object, type);
+        return JacksonUtils.convertValue(object, type);
     }
     
     /**
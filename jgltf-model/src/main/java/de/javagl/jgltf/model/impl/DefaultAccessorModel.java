@@ -77,18 +77,31 @@ public final class DefaultAccessorModel extends AbstractNamedModelElement
     /**
      * The {@link AccessorData}
      */
-    private AccessorData accessorData;
+    private volatile AccessorData accessorData;
     
     /**
-     * The minimum components
+     * The maximum components
      */
     private Number[] max;
     
     /**
-     * The maximum components
+     * The minimum components
      */
     private Number[] min;
     
+    /**
+     * The {@link AccessorData} for which the minimum and maximum 
+     * components have been computed
+     */
+    private AccessorData minMaxAccessorData;
+    
+    /**
+     * The {@link AccessorData#getModificationCount() modification count}
+     * of the {@link AccessorData} at the time when the minimum and maximum
+     * components have been computed
+     */
+    private long minMaxModificationCount;
+    
     /**
      * Creates a new instance
      * 
@@ -216,7 +229,11 @@ public final class DefaultAccessorModel extends AbstractNamedModelElement
     }
     
     /**
-     * Set the {@link AccessorData} for this accessor
+     * Set the {@link AccessorData} for this accessor.<br>
+     * <br>
+     * If no accessor data is set, then it will be created from the
+     * {@link #getBufferViewModel() buffer view model} when it is 
+     * first requested.
      * 
      * @param accessorData The {@link AccessorData}
      */
@@ -228,28 +245,63 @@ public final class DefaultAccessorModel extends AbstractNamedModelElement
     @Override
     public AccessorData getAccessorData()
     {
-        return accessorData;
+        AccessorData result = accessorData;
+        if (result != null)
+        {
+            return result;
+        }
+        synchronized (this)
+        {
+            if (accessorData == null && bufferViewModel != null)
+            {
+                accessorData = AccessorDatas.create(this);
+            }
+            return accessorData;
+        }
     }
     
     
     @Override
-    public Number[] getMin()
+    public synchronized Number[] getMin()
     {
-        if (min == null)
-        {
-            min = AccessorDatas.computeMin(getAccessorData());
-        }
+        updateMinMax();
         return min.clone();
     }
     
     @Override
-    public Number[] getMax()
+    public synchronized Number[] getMax()
     {
-        if (max == null)
+        updateMinMax();
+        return max.clone();
+    }
+    
+    /**
+     * Compute the minimum and maximum components, if they have not been
+     * computed yet, or if the {@link AccessorData} was replaced or 
+     * modified since they have been computed. This must be called while
+     * holding the lock on this object.
+     */
+    private void updateMinMax()
+    {
+        AccessorData currentAccessorData = getAccessorData();
+        // A modification count of -1 means that modifications are not
+        // tracked, so the values have to be computed at each call
+        if (min != null && currentAccessorData == minMaxAccessorData &&
+            minMaxModificationCount != -1 &&
+            currentAccessorData.getModificationCount() == 
+                minMaxModificationCount)
         {
-            max = AccessorDatas.computeMax(getAccessorData());
+            return;
         }
-        return max.clone();
+        // The modification count is obtained before the computation, so 
+        // that concurrent modifications cause a new computation later
+        long modificationCount = currentAccessorData == null ? 
+            0 : currentAccessorData.getModificationCount();
+        Number minMax[][] = AccessorDatas.computeMinMax(currentAccessorData);
+        min = minMax[0];
+        max = minMax[1];
+        minMaxAccessorData = currentAccessorData;
+        minMaxModificationCount = modificationCount;
     }
     
 }
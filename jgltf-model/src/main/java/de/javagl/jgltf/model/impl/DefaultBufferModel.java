@@ -26,9 +26,17 @@
  */
 package de.javagl.jgltf.model.impl;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
 
 import de.javagl.jgltf.model.BufferModel;
+import de.javagl.jgltf.model.BufferViewModel;
+import de.javagl.jgltf.model.io.BufferRangeReader;
 import de.javagl.jgltf.model.io.Buffers;
 
 /**
@@ -37,6 +45,12 @@ import de.javagl.jgltf.model.io.Buffers;
 public final class DefaultBufferModel extends AbstractNamedModelElement
     implements BufferModel
 {
+    /**
+     * The logger used in this class
+     */
+    private static final Logger logger = 
+        Logger.getLogger(DefaultBufferModel.class.getName());
+    
     /**
      * The URI of the buffer data
      */
@@ -45,7 +59,19 @@ public final class DefaultBufferModel extends AbstractNamedModelElement
     /**
      * The actual data of the buffer
      */
-    private ByteBuffer bufferData;
+    private volatile ByteBuffer bufferData;
+    
+    /**
+     * The supplier for the buffer data, if the data should be obtained
+     * lazily, when it is first accessed
+     */
+    private Supplier<? extends ByteBuffer> bufferDataSupplier;
+    
+    /**
+     * The optional {@link BufferRangeReader} for reading the data of
+     * buffer views, as long as the buffer data was not obtained
+     */
+    private BufferRangeReader bufferRangeReader;
     
     /**
      * Creates a new instance
@@ -70,9 +96,198 @@ public final class DefaultBufferModel extends AbstractNamedModelElement
      * 
      * @param bufferData The buffer data
      */
-    public void setBufferData(ByteBuffer bufferData)
+    public synchronized void setBufferData(ByteBuffer bufferData)
     {
         this.bufferData = bufferData;
+        this.bufferDataSupplier = null;
+        this.bufferRangeReader = null;
+    }
+    
+    /**
+     * Set the supplier for the data of this buffer. The supplier will be
+     * called when the buffer data is first accessed, and the data that
+     * it returns will be used from then on. This allows loading external
+     * data only when it is actually needed. The supplier will be called
+     * at most once, even when the data is accessed by multiple threads.
+     * (If it returns <code>null</code>, then the buffer data will remain
+     * <code>null</code>).
+     * 
+     * @param bufferDataSupplier The buffer data supplier
+     */
+    public synchronized void setBufferDataSupplier(
+        Supplier<? extends ByteBuffer> bufferDataSupplier)
+    {
+        this.bufferData = null;
+        this.bufferDataSupplier = bufferDataSupplier;
+    }
+    
+    /**
+     * Set the {@link BufferRangeReader} that should be used for reading 
+     * the data of the buffer views that refer to this buffer.<br>
+     * <br>
+     * As long as the data of this buffer was not obtained (for example,
+     * with {@link #getBufferData()}), the data of each 
+     * {@link DefaultBufferViewModel} that refers to this buffer will be
+     * read from the respective range of the file, when it is first 
+     * accessed. The data of multiple buffer views can be read with 
+     * a minimum number of read operations by calling 
+     * {@link #loadBufferViewDatas(Collection)}.<br>
+     * <br>
+     * The data of the buffer views that is read in this way is not part
+     * of the data of this buffer. It is therefore read-only: Attempts to
+     * modify it, for example, with the <code>set</code> methods of the
+     * <code>AccessorData</code> of an accessor, will cause a 
+     * <code>ReadOnlyBufferException</code>. 
+     * 
+     * @param bufferRangeReader The {@link BufferRangeReader}
+     */
+    public synchronized void setBufferRangeReader(
+        BufferRangeReader bufferRangeReader)
+    {
+        this.bufferRangeReader = bufferRangeReader;
+    }
+    
+    /**
+     * Returns the {@link BufferRangeReader} that is used for reading the
+     * data of buffer views
+     * 
+     * @return The {@link BufferRangeReader}
+     * @see #setBufferRangeReader(BufferRangeReader)
+     */
+    public synchronized BufferRangeReader getBufferRangeReader()
+    {
+        return bufferRangeReader;
+    }
+    
+    /**
+     * Returns the {@link BufferRangeReader} that should be used for 
+     * reading ranges of this buffer, or <code>null</code> if no reader
+     * was set, or the buffer data was already obtained
+     * 
+     * @return The {@link BufferRangeReader}
+     */
+    private synchronized BufferRangeReader getActiveBufferRangeReader()
+    {
+        if (bufferData != null)
+        {
+            return null;
+        }
+        return bufferRangeReader;
+    }
+    
+    /**
+     * Read the specified range of this buffer with the 
+     * {@link #setBufferRangeReader(BufferRangeReader) buffer range reader}.
+     * Returns <code>null</code> if no reader was set, the buffer data was
+     * already obtained, or the range could not be read. 
+     * 
+     * @param byteOffset The byte offset
+     * @param byteLength The byte length
+     * @return The data of the range
+     */
+    ByteBuffer readRange(int byteOffset, int byteLength)
+    {
+        BufferRangeReader reader = getActiveBufferRangeReader();
+        if (reader == null)
+        {
+            return null;
+        }
+        try
+        {
+            return reader.read(byteOffset, byteLength);
+        }
+        catch (IOException e)
+        {
+            logger.warning("Could not read range of buffer " + uri + ": " 
+                + e.getMessage() + ", reading the whole buffer");
+            return null;
+        }
+    }
+    
+    /**
+     * Read the data of all given buffer views that refer to this buffer 
+     * and whose data was not obtained yet, using the 
+     * {@link #setBufferRangeReader(BufferRangeReader) buffer range reader}.
+     * <br>
+     * The data of buffer views that are adjacent or close to each other
+     * in the buffer will be read with a single read operation, as 
+     * described in {@link BufferRangeReader#readAll(long[], int[])}.
+     * Buffer views that do not refer to this buffer, or that are not 
+     * {@link DefaultBufferViewModel} instances, are ignored. If no 
+     * buffer range reader was set, or the data of this buffer was 
+     * already obtained, then this method has no effect.
+     * 
+     * @param bufferViewModels The {@link BufferViewModel} instances
+     */
+    public void loadBufferViewDatas(
+        Collection<? extends BufferViewModel> bufferViewModels)
+    {
+        BufferRangeReader reader = getActiveBufferRangeReader();
+        if (reader == null)
+        {
+            return;
+        }
+        List<DefaultBufferViewModel> pending = 
+            new ArrayList<DefaultBufferViewModel>();
+        for (BufferViewModel bufferViewModel : bufferViewModels)
+        {
+            if (bufferViewModel instanceof DefaultBufferViewModel &&
+                bufferViewModel.getBufferModel() == this)
+            {
+                DefaultBufferViewModel defaultBufferViewModel = 
+                    (DefaultBufferViewModel) bufferViewModel;
+                if (!defaultBufferViewModel.hasRangeData() &&
+                    !pending.contains(defaultBufferViewModel))
+                {
+                    pending.add(defaultBufferViewModel);
+                }
+            }
+        }
+        long offsets[] = new long[pending.size()];
+        int lengths[] = new int[pending.size()];
+        for (int i = 0; i < pending.size(); i++)
+        {
+            offsets[i] = pending.get(i).getByteOffset();
+            lengths[i] = pending.get(i).getByteLength();
+        }
+        try
+        {
+            ByteBuffer datas[] = reader.readAll(offsets, lengths);
+            for (int i = 0; i < pending.size(); i++)
+            {
+                pending.get(i).setRangeData(datas[i]);
+            }
+        }
+        catch (IOException e)
+        {
+            logger.warning("Could not read ranges of buffer " + uri + ": " 
+                + e.getMessage());
+        }
+    }
+    
+    /**
+     * Returns the data of this buffer, obtaining it from the 
+     * {@link #setBufferDataSupplier(Supplier) supplier} if 
+     * necessary
+     * 
+     * @return The buffer data
+     */
+    private ByteBuffer obtainBufferData()
+    {
+        ByteBuffer result = bufferData;
+        if (result != null)
+        {
+            return result;
+        }
+        synchronized (this)
+        {
+            if (bufferData == null && bufferDataSupplier != null)
+            {
+                bufferData = bufferDataSupplier.get();
+                bufferDataSupplier = null;
+            }
+            return bufferData;
+        }
     }
     
     @Override
@@ -84,13 +299,13 @@ public final class DefaultBufferModel extends AbstractNamedModelElement
     @Override
     public int getByteLength()
     {
-        return bufferData.capacity();
+        return obtainBufferData().capacity();
     }
     
     @Override
     public ByteBuffer getBufferData()
     {
-        return Buffers.createSlice(bufferData);
+        return Buffers.createSlice(obtainBufferData());
     }
     
 }
@@ -77,6 +77,14 @@ public final class DefaultBufferViewModel extends AbstractNamedModelElement
      */
     private boolean sparseSubstitutionApplied;
     
+    /**
+     * The data of this buffer view, if it was read individually with 
+     * the {@link DefaultBufferModel#setBufferRangeReader buffer range
+     * reader} of the buffer. This is a read-only buffer, because it is
+     * not part of the data of the buffer.
+     */
+    private volatile ByteBuffer rangeData;
+    
     /**
      * Creates a new instance
      * 
@@ -110,6 +118,7 @@ public final class DefaultBufferViewModel extends AbstractNamedModelElement
     public void setBufferModel(BufferModel bufferModel)
     {
         this.bufferModel = bufferModel;
+        this.rangeData = null;
     }
     
     /**
@@ -120,6 +129,7 @@ public final class DefaultBufferViewModel extends AbstractNamedModelElement
     public void setByteOffset(int byteOffset)
     {
         this.byteOffset = byteOffset;
+        this.rangeData = null;
     }
 
     /**
@@ -130,6 +140,7 @@ public final class DefaultBufferViewModel extends AbstractNamedModelElement
     public void setByteLength(int byteLength)
     {
         this.byteLength = byteLength;
+        this.rangeData = null;
     }
 
     /**
@@ -145,12 +156,84 @@ public final class DefaultBufferViewModel extends AbstractNamedModelElement
     }
     
     
+    /**
+     * Set the data of this buffer view that was read individually
+     * 
+     * @param rangeData The data
+     */
+    void setRangeData(ByteBuffer rangeData)
+    {
+        this.rangeData = asReadOnlyBuffer(rangeData);
+    }
+    
+    /**
+     * Returns a read-only view on the given buffer, with the same byte 
+     * order, or <code>null</code> if the given buffer is <code>null</code>
+     * 
+     * @param byteBuffer The byte buffer
+     * @return The read-only buffer
+     */
+    private static ByteBuffer asReadOnlyBuffer(ByteBuffer byteBuffer)
+    {
+        if (byteBuffer == null)
+        {
+            return null;
+        }
+        return byteBuffer.asReadOnlyBuffer().order(byteBuffer.order());
+    }
+    
+    /**
+     * Returns whether the data of this buffer view was read individually
+     * 
+     * @return Whether the data was read
+     */
+    boolean hasRangeData()
+    {
+        return rangeData != null;
+    }
+    
+    /**
+     * Returns the data of this buffer view. If the data was read 
+     * individually, or it can be read individually with the buffer 
+     * range reader of the buffer, then this data will be returned. 
+     * This data is read-only: Modifications of this data would not
+     * be visible in the buffer data, and therefore cause a
+     * <code>ReadOnlyBufferException</code>. Otherwise, the data 
+     * is a slice of the buffer data.
+     * 
+     * @return The data
+     */
+    private ByteBuffer obtainBufferViewData()
+    {
+        ByteBuffer result = rangeData;
+        if (result == null && bufferModel instanceof DefaultBufferModel)
+        {
+            DefaultBufferModel defaultBufferModel = 
+                (DefaultBufferModel) bufferModel;
+            synchronized (this)
+            {
+                if (rangeData == null)
+                {
+                    rangeData = asReadOnlyBuffer(
+                        defaultBufferModel.readRange(
+                            getByteOffset(), getByteLength()));
+                }
+                result = rangeData;
+            }
+        }
+        if (result != null)
+        {
+            return Buffers.createSlice(result);
+        }
+        ByteBuffer bufferData = bufferModel.getBufferData();
+        return Buffers.createSlice(
+            bufferData, getByteOffset(), getByteLength());
+    }
+    
     @Override
     public ByteBuffer getBufferViewData()
     {
-        ByteBuffer bufferData = bufferModel.getBufferData();
-        ByteBuffer bufferViewData = 
-            Buffers.createSlice(bufferData, getByteOffset(), getByteLength());
+        ByteBuffer bufferViewData = obtainBufferViewData();
         if (sparseSubstitutionCallback != null && !sparseSubstitutionApplied)
         {
             sparseSubstitutionCallback.accept(bufferViewData);
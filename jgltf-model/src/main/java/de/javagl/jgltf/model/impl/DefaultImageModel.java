@@ -27,10 +27,12 @@
 package de.javagl.jgltf.model.impl;
 
 import java.nio.ByteBuffer;
+import java.util.function.Supplier;
 
 import de.javagl.jgltf.model.BufferViewModel;
 import de.javagl.jgltf.model.ImageModel;
 import de.javagl.jgltf.model.io.Buffers;
+import de.javagl.jgltf.model.io.MimeTypes;
 
 /**
  * Implementation of a {@link ImageModel}
@@ -56,7 +58,13 @@ public class DefaultImageModel extends AbstractNamedModelElement
     /**
      * The image data
      */
-    private ByteBuffer imageData;
+    private volatile ByteBuffer imageData;
+    
+    /**
+     * The supplier for the image data, if the data should be obtained
+     * lazily, when it is first accessed
+     */
+    private Supplier<? extends ByteBuffer> imageDataSupplier;
     
     /**
      * Creates a new instance
@@ -81,7 +89,7 @@ public class DefaultImageModel extends AbstractNamedModelElement
      * 
      * @param mimeType The MIME type
      */
-    public void setMimeType(String mimeType)
+    public synchronized void setMimeType(String mimeType)
     {
         this.mimeType = mimeType;
     }
@@ -101,9 +109,68 @@ public class DefaultImageModel extends AbstractNamedModelElement
      * 
      * @param imageData The image data
      */
-    public void setImageData(ByteBuffer imageData)
+    public synchronized void setImageData(ByteBuffer imageData)
     {
         this.imageData = imageData;
+        this.imageDataSupplier = null;
+    }
+    
+    /**
+     * Set the supplier for the image data. The supplier will be called
+     * when the image data is first accessed, and the data that it returns
+     * will be used from then on. This allows loading external data only
+     * when it is actually needed. The supplier will be called at most
+     * once, even when the data is accessed by multiple threads. (If it 
+     * returns <code>null</code>, then the image data will remain 
+     * <code>null</code>).<br>
+     * <br>
+     * If no MIME type was set, then the MIME type will be determined 
+     * from the image data when it is first requested.
+     * 
+     * @param imageDataSupplier The image data supplier
+     */
+    public synchronized void setImageDataSupplier(
+        Supplier<? extends ByteBuffer> imageDataSupplier)
+    {
+        this.imageData = null;
+        this.imageDataSupplier = imageDataSupplier;
+    }
+    
+    /**
+     * Returns the image data, obtaining it from the 
+     * {@link #setImageDataSupplier(Supplier) supplier} if necessary.
+     * Returns <code>null</code> if there is neither image data nor
+     * a supplier.<br>
+     * <br>
+     * If the data is obtained from the supplier and no MIME type was 
+     * set, then the MIME type is determined from the data. 
+     * 
+     * @return The image data
+     */
+    private ByteBuffer obtainImageData()
+    {
+        ByteBuffer result = imageData;
+        if (result != null)
+        {
+            return result;
+        }
+        synchronized (this)
+        {
+            if (imageData == null && imageDataSupplier != null)
+            {
+                imageData = imageDataSupplier.get();
+                imageDataSupplier = null;
+                if (imageData != null)
+                {
+                    if (mimeType == null)
+                    {
+                        mimeType = MimeTypes.guessImageMimeTypeStringUnchecked(
+                            Buffers.createSlice(imageData));
+                    }
+                }
+            }
+            return imageData;
+        }
     }
     
     @Override
@@ -113,8 +180,13 @@ public class DefaultImageModel extends AbstractNamedModelElement
     }
     
     @Override
-    public String getMimeType()
+    public synchronized String getMimeType()
     {
+        if (mimeType == null && imageDataSupplier != null)
+        {
+            // This will determine the MIME type from the data
+            obtainImageData();
+        }
         return mimeType;
     }
     
@@ -127,11 +199,12 @@ public class DefaultImageModel extends AbstractNamedModelElement
     @Override
     public ByteBuffer getImageData()
     {
-        if (imageData == null)
+        ByteBuffer data = obtainImageData();
+        if (data == null)
         {
             return bufferViewModel.getBufferViewData();
         }
-        return Buffers.createSlice(imageData);
+        return Buffers.createSlice(data);
     }
 
     
@@ -27,6 +27,7 @@
 package de.javagl.jgltf.model.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -41,7 +42,21 @@ import de.javagl.jgltf.model.Suppliers;
 import de.javagl.jgltf.model.Utils;
 
 /**
- * Implementation of a {@link NodeModel} 
+ * Implementation of a {@link NodeModel}.<br>
+ * <br>
+ * The local and global transforms of this node are cached. The cached
+ * local transform is stored together with a copy of the transform
+ * properties that it was computed from. It is only recomputed when the
+ * properties differ from this copy, so that modifications of the arrays
+ * that are returned by {@link #getMatrix()}, {@link #getTranslation()},
+ * {@link #getRotation()} or {@link #getScale()} are detected as well.
+ * The cached global transform is stored together with the versions of
+ * the local transform and the parent transform that it was computed 
+ * from, and is only recomputed when one of them changed.<br>
+ * <br>
+ * The transforms may be computed concurrently. Modifications of the
+ * transform properties during such a computation must be synchronized
+ * externally.
  */
 public class DefaultNodeModel extends AbstractNamedModelElement
     implements NodeModel
@@ -52,12 +67,6 @@ public class DefaultNodeModel extends AbstractNamedModelElement
     private static final ThreadLocal<float[]> TEMP_MATRIX_4x4_IN_LOCAL =
         ThreadLocal.withInitial(() -> new float[16]);
     
-    /**
-     * A thread-local, temporary 16-element matrix
-     */
-    private static final ThreadLocal<float[]> TEMP_MATRIX_4x4_IN_GLOBAL =
-        ThreadLocal.withInitial(() -> new float[16]);
-    
     /**
      * The parent of this node. This is <code>null</code> for the root node.
      */
@@ -108,6 +117,80 @@ public class DefaultNodeModel extends AbstractNamedModelElement
      */
     private float weights[];
     
+    /**
+     * The lock for the cached transforms
+     */
+    private final Object transformLock;
+    
+    /**
+     * The {@link #matrix} that the {@link #localTransform} was computed 
+     * from, or <code>null</code> if there was no matrix
+     */
+    private float localMatrix[];
+    
+    /**
+     * The {@link #translation} that the {@link #localTransform} was 
+     * computed from, or <code>null</code> if there was no translation
+     */
+    private float localTranslation[];
+    
+    /**
+     * The {@link #rotation} that the {@link #localTransform} was 
+     * computed from, or <code>null</code> if there was no rotation
+     */
+    private float localRotation[];
+    
+    /**
+     * The {@link #scale} that the {@link #localTransform} was computed 
+     * from, or <code>null</code> if there was no scale
+     */
+    private float localScale[];
+    
+    /**
+     * The cached local transform matrix
+     */
+    private final float localTransform[];
+    
+    /**
+     * The version of the {@link #localTransform}. This is incremented 
+     * each time the local transform is computed.
+     */
+    private long localTransformVersion;
+    
+    /**
+     * The cached global transform matrix
+     */
+    private final float globalTransform[];
+    
+    /**
+     * The version of the {@link #globalTransform}. This is incremented 
+     * each time the global transform is computed.
+     */
+    private long globalTransformVersion;
+    
+    /**
+     * Whether the {@link #globalTransform} may be reused when the versions
+     * that it was computed from did not change
+     */
+    private boolean globalTransformValid;
+    
+    /**
+     * The parent that the {@link #globalTransform} was computed with
+     */
+    private NodeModel globalTransformParent;
+    
+    /**
+     * The version of the global transform of the parent that the 
+     * {@link #globalTransform} was computed with
+     */
+    private long globalTransformParentVersion;
+    
+    /**
+     * The version of the local transform that the {@link #globalTransform}
+     * was computed with
+     */
+    private long globalTransformLocalVersion;
+    
     /**
      * Creates a new instance 
      */
@@ -115,6 +198,9 @@ public class DefaultNodeModel extends AbstractNamedModelElement
     {
         this.children = new ArrayList<NodeModel>();
         this.meshModels = new ArrayList<MeshModel>();
+        this.transformLock = new Object();
+        this.localTransform = new float[16];
+        this.globalTransform = new float[16];
     }
     
     /**
@@ -136,6 +222,9 @@ public class DefaultNodeModel extends AbstractNamedModelElement
         this.skinModel = other.getSkinModel();
         this.translation = other.getTranslation();
         this.weights = other.getWeights();
+        this.transformLock = new Object();
+        this.localTransform = new float[16];
+        this.globalTransform = new float[16];
     }
     
     /**
@@ -145,7 +234,10 @@ public class DefaultNodeModel extends AbstractNamedModelElement
      */
     public void setParent(DefaultNodeModel parent)
     {
-        this.parent = parent;
+        synchronized (transformLock)
+        {
+            this.parent = parent;
+        }
     }
     
     /**
@@ -224,7 +316,10 @@ public class DefaultNodeModel extends AbstractNamedModelElement
     @Override
     public void setMatrix(float[] matrix)
     {
-        this.matrix = check(matrix, 16);
+        synchronized (transformLock)
+        {
+            this.matrix = check(matrix, 16);
+        }
     }
     
     @Override
@@ -236,7 +331,10 @@ public class DefaultNodeModel extends AbstractNamedModelElement
     @Override
     public void setTranslation(float[] translation)
     {
-        this.translation = check(translation, 3);
+        synchronized (transformLock)
+        {
+            this.translation = check(translation, 3);
+        }
     }
 
     @Override
@@ -248,7 +346,10 @@ public class DefaultNodeModel extends AbstractNamedModelElement
     @Override
     public void setRotation(float[] rotation)
     {
-        this.rotation = check(rotation, 4);
+        synchronized (transformLock)
+        {
+            this.rotation = check(rotation, 4);
+        }
     }
 
     @Override
@@ -260,7 +361,10 @@ public class DefaultNodeModel extends AbstractNamedModelElement
     @Override
     public void setScale(float[] scale)
     {
-        this.scale = check(scale, 3);
+        synchronized (transformLock)
+        {
+            this.scale = check(scale, 3);
+        }
     }
 
     @Override
@@ -285,13 +389,164 @@ public class DefaultNodeModel extends AbstractNamedModelElement
     @Override
     public float[] computeLocalTransform(float result[])
     {
-        return computeLocalTransform(this, result);
+        float localResult[] = Utils.validate(result, 16);
+        synchronized (transformLock)
+        {
+            updateLocalTransform();
+            System.arraycopy(localTransform, 0, localResult, 0, 16);
+        }
+        return localResult;
     }
 
     @Override
     public float[] computeGlobalTransform(float result[])
     {
-        return computeGlobalTransform(this, result);
+        float localResult[] = Utils.validate(result, 16);
+        synchronized (transformLock)
+        {
+            updateGlobalTransform();
+            System.arraycopy(globalTransform, 0, localResult, 0, 16);
+        }
+        return localResult;
+    }
+    
+    /**
+     * Update the cached local transform of this node, if the transform 
+     * properties differ from the ones that it was computed from. This 
+     * must be called while holding the {@link #transformLock}.
+     */
+    private void updateLocalTransform()
+    {
+        if (localTransformVersion != 0
+            && matches(localMatrix, matrix)
+            && matches(localTranslation, translation)
+            && matches(localRotation, rotation)
+            && matches(localScale, scale))
+        {
+            return;
+        }
+        // The transform is computed from the copies, so that it always
+        // matches the values that it is compared to
+        localMatrix = copy(localMatrix, matrix);
+        localTranslation = copy(localTranslation, translation);
+        localRotation = copy(localRotation, rotation);
+        localScale = copy(localScale, scale);
+        computeLocalTransform(localMatrix, localTranslation, 
+            localRotation, localScale, localTransform);
+        localTransformVersion++;
+    }
+    
+    /**
+     * Update the cached global transform of this node, if the local
+     * transform or the global transform of the parent changed since
+     * it was computed. This must be called while holding the 
+     * {@link #transformLock}. The locks of the ancestors are acquired 
+     * while holding this lock, but never the other way around.<br>
+     * <br>
+     * The global transform can only be reused when all ancestors of this 
+     * node are {@link DefaultNodeModel} instances, which keep track of
+     * their versions. Otherwise, it will be computed from the parent at 
+     * each call.
+     * 
+     * @return Whether the cached global transform may be reused
+     */
+    private boolean updateGlobalTransform()
+    {
+        updateLocalTransform();
+        if (parent == null)
+        {
+            if (globalTransformValid
+                && globalTransformParent == null
+                && globalTransformLocalVersion == localTransformVersion)
+            {
+                return true;
+            }
+            System.arraycopy(localTransform, 0, globalTransform, 0, 16);
+            storeGlobalTransformState(true, null, 0);
+            return true;
+        }
+        if (parent instanceof DefaultNodeModel)
+        {
+            DefaultNodeModel defaultParent = (DefaultNodeModel) parent;
+            synchronized (defaultParent.transformLock)
+            {
+                boolean parentValid = defaultParent.updateGlobalTransform();
+                long parentVersion = defaultParent.globalTransformVersion;
+                if (parentValid 
+                    && globalTransformValid
+                    && globalTransformParent == defaultParent
+                    && globalTransformParentVersion == parentVersion
+                    && globalTransformLocalVersion == localTransformVersion)
+                {
+                    return true;
+                }
+                MathUtils.mul4x4(defaultParent.globalTransform, 
+                    localTransform, globalTransform);
+                storeGlobalTransformState(
+                    parentValid, defaultParent, parentVersion);
+                return parentValid;
+            }
+        }
+        parent.computeGlobalTransform(globalTransform);
+        MathUtils.mul4x4(globalTransform, localTransform, globalTransform);
+        storeGlobalTransformState(false, null, 0);
+        return false;
+    }
+    
+    /**
+     * Store the state that the {@link #globalTransform} was just computed
+     * with, and increment its version
+     * 
+     * @param valid Whether the global transform may be reused
+     * @param parentModel The parent
+     * @param parentVersion The version of the global transform of the 
+     * parent
+     */
+    private void storeGlobalTransformState(
+        boolean valid, NodeModel parentModel, long parentVersion)
+    {
+        globalTransformValid = valid;
+        globalTransformParent = parentModel;
+        globalTransformParentVersion = parentVersion;
+        globalTransformLocalVersion = localTransformVersion;
+        globalTransformVersion++;
+    }
+    
+    /**
+     * Returns whether the given arrays are both <code>null</code>, or
+     * have equal contents
+     * 
+     * @param stored The stored array
+     * @param current The current array
+     * @return Whether the arrays match
+     */
+    private static boolean matches(float stored[], float current[])
+    {
+        if (stored == null || current == null)
+        {
+            return stored == current;
+        }
+        return Arrays.equals(stored, current);
+    }
+    
+    /**
+     * Returns a copy of the given source array, or <code>null</code> if 
+     * the source is <code>null</code>. The given target array will be 
+     * reused if it has the right length.
+     * 
+     * @param target The target array
+     * @param source The source array
+     * @return The copy
+     */
+    private static float[] copy(float target[], float source[])
+    {
+        if (source == null)
+        {
+            return null;
+        }
+        float result[] = Utils.validate(target, source.length);
+        System.arraycopy(source, 0, result, 0, source.length);
+        return result;
     }
     
     @Override
@@ -326,33 +581,53 @@ public class DefaultNodeModel extends AbstractNamedModelElement
      */
     public static float[] computeLocalTransform(
         NodeModel nodeModel, float result[])
+    {
+        return computeLocalTransform(nodeModel.getMatrix(), 
+            nodeModel.getTranslation(), nodeModel.getRotation(), 
+            nodeModel.getScale(), result);
+    }
+    
+    /**
+     * Compute the local transform from the given matrix, or from the
+     * given translation, rotation and scale, as described in
+     * {@link #computeLocalTransform(NodeModel, float[])}
+     * 
+     * @param matrix The optional matrix
+     * @param translation The optional translation
+     * @param rotation The optional rotation
+     * @param scale The optional scale
+     * @param result The result array
+     * @return The result array
+     */
+    private static float[] computeLocalTransform(float matrix[], 
+        float translation[], float rotation[], float scale[], 
+        float result[])
     {
         float localResult[] = Utils.validate(result, 16);
-        if (nodeModel.getMatrix() != null)
+        if (matrix != null)
         {
-            float m[] = nodeModel.getMatrix();
-            System.arraycopy(m, 0, localResult, 0, m.length);
+            System.arraycopy(matrix, 0, localResult, 0, matrix.length);
             return localResult;
         }
         
         MathUtils.setIdentity4x4(localResult);
-        if (nodeModel.getTranslation() != null)
+        if (translation != null)
         {
-            float t[] = nodeModel.getTranslation();
+            float t[] = translation;
             localResult[12] = t[0]; 
             localResult[13] = t[1]; 
             localResult[14] = t[2]; 
         }
-        if (nodeModel.getRotation() != null)
+        if (rotation != null)
         {
-            float q[] = nodeModel.getRotation();
+            float q[] = rotation;
             float m[] = TEMP_MATRIX_4x4_IN_LOCAL.get();
             MathUtils.quaternionToMatrix4x4(q, m);
             MathUtils.mul4x4(localResult, m, localResult);
         }
-        if (nodeModel.getScale() != null)
+        if (scale != null)
         {
-            float s[] = nodeModel.getScale();
+            float s[] = scale;
             float m[] = TEMP_MATRIX_4x4_IN_LOCAL.get();
             MathUtils.setIdentity4x4(m);
             m[ 0] = s[0];
@@ -364,33 +639,6 @@ public class DefaultNodeModel extends AbstractNamedModelElement
         return localResult;
     }
     
-    /**
-     * Compute the global transform for the given {@link NodeModel},
-     * and store it in the given result. If the given result is 
-     * <code>null</code> or does not have a length of 16, then 
-     * a new array will be created and returned.
-     * 
-     * @param nodeModel The {@link NodeModel}
-     * @param result The result
-     * @return The result
-     */
-    private static float[] computeGlobalTransform(
-        NodeModel nodeModel, float result[])
-    {
-        float localResult[] = Utils.validate(result, 16);
-        float tempLocalTransform[] = TEMP_MATRIX_4x4_IN_GLOBAL.get();
-        NodeModel currentNode = nodeModel;
-        MathUtils.setIdentity4x4(localResult);
-        while (currentNode != null)
-        {
-            currentNode.computeLocalTransform(tempLocalTransform);
-            MathUtils.mul4x4(
-                tempLocalTransform, localResult, localResult);
-            currentNode = currentNode.getParent();
-        }
-        return localResult;
-    }
-    
     /**
      * Check whether the given array has the expected length, and return
      * the given array. If the given source array is <code>null</code>, then 
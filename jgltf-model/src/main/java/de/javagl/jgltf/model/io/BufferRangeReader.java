@@ -0,0 +1,353 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.jgltf.model.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A class for reading byte ranges of a file, using positional reads
+ * on a <code>FileChannel</code>.<br>
+ * <br>
+ * This allows reading only the parts of a large external buffer file
+ * that are actually required, for example, the data of the buffer views
+ * that are used by a single mesh. Instances of this class are created 
+ * by the {@link GltfAssetReader} when 
+ * {@link GltfAssetReader#setBufferRangeLoading(boolean) buffer range 
+ * loading} is enabled.<br>
+ * <br>
+ * When multiple ranges are read with {@link #readAll(long[], int[])},
+ * then ranges that are adjacent or close to each other are read with
+ * a single read operation. The maximum distance between ranges that 
+ * are combined can be set with {@link #setMaxGap(int)}.<br>
+ * <br>
+ * Files that do not belong to the default file system, like entries of 
+ * a zip file system, are read with an input stream. The ranges are read
+ * in ascending order, and the data between them is skipped. For stored
+ * (uncompressed) zip entries, skipping does not read the skipped data.<br>
+ * <br>
+ * This class is thread-safe.
+ */
+public final class BufferRangeReader
+{
+    /**
+     * The default maximum gap between ranges that are read together
+     */
+    private static final int DEFAULT_MAX_GAP = 4096;
+    
+    /**
+     * The path of the file
+     */
+    private final Path path;
+    
+    /**
+     * The maximum gap between ranges that are read together
+     */
+    private volatile int maxGap;
+    
+    /**
+     * The number of read operations that have been performed
+     */
+    private final AtomicLong readCount;
+    
+    /**
+     * The number of bytes that have been read
+     */
+    private final AtomicLong byteCount;
+    
+    /**
+     * Creates a new instance that reads from the given file
+     * 
+     * @param path The path of the file
+     */
+    public BufferRangeReader(Path path)
+    {
+        this.path = Objects.requireNonNull(path, "The path may not be null");
+        this.maxGap = DEFAULT_MAX_GAP;
+        this.readCount = new AtomicLong();
+        this.byteCount = new AtomicLong();
+    }
+    
+    /**
+     * Returns the path of the file that this reader reads from
+     * 
+     * @return The path
+     */
+    public Path getPath()
+    {
+        return path;
+    }
+    
+    /**
+     * Set the maximum number of bytes between two ranges that are read
+     * with a single read operation by {@link #readAll(long[], int[])}.
+     * The default value is 4096.
+     * 
+     * @param maxGap The maximum gap
+     * @throws IllegalArgumentException If the given value is negative
+     */
+    public void setMaxGap(int maxGap)
+    {
+        if (maxGap < 0)
+        {
+            throw new IllegalArgumentException(
+                "The maxGap may not be negative, but is " + maxGap);
+        }
+        this.maxGap = maxGap;
+    }
+    
+    /**
+     * Returns the maximum gap between ranges that are read together
+     * 
+     * @return The maximum gap
+     * @see #setMaxGap(int)
+     */
+    public int getMaxGap()
+    {
+        return maxGap;
+    }
+    
+    /**
+     * Returns the number of read operations that have been performed
+     * by this reader
+     * 
+     * @return The number of read operations
+     */
+    public long getReadCount()
+    {
+        return readCount.get();
+    }
+    
+    /**
+     * Returns the total number of bytes that have been read by this reader
+     * 
+     * @return The number of bytes
+     */
+    public long getByteCount()
+    {
+        return byteCount.get();
+    }
+    
+    /**
+     * Read the specified range of the file into a new direct byte buffer
+     * with little-endian byte order
+     * 
+     * @param offset The offset of the range in the file
+     * @param length The length of the range
+     * @return The byte buffer
+     * @throws IOException If an IO error occurs, or the file ends before
+     * the end of the range
+     * @throws IllegalArgumentException If the offset or length is negative
+     */
+    public ByteBuffer read(long offset, int length) throws IOException
+    {
+        return readAll(new long[] { offset }, new int[] { length })[0];
+    }
+    
+    /**
+     * Read the specified ranges of the file.<br>
+     * <br>
+     * The ranges are sorted by their offset. Ranges that overlap, or that 
+     * are separated by at most {@link #setMaxGap(int) maxGap} bytes, are
+     * read into a single direct byte buffer with a single read operation. 
+     * The returned buffers are slices of these buffers with little-endian
+     * byte order, in the same order as the given ranges. 
+     * 
+     * @param offsets The offsets of the ranges in the file
+     * @param lengths The lengths of the ranges
+     * @return The byte buffers
+     * @throws IOException If an IO error occurs, or the file ends before
+     * the end of one of the ranges
+     * @throws IllegalArgumentException If the arrays have different 
+     * lengths, or any offset or length is negative
+     */
+    public ByteBuffer[] readAll(long offsets[], int lengths[]) 
+        throws IOException
+    {
+        if (offsets.length != lengths.length)
+        {
+            throw new IllegalArgumentException("There are " + offsets.length
+                + " offsets, but " + lengths.length + " lengths");
+        }
+        int n = offsets.length;
+        Integer order[] = new Integer[n];
+        for (int i = 0; i < n; i++)
+        {
+            if (offsets[i] < 0 || lengths[i] < 0)
+            {
+                throw new IllegalArgumentException("Invalid range at index " 
+                    + i + ": offset " + offsets[i] + ", length " + lengths[i]);
+            }
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> offsets[i]));
+        
+        ByteBuffer results[] = new ByteBuffer[n];
+        if (n == 0)
+        {
+            return results;
+        }
+        long gap = maxGap;
+        boolean defaultFileSystem = IO.isDefaultFileSystem(path);
+        try (FileChannel channel = defaultFileSystem ?
+                FileChannel.open(path, StandardOpenOption.READ) : null;
+            InputStream inputStream = defaultFileSystem ? 
+                null : Files.newInputStream(path))
+        {
+            long streamPosition = 0;
+            int first = 0;
+            long start = offsets[order[0]];
+            long end = start + lengths[order[0]];
+            for (int k = 1; k <= n; k++)
+            {
+                if (k < n)
+                {
+                    long offset = offsets[order[k]];
+                    long newEnd = Math.max(end, offset + lengths[order[k]]);
+                    if (offset <= end + gap && 
+                        newEnd - start <= Integer.MAX_VALUE)
+                    {
+                        end = newEnd;
+                        continue;
+                    }
+                }
+                int length = (int) (end - start);
+                ByteBuffer data;
+                if (channel != null)
+                {
+                    data = read(channel, start, length);
+                }
+                else
+                {
+                    data = read(inputStream, start - streamPosition, 
+                        start, length);
+                    streamPosition = end;
+                }
+                for (int j = first; j < k; j++)
+                {
+                    int index = order[j];
+                    results[index] = Buffers.createSlice(data, 
+                        (int) (offsets[index] - start), lengths[index]);
+                }
+                if (k < n)
+                {
+                    first = k;
+                    start = offsets[order[k]];
+                    end = start + lengths[order[k]];
+                }
+            }
+        }
+        return results;
+    }
+    
+    /**
+     * Read the specified range from the given channel into a new direct
+     * byte buffer with little-endian byte order
+     * 
+     * @param channel The channel
+     * @param offset The offset of the range in the file
+     * @param length The length of the range
+     * @return The byte buffer
+     * @throws IOException If an IO error occurs, or the file ends before
+     * the end of the range
+     */
+    private ByteBuffer read(FileChannel channel, long offset, int length)
+        throws IOException
+    {
+        ByteBuffer data = Buffers.create(length);
+        while (data.hasRemaining())
+        {
+            int read = channel.read(data, offset + data.position());
+            if (read == -1)
+            {
+                throw new EOFException("Could not read " + length 
+                    + " bytes at offset " + offset + " from " + path 
+                    + ", the file size is " + channel.size());
+            }
+        }
+        Buffers.flip(data);
+        readCount.incrementAndGet();
+        byteCount.addAndGet(length);
+        return data;
+    }
+    
+    /**
+     * Skip the given number of bytes in the given stream, and read the 
+     * specified range into a new direct byte buffer with little-endian 
+     * byte order
+     * 
+     * @param inputStream The input stream
+     * @param skip The number of bytes to skip
+     * @param offset The offset of the range in the file
+     * @param length The length of the range
+     * @return The byte buffer
+     * @throws IOException If an IO error occurs, or the file ends before
+     * the end of the range
+     */
+    private ByteBuffer read(InputStream inputStream, long skip, 
+        long offset, int length) throws IOException
+    {
+        long remaining = skip;
+        while (remaining > 0)
+        {
+            long skipped = inputStream.skip(remaining);
+            if (skipped <= 0)
+            {
+                if (inputStream.read() == -1)
+                {
+                    throw new EOFException("Could not skip to offset " 
+                        + offset + " in " + path);
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+        ByteBuffer data = Buffers.create(length);
+        IO.read(Channels.newChannel(inputStream), data);
+        Buffers.flip(data);
+        readCount.incrementAndGet();
+        byteCount.addAndGet(length);
+        return data;
+    }
+    
+    @Override
+    public String toString()
+    {
+        return "BufferRangeReader[" + path + "]";
+    }
+}
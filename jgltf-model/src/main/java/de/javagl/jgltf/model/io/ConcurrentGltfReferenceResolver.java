@@ -0,0 +1,416 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.jgltf.model.io;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * A class for resolving the external data of {@link GltfReference} objects
+ * concurrently, using a given <code>Executor</code>.<br>
+ * <br>
+ * In contrast to the {@link GltfReferenceResolver}, which resolves one
+ * reference after the other, this class submits one task for each
+ * reference to the executor. The executor may, for example, be a
+ * fixed thread pool, or an executor that creates a virtual thread for
+ * each task. The calling thread blocks until all references have been
+ * resolved.<br>
+ * <br>
+ * The progress of resolving the references may be observed with
+ * {@link #addProgressConsumer(DoubleConsumer) progress consumers}, and
+ * the operation may be {@link #cancel() cancelled}, or aborted by
+ * interrupting the calling thread.
+ */
+public final class ConcurrentGltfReferenceResolver
+{
+    /**
+     * The logger used in this class
+     */
+    private static final Logger logger =
+        Logger.getLogger(ConcurrentGltfReferenceResolver.class.getName());
+
+    /**
+     * The executor that resolves the references
+     */
+    private final Executor executor;
+
+    /**
+     * The consumers that will be informed about the progress
+     */
+    private final List<DoubleConsumer> progressConsumers;
+
+    /**
+     * The operations that are currently in progress
+     */
+    private final Set<Operation> currentOperations;
+
+    /**
+     * Creates a new instance that uses the given executor
+     *
+     * @param executor The executor
+     */
+    public ConcurrentGltfReferenceResolver(Executor executor)
+    {
+        this.executor =
+            Objects.requireNonNull(executor, "The executor may not be null");
+        this.progressConsumers = new CopyOnWriteArrayList<DoubleConsumer>();
+        this.currentOperations = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Add the given consumer to be informed about the progress of
+     * resolving the references. The consumer will receive values
+     * between 0.0 and 1.0, indicating the fraction of the references
+     * that have been resolved. It will be called from the threads
+     * of the executor.
+     *
+     * @param progressConsumer The consumer
+     */
+    public void addProgressConsumer(DoubleConsumer progressConsumer)
+    {
+        if (progressConsumer != null)
+        {
+            progressConsumers.add(progressConsumer);
+        }
+    }
+
+    /**
+     * Remove the given progress consumer
+     *
+     * @param progressConsumer The consumer
+     */
+    public void removeProgressConsumer(DoubleConsumer progressConsumer)
+    {
+        progressConsumers.remove(progressConsumer);
+    }
+
+    /**
+     * Cancel all operations that are currently in progress. Tasks that 
+     * have not been started yet will not be executed, and tasks that are
+     * currently running will be interrupted. The data of references
+     * that are resolved after this call will not be passed to the
+     * targets of the references. The <code>resolveAll</code> calls will
+     * throw a <code>CancellationException</code>.
+     */
+    public void cancel()
+    {
+        for (Operation operation : currentOperations)
+        {
+            operation.cancel();
+        }
+    }
+
+    /**
+     * Resolve the given {@link GltfReference} objects concurrently,
+     * resolving their URIs against the given base URI
+     *
+     * @param references The {@link GltfReference} objects
+     * @param baseUri The base URI that references will be resolved against
+     * @throws IOException If resolving one of the references caused an
+     * exception, or the calling thread was interrupted
+     * @throws CancellationException If the operation was
+     * {@link #cancel() cancelled}
+     */
+    public void resolveAll(
+        Iterable<? extends GltfReference> references, URI baseUri)
+            throws IOException
+    {
+        Objects.requireNonNull(baseUri, "The baseUri may not be null");
+        resolveAll(references, UriResolvers.createBaseUriResolver(baseUri));
+    }
+
+    /**
+     * Resolve the given {@link GltfReference} objects concurrently,
+     * resolving their paths against the given base path
+     *
+     * @param references The {@link GltfReference} objects
+     * @param basePath The base path that references will be resolved against
+     * @throws IOException If resolving one of the references caused an
+     * exception, or the calling thread was interrupted
+     * @throws CancellationException If the operation was
+     * {@link #cancel() cancelled}
+     */
+    public void resolveAll(
+        Iterable<? extends GltfReference> references, Path basePath)
+            throws IOException
+    {
+        Objects.requireNonNull(basePath, "The basePath may not be null");
+        resolveAll(references, UriResolvers.createBasePathResolver(basePath));
+    }
+
+    /**
+     * Resolve the given {@link GltfReference} objects concurrently. For
+     * each reference, a task will be passed to the executor that passes
+     * the URI of the reference to the given resolver function, and the
+     * resulting byte buffer to the target of the reference. If a URI
+     * cannot be resolved, a warning will be printed, as in
+     * {@link GltfReferenceResolver#resolve(GltfReference, Function)}.<br>
+     * <br>
+     * This method blocks until all references have been resolved. If one
+     * of the tasks fails, then the remaining tasks are cancelled. After
+     * this method returned or threw an exception, the targets of the 
+     * references will no longer be called, even if tasks of a failed
+     * or cancelled operation are still running.<br>
+     * <br>
+     * This method may be called by multiple threads concurrently. Each
+     * call is an independent operation.
+     *
+     * @param references The {@link GltfReference} objects
+     * @param uriResolver The function for resolving a URI string
+     * into a byte buffer. This function must be thread-safe.
+     * @throws IOException If resolving one of the references caused an
+     * exception, or the calling thread was interrupted
+     * @throws CancellationException If the operation was
+     * {@link #cancel() cancelled}
+     */
+    public void resolveAll(
+        Iterable<? extends GltfReference> references,
+        Function<? super String, ? extends ByteBuffer> uriResolver)
+            throws IOException
+    {
+        Objects.requireNonNull(references, "The references may not be null");
+        Objects.requireNonNull(uriResolver, "The uriResolver may not be null");
+
+        List<GltfReference> referencesList = new ArrayList<GltfReference>();
+        references.forEach(referencesList::add);
+        int total = referencesList.size();
+        AtomicInteger numResolved = new AtomicInteger();
+
+        Operation operation = new Operation();
+        for (GltfReference reference : referencesList)
+        {
+            operation.tasks.add(new FutureTask<Void>(() ->
+            {
+                resolve(operation, reference, uriResolver);
+                fireProgress((double) numResolved.incrementAndGet() / total);
+                return null;
+            }));
+        }
+        currentOperations.add(operation);
+        try
+        {
+            submitAll(operation);
+            awaitAll(operation);
+        }
+        finally
+        {
+            operation.finish();
+            currentOperations.remove(operation);
+        }
+    }
+
+    /**
+     * Pass all tasks of the given operation to the executor
+     *
+     * @param operation The {@link Operation}
+     * @throws IOException If the executor rejected one of the tasks
+     */
+    private void submitAll(Operation operation) throws IOException
+    {
+        try
+        {
+            for (FutureTask<Void> task : operation.tasks)
+            {
+                executor.execute(task);
+            }
+        }
+        catch (RejectedExecutionException e)
+        {
+            operation.cancel();
+            throw new IOException("Could not submit loading task", e);
+        }
+    }
+
+    /**
+     * Wait until all tasks of the given operation are finished
+     *
+     * @param operation The {@link Operation}
+     * @throws IOException If one of the tasks caused an exception, or
+     * the calling thread was interrupted
+     * @throws CancellationException If the operation was cancelled
+     */
+    private static void awaitAll(Operation operation) throws IOException
+    {
+        for (FutureTask<Void> task : operation.tasks)
+        {
+            try
+            {
+                task.get();
+            }
+            catch (InterruptedException e)
+            {
+                operation.cancel();
+                Thread.currentThread().interrupt();
+                InterruptedIOException interruptedIOException =
+                    new InterruptedIOException(
+                        "Interrupted while resolving references");
+                interruptedIOException.initCause(e);
+                throw interruptedIOException;
+            }
+            catch (ExecutionException e)
+            {
+                operation.cancel();
+                throw new IOException(
+                    "Could not resolve reference", e.getCause());
+            }
+        }
+        if (operation.cancelled)
+        {
+            throw new CancellationException("Resolving was cancelled");
+        }
+    }
+
+    /**
+     * Resolve the given {@link GltfReference}, unless the given 
+     * operation was cancelled or is already finished
+     *
+     * @param operation The {@link Operation}
+     * @param reference The {@link GltfReference}
+     * @param uriResolver The function for resolving a URI string
+     * into a byte buffer
+     */
+    private static void resolve(Operation operation, GltfReference reference,
+        Function<? super String, ? extends ByteBuffer> uriResolver)
+    {
+        String uri = reference.getUri();
+        ByteBuffer byteBuffer = uriResolver.apply(uri);
+        Lock lock = operation.lock.readLock();
+        lock.lock();
+        try
+        {
+            if (operation.cancelled || operation.finished)
+            {
+                return;
+            }
+            if (byteBuffer == null)
+            {
+                logger.warning("Could not resolve URI " + uri);
+            }
+            Consumer<ByteBuffer> target = reference.getTarget();
+            target.accept(byteBuffer);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Pass the given progress to all progress consumers
+     *
+     * @param progress The progress
+     */
+    private void fireProgress(double progress)
+    {
+        for (DoubleConsumer progressConsumer : progressConsumers)
+        {
+            progressConsumer.accept(progress);
+        }
+    }
+
+    /**
+     * The state of a single <code>resolveAll</code> operation
+     */
+    private static final class Operation
+    {
+        /**
+         * The tasks of this operation
+         */
+        final List<FutureTask<Void>> tasks = 
+            new ArrayList<FutureTask<Void>>();
+        
+        /**
+         * The lock that ensures that the targets of references are no
+         * longer called after the operation is finished. Passing data
+         * to a target happens under the read lock, and finishing the
+         * operation requires the write lock.
+         */
+        final ReadWriteLock lock = new ReentrantReadWriteLock();
+        
+        /**
+         * Whether this operation was cancelled
+         */
+        volatile boolean cancelled;
+        
+        /**
+         * Whether this operation is finished
+         */
+        boolean finished;
+        
+        /**
+         * Cancel this operation, and all of its tasks
+         */
+        void cancel()
+        {
+            cancelled = true;
+            for (FutureTask<Void> task : tasks)
+            {
+                task.cancel(true);
+            }
+        }
+        
+        /**
+         * Mark this operation as finished, waiting for all targets that
+         * are currently receiving data
+         */
+        void finish()
+        {
+            Lock writeLock = lock.writeLock();
+            writeLock.lock();
+            try
+            {
+                finished = true;
+            }
+            finally
+            {
+                writeLock.unlock();
+            }
+        }
+    }
+}
@@ -66,7 +66,8 @@ class ErrorReportingSettableBeanProperty extends SettableBeanProperty
      *  
      * @param delegate The delegate
      * @param jsonErrorConsumer The consumer for {@link JsonError}s. If
-     * this is <code>null</code>, then errors will be ignored.
+     * this is <code>null</code>, then errors will be ignored, unless
+     * a consumer was passed to the context of the read operation.
      */
     ErrorReportingSettableBeanProperty(
         SettableBeanProperty delegate, 
@@ -134,9 +135,11 @@ class ErrorReportingSettableBeanProperty extends SettableBeanProperty
         }
         catch (Exception e)
         {
-            if (jsonErrorConsumer != null)
+            Consumer<? super JsonError> consumer = 
+                JacksonUtils.getJsonErrorConsumer(ctxt, jsonErrorConsumer);
+            if (consumer != null)
             {
-                jsonErrorConsumer.accept(new JsonError(
+                consumer.accept(new JsonError(
                     e.getMessage(), p.getParsingContext(), e));
             }
         }
@@ -30,8 +30,21 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Logger;
 
 import de.javagl.jgltf.model.GltfModel;
 import de.javagl.jgltf.model.GltfModels;
@@ -53,16 +66,82 @@ import de.javagl.jgltf.model.io.v2.GltfAssetV2;
  * that do not have external references, or for cases where the external
  * references should be resolved manually.<br>
  * <br>
+ * The {@link #readAsync(Path, Executor)} and 
+ * {@link #readAsync(URI, Executor)} methods allow reading the asset
+ * asynchronously, returning a <code>CompletableFuture</code>.<br>
+ * <br>
+ * The {@link #probe(Path)} and {@link #probe(InputStream)} methods allow
+ * reading only the JSON part of an asset, without reading its binary 
+ * data.<br>
+ * <br>
+ * The methods that receive a <code>Path</code> also support paths of
+ * other file systems. For example, an asset may be read directly from
+ * a zip archive, using a path of a zip file system. The external 
+ * references will then be resolved inside the archive.<br>
+ * <br>
  * Such a {@link GltfAsset} may then be processed further, for example,
  * by creating a {@link GltfModel} using {@link GltfModels#create(GltfAsset)}.
  */
 public final class GltfAssetReader
 {
+    /**
+     * The logger used in this class
+     */
+    private static final Logger logger = 
+        Logger.getLogger(GltfAssetReader.class.getName());
+    
     /**
      * A consumer for {@link JsonError}s that may occur while reading
      * the glTF JSON
      */
-    private Consumer<? super JsonError> jsonErrorConsumer;
+    private Consumer<? super JsonError> jsonErrorConsumer = 
+        JsonErrorConsumers.createLogging();
+    
+    /**
+     * Whether files should be mapped into memory when they are read
+     */
+    private boolean memoryMapping;
+    
+    /**
+     * Whether the JSON of glTF 2.0 assets should be read with the
+     * streaming parser
+     */
+    private boolean fastJsonParsing;
+    
+    /**
+     * Whether external references of glTF 2.0 assets should be resolved 
+     * lazily
+     */
+    private boolean lazyLoading;
+    
+    /**
+     * Whether the buffer views of external buffers of glTF 2.0 assets
+     * should be read from the respective ranges of the buffer files
+     */
+    private boolean bufferRangeLoading;
+    
+    /**
+     * The executor that resolves the external references concurrently
+     */
+    private Executor executor;
+    
+    /**
+     * The optional {@link ResourceCache} for the data of external 
+     * references
+     */
+    private ResourceCache resourceCache;
+    
+    /**
+     * The optional {@link GltfSelection} of the parts of glTF 2.0 assets
+     * that should be loaded
+     */
+    private GltfSelection selection;
+    
+    /**
+     * The {@link GltfLoadListener} that is informed about the phases
+     * of loading the asset
+     */
+    private GltfLoadListener loadListener = GltfLoadListeners.noOp();
     
     /**
      * Creates a new instance
@@ -84,6 +163,294 @@ public final class GltfAssetReader
         this.jsonErrorConsumer = jsonErrorConsumer;
     }
     
+    /**
+     * Set whether the files that are read with {@link #read(Path)} should
+     * be mapped into memory.<br>
+     * <br>
+     * When this is <code>true</code>, then the data of a binary glTF file
+     * will not be copied. Instead, the binary data of the resulting asset 
+     * will be a read-only slice of the memory-mapped file. The default 
+     * value is <code>false</code>.
+     * 
+     * @param memoryMapping Whether files should be mapped into memory
+     */
+    public void setMemoryMapping(boolean memoryMapping)
+    {
+        this.memoryMapping = memoryMapping;
+    }
+    
+    /**
+     * Returns whether files that are read with {@link #read(Path)} are
+     * mapped into memory
+     * 
+     * @return Whether files are mapped into memory
+     * @see #setMemoryMapping(boolean)
+     */
+    public boolean isMemoryMapping()
+    {
+        return memoryMapping;
+    }
+    
+    /**
+     * Set whether the JSON of glTF 2.0 assets should be read with a
+     * hand-written streaming parser, instead of the Jackson data 
+     * binding.<br>
+     * <br>
+     * The result will be the same in both cases. For large glTF JSON,
+     * the streaming parser is considerably faster. For glTF 1.0 assets,
+     * and for inputs that the streaming parser does not handle, the data
+     * binding will be used. The default value is <code>false</code>.
+     * 
+     * @param fastJsonParsing Whether the streaming parser should be used
+     */
+    public void setFastJsonParsing(boolean fastJsonParsing)
+    {
+        this.fastJsonParsing = fastJsonParsing;
+    }
+    
+    /**
+     * Returns whether the JSON of glTF 2.0 assets is read with the
+     * streaming parser
+     * 
+     * @return Whether the streaming parser is used
+     * @see #setFastJsonParsing(boolean)
+     */
+    public boolean isFastJsonParsing()
+    {
+        return fastJsonParsing;
+    }
+    
+    /**
+     * Set whether the external references of glTF 2.0 assets that are 
+     * read with {@link #read(URI)} or {@link #read(Path)} should be 
+     * resolved lazily.<br>
+     * <br>
+     * By default, all external buffers and images are loaded when the 
+     * asset is read. When lazy loading is enabled, then the data of an 
+     * external reference will only be loaded when it is first requested 
+     * with {@link GltfAsset#getReferenceData(String)}. For a 
+     * {@link GltfModel} that is created from such an asset, this is the 
+     * case when the data of a buffer or image model is first accessed.
+     * References of glTF 1.0 assets are always resolved immediately.
+     * The default value is <code>false</code>.
+     * 
+     * @param lazyLoading Whether references should be resolved lazily
+     */
+    public void setLazyLoading(boolean lazyLoading)
+    {
+        this.lazyLoading = lazyLoading;
+    }
+    
+    /**
+     * Returns whether the external references of glTF 2.0 assets are
+     * resolved lazily
+     * 
+     * @return Whether references are resolved lazily
+     * @see #setLazyLoading(boolean)
+     */
+    public boolean isLazyLoading()
+    {
+        return lazyLoading;
+    }
+    
+    /**
+     * Set whether the data of the buffer views of the external buffers 
+     * of glTF 2.0 assets that are read with {@link #read(Path)} or
+     * {@link #readAsync(Path, Executor)} should be read from the 
+     * respective byte ranges of the buffer files.<br>
+     * <br>
+     * When this is enabled, then the external references are resolved 
+     * lazily, as described in {@link #setLazyLoading(boolean)}. 
+     * Additionally, the buffer models of a {@link GltfModel} that is 
+     * created from the asset will read the data of each buffer view 
+     * from the buffer file with a positional read of exactly the range
+     * of the buffer view, using a {@link BufferRangeReader}, when the 
+     * data of the buffer view is first accessed. Accessing a small part 
+     * of a large buffer file will therefore only read this part. Only 
+     * when the data of the whole buffer is requested, the whole file 
+     * will be read. The data that is read in this way is not stored in 
+     * the {@link #setResourceCache(ResourceCache) resource cache}.<br>
+     * <br>
+     * The data of buffer views that is read in this way is read-only,
+     * because it is not part of the buffer data. Models that are read
+     * with this option should therefore be treated as being read-only.
+     * Attempts to modify the accessor data will cause a
+     * <code>ReadOnlyBufferException</code>.<br>
+     * <br>
+     * The default value is <code>false</code>.
+     * 
+     * @param bufferRangeLoading Whether buffer ranges should be read
+     */
+    public void setBufferRangeLoading(boolean bufferRangeLoading)
+    {
+        this.bufferRangeLoading = bufferRangeLoading;
+    }
+    
+    /**
+     * Returns whether the data of buffer views is read from the 
+     * respective ranges of the buffer files
+     * 
+     * @return Whether buffer ranges are read
+     * @see #setBufferRangeLoading(boolean)
+     */
+    public boolean isBufferRangeLoading()
+    {
+        return bufferRangeLoading;
+    }
+    
+    /**
+     * Set the executor that should be used for resolving the external
+     * references of the assets that are read with {@link #read(URI)} 
+     * or {@link #read(Path)}.<br>
+     * <br>
+     * If this is <code>null</code> (which is the default), then the
+     * references are resolved one after the other, by the calling 
+     * thread. Otherwise, the references are resolved concurrently by 
+     * the given executor, using a {@link ConcurrentGltfReferenceResolver}.
+     * The calling thread will still wait until all references are 
+     * resolved. If it is interrupted while waiting, then the pending 
+     * tasks are cancelled, and an <code>InterruptedIOException</code>
+     * is thrown.<br>
+     * <br>
+     * The executor is not shut down by this class.
+     * 
+     * @param executor The executor
+     */
+    public void setExecutor(Executor executor)
+    {
+        this.executor = executor;
+    }
+    
+    /**
+     * Returns the executor that is used for resolving external references
+     * 
+     * @return The executor
+     * @see #setExecutor(Executor)
+     */
+    public Executor getExecutor()
+    {
+        return executor;
+    }
+    
+    /**
+     * Set the {@link ResourceCache} that should be used for the data of
+     * external references.<br>
+     * <br>
+     * If this is not <code>null</code>, then the data of external 
+     * references will be obtained from the given cache, using the 
+     * absolute URI of the reference as the key. The data will only be 
+     * read when it is not yet contained in the cache. The cache may be 
+     * shared among multiple readers, so that resources that are referred
+     * to by multiple assets are only read once. Note that the data will
+     * then be provided as read-only buffers.
+     * 
+     * @param resourceCache The {@link ResourceCache}
+     */
+    public void setResourceCache(ResourceCache resourceCache)
+    {
+        this.resourceCache = resourceCache;
+    }
+    
+    /**
+     * Returns the {@link ResourceCache} that is used for the data of
+     * external references
+     * 
+     * @return The {@link ResourceCache}
+     * @see #setResourceCache(ResourceCache)
+     */
+    public ResourceCache getResourceCache()
+    {
+        return resourceCache;
+    }
+    
+    /**
+     * Set the {@link GltfSelection} of the parts of glTF 2.0 assets that
+     * should be loaded.<br>
+     * <br>
+     * If this is not <code>null</code>, then the glTF of each asset that
+     * is read will be reduced to the scenes, nodes or meshes that are 
+     * selected, and the elements that are reachable from them, directly
+     * after the JSON has been parsed. The external references of the 
+     * asset are resolved afterwards, so that buffers and images that 
+     * are not required for the selected parts will not be read. The 
+     * selection is ignored for glTF 1.0 assets.<br>
+     * <br>
+     * Reading an asset fails with an <code>IOException</code> when
+     * the asset requires an extension that the selection does not 
+     * support. See {@link GltfSelection} for details.
+     * 
+     * @param selection The {@link GltfSelection}
+     */
+    public void setSelection(GltfSelection selection)
+    {
+        this.selection = selection;
+    }
+    
+    /**
+     * Returns the {@link GltfSelection} of the parts of glTF 2.0 assets
+     * that should be loaded
+     * 
+     * @return The {@link GltfSelection}
+     * @see #setSelection(GltfSelection)
+     */
+    public GltfSelection getSelection()
+    {
+        return selection;
+    }
+    
+    /**
+     * Set the {@link GltfLoadListener} that will be informed about the
+     * duration of the {@link GltfLoadPhase phases} of reading the asset.
+     * If the given listener is <code>null</code>, then the 
+     * {@link GltfLoadListeners#noOp() no-op} listener will be used.
+     * 
+     * @param loadListener The {@link GltfLoadListener}
+     */
+    public void setLoadListener(GltfLoadListener loadListener)
+    {
+        this.loadListener = loadListener == null ? 
+            GltfLoadListeners.noOp() : loadListener;
+    }
+    
+    /**
+     * Returns the {@link GltfLoadListener} that is informed about the 
+     * phases of reading the asset
+     * 
+     * @return The {@link GltfLoadListener}
+     */
+    public GltfLoadListener getLoadListener()
+    {
+        return loadListener;
+    }
+    
+    /**
+     * Returns whether the {@link GltfLoadListener} is not a no-op, and
+     * the phases therefore have to be measured
+     * 
+     * @return Whether the phases have to be measured
+     */
+    private boolean isInstrumented()
+    {
+        return !GltfLoadListeners.isNoOp(loadListener);
+    }
+    
+    /**
+     * Inform the {@link GltfLoadListener} that the given phase, which was
+     * started at the given time, has been completed 
+     * 
+     * @param phase The {@link GltfLoadPhase}
+     * @param startNs The start time, as of <code>System.nanoTime()</code>
+     * @param byteCount The byte count
+     * @param elementCount The element count
+     */
+    private void phaseCompleted(GltfLoadPhase phase, long startNs, 
+        long byteCount, long elementCount)
+    {
+        long durationNs = System.nanoTime() - startNs;
+        loadListener.phaseCompleted(
+            phase, durationNs, byteCount, elementCount);
+    }
+    
     /**
      * Read the {@link GltfAsset} from the given URI
      * 
@@ -97,8 +464,7 @@ public final class GltfAssetReader
         {
             GltfAsset gltfAsset = readWithoutReferences(inputStream);
             URI baseUri = IO.getParent(uri);
-            GltfReferenceResolver.resolveAll(
-                gltfAsset.getReferences(), baseUri);
+            resolveReferences(gltfAsset, createBaseUriResolver(baseUri));
             return gltfAsset;
         }
     }
@@ -112,14 +478,542 @@ public final class GltfAssetReader
      */
     public GltfAsset read(Path path) throws IOException
     {
-        try (InputStream inputStream = path.toUri().toURL().openStream())
+        GltfAsset gltfAsset = readWithoutReferences(path);
+        Path basePath = IO.getParent(path);
+        if (setUpBufferRangeLoading(gltfAsset, basePath))
         {
-            GltfAsset gltfAsset = readWithoutReferences(inputStream);
-            Path basePath = IO.getParent(path);
-            GltfReferenceResolver.resolveAll(
-                gltfAsset.getReferences(), basePath);
             return gltfAsset;
         }
+        resolveReferences(gltfAsset, createBasePathResolver(basePath));
+        return gltfAsset;
+    }
+    
+    /**
+     * If {@link #setBufferRangeLoading(boolean) buffer range loading} is
+     * enabled and the given asset is a glTF 2.0 asset, then set up the
+     * asset to read the ranges of its buffers from the files that are 
+     * resolved against the given base path, and to resolve its references
+     * lazily, and return <code>true</code>. Otherwise, return 
+     * <code>false</code>.
+     * 
+     * @param gltfAsset The {@link GltfAsset}
+     * @param basePath The base path
+     * @return Whether buffer range loading was set up
+     */
+    private boolean setUpBufferRangeLoading(
+        GltfAsset gltfAsset, Path basePath)
+    {
+        if (!bufferRangeLoading || !(gltfAsset instanceof GltfAssetV2))
+        {
+            return false;
+        }
+        GltfAssetV2 gltfAssetV2 = (GltfAssetV2)gltfAsset;
+        gltfAssetV2.setBufferRangeReaderResolver(uriString -> 
+        {
+            if (IO.isDataUriString(uriString))
+            {
+                return null;
+            }
+            try
+            {
+                return new BufferRangeReader(
+                    IO.makeAbsolute(basePath, uriString));
+            }
+            catch (IOException e)
+            {
+                logger.warning("Could not resolve URI " + uriString 
+                    + ": " + e.getMessage());
+                return null;
+            }
+        });
+        gltfAssetV2.setLazyUriResolver(createBasePathResolver(basePath));
+        return true;
+    }
+    
+    /**
+     * Creates the function that resolves URI strings against the given 
+     * base URI, using the {@link #setResourceCache(ResourceCache) 
+     * resource cache} if it is not <code>null</code>
+     * 
+     * @param baseUri The base URI
+     * @return The function
+     */
+    private Function<String, ByteBuffer> createBaseUriResolver(URI baseUri)
+    {
+        if (resourceCache != null)
+        {
+            return UriResolvers.createBaseUriResolver(baseUri, resourceCache);
+        }
+        return UriResolvers.createBaseUriResolver(baseUri);
+    }
+    
+    /**
+     * Creates the function that resolves URI strings against the given 
+     * base path, using the {@link #setResourceCache(ResourceCache) 
+     * resource cache} if it is not <code>null</code>
+     * 
+     * @param basePath The base path
+     * @return The function
+     */
+    private Function<String, ByteBuffer> createBasePathResolver(
+        Path basePath)
+    {
+        if (resourceCache != null)
+        {
+            return UriResolvers.createBasePathResolver(
+                basePath, resourceCache);
+        }
+        return UriResolvers.createBasePathResolver(basePath);
+    }
+    
+    /**
+     * Read the data from the given (absolute) path asynchronously, 
+     * using the {@link #setResourceCache(ResourceCache) resource cache} 
+     * if it is not <code>null</code>
+     * 
+     * @param path The path
+     * @return The future that provides the data
+     */
+    private CompletableFuture<ByteBuffer> readAsync(Path path)
+    {
+        if (resourceCache != null)
+        {
+            return resourceCache.getAsync(path.toUri(), 
+                u -> IO.readAsync(path));
+        }
+        return IO.readAsync(path);
+    }
+    
+    /**
+     * Resolve the references of the given {@link GltfAsset} with the
+     * given resolver. If {@link #setLazyLoading(boolean) lazy loading}
+     * is enabled and the asset is a glTF 2.0 asset, then the resolver 
+     * is only stored in the asset, to resolve the references when their
+     * data is first requested.
+     * 
+     * @param gltfAsset The {@link GltfAsset}
+     * @param uriResolver The function for resolving a URI string
+     * into a byte buffer
+     * @throws IOException If the references are resolved concurrently,
+     * and this caused an exception, or the calling thread was interrupted
+     */
+    private void resolveReferences(GltfAsset gltfAsset, 
+        Function<String, ByteBuffer> uriResolver) throws IOException
+    {
+        if (lazyLoading && gltfAsset instanceof GltfAssetV2)
+        {
+            GltfAssetV2 gltfAssetV2 = (GltfAssetV2)gltfAsset;
+            gltfAssetV2.setLazyUriResolver(uriResolver);
+            return;
+        }
+        if (!isInstrumented())
+        {
+            resolveReferencesDirectly(gltfAsset, uriResolver);
+            return;
+        }
+        long startNs = System.nanoTime();
+        AtomicLong byteCount = new AtomicLong();
+        resolveReferencesDirectly(gltfAsset, counting(uriResolver, byteCount));
+        phaseCompleted(GltfLoadPhase.RESOLVE_REFERENCES, startNs, 
+            byteCount.get(), gltfAsset.getReferences().size());
+    }
+    
+    /**
+     * Returns a function that passes the given URI strings to the given
+     * resolver, and adds the sizes of the resulting buffers to the 
+     * given byte count
+     * 
+     * @param uriResolver The function for resolving a URI string
+     * into a byte buffer
+     * @param byteCount The byte count
+     * @return The function
+     */
+    private static Function<String, ByteBuffer> counting(
+        Function<String, ByteBuffer> uriResolver, AtomicLong byteCount)
+    {
+        return uriString -> 
+        {
+            ByteBuffer byteBuffer = uriResolver.apply(uriString);
+            if (byteBuffer != null)
+            {
+                byteCount.addAndGet(byteBuffer.capacity());
+            }
+            return byteBuffer;
+        };
+    }
+    
+    /**
+     * Resolve the references of the given {@link GltfAsset} with the
+     * given resolver, concurrently if an {@link #setExecutor(Executor)
+     * executor} was set
+     * 
+     * @param gltfAsset The {@link GltfAsset}
+     * @param uriResolver The function for resolving a URI string
+     * into a byte buffer
+     * @throws IOException If the references are resolved concurrently,
+     * and this caused an exception, or the calling thread was interrupted
+     */
+    private void resolveReferencesDirectly(GltfAsset gltfAsset, 
+        Function<String, ByteBuffer> uriResolver) throws IOException
+    {
+        if (executor != null)
+        {
+            ConcurrentGltfReferenceResolver concurrentResolver = 
+                new ConcurrentGltfReferenceResolver(executor);
+            concurrentResolver.resolveAll(
+                gltfAsset.getReferences(), uriResolver);
+        }
+        else
+        {
+            GltfReferenceResolver.resolveAll(
+                gltfAsset.getReferences(), uriResolver);
+        }
+    }
+
+    /**
+     * Read the {@link GltfAsset} from the given path, asynchronously.<br>
+     * <br>
+     * The file and the external references will be read with an
+     * <code>AsynchronousFileChannel</code>, without blocking a thread.
+     * Parsing the glTF JSON will be done with the given executor. As soon
+     * as the JSON has been parsed, the reading of all external references 
+     * starts, concurrently. The returned future is completed when all
+     * references have been resolved. If 
+     * {@link #setLazyLoading(boolean) lazy loading} is enabled, then the
+     * future is completed directly after parsing the JSON.<br>
+     * <br>
+     * If the file cannot be read or parsed, then the returned future
+     * will be completed exceptionally. As in {@link #read(Path)}, 
+     * references that cannot be resolved only cause a warning to be
+     * printed.<br>
+     * <br>
+     * The {@link #setSelection(GltfSelection) selection}, 
+     * {@link #setBufferRangeLoading(boolean) buffer range loading} and
+     * {@link #setResourceCache(ResourceCache) resource cache} settings
+     * are applied as in {@link #read(Path)}. When a resource cache is
+     * set, then the data of the file itself is also obtained from the
+     * cache. When {@link #setMemoryMapping(boolean) memory mapping} is
+     * enabled, then the file is mapped into memory in a task of the given
+     * executor, and the resource cache is not used for the file. The
+     * {@link #setExecutor(Executor) executor} setting is not used by 
+     * this method.
+     * 
+     * @param path The path
+     * @param executor The executor for the parsing stages
+     * @return The future that provides the {@link GltfAsset}
+     */
+    public CompletableFuture<GltfAsset> readAsync(
+        Path path, Executor executor)
+    {
+        Path basePath = IO.getParent(path);
+        long startNs = System.nanoTime();
+        CompletableFuture<RawGltfData> rawGltfDataFuture;
+        if (memoryMapping)
+        {
+            // Mapping the file is not an asynchronous operation, so
+            // it is done in a task of the given executor
+            rawGltfDataFuture = CompletableFuture.supplyAsync(
+                () -> readRawGltfData(path, startNs), executor);
+        }
+        else
+        {
+            rawGltfDataFuture = readAsync(path)
+                .thenApply(data -> 
+                {
+                    if (isInstrumented())
+                    {
+                        phaseCompleted(GltfLoadPhase.READ, startNs, 
+                            data.capacity(), 0);
+                    }
+                    return data;
+                })
+                .thenApplyAsync(data -> readRawGltfData(data), executor);
+        }
+        return rawGltfDataFuture
+            .thenApplyAsync(rawGltfData -> readAsset(rawGltfData), executor)
+            .thenCompose(gltfAsset -> 
+                resolveReferencesAsync(gltfAsset, basePath));
+    }
+    
+    /**
+     * Read the {@link GltfAsset} from the given URI, asynchronously.<br>
+     * <br>
+     * If the given URI is a <code>file:</code> URI, then this will 
+     * delegate to {@link #readAsync(Path, Executor)}. Otherwise, the
+     * asset and its external references will be read with blocking
+     * streams, in tasks that are passed to the given executor. The 
+     * external references will be read concurrently.
+     * 
+     * @param uri The URI
+     * @param executor The executor
+     * @return The future that provides the {@link GltfAsset}
+     */
+    public CompletableFuture<GltfAsset> readAsync(URI uri, Executor executor)
+    {
+        if ("file".equalsIgnoreCase(uri.getScheme()))
+        {
+            return readAsync(Paths.get(uri), executor);
+        }
+        URI baseUri = IO.getParent(uri);
+        Function<String, ByteBuffer> uriResolver = 
+            createBaseUriResolver(baseUri);
+        return CompletableFuture
+            .supplyAsync(() -> readWithoutReferencesUnchecked(uri), executor)
+            .thenCompose(gltfAsset -> 
+                resolveReferencesAsync(gltfAsset, uriResolver, executor));
+    }
+    
+    /**
+     * Read the {@link RawGltfData} from the given data, wrapping any
+     * <code>IOException</code> into a <code>CompletionException</code>
+     * 
+     * @param data The data
+     * @return The {@link RawGltfData}
+     */
+    private static RawGltfData readRawGltfData(ByteBuffer data)
+    {
+        try
+        {
+            return RawGltfDataReader.read(data);
+        }
+        catch (IOException e)
+        {
+            throw new CompletionException(e);
+        }
+    }
+    
+    /**
+     * Read the {@link RawGltfData} from the given path, mapping the file
+     * into memory, and wrapping any <code>IOException</code> into a 
+     * <code>CompletionException</code>
+     * 
+     * @param path The path
+     * @param startNs The start time of reading the file
+     * @return The {@link RawGltfData}
+     */
+    private RawGltfData readRawGltfData(Path path, long startNs)
+    {
+        try
+        {
+            RawGltfData rawGltfData = RawGltfDataReader.read(path);
+            if (isInstrumented())
+            {
+                phaseCompleted(GltfLoadPhase.READ, startNs, 
+                    Files.size(path), 0);
+            }
+            return rawGltfData;
+        }
+        catch (IOException e)
+        {
+            throw new CompletionException(e);
+        }
+    }
+    
+    /**
+     * Read the {@link GltfAsset} from the given {@link RawGltfData},
+     * wrapping any <code>IOException</code> into a 
+     * <code>CompletionException</code>
+     * 
+     * @param rawGltfData The {@link RawGltfData}
+     * @return The {@link GltfAsset}
+     */
+    private GltfAsset readAsset(RawGltfData rawGltfData)
+    {
+        try
+        {
+            return read(rawGltfData);
+        }
+        catch (IOException e)
+        {
+            throw new CompletionException(e);
+        }
+    }
+    
+    /**
+     * Read the {@link GltfAsset} from the given URI, without resolving
+     * the references, wrapping any <code>IOException</code> into a 
+     * <code>CompletionException</code>
+     * 
+     * @param uri The URI
+     * @return The {@link GltfAsset}
+     */
+    private GltfAsset readWithoutReferencesUnchecked(URI uri)
+    {
+        try
+        {
+            return readWithoutReferences(uri);
+        }
+        catch (IOException e)
+        {
+            throw new CompletionException(e);
+        }
+    }
+    
+    /**
+     * Resolve the references of the given {@link GltfAsset} against the
+     * given base path, asynchronously, by reading the referenced files
+     * with an <code>AsynchronousFileChannel</code>. If 
+     * {@link #setLazyLoading(boolean) lazy loading} or 
+     * {@link #setBufferRangeLoading(boolean) buffer range loading} is 
+     * enabled and the asset is a glTF 2.0 asset, then the resolver is 
+     * only stored in the asset, and the returned future is already 
+     * completed.
+     * 
+     * @param gltfAsset The {@link GltfAsset}
+     * @param basePath The base path
+     * @return The future that is completed when all references have
+     * been resolved
+     */
+    private CompletableFuture<GltfAsset> resolveReferencesAsync(
+        GltfAsset gltfAsset, Path basePath)
+    {
+        if (setUpBufferRangeLoading(gltfAsset, basePath))
+        {
+            return CompletableFuture.completedFuture(gltfAsset);
+        }
+        if (lazyLoading && gltfAsset instanceof GltfAssetV2)
+        {
+            GltfAssetV2 gltfAssetV2 = (GltfAssetV2)gltfAsset;
+            gltfAssetV2.setLazyUriResolver(
+                createBasePathResolver(basePath));
+            return CompletableFuture.completedFuture(gltfAsset);
+        }
+        long startNs = System.nanoTime();
+        AtomicLong byteCount = new AtomicLong();
+        List<CompletableFuture<Void>> futures = 
+            new ArrayList<CompletableFuture<Void>>();
+        for (GltfReference reference : gltfAsset.getReferences())
+        {
+            String uri = reference.getUri();
+            CompletableFuture<ByteBuffer> future;
+            try
+            {
+                future = readAsync(IO.makeAbsolute(basePath, uri));
+            }
+            catch (IOException | RuntimeException e)
+            {
+                future = new CompletableFuture<ByteBuffer>();
+                future.completeExceptionally(e);
+            }
+            futures.add(future.handle((byteBuffer, t) -> 
+            {
+                if (t != null)
+                {
+                    logger.warning("Could not resolve URI " + uri 
+                        + ": " + t.getMessage());
+                }
+                else
+                {
+                    byteCount.addAndGet(byteBuffer.capacity());
+                }
+                reference.getTarget().accept(byteBuffer);
+                return null;
+            }));
+        }
+        return allOf(futures, gltfAsset, startNs, byteCount);
+    }
+    
+    /**
+     * Returns a future that is completed with the given asset when all
+     * of the given futures for resolving its references are completed,
+     * informing the {@link GltfLoadListener} about the 
+     * {@link GltfLoadPhase#RESOLVE_REFERENCES} phase
+     * 
+     * @param futures The futures
+     * @param gltfAsset The {@link GltfAsset}
+     * @param startNs The start time of resolving the references
+     * @param byteCount The number of bytes that have been resolved
+     * @return The future
+     */
+    private CompletableFuture<GltfAsset> allOf(
+        List<CompletableFuture<Void>> futures, GltfAsset gltfAsset,
+        long startNs, AtomicLong byteCount)
+    {
+        return CompletableFuture.allOf(
+            futures.toArray(new CompletableFuture<?>[0]))
+            .thenApply(v -> 
+            {
+                if (isInstrumented())
+                {
+                    phaseCompleted(GltfLoadPhase.RESOLVE_REFERENCES, startNs,
+                        byteCount.get(), futures.size());
+                }
+                return gltfAsset;
+            });
+    }
+
+    /**
+     * Resolve the references of the given {@link GltfAsset} with the
+     * given resolver, asynchronously, by passing one task for each
+     * reference to the given executor. If {@link #setLazyLoading(boolean) 
+     * lazy loading} is enabled and the asset is a glTF 2.0 asset, then 
+     * the resolver is only stored in the asset, and the returned future 
+     * is already completed.
+     * 
+     * @param gltfAsset The {@link GltfAsset}
+     * @param uriResolver The function for resolving a URI string
+     * into a byte buffer
+     * @param executor The executor
+     * @return The future that is completed when all references have
+     * been resolved
+     */
+    private CompletableFuture<GltfAsset> resolveReferencesAsync(
+        GltfAsset gltfAsset, Function<String, ByteBuffer> uriResolver,
+        Executor executor)
+    {
+        if (lazyLoading && gltfAsset instanceof GltfAssetV2)
+        {
+            GltfAssetV2 gltfAssetV2 = (GltfAssetV2)gltfAsset;
+            gltfAssetV2.setLazyUriResolver(uriResolver);
+            return CompletableFuture.completedFuture(gltfAsset);
+        }
+        long startNs = System.nanoTime();
+        AtomicLong byteCount = new AtomicLong();
+        Function<String, ByteBuffer> countingUriResolver = 
+            counting(uriResolver, byteCount);
+        List<CompletableFuture<Void>> futures = 
+            new ArrayList<CompletableFuture<Void>>();
+        for (GltfReference reference : gltfAsset.getReferences())
+        {
+            futures.add(CompletableFuture.runAsync(() -> 
+                GltfReferenceResolver.resolve(
+                    reference, countingUriResolver), executor));
+        }
+        return allOf(futures, gltfAsset, startNs, byteCount);
+    }
+
+    /**
+     * Read the {@link GltfAsset} from the given path.<br>
+     * <br>
+     * In contrast to the {@link #read(Path)} method, this method will
+     * not resolve any external references.<br>
+     * <br>
+     * If {@link #setMemoryMapping(boolean) memory mapping} is enabled,
+     * then the file will be mapped into memory. Paths that do not belong
+     * to the default file system, like paths in the zip file system, are 
+     * read with {@link IO#readToBuffer(Path)}.
+     *
+     * @param path The path
+     * @return The {@link GltfAsset}
+     * @throws IOException If an IO error occurs
+     */
+    public GltfAsset readWithoutReferences(Path path) throws IOException
+    {
+        if (memoryMapping || !IO.isDefaultFileSystem(path))
+        {
+            long startNs = System.nanoTime();
+            RawGltfData rawGltfData = RawGltfDataReader.read(path);
+            if (isInstrumented())
+            {
+                phaseCompleted(GltfLoadPhase.READ, startNs, 
+                    Files.size(path), 0);
+            }
+            return read(rawGltfData);
+        }
+        try (InputStream inputStream = path.toUri().toURL().openStream())
+        {
+            return readWithoutReferences(inputStream);
+        }
     }
 
     /**
@@ -161,10 +1055,74 @@ public final class GltfAssetReader
     public GltfAsset readWithoutReferences(InputStream inputStream) 
         throws IOException
     {
-        RawGltfData rawGltfData = RawGltfDataReader.read(inputStream);
+        if (!isInstrumented())
+        {
+            RawGltfData rawGltfData = RawGltfDataReader.read(inputStream);
+            return read(rawGltfData);
+        }
+        long startNs = System.nanoTime();
+        ProgressInputStream progressInputStream = 
+            new ProgressInputStream(inputStream);
+        RawGltfData rawGltfData = 
+            RawGltfDataReader.read(progressInputStream);
+        phaseCompleted(GltfLoadPhase.READ, startNs, 
+            progressInputStream.getTotalNumBytesRead(), 0);
         return read(rawGltfData);
     }
 
+    /**
+     * Probe the glTF asset from the given path. This will only read the
+     * header and the JSON part of the asset, and return a 
+     * {@link GltfProbe} that contains the {@link GltfAsset} that was
+     * parsed from the JSON, and the sizes of the JSON and binary parts.<br>
+     * <br>
+     * For binary glTF, reading stops after the header of the BIN chunk.
+     * The binary data is never read, and no memory is allocated for it,
+     * so the cost of probing only depends on the size of the JSON. This 
+     * is intended for cases where only information from the JSON is 
+     * required, like the asset information, the extensions, or the 
+     * names and counts of elements. External references are not 
+     * resolved.
+     * 
+     * @param path The path
+     * @return The {@link GltfProbe}
+     * @throws IOException If an IO error occurs
+     */
+    public GltfProbe probe(Path path) throws IOException
+    {
+        if (!IO.isDefaultFileSystem(path))
+        {
+            try (InputStream inputStream = Files.newInputStream(path))
+            {
+                return GltfProbeReader.probe(Channels.newChannel(inputStream),
+                    Files.size(path), this);
+            }
+        }
+        try (FileChannel fileChannel = 
+            FileChannel.open(path, StandardOpenOption.READ))
+        {
+            return GltfProbeReader.probe(
+                fileChannel, fileChannel.size(), this);
+        }
+    }
+    
+    /**
+     * Probe the glTF asset from the given input stream. The caller is 
+     * responsible for closing the given stream.<br>
+     * <br>
+     * See {@link #probe(Path)} for details. For binary glTF, the stream
+     * will not be read beyond the header of the BIN chunk.
+     * 
+     * @param inputStream The input stream
+     * @return The {@link GltfProbe}
+     * @throws IOException If an IO error occurs
+     */
+    public GltfProbe probe(InputStream inputStream) throws IOException
+    {
+        return GltfProbeReader.probe(
+            Channels.newChannel(inputStream), -1, this);
+    }
+
     /**
      * Read the {@link GltfAsset} from the given {@link RawGltfData}
      * 
@@ -174,6 +1132,78 @@ public final class GltfAssetReader
      */
     GltfAsset read(RawGltfData rawGltfData) throws IOException
     {
+        if (!isInstrumented())
+        {
+            return select(parse(rawGltfData));
+        }
+        long startNs = System.nanoTime();
+        GltfAsset gltfAsset = select(parse(rawGltfData));
+        phaseCompleted(GltfLoadPhase.PARSE_JSON, startNs, 
+            rawGltfData.getJsonData().capacity(),
+            GltfLoadListeners.countElements(gltfAsset));
+        return gltfAsset;
+    }
+    
+    /**
+     * Apply the {@link GltfSelection} to the given {@link GltfAsset}, 
+     * if a selection was set
+     * 
+     * @param gltfAsset The {@link GltfAsset}
+     * @return The given {@link GltfAsset}
+     * @throws IOException If the selection cannot be applied to the asset
+     */
+    private GltfAsset select(GltfAsset gltfAsset) throws IOException
+    {
+        if (selection == null)
+        {
+            return gltfAsset;
+        }
+        if (gltfAsset instanceof GltfAssetV2)
+        {
+            GltfAssetV2 gltfAssetV2 = (GltfAssetV2) gltfAsset;
+            try
+            {
+                GltfSelectorV2.apply(gltfAssetV2.getGltf(), selection);
+            }
+            catch (IllegalArgumentException e)
+            {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+        else
+        {
+            logger.warning("Selections are only supported for glTF 2.0");
+        }
+        return gltfAsset;
+    }
+    
+    /**
+     * Parse the {@link GltfAsset} from the given {@link RawGltfData}
+     * 
+     * @param rawGltfData The {@link RawGltfData}
+     * @return The {@link GltfAsset}
+     * @throws IOException If the data cannot be read
+     */
+    private GltfAsset parse(RawGltfData rawGltfData) throws IOException
+    {
+        if (fastJsonParsing)
+        {
+            GltfStreamingReaderV2 gltfStreamingReader = 
+                new GltfStreamingReaderV2();
+            gltfStreamingReader.setJsonErrorConsumer(jsonErrorConsumer);
+            try (InputStream jsonInputStream =
+                Buffers.createByteBufferInputStream(
+                    rawGltfData.getJsonData()))
+            {
+                de.javagl.jgltf.impl.v2.GlTF gltfV2 = 
+                    gltfStreamingReader.read(jsonInputStream);
+                if (gltfV2 != null)
+                {
+                    return new GltfAssetV2(gltfV2, 
+                        rawGltfData.getBinaryData());
+                }
+            }
+        }
         GltfReader gltfReader = new GltfReader();
         gltfReader.setJsonErrorConsumer(jsonErrorConsumer);        
         ByteBuffer jsonData = rawGltfData.getJsonData();
@@ -41,16 +41,50 @@ import de.javagl.jgltf.model.io.v2.GltfAssetV2;
 import de.javagl.jgltf.model.io.v2.GltfAssetWriterV2;
 
 /**
- * A class for writing a {@link GltfAsset}
+ * A class for writing a {@link GltfAsset}.<br>
+ * <br>
+ * The JSON part or the binary glTF may be compressed, as configured with
+ * {@link #setCompression(GltfCompression)}. The data of external 
+ * references is always written without compression.
  */
 public class GltfAssetWriter
 {
+    /**
+     * The compression for the JSON part or the binary glTF
+     */
+    private GltfCompression compression;
+    
     /**
      * Default constructor
      */
     public GltfAssetWriter()
     {
-        // Default constructor
+        this.compression = GltfCompression.NONE;
+    }
+
+    /**
+     * Set the compression that should be applied to the JSON part or the
+     * binary glTF. The data is compressed while it is written, without 
+     * creating an intermediate, uncompressed copy.
+     * 
+     * @param compression The {@link GltfCompression}. If this is 
+     * <code>null</code>, then {@link GltfCompression#NONE} will be used.
+     */
+    public void setCompression(GltfCompression compression)
+    {
+        this.compression = 
+            compression == null ? GltfCompression.NONE : compression;
+    }
+    
+    /**
+     * Returns the compression that is applied to the JSON part or the
+     * binary glTF
+     * 
+     * @return The {@link GltfCompression}
+     */
+    public GltfCompression getCompression()
+    {
+        return compression;
     }
 
     /**
@@ -144,7 +178,11 @@ public class GltfAssetWriter
     {
         Object gltf = gltfAsset.getGltf();
         GltfWriter gltfWriter = new GltfWriter();
-        gltfWriter.write(gltf, outputStream);
+        try (OutputStream compressedOutputStream = 
+            compression.createOutputStream(outputStream))
+        {
+            gltfWriter.write(gltf, compressedOutputStream);
+        }
     }
     
     /**
@@ -191,6 +229,31 @@ public class GltfAssetWriter
      */
     public void writeBinary(GltfAsset gltfAsset, OutputStream outputStream) 
         throws IOException
+    {
+        // Without compression, the stream is passed on directly, so that
+        // the binary data of a file output can be written to its channel
+        if (compression == GltfCompression.NONE)
+        {
+            writeBinaryUncompressed(gltfAsset, outputStream);
+            return;
+        }
+        try (OutputStream compressedOutputStream = 
+            compression.createOutputStream(outputStream))
+        {
+            writeBinaryUncompressed(gltfAsset, compressedOutputStream);
+        }
+    }
+    
+    /**
+     * Write the given {@link GltfAsset} as a binary glTF asset to the 
+     * given output stream, without compression. 
+     * 
+     * @param gltfAsset The {@link GltfAsset}
+     * @param outputStream The output stream
+     * @throws IOException If an IO error occurred
+     */
+    private static void writeBinaryUncompressed(
+        GltfAsset gltfAsset, OutputStream outputStream) throws IOException
     {
         if (gltfAsset instanceof GltfAssetV1)
         {
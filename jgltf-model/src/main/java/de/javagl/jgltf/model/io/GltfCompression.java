@@ -0,0 +1,216 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.jgltf.model.io;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The compression formats for glTF and binary glTF files.<br>
+ * <br>
+ * Compressed input is detected automatically by the 
+ * {@link RawGltfDataReader}. The compression for the output can be
+ * set with {@link GltfModelWriter#setCompression(GltfCompression)} or
+ * {@link GltfAssetWriter#setCompression(GltfCompression)}.
+ */
+public enum GltfCompression
+{
+    /**
+     * No compression
+     */
+    NONE,
+    
+    /**
+     * The GZIP format, as written by a <code>GZIPOutputStream</code>
+     */
+    GZIP,
+    
+    /**
+     * The ZLIB format, as written by a <code>DeflaterOutputStream</code>
+     */
+    DEFLATE;
+    
+    /**
+     * The size of the buffers of the compressing and decompressing streams
+     */
+    private static final int BUFFER_SIZE = 65536;
+    
+    /**
+     * Detect the compression of the data that starts with the given 
+     * prefix. The prefix is examined starting at its position.
+     * 
+     * @param prefix The prefix of the data
+     * @return The {@link GltfCompression}
+     */
+    static GltfCompression detect(ByteBuffer prefix)
+    {
+        if (prefix.remaining() < 2)
+        {
+            return NONE;
+        }
+        int b0 = prefix.get(prefix.position()) & 0xFF;
+        int b1 = prefix.get(prefix.position() + 1) & 0xFF;
+        if (b0 == 0x1F && b1 == 0x8B)
+        {
+            return GZIP;
+        }
+        // The ZLIB header with the DEFLATE compression method, and the
+        // check bits. JSON and binary glTF never start with these bytes.
+        if (b0 == 0x78 && ((b0 << 8) | b1) % 31 == 0)
+        {
+            return DEFLATE;
+        }
+        return NONE;
+    }
+    
+    /**
+     * Creates an input stream that decompresses the data from the given
+     * stream according to this compression. For {@link #NONE}, the given
+     * stream is returned.<br>
+     * <br>
+     * The returned stream must be closed in order to release the 
+     * resources of the decompression. Closing the returned stream will
+     * <b>not</b> close the given stream. 
+     * 
+     * @param inputStream The input stream
+     * @return The decompressing input stream
+     * @throws IOException If an IO error occurs
+     */
+    InputStream createInputStream(InputStream inputStream) 
+        throws IOException
+    {
+        InputStream nonClosing = new FilterInputStream(inputStream)
+        {
+            @Override
+            public void close() throws IOException
+            {
+                // The given stream is not closed
+            }
+        };
+        switch (this)
+        {
+            case GZIP:
+                return new GZIPInputStream(nonClosing, BUFFER_SIZE);
+            case DEFLATE:
+            {
+                // The inflater is not a default inflater, and has to 
+                // be ended explicitly
+                Inflater inflater = new Inflater();
+                return new InflaterInputStream(
+                    nonClosing, inflater, BUFFER_SIZE)
+                {
+                    @Override
+                    public void close() throws IOException
+                    {
+                        try
+                        {
+                            super.close();
+                        }
+                        finally
+                        {
+                            inflater.end();
+                        }
+                    }
+                };
+            }
+            default:
+                return inputStream;
+        }
+    }
+    
+    /**
+     * Creates an output stream that compresses the data that is written
+     * to it according to this compression, and writes the compressed 
+     * data to the given stream.<br>
+     * <br>
+     * The returned stream must be closed in order to write the remaining 
+     * compressed data. Closing the returned stream will <b>not</b> close
+     * the given stream. For {@link #NONE}, the returned stream only passes
+     * the data to the given stream.
+     * 
+     * @param outputStream The output stream
+     * @return The compressing output stream
+     * @throws IOException If an IO error occurs
+     */
+    OutputStream createOutputStream(OutputStream outputStream) 
+        throws IOException
+    {
+        OutputStream nonClosing = new FilterOutputStream(outputStream)
+        {
+            @Override
+            public void write(byte b[], int off, int len) throws IOException
+            {
+                out.write(b, off, len);
+            }
+            
+            @Override
+            public void close() throws IOException
+            {
+                flush();
+            }
+        };
+        switch (this)
+        {
+            case GZIP:
+                return new GZIPOutputStream(nonClosing, BUFFER_SIZE);
+            case DEFLATE:
+            {
+                // The deflater is not a default deflater, and has to 
+                // be ended explicitly
+                Deflater deflater = new Deflater();
+                return new DeflaterOutputStream(
+                    nonClosing, deflater, BUFFER_SIZE)
+                {
+                    @Override
+                    public void close() throws IOException
+                    {
+                        try
+                        {
+                            super.close();
+                        }
+                        finally
+                        {
+                            deflater.end();
+                        }
+                    }
+                };
+            }
+            default:
+                return nonClosing;
+        }
+    }
+}
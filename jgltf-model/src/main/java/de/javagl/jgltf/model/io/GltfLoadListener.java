@@ -0,0 +1,59 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.jgltf.model.io;
+
+/**
+ * Interface for classes that want to be informed about the time that was
+ * spent in the different {@link GltfLoadPhase phases} of loading a glTF
+ * model. Instances may be passed to 
+ * {@link GltfModelReader#setLoadListener(GltfLoadListener)} or
+ * {@link GltfAssetReader#setLoadListener(GltfLoadListener)}.<br>
+ * <br>
+ * Implementations must be thread-safe: The phases may be reported by 
+ * different threads, for example, when references are resolved 
+ * concurrently, or when sparse accessors are substituted when their
+ * data is first accessed.<br>
+ * <br>
+ * Default implementations can be created with the 
+ * {@link GltfLoadListeners} class.
+ */
+@FunctionalInterface
+public interface GltfLoadListener
+{
+    /**
+     * Will be called when the given phase was completed
+     * 
+     * @param phase The {@link GltfLoadPhase}
+     * @param durationNs The duration of the phase, in nanoseconds
+     * @param byteCount The number of bytes that have been processed in
+     * the phase, or 0 if this is not applicable
+     * @param elementCount The number of elements that have been processed
+     * in the phase, or 0 if this is not applicable
+     */
+    void phaseCompleted(GltfLoadPhase phase, 
+        long durationNs, long byteCount, long elementCount);
+}
@@ -0,0 +1,219 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.jgltf.model.io;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import de.javagl.jgltf.impl.v2.GlTF;
+import de.javagl.jgltf.model.GltfModel;
+import de.javagl.jgltf.model.io.v2.GltfAssetV2;
+
+/**
+ * Methods to create {@link GltfLoadListener} instances
+ */
+public class GltfLoadListeners
+{
+    /**
+     * The logger used in this class
+     */
+    private static final Logger logger = 
+        Logger.getLogger(GltfLoadListeners.class.getName());
+    
+    /**
+     * The listener that does nothing
+     */
+    private static final GltfLoadListener NO_OP = 
+        (phase, durationNs, byteCount, elementCount) -> 
+        {
+            // Nothing to do here
+        };
+    
+    /**
+     * Returns a {@link GltfLoadListener} that does nothing. When this 
+     * listener is used, then the readers will not even measure the 
+     * durations of the phases. This is the default listener.
+     * 
+     * @return The listener
+     */
+    public static GltfLoadListener noOp()
+    {
+        return NO_OP;
+    }
+    
+    /**
+     * Returns whether the given listener is the {@link #noOp()} listener,
+     * or <code>null</code>
+     * 
+     * @param loadListener The listener
+     * @return Whether the listener is a no-op
+     */
+    static boolean isNoOp(GltfLoadListener loadListener)
+    {
+        return loadListener == null || loadListener == NO_OP;
+    }
+    
+    /**
+     * Creates a {@link GltfLoadListener} that prints the information about
+     * each phase as a log message with the given level
+     * 
+     * @param level The log level
+     * @return The listener
+     */
+    public static GltfLoadListener createLogging(Level level)
+    {
+        return (phase, durationNs, byteCount, elementCount) -> 
+        {
+            if (logger.isLoggable(level))
+            {
+                logger.log(level, String.format(Locale.ENGLISH, 
+                    "%s: %.3f ms, %d bytes, %d elements", 
+                    phase, durationNs / 1e6, byteCount, elementCount));
+            }
+        };
+    }
+    
+    /**
+     * Creates a {@link GltfLoadListener} that commits a Java Flight 
+     * Recorder event for each phase. The events have the name
+     * <code>de.javagl.jgltf.LoadPhase</code>, and are only recorded
+     * when they are enabled in the recording.<br>
+     * <br>
+     * This requires the <code>jdk.jfr</code> module to be available. 
+     * If it is not available, then a warning will be printed, and the
+     * {@link #noOp()} listener will be returned.
+     * 
+     * @return The listener
+     */
+    public static GltfLoadListener createJfr()
+    {
+        GltfLoadListener loadListener = JfrGltfLoadListener.create();
+        if (loadListener == null)
+        {
+            return NO_OP;
+        }
+        return loadListener;
+    }
+    
+    /**
+     * Returns a {@link GltfLoadListener} that passes all calls to
+     * both of the given listeners
+     * 
+     * @param first The first listener
+     * @param second The second listener
+     * @return The listener
+     */
+    public static GltfLoadListener combine(
+        GltfLoadListener first, GltfLoadListener second)
+    {
+        if (isNoOp(first))
+        {
+            return second == null ? NO_OP : second;
+        }
+        if (isNoOp(second))
+        {
+            return first;
+        }
+        return (phase, durationNs, byteCount, elementCount) -> 
+        {
+            first.phaseCompleted(phase, durationNs, byteCount, elementCount);
+            second.phaseCompleted(phase, durationNs, byteCount, elementCount);
+        };
+    }
+    
+    /**
+     * Returns the number of top-level elements of the given asset, if it
+     * is a glTF 2.0 asset, or 0 otherwise
+     * 
+     * @param gltfAsset The {@link GltfAsset}
+     * @return The number of elements
+     */
+    static long countElements(GltfAsset gltfAsset)
+    {
+        if (!(gltfAsset instanceof GltfAssetV2))
+        {
+            return 0;
+        }
+        GlTF gltf = ((GltfAssetV2) gltfAsset).getGltf();
+        return size(gltf.getAccessors()) 
+            + size(gltf.getAnimations())
+            + size(gltf.getBuffers())
+            + size(gltf.getBufferViews())
+            + size(gltf.getCameras())
+            + size(gltf.getImages())
+            + size(gltf.getMaterials())
+            + size(gltf.getMeshes())
+            + size(gltf.getNodes())
+            + size(gltf.getSamplers())
+            + size(gltf.getScenes())
+            + size(gltf.getSkins())
+            + size(gltf.getTextures());
+    }
+    
+    /**
+     * Returns the number of top-level elements of the given model
+     * 
+     * @param gltfModel The {@link GltfModel}
+     * @return The number of elements
+     */
+    static long countElements(GltfModel gltfModel)
+    {
+        return size(gltfModel.getAccessorModels()) 
+            + size(gltfModel.getAnimationModels())
+            + size(gltfModel.getBufferModels())
+            + size(gltfModel.getBufferViewModels())
+            + size(gltfModel.getCameraModels())
+            + size(gltfModel.getImageModels())
+            + size(gltfModel.getMaterialModels())
+            + size(gltfModel.getMeshModels())
+            + size(gltfModel.getNodeModels())
+            + size(gltfModel.getSceneModels())
+            + size(gltfModel.getSkinModels())
+            + size(gltfModel.getTextureModels());
+    }
+    
+    /**
+     * Returns the size of the given list, or 0 if it is <code>null</code>
+     * 
+     * @param list The list
+     * @return The size
+     */
+    private static int size(List<?> list)
+    {
+        return list == null ? 0 : list.size();
+    }
+    
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private GltfLoadListeners()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
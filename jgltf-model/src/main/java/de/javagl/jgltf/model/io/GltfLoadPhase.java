@@ -0,0 +1,69 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.jgltf.model.io;
+
+/**
+ * The phases of loading a glTF model that are reported to a
+ * {@link GltfLoadListener}
+ */
+public enum GltfLoadPhase
+{
+    /**
+     * Reading the raw data of the main glTF or GLB file. The byte count
+     * is the number of bytes that have been read.
+     */
+    READ,
+    
+    /**
+     * Parsing the glTF JSON into the glTF classes. The byte count is the
+     * size of the JSON, and the element count is the number of top-level 
+     * elements (like accessors, meshes and nodes) of glTF 2.0 assets.
+     */
+    PARSE_JSON,
+    
+    /**
+     * Resolving the external references of the asset. The byte count is 
+     * the total size of the resolved data, and the element count is the 
+     * number of references. This phase is not reported when the 
+     * references are resolved lazily.
+     */
+    RESOLVE_REFERENCES,
+    
+    /**
+     * Creating the glTF model from the asset. The element count is the 
+     * number of top-level elements of the model.
+     */
+    CREATE_MODEL,
+    
+    /**
+     * Substituting the data of one sparse accessor. This happens when the 
+     * data of the accessor is accessed for the first time. The byte count
+     * is the size of the dense accessor data, and the element count is the
+     * number of sparse elements.
+     */
+    SUBSTITUTE_SPARSE,
+}
@@ -30,6 +30,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 import de.javagl.jgltf.model.GltfModel;
@@ -49,6 +52,50 @@ public final class GltfModelReader
     private Consumer<? super JsonError> jsonErrorConsumer = 
         JsonErrorConsumers.createLogging();
     
+    /**
+     * Whether files should be mapped into memory when they are read
+     */
+    private boolean memoryMapping;
+    
+    /**
+     * Whether the JSON of glTF 2.0 assets should be read with the
+     * streaming parser
+     */
+    private boolean fastJsonParsing;
+    
+    /**
+     * Whether external references should be resolved lazily
+     */
+    private boolean lazyLoading;
+    
+    /**
+     * Whether the buffer views of external buffers should be read from
+     * the respective ranges of the buffer files
+     */
+    private boolean bufferRangeLoading;
+    
+    /**
+     * The executor that resolves the external references concurrently
+     */
+    private Executor executor;
+    
+    /**
+     * The optional {@link ResourceCache} for external references
+     */
+    private ResourceCache resourceCache;
+    
+    /**
+     * The optional {@link GltfSelection} of the parts of the model that
+     * should be loaded
+     */
+    private GltfSelection selection;
+    
+    /**
+     * The {@link GltfLoadListener} that is informed about the phases
+     * of loading the model
+     */
+    private GltfLoadListener loadListener = GltfLoadListeners.noOp();
+    
     /**
      * Default constructor
      */
@@ -69,6 +116,206 @@ public final class GltfModelReader
         this.jsonErrorConsumer = jsonErrorConsumer;
     }
     
+    /**
+     * Set whether the files that are read with {@link #read(Path)} should
+     * be mapped into memory. See 
+     * {@link GltfAssetReader#setMemoryMapping(boolean)} for details.
+     * 
+     * @param memoryMapping Whether files should be mapped into memory
+     */
+    public void setMemoryMapping(boolean memoryMapping)
+    {
+        this.memoryMapping = memoryMapping;
+    }
+    
+    /**
+     * Returns whether files that are read with {@link #read(Path)} are
+     * mapped into memory
+     * 
+     * @return Whether files are mapped into memory
+     * @see #setMemoryMapping(boolean)
+     */
+    public boolean isMemoryMapping()
+    {
+        return memoryMapping;
+    }
+    
+    /**
+     * Set whether the JSON of glTF 2.0 assets should be read with a
+     * hand-written streaming parser instead of the Jackson data binding.
+     * See {@link GltfAssetReader#setFastJsonParsing(boolean)} for details.
+     * 
+     * @param fastJsonParsing Whether the streaming parser should be used
+     */
+    public void setFastJsonParsing(boolean fastJsonParsing)
+    {
+        this.fastJsonParsing = fastJsonParsing;
+    }
+    
+    /**
+     * Returns whether the JSON of glTF 2.0 assets is read with the
+     * streaming parser
+     * 
+     * @return Whether the streaming parser is used
+     * @see #setFastJsonParsing(boolean)
+     */
+    public boolean isFastJsonParsing()
+    {
+        return fastJsonParsing;
+    }
+    
+    /**
+     * Set whether the external buffers and images of glTF 2.0 models 
+     * that are read with {@link #read(URI)} or {@link #read(Path)} 
+     * should only be loaded when their data is first accessed. See
+     * {@link GltfAssetReader#setLazyLoading(boolean)} for details.
+     * 
+     * @param lazyLoading Whether references should be resolved lazily
+     */
+    public void setLazyLoading(boolean lazyLoading)
+    {
+        this.lazyLoading = lazyLoading;
+    }
+    
+    /**
+     * Returns whether the external buffers and images are loaded lazily
+     * 
+     * @return Whether references are resolved lazily
+     * @see #setLazyLoading(boolean)
+     */
+    public boolean isLazyLoading()
+    {
+        return lazyLoading;
+    }
+    
+    /**
+     * Set whether the data of the buffer views of the external buffers 
+     * of glTF 2.0 models that are read with {@link #read(Path)} or 
+     * {@link #readAsync(Path, Executor)} should be read from the 
+     * respective byte ranges of the buffer files, when it is first
+     * accessed. The resulting models should be treated as being
+     * read-only. See {@link GltfAssetReader#setBufferRangeLoading(boolean)}
+     * for details.
+     * 
+     * @param bufferRangeLoading Whether buffer ranges should be read
+     */
+    public void setBufferRangeLoading(boolean bufferRangeLoading)
+    {
+        this.bufferRangeLoading = bufferRangeLoading;
+    }
+    
+    /**
+     * Returns whether the data of buffer views is read from the 
+     * respective ranges of the buffer files
+     * 
+     * @return Whether buffer ranges are read
+     * @see #setBufferRangeLoading(boolean)
+     */
+    public boolean isBufferRangeLoading()
+    {
+        return bufferRangeLoading;
+    }
+    
+    /**
+     * Set the executor that should be used for resolving the external
+     * buffers and images of models that are read with {@link #read(URI)}
+     * or {@link #read(Path)} concurrently. See 
+     * {@link GltfAssetReader#setExecutor(Executor)} for details.
+     * 
+     * @param executor The executor
+     */
+    public void setExecutor(Executor executor)
+    {
+        this.executor = executor;
+    }
+    
+    /**
+     * Returns the executor that is used for resolving external references
+     * 
+     * @return The executor
+     * @see #setExecutor(Executor)
+     */
+    public Executor getExecutor()
+    {
+        return executor;
+    }
+    
+    /**
+     * Set the {@link ResourceCache} that should be used for the data of
+     * the external buffers and images of models that are read with
+     * {@link #read(URI)} or {@link #read(Path)}. See 
+     * {@link GltfAssetReader#setResourceCache(ResourceCache)} for details.
+     * 
+     * @param resourceCache The {@link ResourceCache}
+     */
+    public void setResourceCache(ResourceCache resourceCache)
+    {
+        this.resourceCache = resourceCache;
+    }
+    
+    /**
+     * Returns the {@link ResourceCache} that is used for external references
+     * 
+     * @return The {@link ResourceCache}
+     * @see #setResourceCache(ResourceCache)
+     */
+    public ResourceCache getResourceCache()
+    {
+        return resourceCache;
+    }
+    
+    /**
+     * Set the {@link GltfSelection} of the parts of glTF 2.0 models that
+     * should be loaded. The model will then only contain the selected 
+     * scenes, nodes or meshes, and the elements that are reachable from
+     * them. Buffers and images that are not required for these elements
+     * will not be read. See 
+     * {@link GltfAssetReader#setSelection(GltfSelection)} for details.
+     * 
+     * @param selection The {@link GltfSelection}
+     */
+    public void setSelection(GltfSelection selection)
+    {
+        this.selection = selection;
+    }
+    
+    /**
+     * Returns the {@link GltfSelection} of the parts of models that
+     * should be loaded
+     * 
+     * @return The {@link GltfSelection}
+     * @see #setSelection(GltfSelection)
+     */
+    public GltfSelection getSelection()
+    {
+        return selection;
+    }
+    
+    /**
+     * Set the {@link GltfLoadListener} that will be informed about the
+     * duration of the {@link GltfLoadPhase phases} of reading the model.
+     * If the given listener is <code>null</code>, then the 
+     * {@link GltfLoadListeners#noOp() no-op} listener will be used.
+     * 
+     * @param loadListener The {@link GltfLoadListener}
+     */
+    public void setLoadListener(GltfLoadListener loadListener)
+    {
+        this.loadListener = loadListener == null ? 
+            GltfLoadListeners.noOp() : loadListener;
+    }
+    
+    /**
+     * Returns the {@link GltfLoadListener} that is informed about the 
+     * phases of reading the model
+     * 
+     * @return The {@link GltfLoadListener}
+     */
+    public GltfLoadListener getLoadListener()
+    {
+        return loadListener;
+    }
+    
     /**
      * Read the {@link GltfModel} from the given URI
      * 
@@ -78,14 +325,19 @@ public final class GltfModelReader
      */
     public GltfModel read(URI uri) throws IOException
     {
-        GltfAssetReader gltfAssetReader = new GltfAssetReader();
-        gltfAssetReader.setJsonErrorConsumer(jsonErrorConsumer);
+        GltfAssetReader gltfAssetReader = createGltfAssetReader();
         GltfAsset gltfAsset = gltfAssetReader.read(uri);
-        return createModel(gltfAsset);
+        return createModel(gltfAsset, loadListener);
     }
 
     /**
-     * Read the {@link GltfModel} from the given path
+     * Read the {@link GltfModel} from the given path.<br>
+     * <br>
+     * The path may belong to any file system. For example, it may be the
+     * path of a glTF file in a zip file system, which is created with
+     * <code>FileSystems.newFileSystem</code> for a zip archive. The 
+     * external references will then be resolved relative to the path,
+     * inside the archive, without extracting the archive.
      *
      * @param path The path
      * @return The {@link GltfModel}
@@ -93,10 +345,48 @@ public final class GltfModelReader
      */
     public GltfModel read(Path path) throws IOException
     {
-        GltfAssetReader gltfAssetReader = new GltfAssetReader();
-        gltfAssetReader.setJsonErrorConsumer(jsonErrorConsumer);
+        GltfAssetReader gltfAssetReader = createGltfAssetReader();
         GltfAsset gltfAsset = gltfAssetReader.read(path);
-        return createModel(gltfAsset);
+        return createModel(gltfAsset, loadListener);
+    }
+
+    /**
+     * Read the {@link GltfModel} from the given path, asynchronously.<br>
+     * <br>
+     * The stages of reading the file, parsing the JSON, resolving the
+     * references and creating the model are executed as a pipeline, 
+     * as described in {@link GltfAssetReader#readAsync(Path, Executor)}.
+     * The model will be created with the given executor. If reading
+     * fails, the returned future will be completed exceptionally.
+     *
+     * @param path The path
+     * @param executor The executor
+     * @return The future that provides the {@link GltfModel}
+     */
+    public CompletableFuture<GltfModel> readAsync(
+        Path path, Executor executor)
+    {
+        GltfAssetReader gltfAssetReader = createGltfAssetReader();
+        return gltfAssetReader.readAsync(path, executor)
+            .thenApplyAsync(gltfAsset -> 
+                createModelUnchecked(gltfAsset, loadListener), executor);
+    }
+    
+    /**
+     * Read the {@link GltfModel} from the given URI, asynchronously.<br>
+     * <br>
+     * See {@link GltfAssetReader#readAsync(URI, Executor)} for details.
+     * 
+     * @param uri The URI
+     * @param executor The executor
+     * @return The future that provides the {@link GltfModel}
+     */
+    public CompletableFuture<GltfModel> readAsync(URI uri, Executor executor)
+    {
+        GltfAssetReader gltfAssetReader = createGltfAssetReader();
+        return gltfAssetReader.readAsync(uri, executor)
+            .thenApplyAsync(gltfAsset -> 
+                createModelUnchecked(gltfAsset, loadListener), executor);
     }
 
     /**
@@ -120,6 +410,25 @@ public final class GltfModelReader
         }
     }
     
+    /**
+     * Read the {@link GltfModel} from the given path. In contrast to the
+     * {@link #read(Path)} method, this method will not resolve any
+     * references that are contained in the {@link GltfModel}. <br>
+     * <br>
+     * This is mainly intended for binary- or embedded glTF assets that do not
+     * have external references.
+     *
+     * @param path The path
+     * @return The {@link GltfModel}
+     * @throws IOException If an IO error occurs
+     */
+    public GltfModel readWithoutReferences(Path path) throws IOException
+    {
+        GltfAssetReader gltfAssetReader = createGltfAssetReader();
+        GltfAsset gltfAsset = gltfAssetReader.readWithoutReferences(path);
+        return createModel(gltfAsset, loadListener);
+    }
+
     /**
      * Read the {@link GltfModel} from the given input stream. In contrast
      * to the {@link #read(URI)} method, this method will not resolve any 
@@ -135,34 +444,91 @@ public final class GltfModelReader
     public GltfModel readWithoutReferences(InputStream inputStream) 
         throws IOException
     {
-        GltfAssetReader gltfAssetReader = new GltfAssetReader();
-        gltfAssetReader.setJsonErrorConsumer(jsonErrorConsumer);
+        GltfAssetReader gltfAssetReader = createGltfAssetReader();
         GltfAsset gltfAsset = 
             gltfAssetReader.readWithoutReferences(inputStream);
-        return createModel(gltfAsset);
+        return createModel(gltfAsset, loadListener);
+    }
+    
+    /**
+     * Creates a new {@link GltfAssetReader} that is configured with the
+     * settings of this reader. Settings that do not apply to a certain
+     * read operation are ignored by the {@link GltfAssetReader}.
+     * 
+     * @return The {@link GltfAssetReader}
+     */
+    private GltfAssetReader createGltfAssetReader()
+    {
+        GltfAssetReader gltfAssetReader = new GltfAssetReader();
+        gltfAssetReader.setJsonErrorConsumer(jsonErrorConsumer);
+        gltfAssetReader.setFastJsonParsing(fastJsonParsing);
+        gltfAssetReader.setLoadListener(loadListener);
+        gltfAssetReader.setSelection(selection);
+        gltfAssetReader.setMemoryMapping(memoryMapping);
+        gltfAssetReader.setLazyLoading(lazyLoading);
+        gltfAssetReader.setBufferRangeLoading(bufferRangeLoading);
+        gltfAssetReader.setExecutor(executor);
+        gltfAssetReader.setResourceCache(resourceCache);
+        return gltfAssetReader;
+    }
+    
+    /**
+     * Creates a {@link GltfModel} instance from the given {@link GltfAsset},
+     * wrapping any <code>IOException</code> into a 
+     * <code>CompletionException</code>
+     * 
+     * @param gltfAsset The {@link GltfAsset}
+     * @param loadListener The {@link GltfLoadListener}
+     * @return The {@link GltfModel}
+     */
+    private static GltfModel createModelUnchecked(GltfAsset gltfAsset,
+        GltfLoadListener loadListener)
+    {
+        try
+        {
+            return createModel(gltfAsset, loadListener);
+        }
+        catch (IOException e)
+        {
+            throw new CompletionException(e);
+        }
     }
     
     /**
      * Creates a {@link GltfModel} instance from the given {@link GltfAsset}
      * 
      * @param gltfAsset The {@link GltfAsset}
+     * @param loadListener The {@link GltfLoadListener}
      * @return The {@link GltfModel}
      * @throws IOException If the given asset has an unknown version
      */
-    private static GltfModel createModel(GltfAsset gltfAsset) throws IOException
+    private static GltfModel createModel(GltfAsset gltfAsset,
+        GltfLoadListener loadListener) throws IOException
     {
+        long startNs = System.nanoTime();
+        GltfModel gltfModel = null;
         if (gltfAsset instanceof GltfAssetV1)
         {
             GltfAssetV1 gltfAssetV1 = (GltfAssetV1)gltfAsset;
-            return new GltfModelV1(gltfAssetV1);
+            gltfModel = new GltfModelV1(gltfAssetV1);
         }
-        if (gltfAsset instanceof GltfAssetV2)
+        else if (gltfAsset instanceof GltfAssetV2)
         {
             GltfAssetV2 gltfAssetV2 = (GltfAssetV2)gltfAsset;
-            return GltfModelCreatorV2.create(gltfAssetV2);
+            gltfModel = GltfModelCreatorV2.create(gltfAssetV2, loadListener);
+        }
+        else
+        {
+            throw new IOException(
+                "The glTF asset has an unknown version: " + gltfAsset);
+        }
+        if (!GltfLoadListeners.isNoOp(loadListener))
+        {
+            long durationNs = System.nanoTime() - startNs;
+            loadListener.phaseCompleted(GltfLoadPhase.CREATE_MODEL, 
+                durationNs, 0, GltfLoadListeners.countElements(gltfModel));
         }
-        throw new IOException(
-            "The glTF asset has an unknown version: " + gltfAsset);
+        return gltfModel;
     }
     
 }
@@ -40,18 +40,98 @@ import de.javagl.jgltf.model.v1.GltfModelV1;
  * A class for writing a {@link GltfModel}. The model can be written as
  * a default glTF, consisting of a JSON file and the files that are 
  * referred to via URIs, or as a binary file, or an embedded file where
- * all external references are replaced by data URIs.
+ * all external references are replaced by data URIs.<br>
+ * <br>
+ * The main file may be compressed, as configured with
+ * {@link #setCompression(GltfCompression)}. Compressed files are
+ * detected automatically by the {@link GltfModelReader}.<br>
+ * <br>
+ * When the model has to be restructured for writing, the accessors are
+ * repacked into new buffer views by default. With 
+ * {@link #setReuseBufferViews(boolean)}, the existing buffer views of 
+ * glTF 2.0 models can be retained when their layout is compliant.
  */
 public class GltfModelWriter
 {
+    /**
+     * The compression for the main file or output stream
+     */
+    private GltfCompression compression;
+    
+    /**
+     * Whether compliant buffer views should be reused when the model
+     * has to be restructured
+     */
+    private boolean reuseBufferViews;
+    
     /**
      * Default constructor
      */
     public GltfModelWriter()
     {
-        // Default constructor
+        this.compression = GltfCompression.NONE;
+    }
+
+    /**
+     * Set the compression that should be applied to the JSON file of
+     * a default glTF, or to the binary or embedded glTF. The data is
+     * compressed while it is written, without creating an intermediate,
+     * uncompressed copy. The files of external references are not 
+     * compressed.
+     * 
+     * @param compression The {@link GltfCompression}. If this is 
+     * <code>null</code>, then {@link GltfCompression#NONE} will be used.
+     */
+    public void setCompression(GltfCompression compression)
+    {
+        this.compression = 
+            compression == null ? GltfCompression.NONE : compression;
+    }
+    
+    /**
+     * Returns the compression that is applied to the main file or 
+     * output stream
+     * 
+     * @return The {@link GltfCompression}
+     */
+    public GltfCompression getCompression()
+    {
+        return compression;
     }
 
+    /**
+     * Set whether the buffer views of a glTF 2.0 model should be reused 
+     * when the model has to be restructured for writing it as a default 
+     * or binary glTF, and the layout of the buffer views already complies 
+     * to the alignment and byte stride requirements.<br>
+     * <br>
+     * By default, this is <code>false</code>, and the accessors are 
+     * repacked into new buffer views. When this is <code>true</code>,
+     * the buffer views of a compliant model are retained: If the model
+     * has a single buffer that contains exactly these buffer views, then
+     * its data is written without being copied. Otherwise, the data of
+     * each buffer view is copied as a whole, instead of copying each
+     * accessor element-wise. 
+     * 
+     * @param reuseBufferViews Whether buffer views should be reused
+     */
+    public void setReuseBufferViews(boolean reuseBufferViews)
+    {
+        this.reuseBufferViews = reuseBufferViews;
+    }
+    
+    /**
+     * Returns whether the buffer views of a model are reused when the
+     * model has to be restructured for writing
+     * 
+     * @return Whether buffer views are reused
+     * @see #setReuseBufferViews(boolean)
+     */
+    public boolean isReuseBufferViews()
+    {
+        return reuseBufferViews;
+    }
+    
     /**
      * Write the given {@link GltfModel} to a file with the given name. 
      * External references of buffers or images that are given via the 
@@ -88,11 +168,14 @@ public class GltfModelWriter
             GltfModelV1 gltfModelV1 = (GltfModelV1)gltfModel;
             GltfModelWriterV1 gltfModelWriterV1 = 
                 new GltfModelWriterV1();
+            gltfModelWriterV1.setCompression(compression);
             gltfModelWriterV1.write(gltfModelV1, file);
             return;
         }
         GltfModelWriterV2 gltfModelWriterV2 = 
             new GltfModelWriterV2();
+        gltfModelWriterV2.setCompression(compression);
+        gltfModelWriterV2.setReuseBufferViews(reuseBufferViews);
         gltfModelWriterV2.write(gltfModel, file);
     }
     
@@ -124,6 +207,31 @@ public class GltfModelWriter
      */
     public void writeBinary(GltfModel gltfModel, OutputStream outputStream) 
         throws IOException
+    {
+        // Without compression, the stream is passed on directly, so that
+        // the binary data of a file output can be written to its channel
+        if (compression == GltfCompression.NONE)
+        {
+            writeBinaryUncompressed(gltfModel, outputStream);
+            return;
+        }
+        try (OutputStream compressedOutputStream = 
+            compression.createOutputStream(outputStream))
+        {
+            writeBinaryUncompressed(gltfModel, compressedOutputStream);
+        }
+    }
+    
+    /**
+     * Write the given {@link GltfModel} as a binary glTF asset to the
+     * given output stream, without compression
+     * 
+     * @param gltfModel The {@link GltfModel}
+     * @param outputStream The output stream
+     * @throws IOException If an IO error occurs
+     */
+    private void writeBinaryUncompressed(
+        GltfModel gltfModel, OutputStream outputStream) throws IOException
     {
         if (gltfModel instanceof GltfModelV1)
         {
@@ -135,6 +243,7 @@ public class GltfModelWriter
         }
         GltfModelWriterV2 gltfModelWriterV2 = 
             new GltfModelWriterV2();
+        gltfModelWriterV2.setReuseBufferViews(reuseBufferViews);
         gltfModelWriterV2.writeBinary(gltfModel, outputStream);
     }
     
@@ -168,17 +277,23 @@ public class GltfModelWriter
     public void writeEmbedded(GltfModel gltfModel, OutputStream outputStream) 
         throws IOException
     {
-        if (gltfModel instanceof GltfModelV1)
+        try (OutputStream compressedOutputStream = 
+            compression.createOutputStream(outputStream))
         {
-            GltfModelV1 gltfModelV1 = (GltfModelV1)gltfModel;
-            GltfModelWriterV1 gltfModelWriterV1 = 
-                new GltfModelWriterV1();
-            gltfModelWriterV1.writeEmbedded(gltfModelV1, outputStream);
-            return;
+            if (gltfModel instanceof GltfModelV1)
+            {
+                GltfModelV1 gltfModelV1 = (GltfModelV1)gltfModel;
+                GltfModelWriterV1 gltfModelWriterV1 = 
+                    new GltfModelWriterV1();
+                gltfModelWriterV1.writeEmbedded(
+                    gltfModelV1, compressedOutputStream);
+                return;
+            }
+            GltfModelWriterV2 gltfModelWriterV2 = 
+                new GltfModelWriterV2();
+            gltfModelWriterV2.writeEmbedded(
+                gltfModel, compressedOutputStream);
         }
-        GltfModelWriterV2 gltfModelWriterV2 = 
-            new GltfModelWriterV2();
-        gltfModelWriterV2.writeEmbedded(gltfModel, outputStream);
     }
 }
 
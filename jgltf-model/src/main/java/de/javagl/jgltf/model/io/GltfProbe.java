@@ -0,0 +1,159 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.jgltf.model.io;
+
+/**
+ * The result of probing a glTF asset with 
+ * {@link GltfAssetReader#probe(java.nio.file.Path)}. It contains the
+ * {@link GltfAsset} that was parsed from the JSON, and the sizes of the
+ * JSON and binary parts of the asset. The {@link GltfAsset} does not 
+ * contain any binary data, and its references are not resolved.
+ */
+public final class GltfProbe
+{
+    /**
+     * The {@link GltfAsset}
+     */
+    private final GltfAsset gltfAsset;
+    
+    /**
+     * The binary glTF version, or 0 for JSON assets
+     */
+    private final int binaryGltfVersion;
+    
+    /**
+     * The total length of the asset data
+     */
+    private final long length;
+    
+    /**
+     * The length of the JSON data
+     */
+    private final long jsonLength;
+    
+    /**
+     * The length of the binary data
+     */
+    private final long binaryLength;
+    
+    /**
+     * Creates a new instance
+     * 
+     * @param gltfAsset The {@link GltfAsset}
+     * @param binaryGltfVersion The binary glTF version, or 0 for JSON 
+     * @param length The total length of the asset data
+     * @param jsonLength The length of the JSON data
+     * @param binaryLength The length of the binary data
+     */
+    GltfProbe(GltfAsset gltfAsset, int binaryGltfVersion, 
+        long length, long jsonLength, long binaryLength)
+    {
+        this.gltfAsset = gltfAsset;
+        this.binaryGltfVersion = binaryGltfVersion;
+        this.length = length;
+        this.jsonLength = jsonLength;
+        this.binaryLength = binaryLength;
+    }
+    
+    /**
+     * Returns the {@link GltfAsset} that was parsed from the JSON. It
+     * does not contain the binary data, and the external references 
+     * are not resolved. 
+     * 
+     * @return The {@link GltfAsset}
+     */
+    public GltfAsset getGltfAsset()
+    {
+        return gltfAsset;
+    }
+    
+    /**
+     * Returns whether the asset is a binary glTF asset
+     * 
+     * @return Whether the asset is binary
+     */
+    public boolean isBinary()
+    {
+        return binaryGltfVersion != 0;
+    }
+    
+    /**
+     * Returns the version of the binary glTF container (1 or 2), or
+     * 0 if the asset is not a binary glTF asset
+     * 
+     * @return The binary glTF version
+     */
+    public int getBinaryGltfVersion()
+    {
+        return binaryGltfVersion;
+    }
+    
+    /**
+     * Returns the total length of the asset data, in bytes. For binary
+     * glTF, this is the length that is declared in the header.
+     * 
+     * @return The length
+     */
+    public long getLength()
+    {
+        return length;
+    }
+    
+    /**
+     * Returns the length of the JSON data, in bytes. For binary glTF 2.0,
+     * this is the length of the JSON chunk.
+     * 
+     * @return The JSON length
+     */
+    public long getJsonLength()
+    {
+        return jsonLength;
+    }
+    
+    /**
+     * Returns the length of the binary data, in bytes. For binary 
+     * glTF 2.0, this is the length of the BIN chunk, as declared in its 
+     * chunk header. For binary glTF 1.0, this is the length of the body.
+     * For JSON assets, this is 0.
+     * 
+     * @return The binary length
+     */
+    public long getBinaryLength()
+    {
+        return binaryLength;
+    }
+    
+    @Override
+    public String toString()
+    {
+        return "GltfProbe[" 
+            + "binaryGltfVersion=" + binaryGltfVersion 
+            + ", length=" + length 
+            + ", jsonLength=" + jsonLength 
+            + ", binaryLength=" + binaryLength + "]";
+    }
+}
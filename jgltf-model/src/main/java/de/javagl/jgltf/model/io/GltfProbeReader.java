@@ -0,0 +1,286 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.jgltf.model.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Package-private class for reading only the header and the JSON part
+ * of glTF assets, to create a {@link GltfProbe}.<br>
+ * <br>
+ * For binary glTF, the data is read sequentially up to the end of the
+ * JSON chunk (and the header of the following BIN chunk). The binary
+ * payload is never read, and no memory is allocated for it.
+ */
+class GltfProbeReader
+{
+    /**
+     * The magic binary glTF header.
+     * This is an integer corresponding to the ASCII string <code>"glTF"</code>
+     */
+    private static final int MAGIC_BINARY_GLTF_HEADER = 0x46546C67;
+    
+    /**
+     * The length of the header of binary glTF data that is common to
+     * all versions: The magic header, the version, and the length
+     */
+    private static final int BINARY_GLTF_HEADER_LENGTH = 12;
+    
+    /**
+     * The length of the header of binary glTF 1.0, including the 
+     * content length and content format
+     */
+    private static final int BINARY_GLTF_VERSION_1_HEADER_LENGTH = 20;
+    
+    /**
+     * The length of the header of a chunk in binary glTF 2.0
+     */
+    private static final int CHUNK_HEADER_LENGTH = 8;
+    
+    /**
+     * The type of the JSON chunk in binary glTF 2.0
+     */
+    private static final int CHUNK_TYPE_JSON = 0x4E4F534A;
+    
+    /**
+     * The type of the BIN chunk in binary glTF 2.0
+     */
+    private static final int CHUNK_TYPE_BIN = 0x004E4942;
+    
+    /**
+     * Probe the glTF asset that is provided by the given channel. 
+     * The caller is responsible for closing the channel.
+     * 
+     * @param channel The channel
+     * @param size The size of the data, or a negative value if the
+     * size is not known
+     * @param gltfAssetReader The {@link GltfAssetReader} for parsing 
+     * the JSON
+     * @return The {@link GltfProbe}
+     * @throws IOException If an IO error occurs, or the data is not
+     * valid glTF data
+     */
+    static GltfProbe probe(ReadableByteChannel channel, long size,
+        GltfAssetReader gltfAssetReader) throws IOException
+    {
+        ByteBuffer header = Buffers.create(BINARY_GLTF_HEADER_LENGTH);
+        readUpTo(channel, header);
+        if (header.position() < BINARY_GLTF_HEADER_LENGTH 
+            || header.getInt(0) != MAGIC_BINARY_GLTF_HEADER)
+        {
+            ByteBuffer jsonData = readJson(channel, header, size);
+            GltfAsset gltfAsset = 
+                gltfAssetReader.read(new RawGltfData(jsonData, null));
+            long jsonLength = jsonData.capacity();
+            return new GltfProbe(gltfAsset, 0, jsonLength, jsonLength, 0);
+        }
+        int version = header.getInt(4);
+        long length = header.getInt(8) & 0xFFFFFFFFL;
+        if (version == 1)
+        {
+            return probeBinaryGltfV1(channel, length, gltfAssetReader);
+        }
+        if (version == 2)
+        {
+            return probeBinaryGltfV2(channel, length, gltfAssetReader);
+        }
+        throw new IOException("Unknown binary glTF version: " + version);
+    }
+    
+    /**
+     * Probe binary glTF 1.0 data, after the common header was read
+     * 
+     * @param channel The channel
+     * @param length The length from the header
+     * @param gltfAssetReader The {@link GltfAssetReader}
+     * @return The {@link GltfProbe}
+     * @throws IOException If an IO error occurs
+     */
+    private static GltfProbe probeBinaryGltfV1(ReadableByteChannel channel, 
+        long length, GltfAssetReader gltfAssetReader) throws IOException
+    {
+        ByteBuffer contentHeader = Buffers.create(
+            BINARY_GLTF_VERSION_1_HEADER_LENGTH - BINARY_GLTF_HEADER_LENGTH);
+        IO.read(channel, contentHeader);
+        int contentLength = contentHeader.getInt(0);
+        int contentFormat = contentHeader.getInt(4);
+        if (contentFormat != 0)
+        {
+            throw new IOException(
+                "Expected content format 0 (JSON), but found " 
+                + contentFormat);
+        }
+        long bodyLength = 
+            length - BINARY_GLTF_VERSION_1_HEADER_LENGTH - contentLength;
+        if (contentLength < 0 || bodyLength < 0)
+        {
+            throw new IOException("Invalid content length " 
+                + contentLength + " for binary glTF length " + length);
+        }
+        ByteBuffer jsonData = readFully(channel, contentLength);
+        GltfAsset gltfAsset = 
+            gltfAssetReader.read(new RawGltfData(jsonData, null));
+        return new GltfProbe(gltfAsset, 1, length, contentLength, bodyLength);
+    }
+    
+    /**
+     * Probe binary glTF 2.0 data, after the common header was read
+     * 
+     * @param channel The channel
+     * @param length The length from the header
+     * @param gltfAssetReader The {@link GltfAssetReader}
+     * @return The {@link GltfProbe}
+     * @throws IOException If an IO error occurs
+     */
+    private static GltfProbe probeBinaryGltfV2(ReadableByteChannel channel, 
+        long length, GltfAssetReader gltfAssetReader) throws IOException
+    {
+        ByteBuffer chunkHeader = Buffers.create(CHUNK_HEADER_LENGTH);
+        IO.read(channel, chunkHeader);
+        int jsonLength = chunkHeader.getInt(0);
+        int jsonType = chunkHeader.getInt(4);
+        if (jsonType != CHUNK_TYPE_JSON)
+        {
+            throw new IOException("First chunk must be of type JSON ("
+                + CHUNK_TYPE_JSON + "), but found " + jsonType);
+        }
+        long offset = BINARY_GLTF_HEADER_LENGTH + CHUNK_HEADER_LENGTH;
+        if (jsonLength < 0 || offset + jsonLength > length)
+        {
+            throw new IOException("Invalid JSON chunk length " 
+                + jsonLength + " for binary glTF length " + length);
+        }
+        ByteBuffer jsonData = readFully(channel, jsonLength);
+        offset += jsonLength;
+        
+        // Only the header of the BIN chunk is read, to obtain its length
+        long binaryLength = 0;
+        if (offset + CHUNK_HEADER_LENGTH <= length)
+        {
+            Buffers.clear(chunkHeader);
+            IO.read(channel, chunkHeader);
+            int binType = chunkHeader.getInt(4);
+            if (binType == CHUNK_TYPE_BIN)
+            {
+                binaryLength = chunkHeader.getInt(0) & 0xFFFFFFFFL;
+            }
+        }
+        GltfAsset gltfAsset = 
+            gltfAssetReader.read(new RawGltfData(jsonData, null));
+        return new GltfProbe(gltfAsset, 2, length, jsonLength, binaryLength);
+    }
+    
+    /**
+     * Read the JSON data from the given channel, where the first bytes 
+     * have already been read into the given header
+     * 
+     * @param channel The channel
+     * @param header The header
+     * @param size The total size, or a negative value if it is not known
+     * @return The JSON data
+     * @throws IOException If an IO error occurs
+     */
+    private static ByteBuffer readJson(ReadableByteChannel channel, 
+        ByteBuffer header, long size) throws IOException
+    {
+        Buffers.flip(header);
+        if (size >= 0)
+        {
+            if (size > Integer.MAX_VALUE)
+            {
+                throw new IOException(
+                    "The JSON data is too large: " + size + " bytes");
+            }
+            ByteBuffer jsonData = Buffers.create((int) size);
+            jsonData.put(header);
+            IO.read(channel, jsonData);
+            Buffers.flip(jsonData);
+            return jsonData;
+        }
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        while (header.hasRemaining())
+        {
+            baos.write(header.get());
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(16384);
+        while (channel.read(buffer) != -1)
+        {
+            baos.write(buffer.array(), 0, buffer.position());
+            Buffers.clear(buffer);
+        }
+        return Buffers.create(baos.toByteArray());
+    }
+    
+    /**
+     * Read the given number of bytes from the given channel into a new
+     * direct buffer
+     * 
+     * @param channel The channel
+     * @param length The length
+     * @return The buffer
+     * @throws IOException If an IO error occurs
+     */
+    private static ByteBuffer readFully(ReadableByteChannel channel, 
+        int length) throws IOException
+    {
+        ByteBuffer data = Buffers.create(length);
+        IO.read(channel, data);
+        Buffers.flip(data);
+        return data;
+    }
+    
+    /**
+     * Read from the given channel into the given buffer, until the buffer
+     * is filled or the end of the channel is reached
+     * 
+     * @param channel The channel
+     * @param buffer The buffer
+     * @throws IOException If an IO error occurs
+     */
+    private static void readUpTo(ReadableByteChannel channel, 
+        ByteBuffer buffer) throws IOException
+    {
+        while (buffer.hasRemaining())
+        {
+            if (channel.read(buffer) == -1)
+            {
+                break;
+            }
+        }
+    }
+    
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private GltfProbeReader()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
@@ -32,7 +32,7 @@ import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 /**
  * A class for reading the JSON for a glTF asset in a version-agnostic form.
@@ -55,11 +55,6 @@ final class GltfReader
     private Consumer<? super JsonError> jsonErrorConsumer = 
         JacksonUtils.loggingJsonErrorConsumer();
     
-    /**
-     * The Jackson object mapper
-     */
-    private final ObjectMapper objectMapper;
-    
     /**
      * The root node that was read during the last call to {@link #read}
      */
@@ -70,8 +65,7 @@ final class GltfReader
      */
     GltfReader()
     {
-        objectMapper = 
-            JacksonUtils.createObjectMapper(jsonErrorConsumer);
+        // Default constructor
     }
     
     /**
@@ -98,8 +92,9 @@ final class GltfReader
      */
     void read(InputStream inputStream) throws IOException
     {
-        JacksonUtils.configure(objectMapper, jsonErrorConsumer);
-        rootNode = objectMapper.readTree(inputStream);
+        ObjectReader objectReader = 
+            JacksonUtils.getObjectReader(JsonNode.class, jsonErrorConsumer);
+        rootNode = objectReader.readTree(inputStream);
     }
     
     /**
@@ -146,8 +141,7 @@ final class GltfReader
         {
             return null;
         }
-        return objectMapper.convertValue(rootNode, 
-            de.javagl.jgltf.impl.v1.GlTF.class);
+        return convertRootNode(de.javagl.jgltf.impl.v1.GlTF.class);
     }
     
     /**
@@ -164,8 +158,31 @@ final class GltfReader
         {
             return null;
         }
-        return objectMapper.convertValue(rootNode, 
-            de.javagl.jgltf.impl.v2.GlTF.class);
+        return convertRootNode(de.javagl.jgltf.impl.v2.GlTF.class);
+    }
+    
+    /**
+     * Convert the root node that was read during the last call to
+     * {@link #read} into an object of the given type
+     * 
+     * @param <T> The type
+     * @param type The type
+     * @return The object
+     * @throws IllegalArgumentException If the root node can not be 
+     * converted into the given type
+     */
+    private <T> T convertRootNode(Class<T> type)
+    {
+        ObjectReader objectReader = 
+            JacksonUtils.getObjectReader(type, jsonErrorConsumer);
+        try
+        {
+            return objectReader.readValue(rootNode);
+        }
+        catch (IOException e)
+        {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
     }
     
     /**
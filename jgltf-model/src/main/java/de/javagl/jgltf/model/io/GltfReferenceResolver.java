@@ -82,6 +82,48 @@ public class GltfReferenceResolver
         resolveAll(references, uriResolver);
     }
 
+    /**
+     * Calls {@link #resolve(GltfReference, Function)} with each 
+     * {@link GltfReference} of the given list, resolving the
+     * URIs of the references against the given base URI, and
+     * obtaining the data from the given {@link ResourceCache}
+     * 
+     * @param references The {@link GltfReference} objects
+     * @param baseUri The base URI that references will be resolved against
+     * @param resourceCache The {@link ResourceCache}
+     */
+    public static void resolveAll(
+        Iterable<? extends GltfReference> references, URI baseUri,
+        ResourceCache resourceCache)
+    {
+        Objects.requireNonNull(references, "The references may not be null");
+        Objects.requireNonNull(baseUri, "The baseUri may not be null");
+        Function<String, ByteBuffer> uriResolver = 
+            UriResolvers.createBaseUriResolver(baseUri, resourceCache);
+        resolveAll(references, uriResolver);
+    }
+
+    /**
+     * Calls {@link #resolve(GltfReference, Function)} with each
+     * {@link GltfReference} of the given list, resolving the
+     * Paths of the references against the given base Path, and
+     * obtaining the data from the given {@link ResourceCache}
+     *
+     * @param references The {@link GltfReference} objects
+     * @param basePath The base Path that references will be resolved against
+     * @param resourceCache The {@link ResourceCache}
+     */
+    public static void resolveAll(
+        Iterable<? extends GltfReference> references, Path basePath,
+        ResourceCache resourceCache)
+    {
+        Objects.requireNonNull(references, "The references may not be null");
+        Objects.requireNonNull(basePath, "The basePath may not be null");
+        Function<String, ByteBuffer> uriResolver =
+            UriResolvers.createBasePathResolver(basePath, resourceCache);
+        resolveAll(references, uriResolver);
+    }
+
     /**
      * Calls {@link #resolve(GltfReference, Function)} with each 
      * {@link GltfReference} of the given list
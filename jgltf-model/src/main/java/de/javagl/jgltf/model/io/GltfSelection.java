@@ -0,0 +1,201 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.jgltf.model.io;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import de.javagl.jgltf.impl.v2.Node;
+
+/**
+ * A selection of the parts of a glTF 2.0 asset that should be loaded.<br>
+ * <br>
+ * Instances of this class can be created with one of the static factory
+ * methods, and passed to {@link GltfAssetReader#setSelection(GltfSelection)}
+ * or {@link GltfModelReader#setSelection(GltfSelection)}. The glTF that
+ * is read will then be reduced to the elements that are reachable from
+ * the selected scenes, nodes or meshes, before the external references
+ * are resolved. Buffers and images that are not referenced by any of
+ * the remaining elements will therefore not be read at all.<br>
+ * <br>
+ * Note that the elements of the resulting glTF will have different
+ * indices than the elements of the original glTF.<br>
+ * <br>
+ * The indices that are contained in extensions are only updated for 
+ * a fixed set of extensions: The texture infos of the 
+ * <code>KHR_materials_*</code> extensions, the image sources of the
+ * <code>KHR_texture_basisu</code>, <code>EXT_texture_webp</code>, 
+ * <code>EXT_texture_avif</code> and <code>MSFT_texture_dds</code> 
+ * extensions, the accessors of <code>EXT_mesh_gpu_instancing</code>, 
+ * the buffer views of <code>KHR_draco_mesh_compression</code>, the 
+ * buffers of <code>EXT_meshopt_compression</code>, and the materials 
+ * of <code>KHR_materials_variants</code>. Extensions that do not refer 
+ * to any other elements, like <code>KHR_lights_punctual</code>, 
+ * <code>KHR_mesh_quantization</code> or <code>KHR_texture_transform</code>,
+ * are supported as well.<br>
+ * <br>
+ * Other extensions are retained unmodified when they do not contain any
+ * integral numbers that could be indices. Otherwise, they are removed 
+ * from the resulting glTF when they are optional. Reading an asset that
+ * requires such an extension with a selection will cause an 
+ * <code>IOException</code>.
+ */
+public final class GltfSelection
+{
+    /**
+     * Creates a selection that contains the scenes with the given indices,
+     * and all elements that are reachable from these scenes. The default
+     * scene of the result will be the default scene of the original 
+     * glTF if it is selected, or the first selected scene otherwise.
+     * 
+     * @param sceneIndices The scene indices
+     * @return The {@link GltfSelection}
+     */
+    public static GltfSelection ofScenes(int... sceneIndices)
+    {
+        Objects.requireNonNull(sceneIndices, 
+            "The sceneIndices may not be null");
+        return new GltfSelection(sceneIndices.clone(), null, null);
+    }
+    
+    /**
+     * Creates a selection that contains the nodes that match the given
+     * predicate, together with their descendants, and all elements that
+     * are reachable from these nodes.<br>
+     * <br>
+     * The ancestors of the selected nodes will be retained as well, so
+     * that the global transforms of the selected nodes are preserved. 
+     * Unless they are selected themselves, these ancestors will not 
+     * refer to meshes, skins or cameras.
+     * 
+     * @param nodePredicate The predicate for the nodes
+     * @return The {@link GltfSelection}
+     */
+    public static GltfSelection ofNodes(Predicate<? super Node> nodePredicate)
+    {
+        Objects.requireNonNull(nodePredicate, 
+            "The nodePredicate may not be null");
+        return new GltfSelection(null, nodePredicate, null);
+    }
+    
+    /**
+     * Creates a selection that contains the meshes with the given indices,
+     * and all elements that are reachable from these meshes.<br>
+     * <br>
+     * The nodes that refer to these meshes will be retained, together
+     * with their ancestors, as described in {@link #ofNodes(Predicate)}.
+     * 
+     * @param meshIndices The mesh indices
+     * @return The {@link GltfSelection}
+     */
+    public static GltfSelection ofMeshes(int... meshIndices)
+    {
+        Objects.requireNonNull(meshIndices, 
+            "The meshIndices may not be null");
+        return new GltfSelection(null, null, meshIndices.clone());
+    }
+    
+    /**
+     * The indices of the selected scenes
+     */
+    private final int sceneIndices[];
+    
+    /**
+     * The predicate for the selected nodes
+     */
+    private final Predicate<? super Node> nodePredicate;
+    
+    /**
+     * The indices of the selected meshes
+     */
+    private final int meshIndices[];
+    
+    /**
+     * Private constructor
+     * 
+     * @param sceneIndices The optional scene indices
+     * @param nodePredicate The optional node predicate
+     * @param meshIndices The optional mesh indices
+     */
+    private GltfSelection(int sceneIndices[], 
+        Predicate<? super Node> nodePredicate, int meshIndices[])
+    {
+        this.sceneIndices = sceneIndices;
+        this.nodePredicate = nodePredicate;
+        this.meshIndices = meshIndices;
+    }
+    
+    /**
+     * Returns the indices of the selected scenes, or <code>null</code>
+     * if this selection was not created with {@link #ofScenes(int...)}
+     * 
+     * @return The scene indices
+     */
+    int[] getSceneIndices()
+    {
+        return sceneIndices;
+    }
+    
+    /**
+     * Returns the predicate for the selected nodes, or <code>null</code>
+     * if this selection was not created with {@link #ofNodes(Predicate)}
+     * 
+     * @return The node predicate
+     */
+    Predicate<? super Node> getNodePredicate()
+    {
+        return nodePredicate;
+    }
+    
+    /**
+     * Returns the indices of the selected meshes, or <code>null</code>
+     * if this selection was not created with {@link #ofMeshes(int...)}
+     * 
+     * @return The mesh indices
+     */
+    int[] getMeshIndices()
+    {
+        return meshIndices;
+    }
+    
+    @Override
+    public String toString()
+    {
+        if (sceneIndices != null)
+        {
+            return "GltfSelection[scenes=" 
+                + Arrays.toString(sceneIndices) + "]";
+        }
+        if (meshIndices != null)
+        {
+            return "GltfSelection[meshes=" 
+                + Arrays.toString(meshIndices) + "]";
+        }
+        return "GltfSelection[nodes=" + nodePredicate + "]";
+    }
+}
@@ -0,0 +1,1392 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.jgltf.model.io;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+import de.javagl.jgltf.impl.v2.Accessor;
+import de.javagl.jgltf.impl.v2.AccessorSparse;
+import de.javagl.jgltf.impl.v2.Animation;
+import de.javagl.jgltf.impl.v2.AnimationChannel;
+import de.javagl.jgltf.impl.v2.AnimationChannelTarget;
+import de.javagl.jgltf.impl.v2.AnimationSampler;
+import de.javagl.jgltf.impl.v2.Buffer;
+import de.javagl.jgltf.impl.v2.BufferView;
+import de.javagl.jgltf.impl.v2.Camera;
+import de.javagl.jgltf.impl.v2.GlTF;
+import de.javagl.jgltf.impl.v2.GlTFProperty;
+import de.javagl.jgltf.impl.v2.Image;
+import de.javagl.jgltf.impl.v2.Material;
+import de.javagl.jgltf.impl.v2.MaterialNormalTextureInfo;
+import de.javagl.jgltf.impl.v2.MaterialOcclusionTextureInfo;
+import de.javagl.jgltf.impl.v2.MaterialPbrMetallicRoughness;
+import de.javagl.jgltf.impl.v2.Mesh;
+import de.javagl.jgltf.impl.v2.MeshPrimitive;
+import de.javagl.jgltf.impl.v2.Node;
+import de.javagl.jgltf.impl.v2.Scene;
+import de.javagl.jgltf.impl.v2.Skin;
+import de.javagl.jgltf.impl.v2.Texture;
+import de.javagl.jgltf.impl.v2.TextureInfo;
+import de.javagl.jgltf.model.Optionals;
+
+/**
+ * A class that reduces a glTF 2.0 to the elements that are reachable
+ * from a {@link GltfSelection}.<br>
+ * <br>
+ * The references between the elements are followed in two passes: The
+ * first pass marks all elements that are reachable from the selected
+ * scenes, nodes or meshes. The second pass replaces the indices in the 
+ * retained elements with the indices that these elements have in the 
+ * reduced glTF.<br>
+ * <br>
+ * Indices that are contained in extensions are only updated for the
+ * extensions that are known to this class. Other extensions could 
+ * contain indices that refer to elements that are removed or that 
+ * receive a different index. These extensions are retained only when
+ * they do not contain any integral numbers. Otherwise, they are removed
+ * when they are optional, and the selection cannot be applied when
+ * they are required.
+ */
+final class GltfSelectorV2
+{
+    /**
+     * The logger used in this class
+     */
+    private static final Logger logger = 
+        Logger.getLogger(GltfSelectorV2.class.getName());
+    
+    /**
+     * The names of the material extensions whose texture infos are
+     * updated. The texture infos are the properties of the extension
+     * objects whose names end with <code>"Texture"</code>.
+     */
+    private static final List<String> MATERIAL_TEXTURE_EXTENSIONS = 
+        Arrays.asList(
+            "KHR_materials_anisotropy",
+            "KHR_materials_clearcoat",
+            "KHR_materials_diffuse_transmission",
+            "KHR_materials_iridescence",
+            "KHR_materials_pbrSpecularGlossiness",
+            "KHR_materials_sheen",
+            "KHR_materials_specular",
+            "KHR_materials_transmission",
+            "KHR_materials_volume");
+    
+    /**
+     * The names of the texture extensions whose <code>"source"</code>
+     * image index is updated
+     */
+    private static final List<String> TEXTURE_SOURCE_EXTENSIONS = 
+        Arrays.asList(
+            "EXT_texture_avif",
+            "EXT_texture_webp",
+            "KHR_texture_basisu",
+            "MSFT_texture_dds");
+    
+    /**
+     * The names of the extensions that do not contain indices of elements
+     * that may be removed or receive a different index
+     */
+    private static final List<String> EXTENSIONS_WITHOUT_REFERENCES = 
+        Arrays.asList(
+            "KHR_lights_punctual",
+            "KHR_materials_dispersion",
+            "KHR_materials_emissive_strength",
+            "KHR_materials_ior",
+            "KHR_materials_unlit",
+            "KHR_mesh_quantization",
+            "KHR_texture_transform");
+    
+    /**
+     * The names of all extensions that may be used in a glTF that a 
+     * selection is applied to
+     */
+    private static final Set<String> SUPPORTED_EXTENSIONS = 
+        createSupportedExtensions();
+    
+    /**
+     * Create the set of {@link #SUPPORTED_EXTENSIONS}
+     * 
+     * @return The set
+     */
+    private static Set<String> createSupportedExtensions()
+    {
+        Set<String> result = new HashSet<String>();
+        result.addAll(MATERIAL_TEXTURE_EXTENSIONS);
+        result.addAll(TEXTURE_SOURCE_EXTENSIONS);
+        result.addAll(EXTENSIONS_WITHOUT_REFERENCES);
+        result.add("EXT_mesh_gpu_instancing");
+        result.add("EXT_meshopt_compression");
+        result.add("KHR_draco_mesh_compression");
+        result.add("KHR_materials_variants");
+        return result;
+    }
+    
+    /**
+     * The kinds of elements that are referred to by their index. The 
+     * order of the constants is the order in which the references 
+     * are followed: Elements of one kind only refer to elements of 
+     * kinds that appear later.
+     */
+    private enum Kind
+    {
+        /**
+         * Nodes
+         */
+        NODE,
+        
+        /**
+         * Meshes
+         */
+        MESH,
+        
+        /**
+         * Skins
+         */
+        SKIN,
+        
+        /**
+         * Cameras
+         */
+        CAMERA,
+        
+        /**
+         * Materials
+         */
+        MATERIAL,
+        
+        /**
+         * Textures
+         */
+        TEXTURE,
+        
+        /**
+         * Samplers
+         */
+        SAMPLER,
+        
+        /**
+         * Images
+         */
+        IMAGE,
+        
+        /**
+         * Accessors
+         */
+        ACCESSOR,
+        
+        /**
+         * Buffer views
+         */
+        BUFFER_VIEW,
+        
+        /**
+         * Buffers
+         */
+        BUFFER
+    }
+    
+    /**
+     * Reduce the given glTF to the elements that are reachable from the
+     * given {@link GltfSelection}. The given glTF will be modified.
+     * 
+     * @param gltf The {@link GlTF}
+     * @param selection The {@link GltfSelection}
+     * @throws IllegalArgumentException If the glTF requires extensions 
+     * that are not supported by this class. The glTF will not be 
+     * modified in this case.
+     */
+    static void apply(GlTF gltf, GltfSelection selection)
+    {
+        GltfSelectorV2 selector = new GltfSelectorV2(gltf);
+        selector.handleUnsupportedExtensions();
+        selector.mark(selection);
+        selector.remap(selection);
+    }
+    
+    /**
+     * The {@link GlTF}
+     */
+    private final GlTF gltf;
+    
+    /**
+     * For each {@link Kind}, the flags indicating whether the element 
+     * with the respective index is retained
+     */
+    private final boolean retained[][];
+    
+    /**
+     * For each {@link Kind}, the new index of the element with the 
+     * respective index, or -1 if the element is not retained. This 
+     * is <code>null</code> during the first pass.
+     */
+    private int newIndices[][];
+    
+    /**
+     * The animations that are retained
+     */
+    private final List<Animation> retainedAnimations;
+
+    /**
+     * The old indices of the scenes that are retained
+     */
+    private final List<Integer> retainedScenes;
+    
+    /**
+     * Creates a new instance
+     * 
+     * @param gltf The {@link GlTF}
+     */
+    private GltfSelectorV2(GlTF gltf)
+    {
+        this.gltf = gltf;
+        Kind kinds[] = Kind.values();
+        this.retained = new boolean[kinds.length][];
+        for (Kind kind : kinds)
+        {
+            retained[kind.ordinal()] = new boolean[elements(kind).size()];
+        }
+        this.retainedAnimations = new ArrayList<Animation>();
+        this.retainedScenes = new ArrayList<Integer>();
+    }
+    
+    /**
+     * Returns the elements of the given kind
+     * 
+     * @param kind The {@link Kind}
+     * @return The elements
+     */
+    private List<?> elements(Kind kind)
+    {
+        switch (kind)
+        {
+            case NODE: return Optionals.of(gltf.getNodes());
+            case MESH: return Optionals.of(gltf.getMeshes());
+            case SKIN: return Optionals.of(gltf.getSkins());
+            case CAMERA: return Optionals.of(gltf.getCameras());
+            case MATERIAL: return Optionals.of(gltf.getMaterials());
+            case TEXTURE: return Optionals.of(gltf.getTextures());
+            case SAMPLER: return Optionals.of(gltf.getSamplers());
+            case IMAGE: return Optionals.of(gltf.getImages());
+            case ACCESSOR: return Optionals.of(gltf.getAccessors());
+            case BUFFER_VIEW: return Optionals.of(gltf.getBufferViews());
+            case BUFFER: return Optionals.of(gltf.getBuffers());
+            default:
+                throw new IllegalArgumentException("Invalid kind: " + kind);
+        }
+    }
+    
+    /**
+     * Collect all extension maps in the glTF. These are the extension
+     * maps of the glTF, its elements, and the nested properties of the
+     * elements, like mesh primitives or texture infos. This also includes
+     * the extension maps that are nested in the extension objects, for
+     * example, the extensions of the texture infos of material extensions.
+     * 
+     * @return The extension maps
+     */
+    private List<Map<String, Object>> collectExtensionMaps()
+    {
+        List<GlTFProperty> properties = new ArrayList<GlTFProperty>();
+        properties.add(gltf);
+        properties.add(gltf.getAsset());
+        for (Kind kind : Kind.values())
+        {
+            for (Object element : elements(kind))
+            {
+                properties.add((GlTFProperty) element);
+            }
+        }
+        for (Mesh mesh : Optionals.of(gltf.getMeshes()))
+        {
+            properties.addAll(Optionals.of(mesh.getPrimitives()));
+        }
+        for (Material material : Optionals.of(gltf.getMaterials()))
+        {
+            MaterialPbrMetallicRoughness pbrMetallicRoughness = 
+                material.getPbrMetallicRoughness();
+            if (pbrMetallicRoughness != null)
+            {
+                properties.add(pbrMetallicRoughness);
+                properties.add(pbrMetallicRoughness.getBaseColorTexture());
+                properties.add(
+                    pbrMetallicRoughness.getMetallicRoughnessTexture());
+            }
+            properties.add(material.getNormalTexture());
+            properties.add(material.getOcclusionTexture());
+            properties.add(material.getEmissiveTexture());
+        }
+        for (Accessor accessor : Optionals.of(gltf.getAccessors()))
+        {
+            AccessorSparse sparse = accessor.getSparse();
+            if (sparse != null)
+            {
+                properties.add(sparse);
+                properties.add(sparse.getIndices());
+                properties.add(sparse.getValues());
+            }
+        }
+        for (Camera camera : Optionals.of(gltf.getCameras()))
+        {
+            properties.add(camera.getPerspective());
+            properties.add(camera.getOrthographic());
+        }
+        for (Animation animation : Optionals.of(gltf.getAnimations()))
+        {
+            properties.add(animation);
+            properties.addAll(Optionals.of(animation.getSamplers()));
+            for (AnimationChannel channel : 
+                Optionals.of(animation.getChannels()))
+            {
+                properties.add(channel);
+                properties.add(channel.getTarget());
+            }
+        }
+        properties.addAll(Optionals.of(gltf.getScenes()));
+        
+        List<Map<String, Object>> extensionMaps = 
+            new ArrayList<Map<String, Object>>();
+        for (GlTFProperty property : properties)
+        {
+            if (property != null && property.getExtensions() != null)
+            {
+                extensionMaps.add(property.getExtensions());
+            }
+        }
+        for (int i = 0; i < extensionMaps.size(); i++)
+        {
+            for (Object extension : extensionMaps.get(i).values())
+            {
+                collectNestedExtensionMaps(extension, extensionMaps);
+            }
+        }
+        return extensionMaps;
+    }
+    
+    /**
+     * Collect all maps that are the values of <code>"extensions"</code>
+     * keys in the given object from an extension, recursively, and add 
+     * them to the given list
+     * 
+     * @param object The object
+     * @param extensionMaps The extension maps
+     */
+    private static void collectNestedExtensionMaps(
+        Object object, List<Map<String, Object>> extensionMaps)
+    {
+        if (object instanceof Map<?, ?>)
+        {
+            for (Entry<?, ?> entry : ((Map<?, ?>) object).entrySet())
+            {
+                Object value = entry.getValue();
+                if ("extensions".equals(entry.getKey()) && 
+                    value instanceof Map<?, ?>)
+                {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> map = (Map<String, Object>) value;
+                    extensionMaps.add(map);
+                }
+                else
+                {
+                    collectNestedExtensionMaps(value, extensionMaps);
+                }
+            }
+        }
+        else if (object instanceof List<?>)
+        {
+            for (Object element : (List<?>) object)
+            {
+                collectNestedExtensionMaps(element, extensionMaps);
+            }
+        }
+    }
+    
+    /**
+     * Returns whether the given object from an extension may contain
+     * references to other elements. This is the case when it contains
+     * any integral number.
+     * 
+     * @param object The object
+     * @return Whether the object may contain references
+     */
+    private static boolean mayContainReferences(Object object)
+    {
+        if (object instanceof Map<?, ?>)
+        {
+            for (Object value : ((Map<?, ?>) object).values())
+            {
+                if (mayContainReferences(value))
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (object instanceof List<?>)
+        {
+            for (Object element : (List<?>) object)
+            {
+                if (mayContainReferences(element))
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return object instanceof Integer || object instanceof Long ||
+            object instanceof Short || object instanceof Byte ||
+            object instanceof BigInteger;
+    }
+    
+    /**
+     * Returns whether the given extension is not known to this class,
+     * and its object may contain references to other elements, so that
+     * it cannot be retained in the reduced glTF
+     * 
+     * @param name The name of the extension
+     * @param extension The extension object
+     * @return Whether the extension cannot be retained
+     */
+    private static boolean isUnsupported(String name, Object extension)
+    {
+        return !SUPPORTED_EXTENSIONS.contains(name) && 
+            mayContainReferences(extension);
+    }
+    
+    /**
+     * Handle the extensions whose references to other elements cannot be
+     * updated.<br>
+     * <br>
+     * Extensions that are not known to this class, but do not contain
+     * any numbers that could be indices, are retained unmodified. Other
+     * unknown extensions are removed, together with their entry in the
+     * <code>extensionsUsed</code>, because a client may ignore extensions
+     * that are not required. If such an extension is required, then the
+     * selection cannot be applied.
+     * 
+     * @throws IllegalArgumentException If the glTF requires an extension
+     * that is not supported. The glTF will not be modified in this case.
+     */
+    private void handleUnsupportedExtensions()
+    {
+        List<Map<String, Object>> extensionMaps = collectExtensionMaps();
+        List<String> extensionsRequired = 
+            Optionals.of(gltf.getExtensionsRequired());
+        Set<String> removedNames = new LinkedHashSet<String>();
+        for (Map<String, Object> extensionMap : extensionMaps)
+        {
+            for (Entry<String, Object> entry : extensionMap.entrySet())
+            {
+                String name = entry.getKey();
+                if (isUnsupported(name, entry.getValue()))
+                {
+                    if (extensionsRequired.contains(name))
+                    {
+                        throw new IllegalArgumentException(
+                            "A selection cannot be applied to a glTF that "
+                            + "requires the " + name + " extension, because "
+                            + "the references to other elements in this "
+                            + "extension cannot be updated");
+                    }
+                    removedNames.add(name);
+                }
+            }
+        }
+        if (removedNames.isEmpty())
+        {
+            return;
+        }
+        Set<String> remainingNames = new HashSet<String>();
+        for (Map<String, Object> extensionMap : extensionMaps)
+        {
+            extensionMap.entrySet().removeIf(
+                entry -> isUnsupported(entry.getKey(), entry.getValue()));
+            remainingNames.addAll(extensionMap.keySet());
+        }
+        for (String name : removedNames)
+        {
+            logger.warning("Removing the " + name + " extension from the "
+                + "selection, because the references to other elements "
+                + "in this extension cannot be updated");
+            if (!remainingNames.contains(name))
+            {
+                gltf.removeExtensionsUsed(name);
+            }
+        }
+    }
+    
+    /**
+     * Mark all elements that are reachable from the given selection
+     * 
+     * @param selection The {@link GltfSelection}
+     */
+    private void mark(GltfSelection selection)
+    {
+        markNodes(selection);
+        markScenes(selection);
+        markAnimations();
+        for (Kind kind : Kind.values())
+        {
+            List<?> elements = elements(kind);
+            boolean r[] = retained[kind.ordinal()];
+            for (int i = 0; i < elements.size(); i++)
+            {
+                if (r[i])
+                {
+                    visit(kind, elements.get(i));
+                }
+            }
+        }
+        
+        // The buffer without a URI is the binary glTF buffer. Its data 
+        // is already in memory, and the GltfModelCreatorV2 expects it 
+        // to be the first buffer.
+        List<Buffer> buffers = Optionals.of(gltf.getBuffers());
+        if (!buffers.isEmpty() && buffers.get(0).getUri() == null)
+        {
+            retained[Kind.BUFFER.ordinal()][0] = true;
+        }
+    }
+    
+    /**
+     * Mark the nodes that are selected, together with their ancestors,
+     * and the joints of their skins. The nodes that are not selected
+     * themselves will no longer refer to meshes, skins or cameras.
+     * 
+     * @param selection The {@link GltfSelection}
+     */
+    private void markNodes(GltfSelection selection)
+    {
+        List<Node> nodes = Optionals.of(gltf.getNodes());
+        boolean selected[] = new boolean[nodes.size()];
+        int sceneIndices[] = selection.getSceneIndices();
+        Predicate<? super Node> nodePredicate = selection.getNodePredicate();
+        int meshIndices[] = selection.getMeshIndices();
+        if (sceneIndices != null)
+        {
+            List<Scene> scenes = Optionals.of(gltf.getScenes());
+            for (int sceneIndex : sceneIndices)
+            {
+                if (sceneIndex < 0 || sceneIndex >= scenes.size())
+                {
+                    logger.warning("Ignoring invalid scene index " 
+                        + sceneIndex);
+                    continue;
+                }
+                Scene scene = scenes.get(sceneIndex);
+                for (Integer nodeIndex : Optionals.of(scene.getNodes()))
+                {
+                    markSubtree(nodeIndex, selected);
+                }
+            }
+        }
+        else if (nodePredicate != null)
+        {
+            for (int i = 0; i < nodes.size(); i++)
+            {
+                if (nodePredicate.test(nodes.get(i)))
+                {
+                    markSubtree(i, selected);
+                }
+            }
+        }
+        else if (meshIndices != null)
+        {
+            boolean selectedMeshes[] = retained[Kind.MESH.ordinal()];
+            for (int meshIndex : meshIndices)
+            {
+                if (meshIndex < 0 || meshIndex >= selectedMeshes.length)
+                {
+                    logger.warning("Ignoring invalid mesh index " 
+                        + meshIndex);
+                    continue;
+                }
+                selectedMeshes[meshIndex] = true;
+            }
+            for (int i = 0; i < nodes.size(); i++)
+            {
+                Integer meshIndex = nodes.get(i).getMesh();
+                if (isValid(Kind.MESH, meshIndex) && 
+                    selectedMeshes[meshIndex])
+                {
+                    selected[i] = true;
+                }
+            }
+        }
+        
+        int parents[] = computeParents(nodes);
+        List<Skin> skins = Optionals.of(gltf.getSkins());
+        for (int i = 0; i < nodes.size(); i++)
+        {
+            if (!selected[i])
+            {
+                continue;
+            }
+            markWithAncestors(i, parents);
+            Integer skinIndex = nodes.get(i).getSkin();
+            if (isValid(Kind.SKIN, skinIndex))
+            {
+                Skin skin = skins.get(skinIndex);
+                for (Integer jointIndex : Optionals.of(skin.getJoints()))
+                {
+                    markWithAncestors(jointIndex, parents);
+                }
+                markWithAncestors(skin.getSkeleton(), parents);
+            }
+        }
+        boolean retainedNodes[] = retained[Kind.NODE.ordinal()];
+        for (int i = 0; i < nodes.size(); i++)
+        {
+            if (retainedNodes[i] && !selected[i])
+            {
+                Node node = nodes.get(i);
+                node.setMesh(null);
+                node.setSkin(null);
+                node.setCamera(null);
+                node.setWeights(null);
+            }
+        }
+    }
+    
+    /**
+     * Set the flags for the node with the given index and all its
+     * descendants in the given array to <code>true</code>
+     * 
+     * @param nodeIndex The node index
+     * @param selected The array of flags
+     */
+    private void markSubtree(Integer nodeIndex, boolean selected[])
+    {
+        List<Node> nodes = Optionals.of(gltf.getNodes());
+        Deque<Integer> stack = new ArrayDeque<Integer>();
+        stack.push(nodeIndex);
+        while (!stack.isEmpty())
+        {
+            Integer index = stack.pop();
+            if (!isValid(Kind.NODE, index) || selected[index])
+            {
+                continue;
+            }
+            selected[index] = true;
+            for (Integer childIndex : Optionals.of(
+                nodes.get(index).getChildren()))
+            {
+                stack.push(childIndex);
+            }
+        }
+    }
+    
+    /**
+     * Mark the node with the given index and all its ancestors as
+     * being retained
+     * 
+     * @param nodeIndex The node index
+     * @param parents The parent index for each node, or -1 for root nodes
+     */
+    private void markWithAncestors(Integer nodeIndex, int parents[])
+    {
+        if (!isValid(Kind.NODE, nodeIndex))
+        {
+            return;
+        }
+        boolean retainedNodes[] = retained[Kind.NODE.ordinal()];
+        int index = nodeIndex;
+        while (index != -1 && !retainedNodes[index])
+        {
+            retainedNodes[index] = true;
+            index = parents[index];
+        }
+    }
+    
+    /**
+     * Compute the index of the parent of each of the given nodes, or -1
+     * for nodes that do not have a parent
+     * 
+     * @param nodes The nodes
+     * @return The parent indices
+     */
+    private int[] computeParents(List<Node> nodes)
+    {
+        int parents[] = new int[nodes.size()];
+        Arrays.fill(parents, -1);
+        for (int i = 0; i < nodes.size(); i++)
+        {
+            for (Integer childIndex : Optionals.of(
+                nodes.get(i).getChildren()))
+            {
+                if (isValid(Kind.NODE, childIndex))
+                {
+                    parents[childIndex] = i;
+                }
+            }
+        }
+        return parents;
+    }
+    
+    /**
+     * Determine the scenes that are retained. These are the scenes that
+     * have been selected explicitly, or the scenes that contain at least
+     * one of the retained nodes.
+     * 
+     * @param selection The {@link GltfSelection}
+     */
+    private void markScenes(GltfSelection selection)
+    {
+        List<Scene> scenes = Optionals.of(gltf.getScenes());
+        int sceneIndices[] = selection.getSceneIndices();
+        if (sceneIndices != null)
+        {
+            for (int sceneIndex : sceneIndices)
+            {
+                if (sceneIndex >= 0 && sceneIndex < scenes.size() && 
+                    !retainedScenes.contains(sceneIndex))
+                {
+                    retainedScenes.add(sceneIndex);
+                }
+            }
+            return;
+        }
+        boolean retainedNodes[] = retained[Kind.NODE.ordinal()];
+        for (int i = 0; i < scenes.size(); i++)
+        {
+            for (Integer nodeIndex : Optionals.of(scenes.get(i).getNodes()))
+            {
+                if (isValid(Kind.NODE, nodeIndex) && retainedNodes[nodeIndex])
+                {
+                    retainedScenes.add(i);
+                    break;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Determine the animations that are retained. These are the 
+     * animations that have at least one channel that targets one of 
+     * the retained nodes. The channels that do not target one of the
+     * retained nodes, and the samplers that are not used by any of the
+     * remaining channels, are removed from the animations.
+     */
+    private void markAnimations()
+    {
+        boolean retainedNodes[] = retained[Kind.NODE.ordinal()];
+        for (Animation animation : Optionals.of(gltf.getAnimations()))
+        {
+            List<AnimationSampler> samplers = 
+                Optionals.of(animation.getSamplers());
+            List<AnimationChannel> channels = new ArrayList<AnimationChannel>();
+            List<AnimationSampler> usedSamplers = 
+                new ArrayList<AnimationSampler>();
+            for (AnimationChannel channel : 
+                Optionals.of(animation.getChannels()))
+            {
+                AnimationChannelTarget target = channel.getTarget();
+                Integer nodeIndex = target == null ? null : target.getNode();
+                Integer samplerIndex = channel.getSampler();
+                if (!isValid(Kind.NODE, nodeIndex) || 
+                    !retainedNodes[nodeIndex] ||
+                    samplerIndex == null ||
+                    samplerIndex < 0 || samplerIndex >= samplers.size())
+                {
+                    continue;
+                }
+                AnimationSampler sampler = samplers.get(samplerIndex);
+                int newSamplerIndex = usedSamplers.indexOf(sampler);
+                if (newSamplerIndex == -1)
+                {
+                    newSamplerIndex = usedSamplers.size();
+                    usedSamplers.add(sampler);
+                }
+                channel.setSampler(newSamplerIndex);
+                channels.add(channel);
+            }
+            if (!channels.isEmpty())
+            {
+                animation.setChannels(channels);
+                animation.setSamplers(usedSamplers);
+                retainedAnimations.add(animation);
+                visitAnimation(animation);
+            }
+        }
+    }
+    
+    /**
+     * Replace all indices in the retained elements with the indices
+     * that the referenced elements have in the reduced glTF, and set
+     * the reduced lists of elements in the glTF.
+     * 
+     * @param selection The {@link GltfSelection}
+     */
+    private void remap(GltfSelection selection)
+    {
+        Kind kinds[] = Kind.values();
+        newIndices = new int[kinds.length][];
+        for (Kind kind : kinds)
+        {
+            boolean r[] = retained[kind.ordinal()];
+            int n[] = new int[r.length];
+            int newIndex = 0;
+            for (int i = 0; i < r.length; i++)
+            {
+                n[i] = r[i] ? newIndex++ : -1;
+            }
+            newIndices[kind.ordinal()] = n;
+        }
+        for (Kind kind : kinds)
+        {
+            List<?> elements = elements(kind);
+            boolean r[] = retained[kind.ordinal()];
+            for (int i = 0; i < elements.size(); i++)
+            {
+                if (r[i])
+                {
+                    visit(kind, elements.get(i));
+                }
+            }
+        }
+        for (Animation animation : retainedAnimations)
+        {
+            visitAnimation(animation);
+        }
+        List<Scene> scenes = Optionals.of(gltf.getScenes());
+        List<Scene> newScenes = new ArrayList<Scene>();
+        for (Integer sceneIndex : retainedScenes)
+        {
+            Scene scene = scenes.get(sceneIndex);
+            scene.setNodes(refs(Kind.NODE, scene.getNodes()));
+            newScenes.add(scene);
+        }
+        Integer oldDefaultScene = gltf.getScene();
+        Integer defaultScene = null;
+        if (!newScenes.isEmpty() && (oldDefaultScene != null || 
+            selection.getSceneIndices() != null))
+        {
+            defaultScene = Math.max(0, 
+                retainedScenes.indexOf(oldDefaultScene));
+        }
+        
+        gltf.setNodes(retained(gltf.getNodes(), Kind.NODE));
+        gltf.setMeshes(retained(gltf.getMeshes(), Kind.MESH));
+        gltf.setSkins(retained(gltf.getSkins(), Kind.SKIN));
+        gltf.setCameras(retained(gltf.getCameras(), Kind.CAMERA));
+        gltf.setMaterials(retained(gltf.getMaterials(), Kind.MATERIAL));
+        gltf.setTextures(retained(gltf.getTextures(), Kind.TEXTURE));
+        gltf.setSamplers(retained(gltf.getSamplers(), Kind.SAMPLER));
+        gltf.setImages(retained(gltf.getImages(), Kind.IMAGE));
+        gltf.setAccessors(retained(gltf.getAccessors(), Kind.ACCESSOR));
+        gltf.setBufferViews(
+            retained(gltf.getBufferViews(), Kind.BUFFER_VIEW));
+        gltf.setBuffers(retained(gltf.getBuffers(), Kind.BUFFER));
+        gltf.setAnimations(nullIfEmpty(retainedAnimations));
+        gltf.setScenes(nullIfEmpty(newScenes));
+        gltf.setScene(defaultScene);
+    }
+    
+    /**
+     * Returns a list containing the elements from the given list that
+     * are retained, or <code>null</code> if no elements are retained
+     * 
+     * @param <T> The element type
+     * @param elements The elements
+     * @param kind The {@link Kind} of the elements
+     * @return The retained elements
+     */
+    private <T> List<T> retained(List<T> elements, Kind kind)
+    {
+        List<T> result = new ArrayList<T>();
+        boolean r[] = retained[kind.ordinal()];
+        for (int i = 0; i < r.length; i++)
+        {
+            if (r[i])
+            {
+                result.add(elements.get(i));
+            }
+        }
+        return nullIfEmpty(result);
+    }
+    
+    /**
+     * Returns the given list, or <code>null</code> if it is empty
+     * 
+     * @param <T> The element type
+     * @param list The list
+     * @return The result
+     */
+    private static <T> List<T> nullIfEmpty(List<T> list)
+    {
+        if (list.isEmpty())
+        {
+            return null;
+        }
+        return list;
+    }
+    
+    /**
+     * Returns whether the given index is a valid index for an element 
+     * of the given kind
+     * 
+     * @param kind The {@link Kind}
+     * @param index The index
+     * @return Whether the index is valid
+     */
+    private boolean isValid(Kind kind, Integer index)
+    {
+        return index != null && index >= 0 && 
+            index < retained[kind.ordinal()].length;
+    }
+    
+    /**
+     * Process the given reference to an element of the given kind.<br>
+     * <br>
+     * During the first pass, this will mark the referenced element as
+     * being retained, and return the given index. Nodes are never marked
+     * here, because the retained nodes are determined beforehand. 
+     * During the second pass, this will return the index of the element
+     * in the reduced glTF, or <code>null</code> if the element is not 
+     * retained. Invalid indices are returned unmodified.
+     * 
+     * @param kind The {@link Kind}
+     * @param index The index
+     * @return The resulting index
+     */
+    private Integer ref(Kind kind, Integer index)
+    {
+        if (!isValid(kind, index))
+        {
+            return index;
+        }
+        if (newIndices == null)
+        {
+            if (kind != Kind.NODE)
+            {
+                retained[kind.ordinal()][index] = true;
+            }
+            return index;
+        }
+        int newIndex = newIndices[kind.ordinal()][index];
+        if (newIndex == -1)
+        {
+            return null;
+        }
+        return newIndex;
+    }
+    
+    /**
+     * Process the given list of references to elements of the given 
+     * kind, as described in {@link #ref(Kind, Integer)}. Returns a
+     * list with the resulting indices, omitting references to elements
+     * that are not retained, or <code>null</code> if this list is empty.
+     * 
+     * @param kind The {@link Kind}
+     * @param indices The indices
+     * @return The resulting indices
+     */
+    private List<Integer> refs(Kind kind, List<Integer> indices)
+    {
+        if (indices == null)
+        {
+            return null;
+        }
+        List<Integer> result = new ArrayList<Integer>();
+        for (Integer index : indices)
+        {
+            Integer newIndex = ref(kind, index);
+            if (newIndex != null)
+            {
+                result.add(newIndex);
+            }
+        }
+        return nullIfEmpty(result);
+    }
+    
+    /**
+     * Process the references to elements of the given kind that are
+     * the values of the given map, as described in 
+     * {@link #ref(Kind, Integer)}
+     * 
+     * @param kind The {@link Kind}
+     * @param map The map
+     */
+    private void refs(Kind kind, Map<String, Integer> map)
+    {
+        if (map == null)
+        {
+            return;
+        }
+        for (Entry<String, Integer> entry : map.entrySet())
+        {
+            Integer index = entry.getValue();
+            Integer newIndex = ref(kind, index);
+            if (newIndex != null && !newIndex.equals(index))
+            {
+                entry.setValue(newIndex);
+            }
+        }
+    }
+    
+    /**
+     * Returns the extension object with the given name from the given
+     * extensions, or <code>null</code> if there is no such object
+     * 
+     * @param extensions The extensions. May be <code>null</code>.
+     * @param name The name of the extension
+     * @return The extension object
+     */
+    private static Map<?, ?> extension(
+        Map<String, Object> extensions, String name)
+    {
+        if (extensions == null)
+        {
+            return null;
+        }
+        Object extension = extensions.get(name);
+        if (extension instanceof Map<?, ?>)
+        {
+            return (Map<?, ?>) extension;
+        }
+        return null;
+    }
+    
+    /**
+     * Process the reference to an element of the given kind that is the
+     * numeric value of the given key in the given map, as described in 
+     * {@link #ref(Kind, Integer)}. If the given object is not a map, or 
+     * does not contain a numeric value for the given key, then nothing 
+     * is done.
+     * 
+     * @param kind The {@link Kind}
+     * @param object The object from an extension
+     * @param key The key
+     */
+    private void refInMap(Kind kind, Object object, String key)
+    {
+        if (!(object instanceof Map<?, ?>))
+        {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> map = (Map<String, Object>) object;
+        Object value = map.get(key);
+        if (value instanceof Number)
+        {
+            Integer index = ((Number) value).intValue();
+            Integer newIndex = ref(kind, index);
+            if (newIndex != null && !newIndex.equals(value))
+            {
+                map.put(key, newIndex);
+            }
+        }
+    }
+    
+    /**
+     * Process the references to elements of the given kind that are
+     * the numeric values of the given map, as described in 
+     * {@link #ref(Kind, Integer)}. If the given object is not a map,
+     * then nothing is done.
+     * 
+     * @param kind The {@link Kind}
+     * @param object The object from an extension
+     */
+    private void refsInMap(Kind kind, Object object)
+    {
+        if (!(object instanceof Map<?, ?>))
+        {
+            return;
+        }
+        for (Object key : ((Map<?, ?>) object).keySet())
+        {
+            refInMap(kind, object, String.valueOf(key));
+        }
+    }
+    
+    /**
+     * Process the references in the given element of the given kind
+     * 
+     * @param kind The {@link Kind}
+     * @param element The element
+     */
+    private void visit(Kind kind, Object element)
+    {
+        switch (kind)
+        {
+            case NODE: 
+                visitNode((Node) element);
+                break;
+            case MESH: 
+                visitMesh((Mesh) element);
+                break;
+            case SKIN: 
+                visitSkin((Skin) element);
+                break;
+            case MATERIAL: 
+                visitMaterial((Material) element);
+                break;
+            case TEXTURE: 
+                visitTexture((Texture) element);
+                break;
+            case IMAGE: 
+                visitImage((Image) element);
+                break;
+            case ACCESSOR: 
+                visitAccessor((Accessor) element);
+                break;
+            case BUFFER_VIEW: 
+                visitBufferView((BufferView) element);
+                break;
+            default:
+                // Cameras, samplers and buffers do not refer to 
+                // other elements
+                break;
+        }
+    }
+    
+    /**
+     * Process the references in the given node
+     * 
+     * @param node The node
+     */
+    private void visitNode(Node node)
+    {
+        node.setChildren(refs(Kind.NODE, node.getChildren()));
+        node.setMesh(ref(Kind.MESH, node.getMesh()));
+        node.setSkin(ref(Kind.SKIN, node.getSkin()));
+        node.setCamera(ref(Kind.CAMERA, node.getCamera()));
+        
+        Map<?, ?> instancing = 
+            extension(node.getExtensions(), "EXT_mesh_gpu_instancing");
+        if (instancing != null)
+        {
+            refsInMap(Kind.ACCESSOR, instancing.get("attributes"));
+        }
+    }
+    
+    /**
+     * Process the references in the given mesh
+     * 
+     * @param mesh The mesh
+     */
+    private void visitMesh(Mesh mesh)
+    {
+        for (MeshPrimitive meshPrimitive : Optionals.of(mesh.getPrimitives()))
+        {
+            meshPrimitive.setIndices(
+                ref(Kind.ACCESSOR, meshPrimitive.getIndices()));
+            refs(Kind.ACCESSOR, meshPrimitive.getAttributes());
+            for (Map<String, Integer> target : 
+                Optionals.of(meshPrimitive.getTargets()))
+            {
+                refs(Kind.ACCESSOR, target);
+            }
+            meshPrimitive.setMaterial(
+                ref(Kind.MATERIAL, meshPrimitive.getMaterial()));
+            
+            Map<String, Object> extensions = meshPrimitive.getExtensions();
+            refInMap(Kind.BUFFER_VIEW, 
+                extension(extensions, "KHR_draco_mesh_compression"), 
+                "bufferView");
+            Map<?, ?> variants = 
+                extension(extensions, "KHR_materials_variants");
+            if (variants != null && variants.get("mappings") instanceof List)
+            {
+                for (Object mapping : (List<?>) variants.get("mappings"))
+                {
+                    refInMap(Kind.MATERIAL, mapping, "material");
+                }
+            }
+        }
+    }
+    
+    /**
+     * Process the references in the given skin
+     * 
+     * @param skin The skin
+     */
+    private void visitSkin(Skin skin)
+    {
+        skin.setInverseBindMatrices(
+            ref(Kind.ACCESSOR, skin.getInverseBindMatrices()));
+        skin.setSkeleton(ref(Kind.NODE, skin.getSkeleton()));
+        skin.setJoints(refs(Kind.NODE, skin.getJoints()));
+    }
+    
+    /**
+     * Process the references in the given material
+     * 
+     * @param material The material
+     */
+    private void visitMaterial(Material material)
+    {
+        MaterialPbrMetallicRoughness pbrMetallicRoughness = 
+            material.getPbrMetallicRoughness();
+        if (pbrMetallicRoughness != null)
+        {
+            visitTextureInfo(pbrMetallicRoughness.getBaseColorTexture());
+            visitTextureInfo(
+                pbrMetallicRoughness.getMetallicRoughnessTexture());
+        }
+        MaterialNormalTextureInfo normalTexture = material.getNormalTexture();
+        if (normalTexture != null)
+        {
+            normalTexture.setIndex(
+                ref(Kind.TEXTURE, normalTexture.getIndex()));
+        }
+        MaterialOcclusionTextureInfo occlusionTexture = 
+            material.getOcclusionTexture();
+        if (occlusionTexture != null)
+        {
+            occlusionTexture.setIndex(
+                ref(Kind.TEXTURE, occlusionTexture.getIndex()));
+        }
+        visitTextureInfo(material.getEmissiveTexture());
+        
+        for (String name : MATERIAL_TEXTURE_EXTENSIONS)
+        {
+            Map<?, ?> extension = extension(material.getExtensions(), name);
+            if (extension == null)
+            {
+                continue;
+            }
+            for (Entry<?, ?> entry : extension.entrySet())
+            {
+                if (String.valueOf(entry.getKey()).endsWith("Texture"))
+                {
+                    refInMap(Kind.TEXTURE, entry.getValue(), "index");
+                }
+            }
+        }
+    }
+    
+    /**
+     * Process the reference in the given texture info
+     * 
+     * @param textureInfo The texture info
+     */
+    private void visitTextureInfo(TextureInfo textureInfo)
+    {
+        if (textureInfo != null)
+        {
+            textureInfo.setIndex(ref(Kind.TEXTURE, textureInfo.getIndex()));
+        }
+    }
+    
+    /**
+     * Process the references in the given texture
+     * 
+     * @param texture The texture
+     */
+    private void visitTexture(Texture texture)
+    {
+        texture.setSampler(ref(Kind.SAMPLER, texture.getSampler()));
+        texture.setSource(ref(Kind.IMAGE, texture.getSource()));
+        
+        for (String name : TEXTURE_SOURCE_EXTENSIONS)
+        {
+            refInMap(Kind.IMAGE, 
+                extension(texture.getExtensions(), name), "source");
+        }
+    }
+    
+    /**
+     * Process the references in the given image
+     * 
+     * @param image The image
+     */
+    private void visitImage(Image image)
+    {
+        image.setBufferView(ref(Kind.BUFFER_VIEW, image.getBufferView()));
+    }
+    
+    /**
+     * Process the references in the given accessor
+     * 
+     * @param accessor The accessor
+     */
+    private void visitAccessor(Accessor accessor)
+    {
+        accessor.setBufferView(
+            ref(Kind.BUFFER_VIEW, accessor.getBufferView()));
+        AccessorSparse sparse = accessor.getSparse();
+        if (sparse != null)
+        {
+            if (sparse.getIndices() != null)
+            {
+                sparse.getIndices().setBufferView(ref(Kind.BUFFER_VIEW, 
+                    sparse.getIndices().getBufferView()));
+            }
+            if (sparse.getValues() != null)
+            {
+                sparse.getValues().setBufferView(ref(Kind.BUFFER_VIEW, 
+                    sparse.getValues().getBufferView()));
+            }
+        }
+    }
+    
+    /**
+     * Process the references in the given buffer view
+     * 
+     * @param bufferView The buffer view
+     */
+    private void visitBufferView(BufferView bufferView)
+    {
+        bufferView.setBuffer(ref(Kind.BUFFER, bufferView.getBuffer()));
+        
+        refInMap(Kind.BUFFER, 
+            extension(bufferView.getExtensions(), "EXT_meshopt_compression"),
+            "buffer");
+    }
+    
+    /**
+     * Process the references in the given animation
+     * 
+     * @param animation The animation
+     */
+    private void visitAnimation(Animation animation)
+    {
+        for (AnimationSampler sampler : Optionals.of(animation.getSamplers()))
+        {
+            sampler.setInput(ref(Kind.ACCESSOR, sampler.getInput()));
+            sampler.setOutput(ref(Kind.ACCESSOR, sampler.getOutput()));
+        }
+        for (AnimationChannel channel : Optionals.of(animation.getChannels()))
+        {
+            AnimationChannelTarget target = channel.getTarget();
+            target.setNode(ref(Kind.NODE, target.getNode()));
+        }
+    }
+}
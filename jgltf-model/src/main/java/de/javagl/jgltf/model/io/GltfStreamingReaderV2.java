@@ -0,0 +1,1135 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.jgltf.model.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonParser.NumberType;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import de.javagl.jgltf.impl.v2.Accessor;
+import de.javagl.jgltf.impl.v2.AccessorSparse;
+import de.javagl.jgltf.impl.v2.AccessorSparseIndices;
+import de.javagl.jgltf.impl.v2.AccessorSparseValues;
+import de.javagl.jgltf.impl.v2.Animation;
+import de.javagl.jgltf.impl.v2.Asset;
+import de.javagl.jgltf.impl.v2.Buffer;
+import de.javagl.jgltf.impl.v2.BufferView;
+import de.javagl.jgltf.impl.v2.Camera;
+import de.javagl.jgltf.impl.v2.GlTF;
+import de.javagl.jgltf.impl.v2.GlTFChildOfRootProperty;
+import de.javagl.jgltf.impl.v2.GlTFProperty;
+import de.javagl.jgltf.impl.v2.Image;
+import de.javagl.jgltf.impl.v2.Material;
+import de.javagl.jgltf.impl.v2.Mesh;
+import de.javagl.jgltf.impl.v2.MeshPrimitive;
+import de.javagl.jgltf.impl.v2.Node;
+import de.javagl.jgltf.impl.v2.Sampler;
+import de.javagl.jgltf.impl.v2.Scene;
+import de.javagl.jgltf.impl.v2.Skin;
+import de.javagl.jgltf.impl.v2.Texture;
+import de.javagl.jgltf.model.io.v2.GltfReaderV2;
+
+/**
+ * A class for reading a version 2.0 {@link GlTF} from an input stream,
+ * using a Jackson <code>JsonParser</code> directly.<br>
+ * <br>
+ * The {@link GltfReaderV2} uses Jackson data binding, which involves
+ * reflection and many intermediate objects for each property. This class
+ * contains hand-written parsing code for the core types that usually make
+ * up the bulk of a large glTF JSON, namely the accessors, buffer views,
+ * buffers, nodes, meshes and scenes. All other types, as well as the
+ * <code>extensions</code> and <code>extras</code> of all objects, are
+ * still read with data binding, from the same parser.<br>
+ * <br>
+ * The resulting {@link GlTF} is the same as the one that is read by the
+ * {@link GltfReaderV2}, including the {@link JsonError}s that are reported
+ * for unknown properties or invalid property values. When the input
+ * contains anything that this class does not handle in exactly the same
+ * way as the data binding - for example, a string value where a number
+ * is expected, or an asset version that is not 2.x - then {@link #read}
+ * returns <code>null</code>, and the input has to be read with the
+ * {@link GltfReaderV2} instead.
+ */
+final class GltfStreamingReaderV2
+{
+    /**
+     * A consumer for {@link JsonError}s that may occur while reading
+     * the glTF JSON
+     */
+    private Consumer<? super JsonError> jsonErrorConsumer =
+        JacksonUtils.loggingJsonErrorConsumer();
+
+    /**
+     * Creates a new glTF reader
+     */
+    GltfStreamingReaderV2()
+    {
+        // Default constructor
+    }
+
+    /**
+     * Set the given consumer to receive {@link JsonError}s that may
+     * occur when the JSON part of the glTF is read
+     *
+     * @param jsonErrorConsumer The consumer
+     */
+    void setJsonErrorConsumer(
+        Consumer<? super JsonError> jsonErrorConsumer)
+    {
+        this.jsonErrorConsumer = jsonErrorConsumer;
+    }
+
+    /**
+     * Read the {@link GlTF} from the given stream. The caller is
+     * responsible for closing the given stream.<br>
+     * <br>
+     * If the input cannot be read by this class, then <code>null</code>
+     * is returned. In this case, no {@link JsonError}s will have been
+     * passed to the consumer, and the input should be read with a
+     * {@link GltfReaderV2}.
+     *
+     * @param inputStream The input stream
+     * @return The {@link GlTF}, or <code>null</code>
+     * @throws IOException If an IO error occurs, or the input is not
+     * valid JSON
+     */
+    GlTF read(InputStream inputStream) throws IOException
+    {
+        List<JsonError> jsonErrors = new ArrayList<JsonError>();
+        GlTF gltf = null;
+        try (JsonParser parser = JacksonUtils
+            .getObjectReader(GlTF.class, null).createParser(inputStream))
+        {
+            Parsing parsing = new Parsing(parser, jsonErrors);
+            gltf = parsing.readGltf();
+        }
+        catch (UnsupportedContentException e)
+        {
+            return null;
+        }
+        if (!isVersion2(gltf))
+        {
+            return null;
+        }
+        if (jsonErrorConsumer != null)
+        {
+            jsonErrors.forEach(jsonErrorConsumer);
+        }
+        return gltf;
+    }
+
+    /**
+     * Returns whether the given {@link GlTF} has an asset version that
+     * is a 2.x version. Assets without a version are considered to be
+     * glTF 1.0 assets, as in the {@link GltfReader}.
+     *
+     * @param gltf The {@link GlTF}
+     * @return Whether the glTF is a version 2.x glTF
+     */
+    private static boolean isVersion2(GlTF gltf)
+    {
+        Asset asset = gltf.getAsset();
+        if (asset == null)
+        {
+            return false;
+        }
+        String version = asset.getVersion();
+        if (version == null)
+        {
+            return false;
+        }
+        return version.startsWith("2.");
+    }
+
+    /**
+     * An exception that is thrown internally when the input contains
+     * something that cannot be handled by the {@link Parsing}
+     */
+    private static final class UnsupportedContentException
+        extends IOException
+    {
+        /**
+         * Serial UID
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Creates a new instance
+         *
+         * @param message The message
+         */
+        UnsupportedContentException(String message)
+        {
+            super(message, null);
+        }
+    }
+
+    /**
+     * Interface for the methods that read a single value from the parser
+     *
+     * @param <T> The value type
+     */
+    private interface ValueReader<T>
+    {
+        /**
+         * Read a value, starting at the current token of the parser
+         *
+         * @return The value
+         * @throws IOException If an IO error occurs
+         */
+        T read() throws IOException;
+    }
+
+    /**
+     * The state of a single read operation
+     */
+    private static final class Parsing
+    {
+        /**
+         * The parser
+         */
+        private final JsonParser parser;
+
+        /**
+         * The {@link JsonError}s that have been found
+         */
+        private final List<JsonError> jsonErrors;
+
+        /**
+         * The object readers for the types that are read with data binding
+         */
+        private final Map<Class<?>, ObjectReader> objectReaders;
+
+        /**
+         * Creates a new instance
+         *
+         * @param parser The parser
+         * @param jsonErrors The list that will receive {@link JsonError}s
+         */
+        Parsing(JsonParser parser, List<JsonError> jsonErrors)
+        {
+            this.parser = parser;
+            this.jsonErrors = jsonErrors;
+            this.objectReaders = new HashMap<Class<?>, ObjectReader>();
+        }
+
+        /**
+         * Read the {@link GlTF}
+         *
+         * @return The {@link GlTF}
+         * @throws IOException If an IO error occurs
+         */
+        GlTF readGltf() throws IOException
+        {
+            parser.nextToken();
+            requireStartObject();
+            GlTF gltf = new GlTF();
+            while (nextField())
+            {
+                String name = parser.currentName();
+                parser.nextToken();
+                switch (name)
+                {
+                    case "extensionsUsed":
+                        set(gltf::setExtensionsUsed,
+                            readList(this::readString));
+                        break;
+                    case "extensionsRequired":
+                        set(gltf::setExtensionsRequired,
+                            readList(this::readString));
+                        break;
+                    case "accessors":
+                        set(gltf::setAccessors,
+                            readList(this::readAccessor));
+                        break;
+                    case "animations":
+                        set(gltf::setAnimations,
+                            readList(() -> readBound(Animation.class)));
+                        break;
+                    case "asset":
+                        set(gltf::setAsset, readAsset());
+                        break;
+                    case "buffers":
+                        set(gltf::setBuffers,
+                            readList(this::readBuffer));
+                        break;
+                    case "bufferViews":
+                        set(gltf::setBufferViews,
+                            readList(this::readBufferView));
+                        break;
+                    case "cameras":
+                        set(gltf::setCameras,
+                            readList(() -> readBound(Camera.class)));
+                        break;
+                    case "images":
+                        set(gltf::setImages,
+                            readList(() -> readBound(Image.class)));
+                        break;
+                    case "materials":
+                        set(gltf::setMaterials,
+                            readList(() -> readBound(Material.class)));
+                        break;
+                    case "meshes":
+                        set(gltf::setMeshes,
+                            readList(this::readMesh));
+                        break;
+                    case "nodes":
+                        set(gltf::setNodes,
+                            readList(this::readNode));
+                        break;
+                    case "samplers":
+                        set(gltf::setSamplers,
+                            readList(() -> readBound(Sampler.class)));
+                        break;
+                    case "scene":
+                        set(gltf::setScene, readInteger());
+                        break;
+                    case "scenes":
+                        set(gltf::setScenes,
+                            readList(this::readScene));
+                        break;
+                    case "skins":
+                        set(gltf::setSkins,
+                            readList(() -> readBound(Skin.class)));
+                        break;
+                    case "textures":
+                        set(gltf::setTextures,
+                            readList(() -> readBound(Texture.class)));
+                        break;
+                    default:
+                        readProperty(gltf, name);
+                        break;
+                }
+            }
+            return gltf;
+        }
+
+        /**
+         * Read an {@link Asset}
+         *
+         * @return The {@link Asset}
+         * @throws IOException If an IO error occurs
+         */
+        private Asset readAsset() throws IOException
+        {
+            if (isNull())
+            {
+                return null;
+            }
+            requireStartObject();
+            Asset asset = new Asset();
+            while (nextField())
+            {
+                String name = parser.currentName();
+                parser.nextToken();
+                switch (name)
+                {
+                    case "copyright":
+                        set(asset::setCopyright, readString());
+                        break;
+                    case "generator":
+                        set(asset::setGenerator, readString());
+                        break;
+                    case "version":
+                        set(asset::setVersion, readString());
+                        break;
+                    case "minVersion":
+                        set(asset::setMinVersion, readString());
+                        break;
+                    default:
+                        readProperty(asset, name);
+                        break;
+                }
+            }
+            return asset;
+        }
+
+        /**
+         * Read an {@link Accessor}
+         *
+         * @return The {@link Accessor}
+         * @throws IOException If an IO error occurs
+         */
+        private Accessor readAccessor() throws IOException
+        {
+            requireStartObject();
+            Accessor accessor = new Accessor();
+            while (nextField())
+            {
+                String name = parser.currentName();
+                parser.nextToken();
+                switch (name)
+                {
+                    case "bufferView":
+                        set(accessor::setBufferView, readInteger());
+                        break;
+                    case "byteOffset":
+                        set(accessor::setByteOffset, readInteger());
+                        break;
+                    case "componentType":
+                        set(accessor::setComponentType, readInteger());
+                        break;
+                    case "normalized":
+                        set(accessor::setNormalized, readBoolean());
+                        break;
+                    case "count":
+                        set(accessor::setCount, readInteger());
+                        break;
+                    case "type":
+                        set(accessor::setType, readString());
+                        break;
+                    case "max":
+                        set(accessor::setMax, readNumberArray());
+                        break;
+                    case "min":
+                        set(accessor::setMin, readNumberArray());
+                        break;
+                    case "sparse":
+                        set(accessor::setSparse, readAccessorSparse());
+                        break;
+                    default:
+                        readChildOfRootProperty(accessor, name);
+                        break;
+                }
+            }
+            return accessor;
+        }
+
+        /**
+         * Read an {@link AccessorSparse}
+         *
+         * @return The {@link AccessorSparse}
+         * @throws IOException If an IO error occurs
+         */
+        private AccessorSparse readAccessorSparse() throws IOException
+        {
+            if (isNull())
+            {
+                return null;
+            }
+            requireStartObject();
+            AccessorSparse sparse = new AccessorSparse();
+            while (nextField())
+            {
+                String name = parser.currentName();
+                parser.nextToken();
+                switch (name)
+                {
+                    case "count":
+                        set(sparse::setCount, readInteger());
+                        break;
+                    case "indices":
+                        set(sparse::setIndices, readAccessorSparseIndices());
+                        break;
+                    case "values":
+                        set(sparse::setValues, readAccessorSparseValues());
+                        break;
+                    default:
+                        readProperty(sparse, name);
+                        break;
+                }
+            }
+            return sparse;
+        }
+
+        /**
+         * Read an {@link AccessorSparseIndices}
+         *
+         * @return The {@link AccessorSparseIndices}
+         * @throws IOException If an IO error occurs
+         */
+        private AccessorSparseIndices readAccessorSparseIndices()
+            throws IOException
+        {
+            if (isNull())
+            {
+                return null;
+            }
+            requireStartObject();
+            AccessorSparseIndices indices = new AccessorSparseIndices();
+            while (nextField())
+            {
+                String name = parser.currentName();
+                parser.nextToken();
+                switch (name)
+                {
+                    case "bufferView":
+                        set(indices::setBufferView, readInteger());
+                        break;
+                    case "byteOffset":
+                        set(indices::setByteOffset, readInteger());
+                        break;
+                    case "componentType":
+                        set(indices::setComponentType, readInteger());
+                        break;
+                    default:
+                        readProperty(indices, name);
+                        break;
+                }
+            }
+            return indices;
+        }
+
+        /**
+         * Read an {@link AccessorSparseValues}
+         *
+         * @return The {@link AccessorSparseValues}
+         * @throws IOException If an IO error occurs
+         */
+        private AccessorSparseValues readAccessorSparseValues()
+            throws IOException
+        {
+            if (isNull())
+            {
+                return null;
+            }
+            requireStartObject();
+            AccessorSparseValues values = new AccessorSparseValues();
+            while (nextField())
+            {
+                String name = parser.currentName();
+                parser.nextToken();
+                switch (name)
+                {
+                    case "bufferView":
+                        set(values::setBufferView, readInteger());
+                        break;
+                    case "byteOffset":
+                        set(values::setByteOffset, readInteger());
+                        break;
+                    default:
+                        readProperty(values, name);
+                        break;
+                }
+            }
+            return values;
+        }
+
+        /**
+         * Read a {@link Buffer}
+         *
+         * @return The {@link Buffer}
+         * @throws IOException If an IO error occurs
+         */
+        private Buffer readBuffer() throws IOException
+        {
+            requireStartObject();
+            Buffer buffer = new Buffer();
+            while (nextField())
+            {
+                String name = parser.currentName();
+                parser.nextToken();
+                switch (name)
+                {
+                    case "uri":
+                        set(buffer::setUri, readString());
+                        break;
+                    case "byteLength":
+                        set(buffer::setByteLength, readInteger());
+                        break;
+                    default:
+                        readChildOfRootProperty(buffer, name);
+                        break;
+                }
+            }
+            return buffer;
+        }
+
+        /**
+         * Read a {@link BufferView}
+         *
+         * @return The {@link BufferView}
+         * @throws IOException If an IO error occurs
+         */
+        private BufferView readBufferView() throws IOException
+        {
+            requireStartObject();
+            BufferView bufferView = new BufferView();
+            while (nextField())
+            {
+                String name = parser.currentName();
+                parser.nextToken();
+                switch (name)
+                {
+                    case "buffer":
+                        set(bufferView::setBuffer, readInteger());
+                        break;
+                    case "byteOffset":
+                        set(bufferView::setByteOffset, readInteger());
+                        break;
+                    case "byteLength":
+                        set(bufferView::setByteLength, readInteger());
+                        break;
+                    case "byteStride":
+                        set(bufferView::setByteStride, readInteger());
+                        break;
+                    case "target":
+                        set(bufferView::setTarget, readInteger());
+                        break;
+                    default:
+                        readChildOfRootProperty(bufferView, name);
+                        break;
+                }
+            }
+            return bufferView;
+        }
+
+        /**
+         * Read a {@link Mesh}
+         *
+         * @return The {@link Mesh}
+         * @throws IOException If an IO error occurs
+         */
+        private Mesh readMesh() throws IOException
+        {
+            requireStartObject();
+            Mesh mesh = new Mesh();
+            while (nextField())
+            {
+                String name = parser.currentName();
+                parser.nextToken();
+                switch (name)
+                {
+                    case "primitives":
+                        set(mesh::setPrimitives,
+                            readList(this::readMeshPrimitive));
+                        break;
+                    case "weights":
+                        set(mesh::setWeights, readList(this::readFloat));
+                        break;
+                    default:
+                        readChildOfRootProperty(mesh, name);
+                        break;
+                }
+            }
+            return mesh;
+        }
+
+        /**
+         * Read a {@link MeshPrimitive}
+         *
+         * @return The {@link MeshPrimitive}
+         * @throws IOException If an IO error occurs
+         */
+        private MeshPrimitive readMeshPrimitive() throws IOException
+        {
+            requireStartObject();
+            MeshPrimitive meshPrimitive = new MeshPrimitive();
+            while (nextField())
+            {
+                String name = parser.currentName();
+                parser.nextToken();
+                switch (name)
+                {
+                    case "attributes":
+                        set(meshPrimitive::setAttributes,
+                            readIntegerMap());
+                        break;
+                    case "indices":
+                        set(meshPrimitive::setIndices, readInteger());
+                        break;
+                    case "material":
+                        set(meshPrimitive::setMaterial, readInteger());
+                        break;
+                    case "mode":
+                        set(meshPrimitive::setMode, readInteger());
+                        break;
+                    case "targets":
+                        set(meshPrimitive::setTargets,
+                            readList(this::readIntegerMap));
+                        break;
+                    default:
+                        readProperty(meshPrimitive, name);
+                        break;
+                }
+            }
+            return meshPrimitive;
+        }
+
+        /**
+         * Read a {@link Node}
+         *
+         * @return The {@link Node}
+         * @throws IOException If an IO error occurs
+         */
+        private Node readNode() throws IOException
+        {
+            requireStartObject();
+            Node node = new Node();
+            while (nextField())
+            {
+                String name = parser.currentName();
+                parser.nextToken();
+                switch (name)
+                {
+                    case "camera":
+                        set(node::setCamera, readInteger());
+                        break;
+                    case "children":
+                        set(node::setChildren, readList(this::readInteger));
+                        break;
+                    case "skin":
+                        set(node::setSkin, readInteger());
+                        break;
+                    case "matrix":
+                        set(node::setMatrix, readFloatArray());
+                        break;
+                    case "mesh":
+                        set(node::setMesh, readInteger());
+                        break;
+                    case "rotation":
+                        set(node::setRotation, readFloatArray());
+                        break;
+                    case "scale":
+                        set(node::setScale, readFloatArray());
+                        break;
+                    case "translation":
+                        set(node::setTranslation, readFloatArray());
+                        break;
+                    case "weights":
+                        set(node::setWeights, readList(this::readFloat));
+                        break;
+                    default:
+                        readChildOfRootProperty(node, name);
+                        break;
+                }
+            }
+            return node;
+        }
+
+        /**
+         * Read a {@link Scene}
+         *
+         * @return The {@link Scene}
+         * @throws IOException If an IO error occurs
+         */
+        private Scene readScene() throws IOException
+        {
+            requireStartObject();
+            Scene scene = new Scene();
+            while (nextField())
+            {
+                String name = parser.currentName();
+                parser.nextToken();
+                switch (name)
+                {
+                    case "nodes":
+                        set(scene::setNodes, readList(this::readInteger));
+                        break;
+                    default:
+                        readChildOfRootProperty(scene, name);
+                        break;
+                }
+            }
+            return scene;
+        }
+
+        /**
+         * Read the value of the property with the given name, which is
+         * not one of the properties of the specific subtype of the given
+         * {@link GlTFChildOfRootProperty}.
+         *
+         * @param property The {@link GlTFChildOfRootProperty}
+         * @param name The property name
+         * @throws IOException If an IO error occurs
+         */
+        private void readChildOfRootProperty(
+            GlTFChildOfRootProperty property, String name) throws IOException
+        {
+            if (name.equals("name"))
+            {
+                set(property::setName, readString());
+            }
+            else
+            {
+                readProperty(property, name);
+            }
+        }
+
+        /**
+         * Read the value of the property with the given name, which is
+         * not one of the properties of the specific subtype of the given
+         * {@link GlTFProperty}. This handles the <code>extensions</code>
+         * and <code>extras</code> with data binding, and reports all
+         * other properties as unknown properties.
+         *
+         * @param property The {@link GlTFProperty}
+         * @param name The property name
+         * @throws IOException If an IO error occurs
+         */
+        private void readProperty(GlTFProperty property, String name)
+            throws IOException
+        {
+            if (name.equals("extensions"))
+            {
+                set(property::setExtensions, readExtensions());
+            }
+            else if (name.equals("extras"))
+            {
+                set(property::setExtras, readBound(Object.class));
+            }
+            else
+            {
+                jsonErrors.add(new JsonError("Unknown property: " + name,
+                    parser.getParsingContext(), null));
+                parser.skipChildren();
+            }
+        }
+
+        /**
+         * Read the <code>extensions</code> of a {@link GlTFProperty}
+         *
+         * @return The extensions
+         * @throws IOException If an IO error occurs
+         */
+        @SuppressWarnings("unchecked")
+        private Map<String, Object> readExtensions() throws IOException
+        {
+            if (isNull())
+            {
+                return null;
+            }
+            requireStartObject();
+            return (Map<String, Object>) readBound(Object.class);
+        }
+
+        /**
+         * Read an object of the given type with data binding
+         *
+         * @param <T> The type
+         * @param type The type
+         * @return The object
+         * @throws IOException If an IO error occurs
+         */
+        private <T> T readBound(Class<T> type) throws IOException
+        {
+            ObjectReader objectReader = objectReaders.computeIfAbsent(
+                type, t -> JacksonUtils.getObjectReader(t, jsonErrors::add));
+            return objectReader.readValue(parser);
+        }
+
+        /**
+         * Read a list of values. Like the data binding, this will accept
+         * a single value instead of an array.
+         *
+         * @param <T> The element type
+         * @param elementReader The reader for the elements
+         * @return The list
+         * @throws IOException If an IO error occurs
+         */
+        private <T> List<T> readList(ValueReader<T> elementReader)
+            throws IOException
+        {
+            if (isNull())
+            {
+                return null;
+            }
+            List<T> list = new ArrayList<T>();
+            if (parser.currentToken() != JsonToken.START_ARRAY)
+            {
+                list.add(elementReader.read());
+                return list;
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY)
+            {
+                requireNonNull();
+                list.add(elementReader.read());
+            }
+            return list;
+        }
+
+        /**
+         * Read a map from strings to integer values
+         *
+         * @return The map
+         * @throws IOException If an IO error occurs
+         */
+        private Map<String, Integer> readIntegerMap() throws IOException
+        {
+            if (isNull())
+            {
+                return null;
+            }
+            requireStartObject();
+            Map<String, Integer> map = new LinkedHashMap<String, Integer>();
+            while (nextField())
+            {
+                String name = parser.currentName();
+                parser.nextToken();
+                requireNonNull();
+                map.put(name, readInteger());
+            }
+            return map;
+        }
+
+        /**
+         * Read an array of numbers. The numbers will be the same as the
+         * ones that are created by the data binding, namely integral
+         * types for integral values, and <code>Double</code> otherwise.
+         *
+         * @return The array
+         * @throws IOException If an IO error occurs
+         */
+        private Number[] readNumberArray() throws IOException
+        {
+            if (isNull())
+            {
+                return null;
+            }
+            if (parser.currentToken() != JsonToken.START_ARRAY)
+            {
+                requireNumber();
+                return new Number[] { parser.getNumberValue() };
+            }
+            Number array[] = new Number[16];
+            int size = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY)
+            {
+                requireNumber();
+                if (size == array.length)
+                {
+                    array = Arrays.copyOf(array, size * 2);
+                }
+                array[size++] = parser.getNumberValue();
+            }
+            return Arrays.copyOf(array, size);
+        }
+
+        /**
+         * Read an array of float values
+         *
+         * @return The array
+         * @throws IOException If an IO error occurs
+         */
+        private float[] readFloatArray() throws IOException
+        {
+            if (isNull())
+            {
+                return null;
+            }
+            if (parser.currentToken() != JsonToken.START_ARRAY)
+            {
+                return new float[] { readFloat() };
+            }
+            float array[] = new float[16];
+            int size = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY)
+            {
+                if (size == array.length)
+                {
+                    array = Arrays.copyOf(array, size * 2);
+                }
+                array[size++] = readFloat();
+            }
+            return Arrays.copyOf(array, size);
+        }
+
+        /**
+         * Read a float value
+         *
+         * @return The value
+         * @throws IOException If an IO error occurs
+         */
+        private Float readFloat() throws IOException
+        {
+            requireNumber();
+            return parser.getFloatValue();
+        }
+
+        /**
+         * Read an integer value
+         *
+         * @return The value
+         * @throws IOException If an IO error occurs
+         */
+        private Integer readInteger() throws IOException
+        {
+            if (isNull())
+            {
+                return null;
+            }
+            if (parser.currentToken() != JsonToken.VALUE_NUMBER_INT ||
+                parser.getNumberType() != NumberType.INT)
+            {
+                throw unsupported("integer");
+            }
+            return parser.getIntValue();
+        }
+
+        /**
+         * Read a boolean value
+         *
+         * @return The value
+         * @throws IOException If an IO error occurs
+         */
+        private Boolean readBoolean() throws IOException
+        {
+            if (isNull())
+            {
+                return null;
+            }
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.VALUE_TRUE)
+            {
+                return Boolean.TRUE;
+            }
+            if (token == JsonToken.VALUE_FALSE)
+            {
+                return Boolean.FALSE;
+            }
+            throw unsupported("boolean");
+        }
+
+        /**
+         * Read a string value
+         *
+         * @return The value
+         * @throws IOException If an IO error occurs
+         */
+        private String readString() throws IOException
+        {
+            if (isNull())
+            {
+                return null;
+            }
+            if (parser.currentToken() != JsonToken.VALUE_STRING)
+            {
+                throw unsupported("string");
+            }
+            return parser.getText();
+        }
+
+        /**
+         * Pass the given value to the given setter. If the setter throws
+         * an exception, then this is reported as a {@link JsonError},
+         * like in the data binding.
+         *
+         * @param <T> The value type
+         * @param setter The setter
+         * @param value The value
+         */
+        private <T> void set(Consumer<T> setter, T value)
+        {
+            try
+            {
+                setter.accept(value);
+            }
+            catch (RuntimeException e)
+            {
+                jsonErrors.add(new JsonError(
+                    e.getMessage(), parser.getParsingContext(), e));
+            }
+        }
+
+        /**
+         * Move to the next token, and return whether this is a field name
+         *
+         * @return Whether the next token is a field name
+         * @throws IOException If an IO error occurs
+         */
+        private boolean nextField() throws IOException
+        {
+            return parser.nextToken() == JsonToken.FIELD_NAME;
+        }
+
+        /**
+         * Returns whether the current token is a <code>null</code> value
+         *
+         * @return Whether the current token is <code>null</code>
+         */
+        private boolean isNull()
+        {
+            return parser.currentToken() == JsonToken.VALUE_NULL;
+        }
+
+        /**
+         * Make sure that the current token is the start of an object
+         *
+         * @throws UnsupportedContentException If this is not the case
+         */
+        private void requireStartObject() throws UnsupportedContentException
+        {
+            if (parser.currentToken() != JsonToken.START_OBJECT)
+            {
+                throw unsupported("object");
+            }
+        }
+
+        /**
+         * Make sure that the current token is a number
+         *
+         * @throws UnsupportedContentException If this is not the case
+         */
+        private void requireNumber() throws UnsupportedContentException
+        {
+            if (!parser.currentToken().isNumeric())
+            {
+                throw unsupported("number");
+            }
+        }
+
+        /**
+         * Make sure that the current token is not a <code>null</code> value.
+         * The data binding would insert <code>null</code> elements into
+         * lists, which is not handled here.
+         *
+         * @throws UnsupportedContentException If this is not the case
+         */
+        private void requireNonNull() throws UnsupportedContentException
+        {
+            if (isNull())
+            {
+                throw unsupported("non-null value");
+            }
+        }
+
+        /**
+         * Create an exception indicating that the current token was not
+         * the expected one
+         *
+         * @param expected A description of the expected token
+         * @return The exception
+         */
+        private UnsupportedContentException unsupported(String expected)
+        {
+            return new UnsupportedContentException("Expected " + expected
+                + ", but found " + parser.currentToken() + " at "
+                + parser.getParsingContext().pathAsPointer());
+        }
+    }
+}
@@ -29,8 +29,7 @@ package de.javagl.jgltf.model.io;
 import java.io.IOException;
 import java.io.OutputStream;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 /**
  * A class for writing a glTF as JSON
@@ -82,12 +81,8 @@ public final class GltfWriter
     public void write(Object gltf, OutputStream outputStream) 
         throws IOException 
     {
-        ObjectMapper objectMapper = JacksonUtils.createObjectMapper();
-        if (indenting)
-        {
-            objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
-        }
-        objectMapper.writeValue(outputStream, gltf);
+        ObjectWriter objectWriter = JacksonUtils.getObjectWriter(indenting);
+        objectWriter.writeValue(outputStream, gltf);
     }
     
 }
@@ -37,15 +37,33 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.Channels;
+import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * IO utility methods
  */
 public class IO
 {
+    /**
+     * The values of the base64 characters, indexed by the character,
+     * and -1 for characters that are not part of the base64 alphabet
+     */
+    private static final int BASE64_VALUES[] = createBase64Values();
+    
     /**
      * Convert the given URI string into an absolute URI, resolving it
      * against the given base URI if necessary
@@ -134,6 +152,20 @@ public class IO
     {
         return path.getParent();
     }
+    
+    /**
+     * Returns whether the given path belongs to the default file system.
+     * Paths in other file systems, like the zip file system, in general 
+     * do not support memory mapping or asynchronous channels, and can 
+     * not be converted into URLs that can be opened.
+     * 
+     * @param path The path
+     * @return Whether the path belongs to the default file system
+     */
+    static boolean isDefaultFileSystem(Path path)
+    {
+        return path.getFileSystem() == FileSystems.getDefault();
+    }
 
     /**
      * Returns whether the given URI is a data URI. 
@@ -159,6 +191,12 @@ public class IO
         {
             return false;
         }
+        // Avoid parsing (and thereby copying) the whole string when 
+        // it does not even start with the scheme
+        if (!uriString.regionMatches(true, 0, "data:", 0, 5))
+        {
+            return false;
+        }
         try
         {
             URI uri = new URI(uriString);
@@ -291,6 +329,10 @@ public class IO
      */
     public static InputStream createInputStream(Path path) throws IOException
     {
+        if (!isDefaultFileSystem(path))
+        {
+            return Files.newInputStream(path);
+        }
         if ("data".equalsIgnoreCase(path.toUri().getScheme()))
         {
             byte data[] = readDataUri(path.toUri().toString());
@@ -337,6 +379,112 @@ public class IO
      * Base64 encoded data URI string
      */
     public static byte[] readDataUri(String uriString)
+    {
+        int contentStartIndex = computeDataUriContentStartIndex(uriString);
+        byte data[] = Base64.getDecoder().decode(
+            uriString.substring(contentStartIndex));
+        return data;
+    }
+    
+    /**
+     * Read the base 64 encoded data from the given data URI string, and
+     * return it as a direct byte buffer with little-endian byte order.
+     * The data is assumed to start after the <code>base64,</code> part
+     * of the URI string, which must have the form 
+     * <code>data:...;base64,...</code><br>
+     * <br>
+     * In contrast to {@link #readDataUri(String)}, this method decodes
+     * the characters of the given string directly into a buffer of the
+     * required size. Apart from small, fixed-size temporary arrays, it 
+     * does not create copies of the string or the data on the heap.
+     * 
+     * @param uriString The URI string
+     * @return The byte buffer containing the data
+     * @throws IllegalArgumentException If the given string is not a valid
+     * Base64 encoded data URI string
+     */
+    public static ByteBuffer readDataUriAsBuffer(String uriString)
+    {
+        int contentStartIndex = computeDataUriContentStartIndex(uriString);
+        int contentEndIndex = uriString.length();
+        int padding = 0;
+        while (padding < 2 && contentEndIndex > contentStartIndex
+            && uriString.charAt(contentEndIndex - 1) == '=')
+        {
+            contentEndIndex--;
+            padding++;
+        }
+        int numChars = contentEndIndex - contentStartIndex;
+        int remainder = numChars % 4;
+        if (remainder == 1 || (padding > 0 && remainder + padding != 4))
+        {
+            throw new IllegalArgumentException(
+                "Invalid length of base64 encoded data: " + numChars
+                + " characters with " + padding + " padding characters");
+        }
+        int numFullQuanta = numChars / 4;
+        int size = numFullQuanta * 3 + Math.max(0, remainder - 1);
+        ByteBuffer buffer = Buffers.create(size);
+        
+        // Decode the characters in chunks, each of which is copied into
+        // a small array, and write the resulting bytes into the buffer
+        int quantaPerChunk = 4096;
+        char chars[] = new char[quantaPerChunk * 4];
+        byte bytes[] = new byte[quantaPerChunk * 3];
+        int index = contentStartIndex;
+        int remainingQuanta = numFullQuanta;
+        while (remainingQuanta > 0)
+        {
+            int quanta = Math.min(quantaPerChunk, remainingQuanta);
+            uriString.getChars(index, index + quanta * 4, chars, 0);
+            int c = 0;
+            int b = 0;
+            for (int q = 0; q < quanta; q++)
+            {
+                int bits = 
+                    (decodeBase64(chars[c    ], index + c    ) << 18) |
+                    (decodeBase64(chars[c + 1], index + c + 1) << 12) |
+                    (decodeBase64(chars[c + 2], index + c + 2) <<  6) |
+                    (decodeBase64(chars[c + 3], index + c + 3));
+                c += 4;
+                bytes[b++] = (byte) (bits >> 16);
+                bytes[b++] = (byte) (bits >> 8);
+                bytes[b++] = (byte) bits;
+            }
+            buffer.put(bytes, 0, b);
+            index += c;
+            remainingQuanta -= quanta;
+        }
+        if (remainder > 1)
+        {
+            int bits = 
+                (decodeBase64(uriString.charAt(index), index) << 18) |
+                (decodeBase64(uriString.charAt(index + 1), index + 1) << 12);
+            if (remainder == 3)
+            {
+                bits |= 
+                    decodeBase64(uriString.charAt(index + 2), index + 2) << 6;
+            }
+            buffer.put((byte) (bits >> 16));
+            if (remainder == 3)
+            {
+                buffer.put((byte) (bits >> 8));
+            }
+        }
+        Buffers.flip(buffer);
+        return buffer;
+    }
+    
+    /**
+     * Returns the index of the first character after the 
+     * <code>base64,</code> part of the given data URI string
+     * 
+     * @param uriString The URI string
+     * @return The index
+     * @throws IllegalArgumentException If the given string does not 
+     * contain the <code>base64,</code> part
+     */
+    private static int computeDataUriContentStartIndex(String uriString)
     {
         String encoding = "base64,";
         int encodingIndex = uriString.indexOf(encoding);
@@ -346,10 +494,47 @@ public class IO
                 "The given URI string is not a base64 encoded "
                 + "data URI string: " + uriString);
         }
-        int contentStartIndex = encodingIndex + encoding.length();
-        byte data[] = Base64.getDecoder().decode(
-            uriString.substring(contentStartIndex));
-        return data;
+        return encodingIndex + encoding.length();
+    }
+    
+    /**
+     * Returns the 6-bit value of the given base64 character
+     * 
+     * @param c The character
+     * @param index The index of the character in the input, only used
+     * for the error message
+     * @return The value
+     * @throws IllegalArgumentException If the character is not a valid
+     * base64 character
+     */
+    private static int decodeBase64(char c, int index)
+    {
+        int value = c < BASE64_VALUES.length ? BASE64_VALUES[c] : -1;
+        if (value < 0)
+        {
+            throw new IllegalArgumentException(
+                "Illegal base64 character " + Integer.toHexString(c) 
+                + " at index " + index);
+        }
+        return value;
+    }
+    
+    /**
+     * Creates the array of base64 values
+     * 
+     * @return The array
+     */
+    private static int[] createBase64Values()
+    {
+        String alphabet = 
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        int values[] = new int[128];
+        Arrays.fill(values, -1);
+        for (int i = 0; i < alphabet.length(); i++)
+        {
+            values[alphabet.charAt(i)] = i;
+        }
+        return values;
     }
     
     /**
@@ -449,6 +634,200 @@ public class IO
     }
     
     
+    /**
+     * Read from the given channel, writing into the given buffer, until
+     * the buffer has no remaining space. The caller is responsible for
+     * closing the given channel.
+     * 
+     * @param channel The channel
+     * @param buffer The buffer to write the data to
+     * @throws IOException If an IO error occurs, or the end of the channel
+     * was encountered before the buffer was filled, or if the thread that
+     * executes this method is interrupted.
+     */
+    public static void read(ReadableByteChannel channel, ByteBuffer buffer) 
+        throws IOException
+    {
+        while (buffer.hasRemaining())
+        {
+            int read = channel.read(buffer);
+            if (read == -1)
+            {
+                throw new IOException(
+                    "Could not read " + buffer.remaining() + " more bytes");
+            }
+            if (Thread.currentThread().isInterrupted())
+            {
+                throw new IOException("Interrupted while reading channel",
+                    new InterruptedException());
+            }
+        }
+    }
+    
+    /**
+     * Read the contents of the file with the given path into a direct 
+     * byte buffer with little-endian byte order.<br>
+     * <br>
+     * The size of the file is determined first, so that the data is read
+     * directly into a buffer of the required size. Paths that do not 
+     * belong to the default file system are read from the input stream
+     * of their file system provider. For the zip file system, this means 
+     * that the data of stored (uncompressed) entries is read directly from 
+     * the archive, and compressed entries are decompressed while they are
+     * read, without creating an intermediate copy of the entry.
+     * 
+     * @param path The path
+     * @return The byte buffer
+     * @throws IOException If an IO error occurs, or the size of the file
+     * is larger than <code>Integer.MAX_VALUE</code>
+     */
+    public static ByteBuffer readToBuffer(Path path) throws IOException
+    {
+        long size = Files.size(path);
+        if (size > Integer.MAX_VALUE)
+        {
+            throw new IOException("The file " + path + " is too large: "
+                + size + " bytes");
+        }
+        ByteBuffer buffer = Buffers.create((int) size);
+        try (ReadableByteChannel channel = isDefaultFileSystem(path) ?
+            FileChannel.open(path, StandardOpenOption.READ) :
+            Channels.newChannel(Files.newInputStream(path)))
+        {
+            read(channel, buffer);
+        }
+        Buffers.flip(buffer);
+        return buffer;
+    }
+    
+    /**
+     * Read the contents of the file with the given path asynchronously,
+     * using an <code>AsynchronousFileChannel</code>.<br>
+     * <br>
+     * The returned future will be completed with a direct byte buffer
+     * (with little-endian byte order) that contains the file contents,
+     * or exceptionally if the file cannot be read. No thread is blocked
+     * while the data is read. The completion happens in a thread of the
+     * default thread pool of asynchronous channels, so callers should 
+     * use the <code>...Async</code> methods of the future for anything
+     * that is not trivial.<br>
+     * <br>
+     * Paths that do not belong to the default file system, like paths
+     * in the zip file system, do not support asynchronous channels. 
+     * These are read with {@link #readToBuffer(Path)}, in a task of the
+     * common pool.
+     * 
+     * @param path The path
+     * @return The future that provides the file contents
+     */
+    public static CompletableFuture<ByteBuffer> readAsync(Path path)
+    {
+        if (!isDefaultFileSystem(path))
+        {
+            return CompletableFuture.supplyAsync(() -> 
+            {
+                try
+                {
+                    return readToBuffer(path);
+                }
+                catch (IOException e)
+                {
+                    throw new CompletionException(e);
+                }
+            });
+        }
+        CompletableFuture<ByteBuffer> result = 
+            new CompletableFuture<ByteBuffer>();
+        AsynchronousFileChannel channel = null;
+        try
+        {
+            channel = AsynchronousFileChannel.open(
+                path, StandardOpenOption.READ);
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE)
+            {
+                throw new IOException("The file " + path + " is too large: "
+                    + size + " bytes");
+            }
+            ByteBuffer buffer = Buffers.create((int) size);
+            readAsync(channel, buffer, 0, result);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            tryClose(channel);
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+    
+    /**
+     * Read the remaining bytes of the given buffer from the given channel,
+     * starting at the given position, and complete the given future with
+     * the (flipped) buffer when it was filled. The channel will be closed 
+     * when reading is finished or failed.
+     * 
+     * @param channel The channel
+     * @param buffer The buffer
+     * @param position The position in the channel
+     * @param result The future to complete
+     */
+    private static void readAsync(AsynchronousFileChannel channel, 
+        ByteBuffer buffer, long position, CompletableFuture<ByteBuffer> result)
+    {
+        if (!buffer.hasRemaining())
+        {
+            tryClose(channel);
+            Buffers.flip(buffer);
+            result.complete(buffer);
+            return;
+        }
+        channel.read(buffer, position, null, 
+            new CompletionHandler<Integer, Void>()
+        {
+            @Override
+            public void completed(Integer read, Void attachment)
+            {
+                if (read < 0)
+                {
+                    tryClose(channel);
+                    result.completeExceptionally(new IOException(
+                        "Could not read " + buffer.remaining() 
+                        + " more bytes"));
+                    return;
+                }
+                readAsync(channel, buffer, position + read, result);
+            }
+
+            @Override
+            public void failed(Throwable t, Void attachment)
+            {
+                tryClose(channel);
+                result.completeExceptionally(t);
+            }
+        });
+    }
+    
+    /**
+     * Try to close the given channel, ignoring any exception
+     * 
+     * @param channel The channel. May be <code>null</code>.
+     */
+    private static void tryClose(AsynchronousFileChannel channel)
+    {
+        if (channel == null)
+        {
+            return;
+        }
+        try
+        {
+            channel.close();
+        }
+        catch (IOException e)
+        {
+            // Ignored
+        }
+    }
+    
     /**
      * Private constructor to prevent instantiation
      */
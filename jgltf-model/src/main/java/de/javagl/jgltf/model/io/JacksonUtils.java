@@ -30,12 +30,15 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.StreamReadConstraints;
 import com.fasterxml.jackson.databind.BeanDescription;
 import com.fasterxml.jackson.databind.DeserializationConfig;
 import com.fasterxml.jackson.databind.DeserializationContext;
@@ -43,6 +46,9 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.deser.BeanDeserializerBuilder;
 import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
 import com.fasterxml.jackson.databind.deser.DeserializationProblemHandler;
@@ -76,11 +82,93 @@ public class JacksonUtils
         }
     };
     
+    /**
+     * A consumer for {@link JsonError}s that ignores all errors
+     */
+    private static final Consumer<JsonError> IGNORING_JSON_ERROR_CONSUMER =
+        new Consumer<JsonError>()
+    {
+        @Override
+        public void accept(JsonError jsonError)
+        {
+            // Errors are ignored
+        }
+    };
+    
+    /**
+     * The key of the context attribute that may store the consumer for
+     * {@link JsonError}s in the <code>DeserializationContext</code>. 
+     * This allows passing the consumer to a single read operation of
+     * an object reader, instead of configuring it in the object mapper.
+     */
+    private static final String JSON_ERROR_CONSUMER_ATTRIBUTE_KEY = 
+        JacksonUtils.class.getName() + ".jsonErrorConsumer";
+    
+    /**
+     * The object mapper that is the basis for the shared object readers
+     * and object writers. It will receive the {@link JsonError} consumer
+     * from the context attribute that is set in the object readers. 
+     * This object mapper may not be modified after its creation.
+     */
+    private static final ObjectMapper SHARED_OBJECT_MAPPER = 
+        createObjectMapper(loggingJsonErrorConsumer());
+    
+    /**
+     * The object mapper that is used for {@link #convertValue} calls. 
+     * The {@link JsonError}s that occur during these conversions are
+     * ignored. This object mapper may not be modified after its creation.
+     */
+    private static final ObjectMapper CONVERTING_OBJECT_MAPPER = 
+        createObjectMapper(IGNORING_JSON_ERROR_CONSUMER);
+    
+    /**
+     * The shared object readers for the different value types
+     */
+    private static final Map<Class<?>, ObjectReader> SHARED_OBJECT_READERS =
+        new ConcurrentHashMap<Class<?>, ObjectReader>();
+
+    /**
+     * The shared object writer that does not indent the output
+     */
+    private static final ObjectWriter SHARED_OBJECT_WRITER = 
+        SHARED_OBJECT_MAPPER.writer();
+    
+    /**
+     * The shared object writer that indents the output
+     */
+    private static final ObjectWriter SHARED_INDENTING_OBJECT_WRITER = 
+        SHARED_OBJECT_MAPPER.writer(SerializationFeature.INDENT_OUTPUT);
+    
+    /**
+     * Returns the consumer for {@link JsonError}s that should be used in
+     * the given context. If the consumer was passed to the context as
+     * an attribute, then this consumer is returned. Otherwise, the
+     * given default consumer is returned.
+     * 
+     * @param ctxt The context
+     * @param defaultJsonErrorConsumer The default consumer
+     * @return The consumer. This may be <code>null</code> if the given 
+     * default consumer is <code>null</code>
+     */
+    @SuppressWarnings("unchecked")
+    static Consumer<? super JsonError> getJsonErrorConsumer(
+        DeserializationContext ctxt, 
+        Consumer<? super JsonError> defaultJsonErrorConsumer)
+    {
+        Object attribute = ctxt.getAttribute(JSON_ERROR_CONSUMER_ATTRIBUTE_KEY);
+        if (attribute != null)
+        {
+            return (Consumer<? super JsonError>) attribute;
+        }
+        return defaultJsonErrorConsumer;
+    }
+    
     /**
      * Create a DeserializationProblemHandler that may be added to an
      * ObjectMapper, and will handle unknown properties by forwarding 
      * the error information to the given consumer, if it is not 
-     * <code>null</code>
+     * <code>null</code>. If a consumer is passed to the context
+     * of a read operation, then this consumer is used instead.
      * 
      * @param jsonErrorConsumer The consumer for {@link JsonError}s
      * @return The problem handler
@@ -98,9 +186,11 @@ public class JacksonUtils
                 String propertyName) 
                     throws IOException, JsonProcessingException
             {
-                if (jsonErrorConsumer != null)
+                Consumer<? super JsonError> consumer = 
+                    getJsonErrorConsumer(ctxt, jsonErrorConsumer);
+                if (consumer != null)
                 {
-                    jsonErrorConsumer.accept(new JsonError(
+                    consumer.accept(new JsonError(
                         "Unknown property: " + propertyName, 
                         jp.getParsingContext(), null));
                 }
@@ -115,7 +205,8 @@ public class JacksonUtils
      * SettableBeanProperties in the BeanDeserializerBuilder with
      * ErrorReportingSettableBeanProperty instances that forward
      * information about errors when setting bean properties to the
-     * given consumer. (Don't ask ... )  
+     * given consumer (or to the consumer that is passed to the context
+     * of a read operation). (Don't ask ... )  
      * 
      * @param jsonErrorConsumer The consumer for {@link JsonError}s.
      * If this is <code>null</code>, then no errors will be reported.
@@ -206,6 +297,13 @@ public class JacksonUtils
         objectMapper.configure(
             DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         
+        // Embedded glTF assets may contain data URIs that are much larger
+        // than the default maximum string length of the parser
+        objectMapper.getFactory().setStreamReadConstraints(
+            StreamReadConstraints.builder()
+                .maxStringLength(Integer.MAX_VALUE)
+                .build());
+        
         objectMapper.addHandler(
             createDeserializationProblemHandler(jsonErrorConsumer));
 
@@ -235,6 +333,76 @@ public class JacksonUtils
 
     }
     
+    /**
+     * Returns an object reader for the given value type that is configured
+     * for parsing glTF data, and that passes {@link JsonError}s to the
+     * given consumer.<br>
+     * <br>
+     * The object readers are derived from a shared object mapper, and 
+     * cached for each value type. So obtaining an object reader is cheap, 
+     * and the costs for creating the deserializers for the value type 
+     * only have to be paid once. The returned object reader is immutable
+     * and thread-safe.
+     * 
+     * @param valueType The value type, for example, 
+     * {@link de.javagl.jgltf.impl.v2.GlTF}
+     * @param jsonErrorConsumer The consumer for {@link JsonError}s. If this 
+     * is <code>null</code>, then the errors will not be handled.
+     * @return The object reader
+     */
+    public static ObjectReader getObjectReader(Class<?> valueType,
+        Consumer<? super JsonError> jsonErrorConsumer)
+    {
+        ObjectReader objectReader = SHARED_OBJECT_READERS.computeIfAbsent(
+            valueType, t -> SHARED_OBJECT_MAPPER.readerFor(t));
+        Consumer<? super JsonError> consumer = jsonErrorConsumer;
+        if (consumer == null)
+        {
+            consumer = IGNORING_JSON_ERROR_CONSUMER;
+        }
+        return objectReader.withAttribute(
+            JSON_ERROR_CONSUMER_ATTRIBUTE_KEY, consumer);
+    }
+    
+    /**
+     * Returns an object writer that is configured for writing glTF data.<br>
+     * <br>
+     * The object writers are derived from a shared object mapper. The
+     * returned object writer is immutable and thread-safe.
+     * 
+     * @param indenting Whether the output should be indented
+     * @return The object writer
+     */
+    public static ObjectWriter getObjectWriter(boolean indenting)
+    {
+        if (indenting)
+        {
+            return SHARED_INDENTING_OBJECT_WRITER;
+        }
+        return SHARED_OBJECT_WRITER;
+    }
+    
+    /**
+     * Convert the given object into an object of the given type, using
+     * an object mapper that is configured for glTF data.<br>
+     * <br>
+     * This is mainly used for converting the extension objects that are 
+     * stored as maps into instances of the extension classes. The errors
+     * that occur during the conversion, like unknown properties or values
+     * with wrong types, are ignored. Errors that cause the conversion to 
+     * fail will cause an <code>IllegalArgumentException</code>.
+     * 
+     * @param <T> The target type
+     * @param object The object
+     * @param type The target type
+     * @return The result
+     * @throws IllegalArgumentException If the conversion failed
+     */
+    public static <T> T convertValue(Object object, Class<T> type)
+    {
+        return CONVERTING_OBJECT_MAPPER.convertValue(object, type);
+    }
+    
     /**
      * Read a Jackson JSON node from the given JSON data
      * 
@@ -244,11 +412,12 @@ public class JacksonUtils
      */
     public static JsonNode readJson(ByteBuffer jsonData) throws IOException
     {
-        ObjectMapper objectMapper = createObjectMapper();
+        ObjectReader objectReader = 
+            getObjectReader(JsonNode.class, loggingJsonErrorConsumer());
         try (InputStream jsonInputStream =
             Buffers.createByteBufferInputStream(jsonData))
         {
-            return objectMapper.readTree(jsonInputStream);
+            return objectReader.readTree(jsonInputStream);
         }
     }
     
@@ -0,0 +1,208 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.jgltf.model.io;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Implementation of a {@link GltfLoadListener} that commits Java Flight
+ * Recorder events.<br>
+ * <br>
+ * The library is compiled for Java 8, where the <code>jdk.jfr</code> 
+ * API is not part of the platform. Therefore, the event type is defined 
+ * dynamically with the <code>jdk.jfr.EventFactory</code>, and all JFR 
+ * classes are accessed via reflection.
+ */
+class JfrGltfLoadListener implements GltfLoadListener
+{
+    /**
+     * The logger used in this class
+     */
+    private static final Logger logger = 
+        Logger.getLogger(JfrGltfLoadListener.class.getName());
+    
+    /**
+     * The name of the events
+     */
+    static final String EVENT_NAME = "de.javagl.jgltf.LoadPhase";
+    
+    /**
+     * The <code>jdk.jfr.EventFactory</code> for the events
+     */
+    private final Object eventFactory;
+    
+    /**
+     * The <code>EventFactory#newEvent</code> method
+     */
+    private final Method newEventMethod;
+    
+    /**
+     * The <code>Event#shouldCommit</code> method
+     */
+    private final Method shouldCommitMethod;
+    
+    /**
+     * The <code>Event#set</code> method
+     */
+    private final Method setMethod;
+    
+    /**
+     * The <code>Event#commit</code> method
+     */
+    private final Method commitMethod;
+    
+    /**
+     * Creates a new instance
+     * 
+     * @throws ReflectiveOperationException If the JFR classes cannot be
+     * accessed
+     */
+    private JfrGltfLoadListener() throws ReflectiveOperationException
+    {
+        List<Object> eventAnnotations = Arrays.asList(
+            createAnnotation("Name", EVENT_NAME),
+            createAnnotation("Label", "glTF Load Phase"),
+            createAnnotation("Category", new String[] { "JglTF" }),
+            createAnnotation("Description", 
+                "A completed phase of loading a glTF model"),
+            createAnnotation("StackTrace", false));
+        
+        // Since the phase is reported after it was completed, the duration 
+        // of the phase is stored as a field of the event.
+        List<Object> fields = Arrays.asList(
+            createField(String.class, "phase", 
+                createAnnotation("Label", "Phase")),
+            createField(long.class, "phaseDuration", 
+                createAnnotation("Label", "Phase Duration"),
+                createAnnotation("Timespan", "NANOSECONDS")),
+            createField(long.class, "byteCount", 
+                createAnnotation("Label", "Bytes"),
+                createAnnotation("DataAmount", "BYTES")),
+            createField(long.class, "elementCount", 
+                createAnnotation("Label", "Elements")));
+        
+        Class<?> eventFactoryClass = Class.forName("jdk.jfr.EventFactory");
+        Method createMethod = 
+            eventFactoryClass.getMethod("create", List.class, List.class);
+        this.eventFactory = 
+            createMethod.invoke(null, eventAnnotations, fields);
+        this.newEventMethod = eventFactoryClass.getMethod("newEvent");
+        
+        Class<?> eventClass = Class.forName("jdk.jfr.Event");
+        this.shouldCommitMethod = eventClass.getMethod("shouldCommit");
+        this.setMethod = eventClass.getMethod("set", int.class, Object.class);
+        this.commitMethod = eventClass.getMethod("commit");
+    }
+    
+    /**
+     * Creates a new instance, or returns <code>null</code> if the 
+     * <code>jdk.jfr</code> module is not available
+     * 
+     * @return The listener
+     */
+    static JfrGltfLoadListener create()
+    {
+        try
+        {
+            return new JfrGltfLoadListener();
+        }
+        catch (ReflectiveOperationException | LinkageError e)
+        {
+            logger.warning("Java Flight Recorder is not available: " + e);
+            return null;
+        }
+    }
+    
+    /**
+     * Creates a <code>jdk.jfr.AnnotationElement</code> for the annotation
+     * with the given simple name from the <code>jdk.jfr</code> package
+     * 
+     * @param name The simple name of the annotation type
+     * @param value The value of the annotation
+     * @return The annotation element
+     * @throws ReflectiveOperationException If the JFR classes cannot be
+     * accessed
+     */
+    private static Object createAnnotation(String name, Object value) 
+        throws ReflectiveOperationException
+    {
+        Class<?> annotationElementClass = 
+            Class.forName("jdk.jfr.AnnotationElement");
+        Constructor<?> constructor = 
+            annotationElementClass.getConstructor(Class.class, Object.class);
+        Class<?> annotationType = Class.forName("jdk.jfr." + name);
+        return constructor.newInstance(annotationType, value);
+    }
+    
+    /**
+     * Creates a <code>jdk.jfr.ValueDescriptor</code> for a field of the 
+     * events
+     * 
+     * @param type The type of the field
+     * @param name The name of the field
+     * @param annotations The annotation elements of the field
+     * @return The value descriptor
+     * @throws ReflectiveOperationException If the JFR classes cannot be
+     * accessed
+     */
+    private static Object createField(Class<?> type, String name, 
+        Object ... annotations) throws ReflectiveOperationException
+    {
+        Class<?> valueDescriptorClass = 
+            Class.forName("jdk.jfr.ValueDescriptor");
+        Constructor<?> constructor = valueDescriptorClass.getConstructor(
+            Class.class, String.class, List.class);
+        return constructor.newInstance(type, name, Arrays.asList(annotations));
+    }
+    
+    @Override
+    public void phaseCompleted(GltfLoadPhase phase, 
+        long durationNs, long byteCount, long elementCount)
+    {
+        try
+        {
+            Object event = newEventMethod.invoke(eventFactory);
+            if ((Boolean) shouldCommitMethod.invoke(event))
+            {
+                setMethod.invoke(event, 0, phase.name());
+                setMethod.invoke(event, 1, durationNs);
+                setMethod.invoke(event, 2, byteCount);
+                setMethod.invoke(event, 3, elementCount);
+                commitMethod.invoke(event);
+            }
+        }
+        catch (IllegalAccessException | InvocationTargetException e)
+        {
+            logger.warning("Could not commit event: " + e);
+        }
+    }
+}
@@ -28,16 +28,23 @@ package de.javagl.jgltf.model.io;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.PushbackInputStream;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 import de.javagl.jgltf.model.io.v1.RawBinaryGltfDataReaderV1;
 import de.javagl.jgltf.model.io.v2.RawBinaryGltfDataReaderV2;
 
 /**
- * A class for reading the raw data of a glTF asset from an input stream.
- * The given stream may provide any form of glTF data:
+ * A class for reading the raw data of a glTF asset from an input stream,
+ * a file, or a byte buffer. The input may provide any form of glTF data:
  * <ul>
  *   <li>glTF 1.0 JSON data</li>
  *   <li>glTF 2.0 JSON data</li>
@@ -68,9 +75,26 @@ public class RawGltfDataReader
      */
     private static final int BINARY_GLTF_VERSION_2 = 2;
 
+    /**
+     * The number of bytes that are read from an input stream in order to
+     * detect whether it contains binary glTF data. This covers the magic
+     * header, the version, and the total length.
+     */
+    private static final int BINARY_GLTF_PREFIX_LENGTH = 12;
+
     /**
      * Read the raw glTF data from the given input stream. The caller is
-     * responsible for closing the given stream.
+     * responsible for closing the given stream.<br>
+     * <br>
+     * For binary glTF, the data will be read directly from the stream into
+     * buffers that have the size that is declared in the binary glTF 
+     * header (or in the chunk headers, for binary glTF 2.0), without 
+     * buffering the whole stream. The stream will not be read beyond 
+     * the declared length of the binary glTF data.<br>
+     * <br>
+     * If the stream contains GZIP- or ZLIB-compressed data, then the data
+     * will be decompressed while it is read. The supported formats are 
+     * listed in {@link GltfCompression}.
      * 
      * @param inputStream The input stream
      * @return The {@link RawGltfData}
@@ -78,32 +102,221 @@ public class RawGltfDataReader
      */
     public static RawGltfData read(InputStream inputStream) throws IOException
     {
-        byte rawData[] = IO.readStream(inputStream);
-        if (rawData.length >= 8)
+        PushbackInputStream pushbackInputStream = 
+            new PushbackInputStream(inputStream, BINARY_GLTF_PREFIX_LENGTH);
+        byte prefix[] = new byte[BINARY_GLTF_PREFIX_LENGTH];
+        int prefixLength = readPrefix(pushbackInputStream, prefix);
+        pushbackInputStream.unread(prefix, 0, prefixLength);
+        ByteBuffer prefixData = ByteBuffer.wrap(prefix, 0, prefixLength)
+            .slice().order(ByteOrder.LITTLE_ENDIAN);
+        GltfCompression compression = GltfCompression.detect(prefixData);
+        if (compression != GltfCompression.NONE)
+        {
+            // Closing the decompressing stream releases the resources
+            // of the decompression, but does not close the given stream
+            try (InputStream decompressingInputStream = 
+                compression.createInputStream(pushbackInputStream))
+            {
+                return read(decompressingInputStream);
+            }
+        }
+        if (isBinaryGltf(prefixData))
         {
-            ByteBuffer data = 
-                ByteBuffer.wrap(rawData).order(ByteOrder.LITTLE_ENDIAN);
-            IntBuffer intData = data.asIntBuffer();
-            int magic = intData.get(0);
-            if (magic == MAGIC_BINARY_GLTF_HEADER)
+            int version = prefixData.getInt(4);
+            if (version == BINARY_GLTF_VERSION_1)
             {
-                int version = intData.get(1);
-                if (version == BINARY_GLTF_VERSION_1)
-                {
-                    return RawBinaryGltfDataReaderV1.readBinaryGltf(data);
-                }
-                if (version == BINARY_GLTF_VERSION_2)
-                {
-                    return RawBinaryGltfDataReaderV2.readBinaryGltf(data);
-                }
-                throw new IOException(
-                    "Unknown binary glTF version: " + version);
+                return readBinaryGltfV1(pushbackInputStream, prefixData);
             }
+            if (version == BINARY_GLTF_VERSION_2)
+            {
+                return RawBinaryGltfDataReaderV2.readBinaryGltf(
+                    pushbackInputStream);
+            }
+            throw new IOException(
+                "Unknown binary glTF version: " + version);
         }
+        byte rawData[] = IO.readStream(pushbackInputStream);
         ByteBuffer jsonData = Buffers.create(rawData);
         return new RawGltfData(jsonData, null);
     }
     
+    /**
+     * Read binary glTF 1.0 data from the given input stream. The total 
+     * length is obtained from the given prefix data, and the data is 
+     * read into a buffer with this size, which is then passed to the 
+     * {@link RawBinaryGltfDataReaderV1}.
+     * 
+     * @param inputStream The input stream, positioned at the start of 
+     * the binary glTF data
+     * @param prefixData The prefix of the binary glTF data, containing
+     * the magic header, the version, and the length
+     * @return The {@link RawGltfData}
+     * @throws IOException If an IO error occurs
+     */
+    private static RawGltfData readBinaryGltfV1(
+        InputStream inputStream, ByteBuffer prefixData) throws IOException
+    {
+        if (prefixData.capacity() < BINARY_GLTF_PREFIX_LENGTH)
+        {
+            throw new IOException("Expected at least " 
+                + BINARY_GLTF_PREFIX_LENGTH + " bytes of binary glTF data, "
+                + "but only found " + prefixData.capacity() + " bytes");
+        }
+        int length = prefixData.getInt(8);
+        if (length < BINARY_GLTF_PREFIX_LENGTH)
+        {
+            throw new IOException(
+                "Invalid length of binary glTF data: " + length);
+        }
+        ByteBuffer data = Buffers.create(length);
+        IO.read(Channels.newChannel(inputStream), data);
+        Buffers.position(data, 0);
+        return RawBinaryGltfDataReaderV1.readBinaryGltf(data);
+    }
+    
+    /**
+     * Read bytes from the given input stream into the given array, until
+     * the array is filled or the end of the stream is reached
+     * 
+     * @param inputStream The input stream
+     * @param prefix The array
+     * @return The number of bytes that have been read
+     * @throws IOException If an IO error occurs
+     */
+    private static int readPrefix(InputStream inputStream, byte prefix[])
+        throws IOException
+    {
+        int totalNumBytesRead = 0;
+        while (totalNumBytesRead < prefix.length)
+        {
+            int read = inputStream.read(prefix, totalNumBytesRead, 
+                prefix.length - totalNumBytesRead);
+            if (read == -1)
+            {
+                break;
+            }
+            totalNumBytesRead += read;
+        }
+        return totalNumBytesRead;
+    }
+    
+    /**
+     * Read the raw glTF data from the file that is given by the given path,
+     * by mapping the file into memory.<br>
+     * <br>
+     * The JSON data and the binary data of the returned {@link RawGltfData}
+     * will be slices of the read-only memory-mapped buffer. So for binary 
+     * glTF, the binary data will not be copied, and the buffer data of a 
+     * model that is created from this data will be backed by the file.<br>
+     * <br>
+     * Paths that do not belong to the default file system, like paths in
+     * the zip file system, can not be mapped into memory. These are read
+     * into a buffer with {@link IO#readToBuffer(Path)}.
+     * 
+     * @param path The path
+     * @return The {@link RawGltfData}
+     * @throws IOException If an IO error occurs, or the size of the file
+     * is larger than <code>Integer.MAX_VALUE</code>
+     */
+    public static RawGltfData read(Path path) throws IOException
+    {
+        if (!IO.isDefaultFileSystem(path))
+        {
+            return read(IO.readToBuffer(path));
+        }
+        try (FileChannel fileChannel = 
+            FileChannel.open(path, StandardOpenOption.READ))
+        {
+            long size = fileChannel.size();
+            if (size > Integer.MAX_VALUE)
+            {
+                throw new IOException("The file " + path + " has a size of "
+                    + size + " bytes, which is too large to be mapped");
+            }
+            MappedByteBuffer mappedData = 
+                fileChannel.map(MapMode.READ_ONLY, 0, size);
+            mappedData.order(ByteOrder.LITTLE_ENDIAN);
+            return read(mappedData);
+        }
+    }
+    
+    /**
+     * Read the raw glTF data from the given buffer. The buffer may contain
+     * glTF JSON data or binary glTF data.<br>
+     * <br>
+     * The JSON data and the binary data of the returned {@link RawGltfData}
+     * will be slices of the given buffer. So the given buffer may not be
+     * modified after it was passed to this method. If the buffer contains
+     * compressed data, as described in {@link #read(InputStream)}, then
+     * the data will be decompressed into new buffers.
+     * 
+     * @param data The data
+     * @return The {@link RawGltfData}
+     * @throws IOException If an IO error occurs
+     */
+    public static RawGltfData read(ByteBuffer data) throws IOException
+    {
+        ByteBuffer d = Buffers.createSlice(data).order(ByteOrder.LITTLE_ENDIAN);
+        GltfCompression compression = GltfCompression.detect(d);
+        if (compression != GltfCompression.NONE)
+        {
+            try (InputStream inputStream = compression.createInputStream(
+                Buffers.createByteBufferInputStream(d)))
+            {
+                return read(inputStream);
+            }
+        }
+        if (isBinaryGltf(d))
+        {
+            return readBinaryGltf(d);
+        }
+        return new RawGltfData(d, null);
+    }
+    
+    /**
+     * Returns whether the given data starts with the magic binary glTF 
+     * header. The given buffer must have little-endian byte order.
+     * 
+     * @param data The data
+     * @return Whether the data is binary glTF data
+     */
+    private static boolean isBinaryGltf(ByteBuffer data)
+    {
+        if (data.capacity() < 8)
+        {
+            return false;
+        }
+        int magic = data.getInt(0);
+        return magic == MAGIC_BINARY_GLTF_HEADER;
+    }
+    
+    /**
+     * Read the {@link RawGltfData} from the given binary glTF data, 
+     * delegating to the reader for the respective binary glTF version.
+     * The given buffer must have little-endian byte order.
+     * 
+     * @param data The data
+     * @return The {@link RawGltfData}
+     * @throws IOException If the version is not supported, or the 
+     * data is not valid binary glTF data
+     */
+    private static RawGltfData readBinaryGltf(ByteBuffer data) 
+        throws IOException
+    {
+        IntBuffer intData = data.asIntBuffer();
+        int version = intData.get(1);
+        if (version == BINARY_GLTF_VERSION_1)
+        {
+            return RawBinaryGltfDataReaderV1.readBinaryGltf(data);
+        }
+        if (version == BINARY_GLTF_VERSION_2)
+        {
+            return RawBinaryGltfDataReaderV2.readBinaryGltf(data);
+        }
+        throw new IOException(
+            "Unknown binary glTF version: " + version);
+    }
+    
     /**
      * Private constructor to prevent instantiation
      */
@@ -0,0 +1,385 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.jgltf.model.io;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * A cache for the data of external resources, like buffers and images,
+ * that is keyed by the (normalized) absolute URI of the resource.<br>
+ * <br>
+ * The cache may be shared between multiple {@link GltfAssetReader} or
+ * {@link GltfModelReader} instances (via their 
+ * <code>setResourceCache</code> methods), so that resources that are 
+ * referred to by multiple assets are only read once. The cache has a 
+ * maximum size, in bytes. When this size is exceeded, then the least 
+ * recently used entries are evicted from the cache.<br>
+ * <br>
+ * The buffers that are returned by this cache are <b>read-only</b> 
+ * views on the cached data. Each caller receives its own view, with its
+ * own position and limit, so that the views may safely be used by 
+ * multiple models and threads.<br>
+ * <br>
+ * This class is thread-safe. When multiple threads request the same
+ * resource at the same time, then the resource will only be loaded once.
+ */
+public final class ResourceCache
+{
+    /**
+     * The maximum size of the cached data, in bytes
+     */
+    private final long maximumByteSize;
+    
+    /**
+     * The cached data, in access order
+     */
+    private final LinkedHashMap<URI, ByteBuffer> entries;
+    
+    /**
+     * The futures for the resources that are currently being loaded
+     */
+    private final Map<URI, CompletableFuture<ByteBuffer>> loading;
+    
+    /**
+     * The current size of the cached data, in bytes
+     */
+    private long byteSize;
+    
+    /**
+     * The number of requests that could be answered with cached data
+     */
+    private long hitCount;
+    
+    /**
+     * The number of requests that required loading the data
+     */
+    private long missCount;
+    
+    /**
+     * The number of entries that have been evicted from the cache
+     */
+    private long evictionCount;
+    
+    /**
+     * Creates a new instance with the given maximum size
+     * 
+     * @param maximumByteSize The maximum size of the cached data, in bytes
+     * @throws IllegalArgumentException If the given size is negative
+     */
+    public ResourceCache(long maximumByteSize)
+    {
+        if (maximumByteSize < 0)
+        {
+            throw new IllegalArgumentException(
+                "The maximumByteSize may not be negative, but is " 
+                + maximumByteSize);
+        }
+        this.maximumByteSize = maximumByteSize;
+        this.entries = new LinkedHashMap<URI, ByteBuffer>(16, 0.75f, true);
+        this.loading = new HashMap<URI, CompletableFuture<ByteBuffer>>();
+    }
+    
+    /**
+     * Returns a read-only view on the data for the given URI. If the data
+     * is not contained in this cache, then it will be obtained from the 
+     * given loader, and stored in this cache. If the loader returns 
+     * <code>null</code>, then <code>null</code> is returned, and nothing 
+     * is stored in this cache.
+     * 
+     * @param uri The absolute URI of the resource
+     * @param loader The function that loads the data for the URI
+     * @return The data, or <code>null</code> if it could not be loaded
+     */
+    public ByteBuffer get(URI uri, 
+        Function<? super URI, ? extends ByteBuffer> loader)
+    {
+        Objects.requireNonNull(loader, "The loader may not be null");
+        try
+        {
+            return getAsync(uri, 
+                u -> CompletableFuture.completedFuture(loader.apply(u)))
+                .join();
+        }
+        catch (CompletionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Returns a future that provides a read-only view on the data for the
+     * given URI. If the data is not contained in this cache, then it will 
+     * be obtained from the future that is returned by the given loader, 
+     * and stored in this cache. If the loader provides <code>null</code>,
+     * or the loading fails, then nothing is stored in this cache.
+     * 
+     * @param uri The absolute URI of the resource
+     * @param loader The function that starts loading the data for the URI
+     * @return The future that provides the data
+     */
+    public CompletableFuture<ByteBuffer> getAsync(URI uri, 
+        Function<? super URI, 
+            ? extends CompletableFuture<? extends ByteBuffer>> loader)
+    {
+        Objects.requireNonNull(uri, "The uri may not be null");
+        Objects.requireNonNull(loader, "The loader may not be null");
+        URI key = uri.normalize();
+        CompletableFuture<ByteBuffer> future = null;
+        synchronized (this)
+        {
+            ByteBuffer cached = entries.get(key);
+            if (cached != null)
+            {
+                hitCount++;
+                return CompletableFuture.completedFuture(createView(cached));
+            }
+            future = loading.get(key);
+            if (future != null)
+            {
+                hitCount++;
+                return future.thenApply(ResourceCache::createView);
+            }
+            missCount++;
+            future = new CompletableFuture<ByteBuffer>();
+            loading.put(key, future);
+        }
+        CompletableFuture<? extends ByteBuffer> loaded;
+        try
+        {
+            loaded = loader.apply(uri);
+        }
+        catch (RuntimeException e)
+        {
+            loaded = failed(e);
+        }
+        if (loaded == null)
+        {
+            loaded = CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<ByteBuffer> result = future;
+        loaded.whenComplete((byteBuffer, t) -> 
+        {
+            ByteBuffer data = 
+                t == null ? Buffers.createSlice(byteBuffer) : null;
+            synchronized (this)
+            {
+                loading.remove(key);
+                if (data != null)
+                {
+                    put(key, data);
+                }
+            }
+            if (t != null)
+            {
+                result.completeExceptionally(t);
+            }
+            else
+            {
+                result.complete(data);
+            }
+        });
+        return result.thenApply(ResourceCache::createView);
+    }
+    
+    /**
+     * Store the given data in this cache, evicting the least recently
+     * used entries if the maximum size is exceeded. If the data alone
+     * is larger than the maximum size, then it is not stored.
+     * 
+     * @param uri The URI
+     * @param data The data
+     */
+    private void put(URI uri, ByteBuffer data)
+    {
+        long size = data.capacity();
+        if (size > maximumByteSize)
+        {
+            return;
+        }
+        ByteBuffer old = entries.put(uri, data);
+        if (old != null)
+        {
+            byteSize -= old.capacity();
+        }
+        byteSize += size;
+        Iterator<Entry<URI, ByteBuffer>> iterator = 
+            entries.entrySet().iterator();
+        while (byteSize > maximumByteSize && iterator.hasNext())
+        {
+            Entry<URI, ByteBuffer> entry = iterator.next();
+            byteSize -= entry.getValue().capacity();
+            iterator.remove();
+            evictionCount++;
+        }
+    }
+    
+    /**
+     * Remove the data for the given URI from this cache. Views on the
+     * data that have already been returned remain valid.
+     * 
+     * @param uri The URI
+     */
+    public synchronized void invalidate(URI uri)
+    {
+        ByteBuffer old = entries.remove(uri.normalize());
+        if (old != null)
+        {
+            byteSize -= old.capacity();
+        }
+    }
+    
+    /**
+     * Remove all data from this cache. Views on the data that have 
+     * already been returned remain valid. The statistics are not reset.
+     */
+    public synchronized void clear()
+    {
+        entries.clear();
+        byteSize = 0;
+    }
+    
+    /**
+     * Returns the maximum size of the cached data, in bytes
+     * 
+     * @return The maximum size
+     */
+    public long getMaximumByteSize()
+    {
+        return maximumByteSize;
+    }
+    
+    /**
+     * Returns the current size of the cached data, in bytes
+     * 
+     * @return The size
+     */
+    public synchronized long getByteSize()
+    {
+        return byteSize;
+    }
+    
+    /**
+     * Returns the number of entries in this cache
+     * 
+     * @return The number of entries
+     */
+    public synchronized int getSize()
+    {
+        return entries.size();
+    }
+    
+    /**
+     * Returns the number of requests that have been answered with data 
+     * that was already cached or currently being loaded
+     * 
+     * @return The hit count
+     */
+    public synchronized long getHitCount()
+    {
+        return hitCount;
+    }
+    
+    /**
+     * Returns the number of requests that caused the data to be loaded
+     * 
+     * @return The miss count
+     */
+    public synchronized long getMissCount()
+    {
+        return missCount;
+    }
+    
+    /**
+     * Returns the number of entries that have been evicted from this
+     * cache because the maximum size was exceeded
+     * 
+     * @return The eviction count
+     */
+    public synchronized long getEvictionCount()
+    {
+        return evictionCount;
+    }
+    
+    /**
+     * Creates a read-only view on the given buffer, with the same
+     * byte order
+     * 
+     * @param byteBuffer The buffer. May be <code>null</code>.
+     * @return The view, or <code>null</code> if the given buffer
+     * was <code>null</code>
+     */
+    private static ByteBuffer createView(ByteBuffer byteBuffer)
+    {
+        if (byteBuffer == null)
+        {
+            return null;
+        }
+        return byteBuffer.asReadOnlyBuffer().order(byteBuffer.order());
+    }
+    
+    /**
+     * Creates a future that is completed exceptionally with the given
+     * throwable
+     * 
+     * @param t The throwable
+     * @return The future
+     */
+    private static CompletableFuture<ByteBuffer> failed(Throwable t)
+    {
+        CompletableFuture<ByteBuffer> future = 
+            new CompletableFuture<ByteBuffer>();
+        future.completeExceptionally(t);
+        return future;
+    }
+    
+    @Override
+    public synchronized String toString()
+    {
+        return "ResourceCache[" 
+            + "size=" + entries.size() 
+            + ", byteSize=" + byteSize 
+            + ", maximumByteSize=" + maximumByteSize 
+            + ", hitCount=" + hitCount 
+            + ", missCount=" + missCount 
+            + ", evictionCount=" + evictionCount + "]";
+    }
+}
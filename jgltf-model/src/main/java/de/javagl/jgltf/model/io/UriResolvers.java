@@ -93,6 +93,11 @@ public class UriResolvers
      * If one of the path strings that is given to the function is a data
      * URI string, then the data will be read from this data URI.<br>
      * <br>
+     * The base path may belong to any file system. For example, it may
+     * be a directory in a zip file system, to resolve the references of 
+     * a glTF asset that is contained in a zip archive. The data will be 
+     * read with {@link IO#readToBuffer(Path)}.<br>
+     * <br>
      * If the returned function cannot read the data, then it will print a
      * warning and return <code>null</code>.
      *
@@ -111,12 +116,7 @@ public class UriResolvers
             {
                 try
                 {
-                    if (IO.isDataUriString(uriString)) 
-                    {
-                        return IO.createInputStream(URI.create(uriString));
-                    }
-                    Path absolutePath = IO.makeAbsolute(basePath, uriString);
-                    return IO.createInputStream(absolutePath);
+                    return IO.createInputStream(URI.create(uriString));
                 }
                 catch (IOException e)
                 {
@@ -126,7 +126,114 @@ public class UriResolvers
                 }
             }
         };
-        return reading(inputStreamFunction);
+        Function<String, ByteBuffer> dataUriResolver = 
+            reading(inputStreamFunction);
+        return uriString -> 
+        {
+            if (IO.isDataUriString(uriString)) 
+            {
+                return dataUriResolver.apply(uriString);
+            }
+            try
+            {
+                Path absolutePath = IO.makeAbsolute(basePath, uriString);
+                return IO.readToBuffer(absolutePath);
+            }
+            catch (IOException e)
+            {
+                logger.warning("Could not read data for URI "
+                    + uriString + ":  " + e.getMessage());
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Creates a function that resolves URI strings against the given 
+     * base URI, like {@link #createBaseUriResolver(URI)}, but obtains
+     * the data from the given {@link ResourceCache}, using the absolute
+     * URI as the key. Only when the data is not yet contained in the 
+     * cache, it will be read and stored in the cache. Data URIs are 
+     * not cached.<br>
+     * <br>
+     * If the returned function cannot read the data, then it will print a
+     * warning and return <code>null</code>.
+     * 
+     * @param baseUri The base URI to resolve against
+     * @param resourceCache The {@link ResourceCache}
+     * @return The function
+     */
+    public static Function<String, ByteBuffer> createBaseUriResolver(
+        URI baseUri, ResourceCache resourceCache)
+    {
+        Objects.requireNonNull(resourceCache, 
+            "The resourceCache may not be null");
+        Function<String, ByteBuffer> delegate = 
+            createBaseUriResolver(baseUri);
+        return uriString -> 
+        {
+            if (IO.isDataUriString(uriString))
+            {
+                return delegate.apply(uriString);
+            }
+            URI absoluteUri;
+            try
+            {
+                absoluteUri = IO.makeAbsolute(baseUri, uriString);
+            }
+            catch (IOException e)
+            {
+                logger.warning("Could not resolve URI " + uriString 
+                    + ": " + e.getMessage());
+                return null;
+            }
+            return resourceCache.get(absoluteUri, 
+                u -> delegate.apply(uriString));
+        };
+    }
+    
+    /**
+     * Creates a function that resolves URI strings against the given 
+     * base path, like {@link #createBasePathResolver(Path)}, but obtains
+     * the data from the given {@link ResourceCache}, using the absolute
+     * URI of the resolved path as the key. Only when the data is not yet 
+     * contained in the cache, it will be read and stored in the cache. 
+     * Data URIs are not cached.<br>
+     * <br>
+     * If the returned function cannot read the data, then it will print a
+     * warning and return <code>null</code>.
+     * 
+     * @param basePath The base path to resolve against
+     * @param resourceCache The {@link ResourceCache}
+     * @return The function
+     */
+    public static Function<String, ByteBuffer> createBasePathResolver(
+        Path basePath, ResourceCache resourceCache)
+    {
+        Objects.requireNonNull(resourceCache, 
+            "The resourceCache may not be null");
+        Function<String, ByteBuffer> delegate = 
+            createBasePathResolver(basePath);
+        return uriString -> 
+        {
+            if (IO.isDataUriString(uriString))
+            {
+                return delegate.apply(uriString);
+            }
+            URI absoluteUri;
+            try
+            {
+                absoluteUri = IO.makeAbsolute(basePath, uriString).toUri();
+            }
+            catch (IOException e)
+            {
+                logger.warning("Could not resolve URI " + uriString 
+                    + ": " + e.getMessage());
+                return null;
+            }
+            return resourceCache.get(absoluteUri, 
+                u -> delegate.apply(uriString));
+        };
     }
 
     /**
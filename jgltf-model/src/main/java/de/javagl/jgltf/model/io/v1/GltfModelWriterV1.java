@@ -33,6 +33,7 @@ import java.io.OutputStream;
 
 import de.javagl.jgltf.impl.v1.GlTF;
 import de.javagl.jgltf.model.io.GltfAssetWriter;
+import de.javagl.jgltf.model.io.GltfCompression;
 import de.javagl.jgltf.model.io.GltfModelWriter;
 import de.javagl.jgltf.model.io.GltfWriter;
 import de.javagl.jgltf.model.v1.GltfModelV1;
@@ -45,12 +46,32 @@ import de.javagl.jgltf.model.v1.GltfModelV1;
  */
 public final class GltfModelWriterV1
 {
+    /**
+     * The compression for the main file that is written with
+     * {@link #write(GltfModelV1, File)}
+     */
+    private GltfCompression compression;
+    
     /**
      * Default constructor
      */
     public GltfModelWriterV1()
     {
-        // Default constructor
+        this.compression = GltfCompression.NONE;
+    }
+    
+    /**
+     * Set the compression that should be applied to the main file that
+     * is written with {@link #write(GltfModelV1, File)}. The files of external
+     * references are not compressed.
+     * 
+     * @param compression The {@link GltfCompression}. If this is 
+     * <code>null</code>, then {@link GltfCompression#NONE} will be used.
+     */
+    public void setCompression(GltfCompression compression)
+    {
+        this.compression = 
+            compression == null ? GltfCompression.NONE : compression;
     }
     
     /**
@@ -69,6 +90,7 @@ public final class GltfModelWriterV1
     {
         GltfAssetV1 gltfAsset = GltfAssetsV1.createDefault(gltfModel);
         GltfAssetWriter gltfAssetWriter = new GltfAssetWriter();
+        gltfAssetWriter.setCompression(compression);
         gltfAssetWriter.write(gltfAsset, file);
     }
     
@@ -30,7 +30,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.function.Consumer;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 import de.javagl.jgltf.impl.v1.GlTF;
 import de.javagl.jgltf.model.io.JacksonUtils;
@@ -82,9 +82,9 @@ public final class GltfReaderV1
      */
     public GlTF read(InputStream inputStream) throws IOException
     {
-        ObjectMapper objectMapper = 
-            JacksonUtils.createObjectMapper(jsonErrorConsumer);
-        GlTF gltf = objectMapper.readValue(inputStream, GlTF.class);
+        ObjectReader objectReader = 
+            JacksonUtils.getObjectReader(GlTF.class, jsonErrorConsumer);
+        GlTF gltf = objectReader.readValue(inputStream);
         return gltf;
     }
     
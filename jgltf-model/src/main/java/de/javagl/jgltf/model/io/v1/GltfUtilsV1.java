@@ -34,7 +34,8 @@ import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 import de.javagl.jgltf.impl.v1.BufferView;
 import de.javagl.jgltf.impl.v1.GlTF;
@@ -63,13 +64,14 @@ class GltfUtilsV1
      */
     static GlTF copy(GlTF gltf)
     {
-        ObjectMapper objectMapper = 
-            JacksonUtils.createObjectMapper();
+        ObjectWriter objectWriter = JacksonUtils.getObjectWriter(false);
+        ObjectReader objectReader = JacksonUtils.getObjectReader(
+            GlTF.class, JacksonUtils.loggingJsonErrorConsumer());
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         try
         {
-            objectMapper.writeValue(baos, gltf);
-            return objectMapper.readValue(baos.toByteArray(), GlTF.class);
+            objectWriter.writeValue(baos, gltf);
+            return objectReader.readValue(baos.toByteArray());
         } 
         catch (IOException e)
         {
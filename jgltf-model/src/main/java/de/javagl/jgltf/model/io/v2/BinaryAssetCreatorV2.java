@@ -53,12 +53,22 @@ final class BinaryAssetCreatorV2
     private static final Logger logger =
         Logger.getLogger(BinaryAssetCreatorV2.class.getName());
     
+    /**
+     * Whether compliant buffer views should be reused when the model
+     * has to be restructured
+     */
+    private final boolean reuseBufferViews;
+    
     /**
      * Creates a new asset creator
+     * 
+     * @param reuseBufferViews Whether compliant buffer views should be
+     * reused when the model has to be restructured
+     * @see GltfModelStructures#setReuseBufferViews(boolean)
      */
-    BinaryAssetCreatorV2()
+    BinaryAssetCreatorV2(boolean reuseBufferViews)
     {
-        // Default constructor
+        this.reuseBufferViews = reuseBufferViews;
     }
     
     /**
@@ -90,6 +100,7 @@ final class BinaryAssetCreatorV2
         // Otherwise, convert the structure of the model, so that it
         // is suitable to be written as a binary glTF
         GltfModelStructures g = new GltfModelStructures();
+        g.setReuseBufferViews(reuseBufferViews);
         g.prepare(gltfModel);
         DefaultGltfModel binaryGltfModel = g.createBinary();
         DirectAssetCreatorV2 delegate = new DirectAssetCreatorV2();
@@ -54,12 +54,22 @@ final class DefaultAssetCreatorV2
     private static final Logger logger =
         Logger.getLogger(DefaultAssetCreatorV2.class.getName());
     
+    /**
+     * Whether compliant buffer views should be reused when the model
+     * has to be restructured
+     */
+    private final boolean reuseBufferViews;
+    
     /**
      * Creates a new asset creator
+     * 
+     * @param reuseBufferViews Whether compliant buffer views should be
+     * reused when the model has to be restructured
+     * @see GltfModelStructures#setReuseBufferViews(boolean)
      */
-    DefaultAssetCreatorV2()
+    DefaultAssetCreatorV2(boolean reuseBufferViews)
     {
-        // Default constructor
+        this.reuseBufferViews = reuseBufferViews;
     }
 
     /**
@@ -86,6 +96,7 @@ final class DefaultAssetCreatorV2
         // Otherwise, convert the structure of the model, so that it
         // is suitable to be written as a default glTF
         GltfModelStructures g = new GltfModelStructures();
+        g.setReuseBufferViews(reuseBufferViews);
         g.prepare(gltfModel);
         DefaultGltfModel defaultGltfModel = g.createDefault();
 
@@ -32,16 +32,20 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import de.javagl.jgltf.impl.v2.Buffer;
 import de.javagl.jgltf.impl.v2.GlTF;
 import de.javagl.jgltf.impl.v2.Image;
 import de.javagl.jgltf.model.Optionals;
+import de.javagl.jgltf.model.io.BufferRangeReader;
 import de.javagl.jgltf.model.io.Buffers;
 import de.javagl.jgltf.model.io.GltfAsset;
 import de.javagl.jgltf.model.io.GltfReference;
+import de.javagl.jgltf.model.io.GltfReferenceResolver;
 import de.javagl.jgltf.model.io.IO;
 
 /**
@@ -64,6 +68,38 @@ public final class GltfAssetV2 implements GltfAsset
      */
     private final Map<String, ByteBuffer> referenceDatas;
     
+    /**
+     * The function that resolves the data for the URI of a reference
+     * when it is first requested, if the references are resolved lazily
+     */
+    private volatile Function<? super String, ? extends ByteBuffer> 
+        lazyUriResolver;
+    
+    /**
+     * The objects that are used for synchronizing the lazy resolution 
+     * of the data for the individual URI strings
+     */
+    private final Map<String, Object> lazyResolutionLocks;
+    
+    /**
+     * The URI strings for which the lazy resolution failed, so that
+     * they are not attempted to be resolved again
+     */
+    private final Set<String> failedLazyResolutions;
+    
+    /**
+     * The function that creates the {@link BufferRangeReader} for the 
+     * URI of a buffer, if buffer ranges should be read individually
+     */
+    private volatile Function<? super String, ? extends BufferRangeReader>
+        bufferRangeReaderResolver;
+    
+    /**
+     * The mapping from (relative) URI strings to the associated
+     * {@link BufferRangeReader} instances
+     */
+    private final Map<String, BufferRangeReader> bufferRangeReaders;
+    
     /**
      * Creates a new instance
      * 
@@ -75,6 +111,75 @@ public final class GltfAssetV2 implements GltfAsset
         this.gltf = Objects.requireNonNull(gltf, "The gltf may not be null");
         this.binaryData = binaryData;
         this.referenceDatas = new ConcurrentHashMap<String, ByteBuffer>();
+        this.lazyResolutionLocks = new ConcurrentHashMap<String, Object>();
+        this.failedLazyResolutions = ConcurrentHashMap.newKeySet();
+        this.bufferRangeReaders = 
+            new ConcurrentHashMap<String, BufferRangeReader>();
+    }
+    
+    /**
+     * Set the function that will be used for resolving the data of the
+     * {@link GltfReference} objects of this asset lazily.<br>
+     * <br>
+     * When this is not <code>null</code>, then calling 
+     * {@link #getReferenceData(String)} with a URI for which no data
+     * has been resolved yet will resolve the data of the respective 
+     * reference with the given function. Each reference is resolved at
+     * most once, even when its data is requested by multiple threads.
+     * When the resolution of a reference fails, then it is not attempted
+     * again, and {@link #getReferenceData(String)} will return 
+     * <code>null</code> for this reference. References whose data is 
+     * never requested are never resolved.
+     * 
+     * @param lazyUriResolver The function for resolving a URI string
+     * into a byte buffer. May be <code>null</code> to disable the lazy 
+     * resolution.
+     */
+    public void setLazyUriResolver(
+        Function<? super String, ? extends ByteBuffer> lazyUriResolver)
+    {
+        this.lazyUriResolver = lazyUriResolver;
+        this.failedLazyResolutions.clear();
+    }
+    
+    /**
+     * Set the function that will be used for creating the 
+     * {@link BufferRangeReader} for the URI of an external buffer.<br>
+     * <br>
+     * When this is not <code>null</code>, then the buffer models of a 
+     * model that is created from this asset will read the data of their
+     * buffer views directly from the respective ranges of the external
+     * file, as long as the data of the whole buffer was not requested.
+     * 
+     * @param bufferRangeReaderResolver The function for creating a 
+     * {@link BufferRangeReader} for a URI string. May be <code>null</code>
+     * to disable reading ranges of buffers. 
+     */
+    public void setBufferRangeReaderResolver(
+        Function<? super String, ? extends BufferRangeReader> 
+            bufferRangeReaderResolver)
+    {
+        this.bufferRangeReaderResolver = bufferRangeReaderResolver;
+    }
+    
+    /**
+     * Returns the {@link BufferRangeReader} for the buffer with the given
+     * URI, or <code>null</code> if no 
+     * {@link #setBufferRangeReaderResolver(Function) resolver} was set, 
+     * or the resolver did not provide a reader for the given URI
+     * 
+     * @param uriString The URI string
+     * @return The {@link BufferRangeReader}
+     */
+    public BufferRangeReader getBufferRangeReader(String uriString)
+    {
+        Function<? super String, ? extends BufferRangeReader> resolver = 
+            bufferRangeReaderResolver;
+        if (resolver == null || uriString == null)
+        {
+            return null;
+        }
+        return bufferRangeReaders.computeIfAbsent(uriString, resolver);
     }
     
     /**
@@ -181,12 +286,62 @@ public final class GltfAssetV2 implements GltfAsset
     @Override
     public ByteBuffer getReferenceData(String uriString)
     {
-        return Buffers.createSlice(referenceDatas.get(uriString));
+        ByteBuffer byteBuffer = referenceDatas.get(uriString);
+        Function<? super String, ? extends ByteBuffer> uriResolver = 
+            lazyUriResolver;
+        if (byteBuffer == null && uriResolver != null
+            && !failedLazyResolutions.contains(uriString))
+        {
+            byteBuffer = resolveLazily(uriString, uriResolver);
+        }
+        return Buffers.createSlice(byteBuffer);
+    }
+    
+    /**
+     * Resolve the data of the {@link GltfReference} with the given URI
+     * using the given resolver, and return the resulting data (which 
+     * may be <code>null</code> if it could not be resolved)
+     * 
+     * @param uriString The URI string
+     * @param uriResolver The function for resolving a URI string
+     * into a byte buffer
+     * @return The byte buffer
+     */
+    private ByteBuffer resolveLazily(String uriString,
+        Function<? super String, ? extends ByteBuffer> uriResolver)
+    {
+        Object lock = lazyResolutionLocks.computeIfAbsent(
+            uriString, u -> new Object());
+        synchronized (lock)
+        {
+            ByteBuffer byteBuffer = referenceDatas.get(uriString);
+            if (byteBuffer != null || 
+                failedLazyResolutions.contains(uriString))
+            {
+                return byteBuffer;
+            }
+            for (GltfReference reference : getReferences())
+            {
+                if (uriString.equals(reference.getUri()))
+                {
+                    GltfReferenceResolver.resolve(reference, uriResolver);
+                    byteBuffer = referenceDatas.get(uriString);
+                    break;
+                }
+            }
+            if (byteBuffer == null)
+            {
+                failedLazyResolutions.add(uriString);
+            }
+            return byteBuffer;
+        }
     }
 
     @Override
     public Map<String, ByteBuffer> getReferenceDatas()
     {
+        // Note: When the references are resolved lazily, then this
+        // only contains the data that has already been requested
         return Collections.unmodifiableMap(referenceDatas);
     }
     
@@ -27,12 +27,15 @@
 package de.javagl.jgltf.model.io.v2;
 
 import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
 import java.nio.channels.WritableByteChannel;
-import java.util.Arrays;
 
 import de.javagl.jgltf.impl.v2.GlTF;
 import de.javagl.jgltf.model.io.Buffers;
@@ -83,6 +86,9 @@ public final class GltfAssetWriterV2
      * given output stream. The caller is responsible for closing the 
      * given stream.<br>
      * <br>
+     * See {@link #writeBinary(GltfAssetV2, WritableByteChannel)} for 
+     * details. If the given stream is a <code>FileOutputStream</code>, 
+     * then the data will be written to its channel. 
      * 
      * @param gltfAsset The {@link GltfAssetV2}
      * @param outputStream The output stream
@@ -91,127 +97,231 @@ public final class GltfAssetWriterV2
     public void writeBinary(GltfAssetV2 gltfAsset, OutputStream outputStream) 
         throws IOException
     {
-        // Write the JSON representation of the glTF
-        GlTF gltf = gltfAsset.getGltf();
-        byte jsonData[];
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream())
+        if (outputStream instanceof FileOutputStream)
         {
-            GltfWriter gltfWriter = new GltfWriter();
-            gltfWriter.setIndenting(false);
-            gltfWriter.write(gltf, baos);
-            jsonData = baos.toByteArray();
-        }
-        // Ensure 4-byte-alignment for the jsonData
-        if (jsonData.length % 4 != 0)
-        {
-            int oldLength = jsonData.length;
-            int padding = 4 - (oldLength % 4);
-            jsonData = Arrays.copyOf(jsonData, oldLength + padding);
-            for (int i = 0; i < padding; i++)
-            {
-                jsonData[oldLength + i] = ' ';
-            }
+            FileOutputStream fileOutputStream = 
+                (FileOutputStream) outputStream;
+            writeBinary(gltfAsset, fileOutputStream.getChannel());
+            return;
         }
+        @SuppressWarnings("resource")
+        WritableByteChannel writableByteChannel = 
+            Channels.newChannel(outputStream);
+        writeBinary(gltfAsset, writableByteChannel);
+    }
+    
+    /**
+     * Write the given {@link GltfAssetV2} as a binary glTF asset to the 
+     * given channel. The caller is responsible for closing the given 
+     * channel.<br>
+     * <br>
+     * Only the JSON part is serialized into memory, in order to determine
+     * the length of the JSON chunk. The lengths of all chunks are computed
+     * in advance, and the header, the JSON chunk and the original
+     * {@link GltfAssetV2#getBinaryData() binary data} are written to the 
+     * channel without assembling or copying them in memory. If the given
+     * channel is a <code>GatheringByteChannel</code>, like a 
+     * <code>FileChannel</code>, then all parts are written with a 
+     * gathering write.
+     * 
+     * @param gltfAsset The {@link GltfAssetV2}
+     * @param channel The channel
+     * @throws IOException If an IO error occurred
+     */
+    public void writeBinary(GltfAssetV2 gltfAsset, 
+        WritableByteChannel channel) throws IOException
+    {
+        byte jsonData[] = createJsonData(gltfAsset.getGltf());
         
-        // Obtain the binary data, and ensure it's 4-byte aligned
+        // Obtain the binary data. It is not copied for the padding
         ByteBuffer binaryData = gltfAsset.getBinaryData();
         if (binaryData == null)
         {
             binaryData = ByteBuffer.wrap(new byte[0]);
         }
-        if (binaryData.capacity() % 4 != 0)
-        {
-            int padding = 4 - (binaryData.capacity() % 4);
-            binaryData = 
-                Buffers.copyOf(binaryData, binaryData.capacity() + padding);
-        }
-
-        // Create the JSON chunk data
-        ChunkData jsonChunkData = new ChunkData();
-        jsonChunkData.append(jsonData.length);
-        jsonChunkData.append(CHUNK_TYPE_JSON);
-        jsonChunkData.append(ByteBuffer.wrap(jsonData));
+        binaryData = binaryData.slice();
+        int binaryLength = binaryData.remaining();
         
-        // Create the BIN chunk data
-        ChunkData binChunkData = new ChunkData();
-        binChunkData.append(binaryData.capacity());
-        binChunkData.append(CHUNK_TYPE_BIN);
-        binChunkData.append(binaryData);
-        
-        // Create the header data
-        ChunkData headerData = new ChunkData();
-        headerData.append(MAGIC_BINARY_GLTF_HEADER);
-        headerData.append(BINARY_GLTF_VERSION);
-        int length = 12 + jsonData.length + 8 + binaryData.capacity() + 8;
-        headerData.append(length);
-        
-        // Finally, write the header, JSON and BIN data to the output stream 
-        @SuppressWarnings("resource")
-        WritableByteChannel writableByteChannel = 
-            Channels.newChannel(outputStream);
-        writableByteChannel.write(headerData.get());
-        writableByteChannel.write(jsonChunkData.get());
-        writableByteChannel.write(binChunkData.get());
+        ByteBuffer prefix[] = createPrefix(jsonData, binaryLength);
+        ByteBuffer buffers[] = 
+        {
+            prefix[0],
+            prefix[1],
+            prefix[2],
+            binaryData,
+            createData(computePadding(binaryLength))
+        };
+        writeFully(channel, buffers);
     }
-
+    
     /**
-     * Utility class for collecting the data of one binary glTF 2.0 chunk
+     * Write the given {@link GlTF} as a binary glTF asset to the given 
+     * channel, using the contents of the given file channel as the data
+     * of the BIN chunk. The caller is responsible for closing the given 
+     * channels.<br>
+     * <br>
+     * The binary data is transferred from the given file channel with
+     * <code>FileChannel#transferTo</code>, so that it does not have to 
+     * be held in memory, and may be larger than the maximum size of a
+     * <code>ByteBuffer</code>.
+     * 
+     * @param gltf The {@link GlTF}
+     * @param binaryData The channel that provides the binary data. All
+     * data from position 0 up to its size will be written.
+     * @param channel The target channel
+     * @throws IOException If an IO error occurred, or the resulting 
+     * binary glTF would be larger than the maximum size of 4 GB
      */
-    private static class ChunkData
+    public void writeBinary(GlTF gltf, FileChannel binaryData,
+        WritableByteChannel channel) throws IOException
     {
-        /**
-         * The stream that will collect the data
-         */
-        private ByteArrayOutputStream baos;
-        
-        /**
-         * Default constructor
-         */
-        ChunkData()
+        byte jsonData[] = createJsonData(gltf);
+        long binaryLength = binaryData.size();
+        writeFully(channel, createPrefix(jsonData, binaryLength));
+        long position = 0;
+        while (position < binaryLength)
         {
-            baos = new ByteArrayOutputStream();
+            position += binaryData.transferTo(
+                position, binaryLength - position, channel);
         }
-        
-        /**
-         * Append the given value to this data
-         * 
-         * @param value The value
-         * @throws IOException If an IO error occurs
-         */
-        void append(int value) throws IOException
+        ByteBuffer padding[] = 
+        {
+            createData(computePadding(binaryLength))
+        };
+        writeFully(channel, padding);
+    }
+    
+    /**
+     * Create the JSON data for the given {@link GlTF}, without indentation
+     * 
+     * @param gltf The {@link GlTF}
+     * @return The JSON data
+     * @throws IOException If an IO error occurred
+     */
+    private static byte[] createJsonData(GlTF gltf) throws IOException
+    {
+        try (ByteArrayOutputStream baos = new ByteArrayOutputStream())
         {
-            baos.write((value >> 0) & 0xFF);
-            baos.write((value >> 8) & 0xFF);
-            baos.write((value >> 16) & 0xFF);
-            baos.write((value >> 24) & 0xFF);
+            GltfWriter gltfWriter = new GltfWriter();
+            gltfWriter.setIndenting(false);
+            gltfWriter.write(gltf, baos);
+            return baos.toByteArray();
         }
-        
-        /**
-         * Append the given buffer to this data
-         * 
-         * @param buffer The buffer
-         * @throws IOException If an IO error occurs
-         */
-        void append(ByteBuffer buffer) throws IOException
+    }
+    
+    /**
+     * Create the buffers for the part of a binary glTF that precedes the
+     * binary data: The first one contains the header and the JSON chunk 
+     * header. The second one contains the JSON data. The third one 
+     * contains the padding of the JSON data (which consists of spaces), 
+     * and the BIN chunk header.
+     * 
+     * @param jsonData The JSON data
+     * @param binaryLength The length of the binary data, without padding
+     * @return The buffers
+     * @throws IOException If the resulting binary glTF would be larger 
+     * than the maximum size of 4 GB
+     */
+    private static ByteBuffer[] createPrefix(
+        byte jsonData[], long binaryLength) throws IOException
+    {
+        // Compute the 4-byte-aligned chunk lengths
+        int jsonPadding = computePadding(jsonData.length);
+        int jsonChunkLength = jsonData.length + jsonPadding;
+        long binChunkLength = binaryLength + computePadding(binaryLength);
+        long length = 12L + 8 + jsonChunkLength + 8 + binChunkLength;
+        if (length > 0xFFFFFFFFL)
         {
-            @SuppressWarnings("resource")
-            WritableByteChannel writableByteChannel = 
-                Channels.newChannel(baos);
-            writableByteChannel.write(buffer.slice());
+            throw new IOException("The binary glTF would have a length of " 
+                + length + " bytes, which is too large");
         }
         
-        /**
-         * Returns the chunk data as a (non-direct!) buffer
-         * 
-         * @return The chunk data
-         */
-        ByteBuffer get()
+        // The lengths are unsigned 32 bit values
+        ByteBuffer headerData = createData(12 + 8);
+        headerData.putInt(MAGIC_BINARY_GLTF_HEADER);
+        headerData.putInt(BINARY_GLTF_VERSION);
+        headerData.putInt((int) length);
+        headerData.putInt(jsonChunkLength);
+        headerData.putInt(CHUNK_TYPE_JSON);
+        Buffers.flip(headerData);
+        
+        ByteBuffer jsonPaddingData = createData(jsonPadding + 8);
+        for (int i = 0; i < jsonPadding; i++)
         {
-            return ByteBuffer.wrap(baos.toByteArray());
+            jsonPaddingData.put((byte) ' ');
         }
+        jsonPaddingData.putInt((int) binChunkLength);
+        jsonPaddingData.putInt(CHUNK_TYPE_BIN);
+        Buffers.flip(jsonPaddingData);
         
+        ByteBuffer prefix[] = 
+        {
+            headerData,
+            ByteBuffer.wrap(jsonData),
+            jsonPaddingData
+        };
+        return prefix;
     }
     
+    /**
+     * Computes the number of padding bytes that are required to extend
+     * the given length to a multiple of 4
+     * 
+     * @param length The length
+     * @return The padding
+     */
+    private static int computePadding(long length)
+    {
+        return (int) ((4 - (length % 4)) % 4);
+    }
     
+    /**
+     * Creates a new little-endian heap byte buffer with the given size,
+     * containing only zeros
+     * 
+     * @param size The size
+     * @return The buffer
+     */
+    private static ByteBuffer createData(int size)
+    {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Write all remaining bytes of the given buffers to the given channel.
+     * If the channel is a <code>GatheringByteChannel</code>, then this 
+     * will use gathering writes. Otherwise, the buffers are written one 
+     * after the other.
+     * 
+     * @param channel The channel
+     * @param buffers The buffers
+     * @throws IOException If an IO error occurred
+     */
+    private static void writeFully(
+        WritableByteChannel channel, ByteBuffer buffers[]) throws IOException
+    {
+        if (channel instanceof GatheringByteChannel)
+        {
+            GatheringByteChannel gatheringByteChannel = 
+                (GatheringByteChannel) channel;
+            long remaining = 0;
+            for (ByteBuffer buffer : buffers)
+            {
+                remaining += buffer.remaining();
+            }
+            while (remaining > 0)
+            {
+                remaining -= gatheringByteChannel.write(buffers);
+            }
+            return;
+        }
+        for (ByteBuffer buffer : buffers)
+        {
+            while (buffer.hasRemaining())
+            {
+                channel.write(buffer);
+            }
+        }
+    }
     
 }
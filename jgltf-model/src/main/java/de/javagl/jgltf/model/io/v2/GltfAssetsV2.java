@@ -45,7 +45,23 @@ public class GltfAssetsV2
      */
     public static GltfAssetV2 createDefault(GltfModel gltfModel)
     {
-        DefaultAssetCreatorV2 assetCreator = new DefaultAssetCreatorV2();
+        return createDefault(gltfModel, false);
+    }
+    
+    /**
+     * Create a new default {@link GltfAssetV2} from the given 
+     * {@link GltfModel}
+     * 
+     * @param gltfModel The {@link GltfModel}
+     * @param reuseBufferViews Whether compliant buffer views should be
+     * reused when the model has to be restructured
+     * @return The {@link GltfAssetV2}
+     */
+    public static GltfAssetV2 createDefault(
+        GltfModel gltfModel, boolean reuseBufferViews)
+    {
+        DefaultAssetCreatorV2 assetCreator = 
+            new DefaultAssetCreatorV2(reuseBufferViews);
         GltfAssetV2 gltfAsset = assetCreator.create(gltfModel);
         return gltfAsset;
     }
@@ -59,7 +75,23 @@ public class GltfAssetsV2
      */
     public static GltfAssetV2 createBinary(GltfModel gltfModel)
     {
-        BinaryAssetCreatorV2 assetCreator = new BinaryAssetCreatorV2();
+        return createBinary(gltfModel, false);
+    }
+    
+    /**
+     * Create a new binary {@link GltfAssetV2} from the given 
+     * {@link GltfModel}
+     * 
+     * @param gltfModel The {@link GltfModel}
+     * @param reuseBufferViews Whether compliant buffer views should be
+     * reused when the model has to be restructured
+     * @return The {@link GltfAssetV2}
+     */
+    public static GltfAssetV2 createBinary(
+        GltfModel gltfModel, boolean reuseBufferViews)
+    {
+        BinaryAssetCreatorV2 assetCreator = 
+            new BinaryAssetCreatorV2(reuseBufferViews);
         GltfAssetV2 gltfAsset = assetCreator.create(gltfModel);
         return gltfAsset;
     }
@@ -30,11 +30,10 @@ import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 
-import de.javagl.jgltf.impl.v2.GlTF;
 import de.javagl.jgltf.model.GltfModel;
 import de.javagl.jgltf.model.io.GltfAssetWriter;
+import de.javagl.jgltf.model.io.GltfCompression;
 import de.javagl.jgltf.model.io.GltfModelWriter;
-import de.javagl.jgltf.model.io.GltfWriter;
 
 /**
  * A class for writing a {@link GltfModel}. This class contains  
@@ -44,12 +43,50 @@ import de.javagl.jgltf.model.io.GltfWriter;
  */
 public final class GltfModelWriterV2
 {
+    /**
+     * The compression for the main file that is written with
+     * {@link #write(GltfModel, File)}
+     */
+    private GltfCompression compression;
+    
+    /**
+     * Whether compliant buffer views should be reused when the model
+     * has to be restructured
+     */
+    private boolean reuseBufferViews;
+    
     /**
      * Default constructor
      */
     public GltfModelWriterV2()
     {
-        // Default constructor
+        this.compression = GltfCompression.NONE;
+    }
+    
+    /**
+     * Set the compression that should be applied to the main file that
+     * is written with {@link #write(GltfModel, File)}. The files of external
+     * references are not compressed.
+     * 
+     * @param compression The {@link GltfCompression}. If this is 
+     * <code>null</code>, then {@link GltfCompression#NONE} will be used.
+     */
+    public void setCompression(GltfCompression compression)
+    {
+        this.compression = 
+            compression == null ? GltfCompression.NONE : compression;
+    }
+    
+    /**
+     * Set whether the buffer views of the model should be reused when
+     * the model has to be restructured for writing, and their layout 
+     * already complies to the alignment and byte stride requirements.
+     * 
+     * @param reuseBufferViews Whether buffer views should be reused
+     */
+    public void setReuseBufferViews(boolean reuseBufferViews)
+    {
+        this.reuseBufferViews = reuseBufferViews;
     }
     
     /**
@@ -66,8 +103,10 @@ public final class GltfModelWriterV2
     public void write(GltfModel gltfModel, File file) 
         throws IOException
     {
-        GltfAssetV2 gltfAsset = GltfAssetsV2.createDefault(gltfModel);
+        GltfAssetV2 gltfAsset = 
+            GltfAssetsV2.createDefault(gltfModel, reuseBufferViews);
         GltfAssetWriter gltfAssetWriter = new GltfAssetWriter();
+        gltfAssetWriter.setCompression(compression);
         gltfAssetWriter.write(gltfAsset, file);
     }
     
@@ -83,7 +122,8 @@ public final class GltfModelWriterV2
     public void writeBinary(GltfModel gltfModel, OutputStream outputStream) 
         throws IOException
     {
-        GltfAssetV2 gltfAsset = GltfAssetsV2.createBinary(gltfModel);
+        GltfAssetV2 gltfAsset = 
+            GltfAssetsV2.createBinary(gltfModel, reuseBufferViews);
         GltfAssetWriterV2 gltfAssetWriter = new GltfAssetWriterV2();
         gltfAssetWriter.writeBinary(gltfAsset, outputStream);
     }
@@ -91,7 +131,11 @@ public final class GltfModelWriterV2
     /**
      * Write the given {@link GltfModel} as an embedded glTF asset to the
      * given output stream. The caller is responsible for closing the 
-     * given stream.
+     * given stream.<br>
+     * <br>
+     * The data URIs of the buffers and images are encoded while they 
+     * are written, so that the encoded data never exists as strings 
+     * on the heap.
      * 
      * @param gltfModel The {@link GltfModel}
      * @param outputStream The output stream
@@ -100,9 +144,7 @@ public final class GltfModelWriterV2
     public void writeEmbedded(GltfModel gltfModel, OutputStream outputStream) 
         throws IOException
     {
-        GltfAssetV2 gltfAsset = GltfAssetsV2.createEmbedded(gltfModel);
-        GltfWriter gltfWriter = new GltfWriter();
-        GlTF gltf = gltfAsset.getGltf();
-        gltfWriter.write(gltf, outputStream);
+        StreamingEmbeddedWriterV2 writer = new StreamingEmbeddedWriterV2();
+        writer.write(gltfModel, outputStream, true);
     }
 }
@@ -29,7 +29,8 @@ package de.javagl.jgltf.model.io.v2;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 import de.javagl.jgltf.impl.v2.BufferView;
 import de.javagl.jgltf.impl.v2.GlTF;
@@ -57,13 +58,14 @@ class GltfUtilsV2
      */
     static GlTF copy(GlTF gltf)
     {
-        ObjectMapper objectMapper = 
-            JacksonUtils.createObjectMapper();
+        ObjectWriter objectWriter = JacksonUtils.getObjectWriter(false);
+        ObjectReader objectReader = JacksonUtils.getObjectReader(
+            GlTF.class, JacksonUtils.loggingJsonErrorConsumer());
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         try
         {
-            objectMapper.writeValue(baos, gltf);
-            return objectMapper.readValue(baos.toByteArray(), GlTF.class);
+            objectWriter.writeValue(baos, gltf);
+            return objectReader.readValue(baos.toByteArray());
         } 
         catch (IOException e)
         {
@@ -27,12 +27,16 @@
 package de.javagl.jgltf.model.io.v2;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
 
 import de.javagl.jgltf.model.io.Buffers;
+import de.javagl.jgltf.model.io.IO;
 import de.javagl.jgltf.model.io.RawGltfData;
 
 /**
@@ -122,6 +126,129 @@ public class RawBinaryGltfDataReaderV2
         return new RawGltfData(jsonData, binData);
     }
     
+    /**
+     * The length of the header of a chunk in binary glTF 2.0, in bytes
+     */
+    private static final int CHUNK_HEADER_LENGTH_IN_BYTES = 8;
+    
+    /**
+     * Read the {@link RawGltfData} from the given input stream, which 
+     * provides binary glTF 2.0 data. The caller is responsible for 
+     * closing the given stream.<br>
+     * <br>
+     * In contrast to {@link #readBinaryGltf(ByteBuffer)}, this method does
+     * not require the whole data to be available in memory. It reads the
+     * header and the chunk headers, and reads the data of the JSON chunk
+     * and the BIN chunk directly from the stream into direct buffers that
+     * have the size that was declared in the respective chunk header. 
+     * The stream will not be read beyond the length that is declared 
+     * in the header.
+     * 
+     * @param inputStream The input stream
+     * @return The {@link RawGltfData}
+     * @throws IOException If an IO error occurs
+     */
+    public static RawGltfData readBinaryGltf(InputStream inputStream) 
+        throws IOException
+    {
+        ReadableByteChannel channel = Channels.newChannel(inputStream);
+        int headerLength = BINARY_GLTF_VERSION_2_HEADER_LENGTH_IN_BYTES;
+        ByteBuffer header = Buffers.create(headerLength);
+        try
+        {
+            IO.read(channel, header);
+        }
+        catch (IOException e)
+        {
+            throw new IOException("Expected header of size " + headerLength
+                + ", but could not read it", e);
+        }
+        long length = header.getInt(8) & 0xFFFFFFFFL;
+        
+        ByteBuffer jsonData = null;
+        ByteBuffer binData = null;
+        int numChunks = 0;
+        ByteBuffer chunkHeader = Buffers.create(CHUNK_HEADER_LENGTH_IN_BYTES);
+        long offset = headerLength;
+        while (offset < length)
+        {
+            Buffers.clear(chunkHeader);
+            IO.read(channel, chunkHeader);
+            offset += CHUNK_HEADER_LENGTH_IN_BYTES;
+            long chunkLength = chunkHeader.getInt(0) & 0xFFFFFFFFL;
+            int chunkType = chunkHeader.getInt(4);
+            if (offset + chunkLength > length)
+            {
+                throw new IOException("The offset for the data of chunk "
+                    + numChunks + " is " + offset + ", its length is "
+                    + chunkLength + ", but " + (offset + chunkLength)
+                    + " is larger than the length of the data, which is only "
+                    + length);
+            }
+            if (chunkLength > Integer.MAX_VALUE)
+            {
+                throw new IOException("The length of chunk " + numChunks
+                    + " is " + chunkLength + ", but chunks with more than "
+                    + Integer.MAX_VALUE + " bytes are not supported");
+            }
+            if (numChunks == 0)
+            {
+                if (chunkType != CHUNK_TYPE_JSON)
+                {
+                    throw new IOException("First chunk must be of type JSON ("
+                        + CHUNK_TYPE_JSON + "), but found " + chunkType);
+                }
+                jsonData = readChunkData(channel, (int) chunkLength);
+            }
+            else if (numChunks == 1)
+            {
+                if (chunkType != CHUNK_TYPE_BIN)
+                {
+                    throw new IOException("Second chunk must be of type BIN ("
+                        + CHUNK_TYPE_BIN + "), but found " + chunkType);
+                }
+                binData = readChunkData(channel, (int) chunkLength);
+            }
+            else
+            {
+                // Further chunks are not supported, but they have to be
+                // consumed to reach the end of the binary glTF data
+                readChunkData(channel, (int) chunkLength);
+            }
+            offset += chunkLength;
+            numChunks++;
+        }
+        if (numChunks == 0)
+        {
+            throw new IOException(
+                "Found no chunks in binary glTF data");
+        }
+        return new RawGltfData(jsonData, binData);
+    }
+    
+    /**
+     * Read the data of a chunk with the given length from the given 
+     * channel, into a new direct buffer with little-endian byte order.
+     * Returns <code>null</code> if the given length is 0.
+     * 
+     * @param channel The channel
+     * @param chunkLength The chunk length
+     * @return The chunk data
+     * @throws IOException If an IO error occurs
+     */
+    private static ByteBuffer readChunkData(
+        ReadableByteChannel channel, int chunkLength) throws IOException
+    {
+        if (chunkLength == 0)
+        {
+            return null;
+        }
+        ByteBuffer chunkData = Buffers.create(chunkLength);
+        IO.read(channel, chunkData);
+        Buffers.position(chunkData, 0);
+        return chunkData;
+    }
+    
     /**
      * A class representing a chunk in binary glTF 2.0
      */
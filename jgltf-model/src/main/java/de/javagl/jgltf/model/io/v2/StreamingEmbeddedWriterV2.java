@@ -0,0 +1,231 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.jgltf.model.io.v2;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.POJONode;
+
+import de.javagl.jgltf.impl.v2.Buffer;
+import de.javagl.jgltf.impl.v2.GlTF;
+import de.javagl.jgltf.impl.v2.Image;
+import de.javagl.jgltf.model.BufferModel;
+import de.javagl.jgltf.model.GltfException;
+import de.javagl.jgltf.model.GltfModel;
+import de.javagl.jgltf.model.ImageModel;
+import de.javagl.jgltf.model.Optionals;
+import de.javagl.jgltf.model.io.JacksonUtils;
+import de.javagl.jgltf.model.io.MimeTypes;
+import de.javagl.jgltf.model.v2.GltfCreatorV2;
+
+/**
+ * A class for writing a {@link GltfModel} as an embedded glTF 2.0 asset, 
+ * where the data URIs of buffers and images are encoded while they are 
+ * written.<br>
+ * <br>
+ * The {@link EmbeddedAssetCreatorV2} stores the data URIs as strings in
+ * the {@link GlTF}, so that the data of all buffers and images exists
+ * on the heap as strings before the JSON is written. This class writes
+ * the same JSON, but encodes the data of each buffer and image in small
+ * chunks, directly into the output of the JSON generator.
+ */
+final class StreamingEmbeddedWriterV2
+{
+    /**
+     * The number of bytes that are encoded in one chunk. This must be
+     * a multiple of 3, so that no padding is inserted between chunks.
+     */
+    private static final int CHUNK_SIZE = 3 * 4096;
+    
+    /**
+     * Creates a new writer
+     */
+    StreamingEmbeddedWriterV2()
+    {
+        // Default constructor
+    }
+
+    /**
+     * Write the given {@link GltfModel} as an embedded glTF asset to 
+     * the given output stream. The caller is responsible for closing
+     * the given stream.
+     * 
+     * @param gltfModel The {@link GltfModel}
+     * @param outputStream The output stream
+     * @param indenting Whether the output should be indented
+     * @throws IOException If an IO error occurs
+     * @throws GltfException If the MIME type of an image can not be
+     * determined
+     */
+    void write(GltfModel gltfModel, OutputStream outputStream, 
+        boolean indenting) throws IOException
+    {
+        GlTF outputGltf = GltfCreatorV2.create(gltfModel);
+        
+        // The URIs are set to empty strings, so that they keep their 
+        // position in the JSON when they are replaced in the tree
+        List<Buffer> buffers = Optionals.of(outputGltf.getBuffers());
+        for (Buffer buffer : buffers)
+        {
+            buffer.setUri("");
+        }
+        List<Image> images = Optionals.of(outputGltf.getImages());
+        List<ImageModel> imageModels = gltfModel.getImageModels();
+        String imageMimeTypeStrings[] = new String[images.size()];
+        for (int i = 0; i < images.size(); i++)
+        {
+            Image image = images.get(i);
+            ImageModel imageModel = imageModels.get(i);
+            
+            // If the image refers to a buffer view, then its data is
+            // already part of the data URI that is written for one 
+            // of the buffers
+            if (imageModel.getBufferViewModel() == null)
+            {
+                String imageMimeTypeString = 
+                    MimeTypes.guessImageMimeTypeString(
+                        image.getUri(), imageModel.getImageData());
+                if (imageMimeTypeString == null)
+                {
+                    throw new GltfException(
+                        "Could not detect MIME type of image");
+                }
+                imageMimeTypeStrings[i] = imageMimeTypeString;
+                image.setUri("");
+            }
+            else
+            {
+                image.setUri(null);
+            }
+        }
+        
+        ObjectNode gltfNode = 
+            JacksonUtils.convertValue(outputGltf, ObjectNode.class);
+        List<BufferModel> bufferModels = gltfModel.getBufferModels();
+        ArrayNode bufferNodes = (ArrayNode) gltfNode.get("buffers");
+        for (int i = 0; i < buffers.size(); i++)
+        {
+            BufferModel bufferModel = bufferModels.get(i);
+            ObjectNode bufferNode = (ObjectNode) bufferNodes.get(i);
+            bufferNode.set("uri", new POJONode(new DataUri(
+                "data:application/gltf-buffer;base64,", 
+                bufferModel.getBufferData())));
+        }
+        ArrayNode imageNodes = (ArrayNode) gltfNode.get("images");
+        for (int i = 0; i < images.size(); i++)
+        {
+            if (imageMimeTypeStrings[i] != null)
+            {
+                ImageModel imageModel = imageModels.get(i);
+                ObjectNode imageNode = (ObjectNode) imageNodes.get(i);
+                imageNode.set("uri", new POJONode(new DataUri(
+                    "data:" + imageMimeTypeStrings[i] + ";base64,", 
+                    imageModel.getImageData())));
+            }
+        }
+        JacksonUtils.getObjectWriter(indenting)
+            .writeValue(outputStream, gltfNode);
+    }
+    
+    /**
+     * A data URI that writes itself as a JSON string value, encoding its
+     * data while it is written
+     */
+    private static class DataUri implements JsonSerializable
+    {
+        /**
+         * The prefix, containing the scheme, the MIME type and the 
+         * <code>;base64,</code> part
+         */
+        private final String prefix;
+        
+        /**
+         * The data
+         */
+        private final ByteBuffer data;
+        
+        /**
+         * Creates a new instance
+         * 
+         * @param prefix The prefix
+         * @param data The data
+         */
+        DataUri(String prefix, ByteBuffer data)
+        {
+            this.prefix = prefix;
+            this.data = data;
+        }
+        
+        @Override
+        public void serialize(JsonGenerator gen, SerializerProvider provider)
+            throws IOException
+        {
+            // The prefix and the Base64 characters do not have to be 
+            // escaped, so they can be written as raw characters, after
+            // the opening quote has been written as a raw value
+            gen.writeRawValue("\"" + prefix);
+            Base64.Encoder encoder = Base64.getEncoder();
+            ByteBuffer source = data.slice();
+            byte input[] = new byte[CHUNK_SIZE];
+            byte output[] = new byte[CHUNK_SIZE / 3 * 4];
+            char chars[] = new char[output.length];
+            while (source.hasRemaining())
+            {
+                int n = Math.min(input.length, source.remaining());
+                source.get(input, 0, n);
+                byte chunk[] = n == input.length ? 
+                    input : Arrays.copyOf(input, n);
+                int encoded = encoder.encode(chunk, output);
+                for (int i = 0; i < encoded; i++)
+                {
+                    chars[i] = (char) output[i];
+                }
+                gen.writeRaw(chars, 0, encoded);
+            }
+            gen.writeRaw('"');
+        }
+
+        @Override
+        public void serializeWithType(JsonGenerator gen,
+            SerializerProvider provider, TypeSerializer typeSerializer)
+            throws IOException
+        {
+            serialize(gen, provider);
+        }
+    }
+}
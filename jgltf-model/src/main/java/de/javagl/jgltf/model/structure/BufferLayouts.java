@@ -0,0 +1,253 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package de.javagl.jgltf.model.structure;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import de.javagl.jgltf.model.AccessorModel;
+import de.javagl.jgltf.model.BufferModel;
+import de.javagl.jgltf.model.BufferViewModel;
+import de.javagl.jgltf.model.GltfModel;
+import de.javagl.jgltf.model.MeshModel;
+import de.javagl.jgltf.model.MeshPrimitiveModel;
+
+/**
+ * Methods for checking whether the layout of the accessors, buffer views
+ * and buffers of a glTF model already complies to the alignment and 
+ * byte stride requirements of the specification, so that the existing
+ * buffer views can be reused when the model is restructured.
+ */
+class BufferLayouts
+{
+    /**
+     * Returns whether the buffer layout of the given model complies to the
+     * requirements of the specification. This is the case when
+     * <ul>
+     *   <li>
+     *     all accessors refer to buffer views of the model, and all buffer 
+     *     views refer to buffers of the model
+     *   </li>
+     *   <li>
+     *     all accessors are aligned to their component size, and vertex
+     *     attribute accessors additionally have a byte offset and byte
+     *     stride that are multiples of 4
+     *   </li>
+     *   <li>
+     *     buffer views that are used by multiple vertex attribute accessors
+     *     define a byte stride
+     *   </li>
+     *   <li>
+     *     all accessors are contained in their buffer view, and all buffer
+     *     views are contained in their buffer
+     *   </li>
+     * </ul>
+     * Accessors that do not refer to a buffer view of the model, like 
+     * sparse accessors, cause the layout to be considered as not compliant.
+     * 
+     * @param gltfModel The {@link GltfModel}
+     * @return Whether the buffer layout is compliant
+     */
+    static boolean isCompliant(GltfModel gltfModel)
+    {
+        Set<BufferModel> bufferModels = 
+            new HashSet<BufferModel>(gltfModel.getBufferModels());
+        Set<BufferViewModel> bufferViewModels = 
+            new HashSet<BufferViewModel>(gltfModel.getBufferViewModels());
+        for (BufferViewModel bufferViewModel : bufferViewModels)
+        {
+            BufferModel bufferModel = bufferViewModel.getBufferModel();
+            if (!bufferModels.contains(bufferModel))
+            {
+                return false;
+            }
+            if (!isContained(bufferViewModel))
+            {
+                return false;
+            }
+        }
+        
+        Set<AccessorModel> vertexAttributeAccessorModels = 
+            computeVertexAttributeAccessorModels(gltfModel);
+        Map<BufferViewModel, Integer> vertexAttributeCounts = 
+            new HashMap<BufferViewModel, Integer>();
+        for (AccessorModel accessorModel : gltfModel.getAccessorModels())
+        {
+            BufferViewModel bufferViewModel = 
+                accessorModel.getBufferViewModel();
+            if (!bufferViewModels.contains(bufferViewModel))
+            {
+                return false;
+            }
+            boolean vertexAttribute = 
+                vertexAttributeAccessorModels.contains(accessorModel);
+            if (!isAligned(accessorModel, vertexAttribute))
+            {
+                return false;
+            }
+            if (!isContained(accessorModel))
+            {
+                return false;
+            }
+            if (vertexAttribute)
+            {
+                vertexAttributeCounts.merge(bufferViewModel, 1, Integer::sum);
+            }
+        }
+        for (Entry<BufferViewModel, Integer> entry : 
+            vertexAttributeCounts.entrySet())
+        {
+            BufferViewModel bufferViewModel = entry.getKey();
+            int count = entry.getValue();
+            if (count > 1 && bufferViewModel.getByteStride() == null)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Compute the set of all {@link AccessorModel} instances that are used
+     * as attributes or morph target attributes of mesh primitives in the
+     * given model
+     * 
+     * @param gltfModel The {@link GltfModel}
+     * @return The vertex attribute accessor models
+     */
+    private static Set<AccessorModel> computeVertexAttributeAccessorModels(
+        GltfModel gltfModel)
+    {
+        Set<AccessorModel> accessorModels = new HashSet<AccessorModel>();
+        for (MeshModel meshModel : gltfModel.getMeshModels())
+        {
+            for (MeshPrimitiveModel meshPrimitiveModel : 
+                meshModel.getMeshPrimitiveModels())
+            {
+                accessorModels.addAll(
+                    meshPrimitiveModel.getAttributes().values());
+                for (Map<String, AccessorModel> target : 
+                    meshPrimitiveModel.getTargets())
+                {
+                    accessorModels.addAll(target.values());
+                }
+            }
+        }
+        return accessorModels;
+    }
+    
+    /**
+     * Returns whether the given {@link AccessorModel} is aligned properly,
+     * inside its buffer view and inside the buffer
+     * 
+     * @param accessorModel The {@link AccessorModel}
+     * @param vertexAttribute Whether the accessor is a vertex attribute
+     * @return Whether the accessor is aligned
+     */
+    private static boolean isAligned(
+        AccessorModel accessorModel, boolean vertexAttribute)
+    {
+        BufferViewModel bufferViewModel = accessorModel.getBufferViewModel();
+        int alignmentBytes = Alignment.computeAlignmentBytes(accessorModel);
+        int byteOffset = accessorModel.getByteOffset();
+        int byteStride = accessorModel.getByteStride();
+        if (byteOffset % alignmentBytes != 0)
+        {
+            return false;
+        }
+        if ((bufferViewModel.getByteOffset() + byteOffset) 
+            % alignmentBytes != 0)
+        {
+            return false;
+        }
+        if (byteStride % alignmentBytes != 0)
+        {
+            return false;
+        }
+        if (vertexAttribute)
+        {
+            if (byteOffset % 4 != 0 || byteStride % 4 != 0)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the data of the given {@link AccessorModel} is 
+     * completely contained in its buffer view
+     * 
+     * @param accessorModel The {@link AccessorModel}
+     * @return Whether the accessor is contained in its buffer view
+     */
+    private static boolean isContained(AccessorModel accessorModel)
+    {
+        int elementSize = accessorModel.getPaddedElementSizeInBytes();
+        int byteStride = accessorModel.getByteStride();
+        if (byteStride < elementSize)
+        {
+            return false;
+        }
+        int count = accessorModel.getCount();
+        if (count == 0)
+        {
+            return true;
+        }
+        long end = (long) accessorModel.getByteOffset() 
+            + (long) byteStride * (count - 1) + elementSize;
+        BufferViewModel bufferViewModel = accessorModel.getBufferViewModel();
+        return end <= bufferViewModel.getByteLength();
+    }
+    
+    /**
+     * Returns whether the given {@link BufferViewModel} is completely
+     * contained in its buffer
+     * 
+     * @param bufferViewModel The {@link BufferViewModel}
+     * @return Whether the buffer view is contained in its buffer
+     */
+    private static boolean isContained(BufferViewModel bufferViewModel)
+    {
+        BufferModel bufferModel = bufferViewModel.getBufferModel();
+        long end = (long) bufferViewModel.getByteOffset() 
+            + bufferViewModel.getByteLength();
+        return bufferViewModel.getByteOffset() >= 0 
+            && end <= bufferModel.getByteLength();
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private BufferLayouts()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
@@ -27,6 +27,7 @@
 package de.javagl.jgltf.model.structure;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
 import java.nio.ShortBuffer;
@@ -74,6 +75,12 @@ public final class BufferStructureBuilder
     private static final Logger logger = 
         Logger.getLogger(BufferStructureBuilder.class.getName());
     
+    /**
+     * The total size of the buffers, in bytes, above which the data 
+     * is copied into the buffers in parallel
+     */
+    private static final int PARALLEL_COPY_THRESHOLD = 1 << 20;
+    
     /**
      * The {@link BufferStructure} that is created by this instance
      */
@@ -508,15 +515,31 @@ public final class BufferStructureBuilder
      * {@link BufferStructure}: This will compute the byte offsets and 
      * paddings, and create the actual {@link BufferModel#getBufferData()
      * buffer data}. This does a default construction. A method for
-     * interleaved construction may be added later, in some form. 
+     * interleaved construction may be added later, in some form.<br>
+     * <br>
+     * The construction is done in two phases: First, the layout of all
+     * buffers is computed sequentially, and the buffer data is allocated.
+     * Then, the data of the accessors and images is copied into the 
+     * buffer data. When the total amount of data is large, then this
+     * is done in parallel, using the common fork-join pool.
      */
     private void buildDefault()
     {
         List<DefaultBufferModel> bufferModels = 
             bufferStructure.getBufferModels();
+        List<CopyTask> copyTasks = new ArrayList<CopyTask>();
+        long totalBytes = 0;
         for (DefaultBufferModel bufferModel : bufferModels)
         {
-            processBufferModel(bufferModel);
+            totalBytes += processBufferModel(bufferModel, copyTasks);
+        }
+        if (copyTasks.size() > 1 && totalBytes >= PARALLEL_COPY_THRESHOLD)
+        {
+            copyTasks.parallelStream().forEach(CopyTask::run);
+        }
+        else
+        {
+            copyTasks.forEach(CopyTask::run);
         }
     }
 
@@ -525,29 +548,22 @@ public final class BufferStructureBuilder
      * This will compute the properties of the model, as well as the
      * properties of its {@link AccessorModel} and {@link BufferViewModel}
      * instances, that can only be determined when the buffer is about
-     * to be finalized (e.g. the byte stride, byte offsets and lengths). 
+     * to be finalized (e.g. the byte stride, byte offsets and lengths).<br>
+     * <br>
+     * This will allocate the data for the buffer, and add the tasks for
+     * filling this data to the given list.
      * 
      * @param bufferModel The {@link BufferModel}
+     * @param copyTasks The list that will receive the copy tasks
+     * @return The size of the buffer, in bytes
      */
-    private void processBufferModel(DefaultBufferModel bufferModel)
+    private int processBufferModel(
+        DefaultBufferModel bufferModel, List<CopyTask> copyTasks)
     {
-        // Compute the mapping from AccessorModel instances to the
-        // byte buffers that contain their data, as given when they have 
-        // been added. These byte buffers may have to be combined, reordered 
-        // or padded in order to create the actual buffer data
-        Map<DefaultAccessorModel, ByteBuffer> rawAccessorModelByteBuffers =
-            new LinkedHashMap<DefaultAccessorModel, ByteBuffer>();
-        for (DefaultAccessorModel accessorModel : 
-            bufferStructure.getAccessorModels())
-        {
-            AccessorData accessorData = accessorModel.getAccessorData();
-            ByteBuffer byteBuffer = accessorData.createByteBuffer();
-            rawAccessorModelByteBuffers.put(accessorModel, byteBuffer);
-        }
-
-        // The sequence of accessor data buffers and paddings that
-        // eventually will be combined to create the buffer data
-        List<ByteBuffer> bufferElements = new ArrayList<ByteBuffer>();
+        // The copy tasks for the accessor and image data, with their
+        // byte offsets in the buffer. The buffer data that they refer 
+        // to is assigned after the buffer size has been computed. 
+        List<CopyTask> bufferCopyTasks = new ArrayList<CopyTask>();
         
         List<DefaultBufferViewModel> bufferViewModels = 
             bufferStructure.getBufferViewModels(bufferModel);
@@ -569,7 +585,6 @@ public final class BufferStructureBuilder
             bufferStructure.addPaddingByteIndices(
                 bufferModel, accumulatedBufferBytes, paddingBytesForBuffer);
             accumulatedBufferBytes += paddingBytesForBuffer;
-            bufferElements.add(ByteBuffer.allocate(paddingBytesForBuffer));
             
             bufferViewModel.setByteOffset(accumulatedBufferBytes);
 
@@ -610,8 +625,9 @@ public final class BufferStructureBuilder
                 ByteBuffer bufferViewData = 
                     imageBufferViewDataMap.get(bufferViewModel);
                 bufferViewModel.setByteLength(bufferViewData.capacity());
+                bufferCopyTasks.add(new CopyTask(
+                    accumulatedBufferBytes, bufferViewData));
                 accumulatedBufferBytes += bufferViewData.capacity();
-                bufferElements.add(bufferViewData);
             } 
             else
             {
@@ -653,27 +669,15 @@ public final class BufferStructureBuilder
                         targetByteStride = commonByteStride;
                     }
                     
-                    // Compute the byte buffer for the accessor data. This
-                    // may have to be restructured by inserting padding bytes
-                    ByteBuffer rawAccessorByteBuffer =
-                        rawAccessorModelByteBuffers.get(accessorModel);
-                    ByteBuffer accessorByteBuffer = rawAccessorByteBuffer;
-                    
-                    int count = accessorModel.getCount();
-                    ElementType elementType = accessorModel.getElementType();
-                    int componentType = accessorModel.getComponentType();
-                    accessorByteBuffer = applyPadding(
-                        rawAccessorByteBuffer, count, elementType, 
-                        componentType, targetByteStride);
-                    
-                    accumulatedBufferViewBytes += accessorByteBuffer.capacity();
-    
+                    // The accessor data will be written with the padding 
+                    // bytes that are required by the target byte stride
                     accumulatedBufferBytes += paddingBytesForBufferView;
-                    bufferElements.add(
-                        ByteBuffer.allocate(paddingBytesForBufferView));
-                    accumulatedBufferBytes += accessorByteBuffer.capacity();
-                    bufferElements.add(accessorByteBuffer);
-    
+                    CopyTask copyTask = new CopyTask(accumulatedBufferBytes, 
+                        accessorModel, targetByteStride);
+                    bufferCopyTasks.add(copyTask);
+                    
+                    accumulatedBufferViewBytes += copyTask.byteLength;
+                    accumulatedBufferBytes += copyTask.byteLength;
                 }
                 bufferViewModel.setByteLength(
                     accumulatedBufferViewBytes);
@@ -682,35 +686,149 @@ public final class BufferStructureBuilder
         
         validatePadding(bufferModel);
 
-        // Create the buffer data, and assign it to the buffer
-        ByteBuffer bufferData = Buffers.concat(bufferElements);
+        // Create the buffer data, and assign it to the buffer. The
+        // data will be filled when the copy tasks are executed.
+        ByteBuffer bufferData = ByteBuffer
+            .allocateDirect(accumulatedBufferBytes)
+            .order(ByteOrder.nativeOrder());
         bufferModel.setBufferData(bufferData);
+        for (CopyTask copyTask : bufferCopyTasks)
+        {
+            copyTask.bufferData = bufferData;
+        }
+        copyTasks.addAll(bufferCopyTasks);
+        return accumulatedBufferBytes;
+    }
+    
+    /**
+     * A task for copying the data of an accessor or an image into the 
+     * data of a buffer, during the {@link BufferStructureBuilder#build()
+     * build} process.
+     */
+    private static final class CopyTask
+    {
+        /**
+         * The buffer data that the data is written to
+         */
+        private ByteBuffer bufferData;
+        
+        /**
+         * The byte offset of the data in the buffer
+         */
+        private final int byteOffset;
+        
+        /**
+         * The number of bytes that are written into the buffer
+         */
+        private final int byteLength;
+        
+        /**
+         * The accessor model, or <code>null</code> for image data
+         */
+        private final AccessorModel accessorModel;
+        
+        /**
+         * The accessor data, or <code>null</code> for image data
+         */
+        private final AccessorData accessorData;
+        
+        /**
+         * The byte stride that the accessor data is written with
+         */
+        private final int byteStride;
+
+        /**
+         * The image data, or <code>null</code> for accessor data
+         */
+        private final ByteBuffer imageData;
+        
+        /**
+         * Creates a new task for copying the given image data
+         * 
+         * @param byteOffset The byte offset in the buffer
+         * @param imageData The image data
+         */
+        CopyTask(int byteOffset, ByteBuffer imageData)
+        {
+            this.byteOffset = byteOffset;
+            this.byteLength = imageData.capacity();
+            this.accessorModel = null;
+            this.accessorData = null;
+            this.byteStride = 0;
+            this.imageData = imageData;
+        }
+        
+        /**
+         * Creates a new task for copying the data of the given accessor.
+         * The accessor data will be obtained here, so that the (lazy)
+         * creation of the data does not happen concurrently.
+         * 
+         * @param byteOffset The byte offset in the buffer
+         * @param accessorModel The {@link AccessorModel}
+         * @param byteStride The target byte stride (that must at least
+         * be equal to the {@link ElementType#getByteStride(int)}, but may
+         * be larger)
+         */
+        CopyTask(int byteOffset, AccessorModel accessorModel, int byteStride)
+        {
+            this.byteOffset = byteOffset;
+            this.byteLength = accessorModel.getCount() * byteStride;
+            this.accessorModel = accessorModel;
+            this.accessorData = accessorModel.getAccessorData();
+            this.byteStride = byteStride;
+            this.imageData = null;
+        }
+        
+        /**
+         * Write the data into the buffer data
+         */
+        void run()
+        {
+            ByteBuffer target = 
+                Buffers.createSlice(bufferData, byteOffset, byteLength);
+            if (imageData != null)
+            {
+                target.put(imageData.slice());
+            }
+            else
+            {
+                ByteBuffer packedByteBuffer = accessorData.createByteBuffer();
+                writeWithPadding(packedByteBuffer, target, 
+                    accessorModel.getCount(), accessorModel.getElementType(), 
+                    accessorModel.getComponentType(), byteStride);
+            }
+        }
     }
     
     /**
      * Read the data from the byte buffer that was created with 
      * {@link AccessorData#createByteBuffer()} and that contains
-     * the data in packed form, and write it into a new buffer,
-     * with the padding bytes that are required according to the
-     * specification.
+     * the data in packed form, and write it into the given target
+     * buffer, with the padding bytes that are required according 
+     * to the specification.
      * 
      * @param packedByteBuffer The packed byte buffer
+     * @param target The target buffer, with a capacity of at least
+     * <code>count * byteStride</code>, filled with zeros
      * @param count The number of elements in the accessor
      * @param elementType The accessor element type
      * @param componentType The component type
      * @param byteStride The target byte stride (that must at least
      * be equal to the {@link ElementType#getByteStride(int)}, but may be 
      * larger)
-     * @return The buffer, with the padding applied
      */
-    private static ByteBuffer applyPadding(
-        ByteBuffer packedByteBuffer, int count, ElementType elementType, 
-        int componentType, int byteStride)
+    private static void writeWithPadding(
+        ByteBuffer packedByteBuffer, ByteBuffer target, int count, 
+        ElementType elementType, int componentType, int byteStride)
     {
-        ByteBuffer newByteBuffer = ByteBuffer.allocate(count * byteStride);
         int numComponents = elementType.getNumComponents();
         int numBytesPerComponent = 
             Accessors.getNumBytesForAccessorComponentType(componentType);
+        if (byteStride == numComponents * numBytesPerComponent)
+        {
+            target.put(packedByteBuffer.slice());
+            return;
+        }
         int sourceIndex = 0;
         int targetIndex = 0;
         int padddingForByteStride = 
@@ -722,7 +840,7 @@ public final class BufferStructureBuilder
                 for (int b = 0; b < numBytesPerComponent; b++)
                 {
                     byte value = packedByteBuffer.get(sourceIndex);
-                    newByteBuffer.put(targetIndex, value);
+                    target.put(targetIndex, value);
                     sourceIndex++;
                     targetIndex++;
                 }
@@ -732,7 +850,6 @@ public final class BufferStructureBuilder
             }
             targetIndex += padddingForByteStride;
         }
-        return newByteBuffer;
     }
     
     /**
@@ -810,7 +927,7 @@ public final class BufferStructureBuilder
     private void validatePadding(BufferModel bufferModel)
     {
         List<DefaultBufferViewModel> bufferViewModels =
-            bufferStructure.getBufferViewModels();
+            bufferStructure.getBufferViewModels(bufferModel);
 
         for (BufferViewModel bufferViewModel : bufferViewModels)
         {
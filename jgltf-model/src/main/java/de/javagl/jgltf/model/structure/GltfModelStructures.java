@@ -28,10 +28,13 @@ package de.javagl.jgltf.model.structure;
 
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.logging.Level;
@@ -45,6 +48,7 @@ import de.javagl.jgltf.model.AnimationModel.Channel;
 import de.javagl.jgltf.model.AnimationModel.Interpolation;
 import de.javagl.jgltf.model.AnimationModel.Sampler;
 import de.javagl.jgltf.model.AssetModel;
+import de.javagl.jgltf.model.BufferModel;
 import de.javagl.jgltf.model.BufferViewModel;
 import de.javagl.jgltf.model.CameraModel;
 import de.javagl.jgltf.model.CameraOrthographicModel;
@@ -81,6 +85,8 @@ import de.javagl.jgltf.model.impl.DefaultAnimationModel;
 import de.javagl.jgltf.model.impl.DefaultAnimationModel.DefaultChannel;
 import de.javagl.jgltf.model.impl.DefaultAnimationModel.DefaultSampler;
 import de.javagl.jgltf.model.impl.DefaultAssetModel;
+import de.javagl.jgltf.model.impl.DefaultBufferModel;
+import de.javagl.jgltf.model.impl.DefaultBufferViewModel;
 import de.javagl.jgltf.model.impl.DefaultCameraModel;
 import de.javagl.jgltf.model.impl.DefaultCameraOrthographicModel;
 import de.javagl.jgltf.model.impl.DefaultCameraPerspectiveModel;
@@ -93,6 +99,8 @@ import de.javagl.jgltf.model.impl.DefaultNodeModel;
 import de.javagl.jgltf.model.impl.DefaultSceneModel;
 import de.javagl.jgltf.model.impl.DefaultSkinModel;
 import de.javagl.jgltf.model.impl.DefaultTextureModel;
+import de.javagl.jgltf.model.impl.UriStrings;
+import de.javagl.jgltf.model.io.Buffers;
 import de.javagl.jgltf.model.v1.GltfModelV1;
 import de.javagl.jgltf.model.v1.MaterialModelV1;
 import de.javagl.jgltf.model.v2.MaterialModelV2;
@@ -120,6 +128,19 @@ public class GltfModelStructures
      */
     private DefaultGltfModel target;
     
+    /**
+     * Whether the buffer views of the source model should be reused when 
+     * their layout is compliant
+     */
+    private boolean reuseBufferViews;
+    
+    /**
+     * Whether the buffer layout of the source model already complies to
+     * the alignment and byte stride requirements, so that its buffer views 
+     * may be reused in the target model
+     */
+    private boolean compliantLayout;
+    
     /**
      * The mapping from accessor models of the source to the target
      */
@@ -193,6 +214,28 @@ public class GltfModelStructures
         // Default constructor
     }
     
+    /**
+     * Set whether the buffer views of the source model should be reused 
+     * when their layout already complies to the alignment and byte stride
+     * requirements.<br>
+     * <br>
+     * By default, this is <code>false</code>, and all accessors are 
+     * repacked into new buffer views. When this is <code>true</code>,
+     * then {@link #createDefault()} and {@link #createBinary()} retain 
+     * the buffer views of a compliant source model (for example, 
+     * separate buffer views for the vertex attributes, instead of 
+     * a single, interleaved one). When the source model has a single 
+     * buffer that contains exactly the required buffer views, then this
+     * buffer is used without copying its data. Otherwise, the data of
+     * each required buffer view is copied into the new buffer as a whole.
+     * 
+     * @param reuseBufferViews Whether buffer views should be reused
+     */
+    public void setReuseBufferViews(boolean reuseBufferViews)
+    {
+        this.reuseBufferViews = reuseBufferViews;
+    }
+    
     /**
      * Prepare generating a restructured version of the given glTF model.
      * 
@@ -217,6 +260,8 @@ public class GltfModelStructures
         }
         copyGltfPropertyElements(source, target);
 
+        compliantLayout = reuseBufferViews && sourceV1 == null 
+            && BufferLayouts.isCompliant(source);
         accessorModelsMap = 
             new LinkedHashMap<AccessorModel, DefaultAccessorModel>();
         copyAccessorModels(source, target);
@@ -408,20 +453,40 @@ public class GltfModelStructures
             logger.log(level, sb.toString());
         }
         
-        BufferBuilderStrategy bbs = BufferBuilderStrategies.create(config);
-        bbs.process(target);
-        
-        for (DefaultImageModel imageModel : imageModelsMap.values())
+        if (compliantLayout && isSingleBufferConfig(config))
         {
-            bbs.validateImageModel(imageModel);
+            logger.fine("The model has a compliant buffer layout - "
+                + "reusing buffer views");
+            createReusedBufferStructure(config.imagesInBufferViews);
+        }
+        else
+        {
+            if (compliantLayout)
+            {
+                // The accessor data has not been copied during the
+                // preparation, because it was assumed to be reused
+                for (Entry<AccessorModel, DefaultAccessorModel> entry : 
+                    accessorModelsMap.entrySet())
+                {
+                    copyAccessorData(entry.getKey(), entry.getValue());
+                }
+            }
+            BufferBuilderStrategy bbs = BufferBuilderStrategies.create(config);
+            bbs.process(target);
+            
+            for (DefaultImageModel imageModel : imageModelsMap.values())
+            {
+                bbs.validateImageModel(imageModel);
+            }
+            target.addBufferViewModels(bbs.getBufferViewModels());
+            target.addBufferModels(bbs.getBufferModels());
         }
-        target.addBufferViewModels(bbs.getBufferViewModels());
-        target.addBufferModels(bbs.getBufferModels());
         
         DefaultGltfModel result = target;
         this.source = null;
         target = null;
         
+        compliantLayout = false;
         accessorModelsMap = null;
         animationModelsMap = null;
         cameraModelsMap = null;
@@ -440,6 +505,214 @@ public class GltfModelStructures
         
     }
     
+    /**
+     * Returns whether the given configuration describes a structure with 
+     * a single buffer, as it is created by {@link #createDefault()} and
+     * {@link #createBinary()}
+     * 
+     * @param config The configuration
+     * @return Whether the configuration describes a single buffer
+     */
+    private static boolean isSingleBufferConfig(
+        DefaultBufferBuilderStrategy.Config config)
+    {
+        return !config.bufferPerMeshPrimitive
+            && !config.bufferPerMesh
+            && !config.bufferForMeshes
+            && !config.bufferPerAnimation
+            && !config.bufferForAnimations
+            && !config.bufferPerSkin
+            && !config.bufferForSkins
+            && !config.bufferPerImage
+            && !config.bufferForImages
+            && !config.bufferForAdditionalAccessors;
+    }
+    
+    /**
+     * Create the buffer structure of the target model by reusing the
+     * buffer views of the source model. This may only be called when the 
+     * source model has a {@link #compliantLayout compliant layout}.<br>
+     * <br>
+     * The buffer views that are used by accessors (and by images, if 
+     * images should be stored in buffer views) will be combined into a 
+     * single buffer. If the source model has a single buffer that contains 
+     * exactly these buffer views, then the data of this buffer will be used
+     * directly. Otherwise, the data of each buffer view will be copied into 
+     * the new buffer as a whole, retaining the layout of the accessors 
+     * within the buffer view.
+     * 
+     * @param imagesInBufferViews Whether images should be stored in
+     * buffer views
+     */
+    private void createReusedBufferStructure(boolean imagesInBufferViews)
+    {
+        Set<BufferViewModel> usedBufferViewModels = 
+            new HashSet<BufferViewModel>();
+        for (AccessorModel accessorModel : accessorModelsMap.keySet())
+        {
+            usedBufferViewModels.add(accessorModel.getBufferViewModel());
+        }
+        List<ImageModel> appendedImageModels = new ArrayList<ImageModel>();
+        if (imagesInBufferViews)
+        {
+            Set<BufferViewModel> bufferViewModels = 
+                new HashSet<BufferViewModel>(source.getBufferViewModels());
+            for (ImageModel imageModel : imageModelsMap.keySet())
+            {
+                BufferViewModel bufferViewModel = 
+                    imageModel.getBufferViewModel();
+                if (bufferViewModels.contains(bufferViewModel))
+                {
+                    usedBufferViewModels.add(bufferViewModel);
+                }
+                else
+                {
+                    appendedImageModels.add(imageModel);
+                }
+            }
+        }
+        List<BufferViewModel> sourceBufferViewModels = 
+            new ArrayList<BufferViewModel>();
+        for (BufferViewModel bufferViewModel : source.getBufferViewModels())
+        {
+            if (usedBufferViewModels.contains(bufferViewModel))
+            {
+                sourceBufferViewModels.add(bufferViewModel);
+            }
+        }
+        List<BufferModel> sourceBufferModels = source.getBufferModels();
+        boolean reuseBuffer = sourceBufferModels.size() == 1
+            && sourceBufferViewModels.size() == 
+                source.getBufferViewModels().size()
+            && appendedImageModels.isEmpty();
+        
+        DefaultBufferModel bufferModel = new DefaultBufferModel();
+        bufferModel.setUri("buffer0.bin");
+        Map<Object, DefaultBufferViewModel> bufferViewModelsMap =
+            new LinkedHashMap<Object, DefaultBufferViewModel>();
+        List<ByteBuffer> bufferElements = new ArrayList<ByteBuffer>();
+        int byteLength = 0;
+        for (BufferViewModel sourceBufferViewModel : sourceBufferViewModels)
+        {
+            DefaultBufferViewModel targetBufferViewModel = 
+                new DefaultBufferViewModel(sourceBufferViewModel.getTarget());
+            copyGltfChildOfRootPropertyElements(
+                (DefaultBufferViewModel) sourceBufferViewModel, 
+                targetBufferViewModel);
+            int byteOffset = sourceBufferViewModel.getByteOffset();
+            if (!reuseBuffer)
+            {
+                // Insert padding so that the new byte offset is equal to 
+                // the old one modulo 4, to retain the alignment of the
+                // accessors that refer to the buffer view
+                int padding = Alignment.computePadding(byteLength, 4) 
+                    + byteOffset % 4;
+                bufferElements.add(ByteBuffer.allocate(padding));
+                byteLength += padding;
+                byteOffset = byteLength;
+                bufferElements.add(sourceBufferViewModel.getBufferViewData());
+                byteLength += sourceBufferViewModel.getByteLength();
+            }
+            targetBufferViewModel.setBufferModel(bufferModel);
+            targetBufferViewModel.setByteOffset(byteOffset);
+            targetBufferViewModel.setByteLength(
+                sourceBufferViewModel.getByteLength());
+            targetBufferViewModel.setByteStride(
+                sourceBufferViewModel.getByteStride());
+            bufferViewModelsMap.put(
+                sourceBufferViewModel, targetBufferViewModel);
+        }
+        for (ImageModel imageModel : appendedImageModels)
+        {
+            ByteBuffer imageData = imageModel.getImageData();
+            int padding = Alignment.computePadding(byteLength, 4);
+            bufferElements.add(ByteBuffer.allocate(padding));
+            byteLength += padding;
+            DefaultBufferViewModel targetBufferViewModel = 
+                new DefaultBufferViewModel(null);
+            targetBufferViewModel.setBufferModel(bufferModel);
+            targetBufferViewModel.setByteOffset(byteLength);
+            targetBufferViewModel.setByteLength(imageData.capacity());
+            bufferElements.add(imageData);
+            byteLength += imageData.capacity();
+            bufferViewModelsMap.put(imageModel, targetBufferViewModel);
+        }
+        
+        if (reuseBuffer)
+        {
+            BufferModel sourceBufferModel = sourceBufferModels.get(0);
+            copyGltfChildOfRootPropertyElements(
+                (DefaultBufferModel) sourceBufferModel, bufferModel);
+            bufferModel.setUri("buffer0.bin");
+            bufferModel.setBufferData(sourceBufferModel.getBufferData());
+        }
+        else
+        {
+            bufferModel.setBufferData(Buffers.concat(bufferElements));
+        }
+        
+        for (Entry<AccessorModel, DefaultAccessorModel> entry : 
+            accessorModelsMap.entrySet())
+        {
+            AccessorModel sourceAccessorModel = entry.getKey();
+            DefaultAccessorModel targetAccessorModel = entry.getValue();
+            targetAccessorModel.setBufferViewModel(bufferViewModelsMap.get(
+                sourceAccessorModel.getBufferViewModel()));
+            targetAccessorModel.setByteOffset(
+                sourceAccessorModel.getByteOffset());
+            targetAccessorModel.setByteStride(
+                sourceAccessorModel.getByteStride());
+            targetAccessorModel.setAccessorData(
+                AccessorDatas.create(targetAccessorModel));
+        }
+        
+        Set<String> existingImageUriStrings = new LinkedHashSet<String>();
+        for (ImageModel imageModel : imageModelsMap.keySet())
+        {
+            String uri = imageModel.getUri();
+            if (uri != null)
+            {
+                existingImageUriStrings.add(uri);
+            }
+        }
+        for (Entry<ImageModel, DefaultImageModel> entry : 
+            imageModelsMap.entrySet())
+        {
+            ImageModel sourceImageModel = entry.getKey();
+            DefaultImageModel targetImageModel = entry.getValue();
+            if (imagesInBufferViews)
+            {
+                DefaultBufferViewModel imageBufferViewModel = 
+                    bufferViewModelsMap.get(
+                        sourceImageModel.getBufferViewModel());
+                if (imageBufferViewModel == null)
+                {
+                    imageBufferViewModel = 
+                        bufferViewModelsMap.get(sourceImageModel);
+                }
+                targetImageModel.setBufferViewModel(imageBufferViewModel);
+                targetImageModel.setUri(null);
+            }
+            else
+            {
+                if (targetImageModel.getUri() == null)
+                {
+                    String uri = UriStrings.createImageUriString(
+                        targetImageModel, existingImageUriStrings);
+                    existingImageUriStrings.add(uri);
+                    targetImageModel.setUri(uri);
+                }
+                targetImageModel.setBufferViewModel(null);
+            }
+        }
+        
+        if (!bufferViewModelsMap.isEmpty())
+        {
+            target.addBufferViewModels(bufferViewModelsMap.values());
+            target.addBufferModel(bufferModel);
+        }
+    }
+    
     
     /**
      * Copy the extensions and extras from the given source to
@@ -486,6 +759,10 @@ public class GltfModelStructures
         for (AccessorModel input : accessorModels)
         {
             DefaultAccessorModel output = copy((DefaultAccessorModel) input);
+            if (!compliantLayout)
+            {
+                copyAccessorData(input, output);
+            }
             target.addAccessorModel(output);
             accessorModelsMap.put(input, output);
         }
@@ -494,17 +771,15 @@ public class GltfModelStructures
     /**
      * Creates a copy of the given input model.<br>
      * <br>
-     * This will return a copy that contains a reference to the same data
-     * as the given one, but <i>without</i> an associated 
-     * {@link BufferViewModel}.
+     * This will return a copy <i>without</i> an associated 
+     * {@link BufferViewModel}, and without accessor data. The
+     * data may be assigned with {@link #copyAccessorData}.
      * 
      * @param input The input model
      * @return The copy
      */
     private static DefaultAccessorModel copy(DefaultAccessorModel input)
     {
-        AccessorData inputAccessorData = input.getAccessorData();
-        ByteBuffer byteBuffer = inputAccessorData.createByteBuffer();
         int componentType = input.getComponentType();
         ElementType elementType = input.getElementType();
         int count = input.getCount();
@@ -512,10 +787,24 @@ public class GltfModelStructures
         DefaultAccessorModel output = new DefaultAccessorModel(
             componentType, count, elementType);
         output.setNormalized(normalized);
-        output.setAccessorData(AccessorDatas.create(output, byteBuffer));
         copyGltfChildOfRootPropertyElements(input, output);
         return output;
     }
+    
+    /**
+     * Assign a copy of the data of the given input model to the given
+     * output model
+     * 
+     * @param input The input model
+     * @param output The output model
+     */
+    private static void copyAccessorData(
+        AccessorModel input, DefaultAccessorModel output)
+    {
+        AccessorData inputAccessorData = input.getAccessorData();
+        ByteBuffer byteBuffer = inputAccessorData.createByteBuffer();
+        output.setAccessorData(AccessorDatas.create(output, byteBuffer));
+    }
 
     
     /**
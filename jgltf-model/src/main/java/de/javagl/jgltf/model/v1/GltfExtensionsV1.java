@@ -30,8 +30,6 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 import de.javagl.jgltf.impl.v1.GlTF;
 import de.javagl.jgltf.impl.v1.GlTFProperty;
 import de.javagl.jgltf.model.io.JacksonUtils;
@@ -211,9 +209,7 @@ public class GltfExtensionsV1
         {
             return null;
         }
-        ObjectMapper objectMapper = 
-            JacksonUtils.createObjectMapper();
-        T extension = objectMapper.convertValue(extensionObject, type);
+        T extension = JacksonUtils.convertValue(extensionObject, type);
         return extension;
     }
     
@@ -638,8 +638,7 @@ public class GltfModelCreatorV1
                 String uri = image.getUri();
                 if (IO.isDataUriString(uri))
                 {
-                    byte data[] = IO.readDataUri(uri);
-                    ByteBuffer imageData = Buffers.create(data);
+                    ByteBuffer imageData = IO.readDataUriAsBuffer(uri);
                     imageModel.setImageData(imageData);
                 }
                 else
@@ -768,8 +767,7 @@ public class GltfModelCreatorV1
                 String uri = buffer.getUri();
                 if (IO.isDataUriString(uri))
                 {
-                    byte data[] = IO.readDataUri(uri);
-                    ByteBuffer bufferData = Buffers.create(data);
+                    ByteBuffer bufferData = IO.readDataUriAsBuffer(uri);
                     bufferModel.setBufferData(bufferData);
                 }
                 else
@@ -1155,8 +1153,7 @@ public class GltfModelCreatorV1
                 String uri = shader.getUri();
                 if (IO.isDataUriString(uri))
                 {
-                    byte data[] = IO.readDataUri(uri);
-                    ByteBuffer shaderData = Buffers.create(data);
+                    ByteBuffer shaderData = IO.readDataUriAsBuffer(uri);
                     shaderModel.setShaderData(shaderData);
                 }
                 else
@@ -409,9 +409,13 @@ public class GltfCreatorV2
         accessor.setNormalized(
             accessorModel.isNormalized() ? true : null);
         
+        // The minimum and maximum are computed from the current data, 
+        // because modifications of the underlying buffer cannot be 
+        // detected by the values that are cached in the model
         AccessorData accessorData = accessorModel.getAccessorData();
-        accessor.setMax(AccessorDatas.computeMax(accessorData));
-        accessor.setMin(AccessorDatas.computeMin(accessorData));
+        Number minMax[][] = AccessorDatas.computeMinMax(accessorData);
+        accessor.setMax(minMax[1]);
+        accessor.setMin(minMax[0]);
         
         return accessor;
     }
@@ -110,7 +110,9 @@ import de.javagl.jgltf.model.impl.DefaultSceneModel;
 import de.javagl.jgltf.model.impl.DefaultSkinModel;
 import de.javagl.jgltf.model.impl.DefaultTextureModel;
 import de.javagl.jgltf.model.io.Buffers;
-import de.javagl.jgltf.model.io.GltfAsset;
+import de.javagl.jgltf.model.io.GltfLoadListener;
+import de.javagl.jgltf.model.io.GltfLoadListeners;
+import de.javagl.jgltf.model.io.GltfLoadPhase;
 import de.javagl.jgltf.model.io.IO;
 import de.javagl.jgltf.model.io.MimeTypes;
 import de.javagl.jgltf.model.io.v2.GltfAssetV2;
@@ -136,18 +138,36 @@ public class GltfModelCreatorV2
      * @return The {@link GltfModel}
      */
     public static DefaultGltfModel create(GltfAssetV2 gltfAsset)
+    {
+        return create(gltfAsset, null);
+    }
+    
+    /**
+     * Create the {@link GltfModel} for the given {@link GltfAssetV2}.<br>
+     * <br>
+     * The given {@link GltfLoadListener} will be informed about the 
+     * {@link GltfLoadPhase#SUBSTITUTE_SPARSE} phase of each sparse 
+     * accessor, which happens when the accessor data is first accessed.
+     * 
+     * @param gltfAsset The {@link GltfAssetV2}
+     * @param loadListener The optional {@link GltfLoadListener}
+     * @return The {@link GltfModel}
+     */
+    public static DefaultGltfModel create(GltfAssetV2 gltfAsset,
+        GltfLoadListener loadListener)
     {
         DefaultGltfModel gltfModel = new DefaultGltfModel();
         GltfModelCreatorV2 creator = 
             new GltfModelCreatorV2(gltfAsset, gltfModel);
+        creator.loadListener = loadListener;
         creator.create();
         return gltfModel;
     }
     
     /**
-     * The {@link GltfAsset} of the model
+     * The {@link GltfAssetV2} of the model
      */
-    private final GltfAsset gltfAsset;
+    private final GltfAssetV2 gltfAsset;
     
     /**
      * The {@link GlTF} of this model
@@ -159,6 +179,11 @@ public class GltfModelCreatorV2
      */
     private final DefaultGltfModel gltfModel;
     
+    /**
+     * The optional {@link GltfLoadListener} for the sparse substitution
+     */
+    private GltfLoadListener loadListener;
+    
     /**
      * Creates a new model for the given glTF
      * 
@@ -521,7 +546,9 @@ public class GltfModelCreatorV2
             {
                 accessorModel.setByteStride(byteStride);
             }
-            accessorModel.setAccessorData(AccessorDatas.create(accessorModel));
+            // The accessor data is not set here. It will be created by 
+            // the accessor model when it is first requested, so that
+            // the buffer data is not accessed during the construction
         }
         else
         {
@@ -589,7 +616,7 @@ public class GltfModelCreatorV2
                     denseAccessorData, baseAccessorData); 
             };
             denseBufferViewModel.setSparseSubstitutionCallback(
-                sparseSubstitutionCallback);
+                instrumented(sparseSubstitutionCallback, accessor));
         }
         else
         {
@@ -606,10 +633,38 @@ public class GltfModelCreatorV2
                     denseAccessorData, null); 
             };
             denseBufferViewModel.setSparseSubstitutionCallback(
-                sparseSubstitutionCallback);
+                instrumented(sparseSubstitutionCallback, accessor));
         }
     }
     
+    /**
+     * Returns a callback that calls the given sparse substitution callback,
+     * and informs the {@link GltfLoadListener} about its duration. If no
+     * listener is present, then the given callback is returned.
+     * 
+     * @param sparseSubstitutionCallback The sparse substitution callback
+     * @param accessor The sparse {@link Accessor}
+     * @return The callback
+     */
+    private Consumer<ByteBuffer> instrumented(
+        Consumer<ByteBuffer> sparseSubstitutionCallback, Accessor accessor)
+    {
+        GltfLoadListener listener = loadListener;
+        if (listener == null || listener == GltfLoadListeners.noOp())
+        {
+            return sparseSubstitutionCallback;
+        }
+        return denseByteBuffer -> 
+        {
+            long startNs = System.nanoTime();
+            sparseSubstitutionCallback.accept(denseByteBuffer);
+            long durationNs = System.nanoTime() - startNs;
+            listener.phaseCompleted(GltfLoadPhase.SUBSTITUTE_SPARSE, 
+                durationNs, denseByteBuffer.capacity(), 
+                accessor.getSparse().getCount());
+        };
+    }
+    
     /**
      * Create a new {@link BufferViewModel} with an associated 
      * {@link BufferModel} that serves as the basis for a sparse accessor, or 
@@ -837,8 +892,7 @@ public class GltfModelCreatorV2
                 String uri = buffer.getUri();
                 if (IO.isDataUriString(uri))
                 {
-                    byte data[] = IO.readDataUri(uri);
-                    ByteBuffer bufferData = Buffers.create(data);
+                    ByteBuffer bufferData = IO.readDataUriAsBuffer(uri);
                     bufferModel.setBufferData(bufferData);
                 }
                 else
@@ -854,8 +908,16 @@ public class GltfModelCreatorV2
                     }
                     else
                     {
-                        ByteBuffer bufferData = gltfAsset.getReferenceData(uri);
-                        bufferModel.setBufferData(bufferData);
+                        // The data is obtained from the asset when it
+                        // is first accessed, allowing the asset to 
+                        // resolve the external reference lazily
+                        bufferModel.setBufferDataSupplier(
+                            () -> gltfAsset.getReferenceData(uri));
+                        
+                        // Until then, the data of the buffer views may 
+                        // be read from the respective ranges of the file
+                        bufferModel.setBufferRangeReader(
+                            gltfAsset.getBufferRangeReader(uri));
                     }
                 }
             }
@@ -1125,14 +1187,18 @@ public class GltfModelCreatorV2
                 String uri = image.getUri();
                 if (IO.isDataUriString(uri))
                 {
-                    byte data[] = IO.readDataUri(uri);
-                    ByteBuffer imageData = Buffers.create(data);
+                    ByteBuffer imageData = IO.readDataUriAsBuffer(uri);
                     imageModel.setImageData(imageData);
                 }
                 else
                 {
-                    ByteBuffer imageData = gltfAsset.getReferenceData(uri);
-                    imageModel.setImageData(imageData);
+                    // The data is obtained from the asset when it is first
+                    // accessed, allowing the asset to resolve the external
+                    // reference lazily. If no MIME type was given, then the
+                    // image model will detect it from the image data.
+                    imageModel.setImageDataSupplier(
+                        () -> gltfAsset.getReferenceData(uri));
+                    continue;
                 }
             }
             
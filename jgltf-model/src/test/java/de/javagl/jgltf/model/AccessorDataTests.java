@@ -1,11 +1,20 @@
 package de.javagl.jgltf.model;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.Random;
 
 import org.junit.Test;
 
+import de.javagl.jgltf.model.impl.DefaultAccessorModel;
+import de.javagl.jgltf.model.io.Buffers;
+
 @SuppressWarnings("javadoc")
 public class AccessorDataTests
 {
@@ -201,7 +210,176 @@ public class AccessorDataTests
         assertEquals(5, ad.get(3, 1));
     }
     
+    @Test
+    public void testBulkAccessTightlyPacked()
+    {
+        ByteBuffer byteBuffer = Buffers.create(4 * 3 * 4);
+        AccessorFloatData ad = (AccessorFloatData) AccessorDatas.create(
+            GltfConstants.GL_FLOAT, byteBuffer, 0, 4, ElementType.VEC3, null);
+        assertTrue(ad.isTightlyPacked());
+        
+        float values[] = { 1, 2, 3, 4, 5, 6 };
+        ad.writeFrom(values, 1, 2);
+        assertEquals(4.0f, ad.get(2, 0), 0.0f);
+        
+        float actual[] = new float[6];
+        ad.readInto(actual, 1, 2);
+        assertArrayEquals(values, actual, 0.0f);
+        
+        FloatBuffer view = ad.createFloatBufferView();
+        assertEquals(12, view.capacity());
+        assertEquals(6.0f, view.get(8), 0.0f);
+        assertTrue(view.isReadOnly());
+        ad.set(3, 2, 7.0f);
+        assertEquals(7.0f, view.get(11), 0.0f);
+    }
     
+    @Test
+    public void testBulkAccessStrided()
+    {
+        // VEC3 elements with a stride of 16 bytes
+        ByteBuffer byteBuffer = Buffers.create(3 * 16);
+        AccessorFloatData ad = (AccessorFloatData) AccessorDatas.create(
+            GltfConstants.GL_FLOAT, byteBuffer, 0, 3, ElementType.VEC3, 16);
+        assertFalse(ad.isTightlyPacked());
+        assertNull(ad.createFloatBufferView());
+        
+        float values[] = { 1, 2, 3, 4, 5, 6, 7, 8, 9 };
+        ad.writeFrom(values, 0, 3);
+        assertEquals(4.0f, byteBuffer.getFloat(16), 0.0f);
+        assertEquals(0.0f, byteBuffer.getFloat(12), 0.0f);
+        assertEquals(1, ad.getModificationCount());
+        
+        float actual[] = new float[9];
+        ad.readInto(actual, 0, 3);
+        assertArrayEquals(values, actual, 0.0f);
+    }
     
+    @Test
+    public void testBulkAccessMatrixPadding()
+    {
+        byte mat[] = new byte[] 
+        {
+            1, 2, -1, -1,
+            3, 4, -1, -1,
+            2, 3, -1, -1,
+            4, 5, -1, -1,
+        };
+        AccessorByteData ad = (AccessorByteData) AccessorDatas.create(
+            GltfConstants.GL_BYTE, ByteBuffer.wrap(mat), 0, 
+            2, ElementType.MAT2, null);
+        assertFalse(ad.isTightlyPacked());
+        
+        byte actual[] = new byte[8];
+        ad.readInto(actual, 0, 2);
+        assertArrayEquals(new byte[] { 1, 2, 3, 4, 2, 3, 4, 5 }, actual);
+    }
     
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testBulkAccessOutOfRange()
+    {
+        AccessorIntData ad = (AccessorIntData) AccessorDatas.create(
+            GltfConstants.GL_UNSIGNED_INT, Buffers.create(16), 0, 4, 
+            ElementType.SCALAR, null);
+        ad.readInto(new int[4], 2, 3);
+    }
+    
+    @Test
+    public void testComputeMinMaxParallel()
+    {
+        int numElements = 300000;
+        Random random = new Random(0);
+        AccessorFloatData floatData = (AccessorFloatData) AccessorDatas.create(
+            GltfConstants.GL_FLOAT, Buffers.create(numElements * 16), 0, 
+            numElements, ElementType.VEC3, 16);
+        AccessorIntData intData = (AccessorIntData) AccessorDatas.create(
+            GltfConstants.GL_UNSIGNED_INT, Buffers.create(numElements * 4), 
+            0, numElements, ElementType.SCALAR, null);
+        AccessorShortData shortData = (AccessorShortData) AccessorDatas.create(
+            GltfConstants.GL_SHORT, Buffers.create(numElements * 4), 
+            0, numElements, ElementType.VEC2, null);
+        for (int e = 0; e < numElements; e++)
+        {
+            for (int c = 0; c < 3; c++)
+            {
+                floatData.set(e, c, (float) random.nextGaussian());
+            }
+            intData.set(e, 0, random.nextInt());
+            shortData.set(e, 0, (short) random.nextInt());
+            shortData.set(e, 1, (short) random.nextInt());
+        }
+        assertMinMaxEquals(floatData);
+        assertMinMaxEquals(intData);
+        assertMinMaxEquals(shortData);
+    }
+    
+    private static void assertMinMaxEquals(AccessorData accessorData)
+    {
+        Number minMax[][] = AccessorDatas.computeMinMax(accessorData);
+        assertArrayEquals(
+            AccessorDatas.computeMinSequential(accessorData), minMax[0]);
+        assertArrayEquals(
+            AccessorDatas.computeMaxSequential(accessorData), minMax[1]);
+    }
+    
+    @Test
+    public void testAccessorModelMinMaxIsUpdated()
+    {
+        DefaultAccessorModel accessorModel = new DefaultAccessorModel(
+            GltfConstants.GL_FLOAT, 2, ElementType.SCALAR);
+        AccessorFloatData accessorData = (AccessorFloatData) 
+            AccessorDatas.create(GltfConstants.GL_FLOAT, Buffers.create(8), 
+                0, 2, ElementType.SCALAR, null);
+        accessorModel.setAccessorData(accessorData);
+        assertArrayEquals(new Number[] { 0.0f }, accessorModel.getMax());
+        
+        accessorData.set(1, 0, 5.0f);
+        assertArrayEquals(new Number[] { 5.0f }, accessorModel.getMax());
+        
+        accessorData.writeFrom(new float[] { -2.0f }, 0, 1);
+        assertArrayEquals(new Number[] { -2.0f }, accessorModel.getMin());
+    }
+    
+    @Test
+    public void testModificationCountIsUnknownByDefault()
+    {
+        AccessorFloatData accessorData = (AccessorFloatData) 
+            AccessorDatas.create(GltfConstants.GL_FLOAT, Buffers.create(8), 
+                0, 2, ElementType.SCALAR, null);
+        assertEquals(0, accessorData.getModificationCount());
+        
+        AccessorData untrackedData = new AccessorData()
+        {
+            @Override
+            public Class<?> getComponentType()
+            {
+                return accessorData.getComponentType();
+            }
+            
+            @Override
+            public int getNumElements()
+            {
+                return accessorData.getNumElements();
+            }
+            
+            @Override
+            public int getNumComponentsPerElement()
+            {
+                return accessorData.getNumComponentsPerElement();
+            }
+            
+            @Override
+            public int getTotalNumComponents()
+            {
+                return accessorData.getTotalNumComponents();
+            }
+            
+            @Override
+            public ByteBuffer createByteBuffer()
+            {
+                return accessorData.createByteBuffer();
+            }
+        };
+        assertEquals(-1, untrackedData.getModificationCount());
+    }
 }
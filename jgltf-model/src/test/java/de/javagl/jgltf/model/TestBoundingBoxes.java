@@ -0,0 +1,161 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.jgltf.model;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import org.junit.Test;
+
+import de.javagl.jgltf.model.impl.DefaultAccessorModel;
+import de.javagl.jgltf.model.impl.DefaultGltfModel;
+import de.javagl.jgltf.model.impl.DefaultMeshModel;
+import de.javagl.jgltf.model.impl.DefaultMeshPrimitiveModel;
+import de.javagl.jgltf.model.impl.DefaultNodeModel;
+import de.javagl.jgltf.model.impl.DefaultSceneModel;
+import de.javagl.jgltf.model.io.Buffers;
+
+/**
+ * Tests for the {@link BoundingBoxes}
+ */
+@SuppressWarnings("javadoc")
+public class TestBoundingBoxes
+{
+    private static final float EPSILON = 1e-5f;
+    
+    @Test
+    public void testSharedMeshWithTransformedNodes()
+    {
+        DefaultMeshModel meshModel = createMeshModel(new float[] 
+        { 
+            -1.0f, 0.0f, 0.0f,  
+             1.0f, 2.0f, 0.0f,  
+             0.0f, 0.0f, 3.0f  
+        });
+        DefaultNodeModel root = new DefaultNodeModel();
+        root.setTranslation(new float[] { 10.0f, 0.0f, 0.0f });
+        DefaultNodeModel child0 = new DefaultNodeModel();
+        child0.addMeshModel(meshModel);
+        root.addChild(child0);
+        DefaultNodeModel child1 = new DefaultNodeModel();
+        child1.addMeshModel(meshModel);
+        child1.setScale(new float[] { 2.0f, 2.0f, 2.0f });
+        root.addChild(child1);
+        GltfModel gltfModel = createGltfModel(root);
+
+        assertArrayEquals(new float[] { 8.0f, 0.0f, 0.0f, 12.0f, 4.0f, 6.0f },
+            BoundingBoxes.computeBoundingBoxMinMax(gltfModel), EPSILON);
+        
+        // A rotation of 90 degrees around the y-axis maps (x,y,z) 
+        // to (z,y,-x)
+        float s = (float) Math.sqrt(0.5);
+        child1.setRotation(new float[] { 0.0f, s, 0.0f, s });
+        assertArrayEquals(new float[] { 9.0f, 0.0f, -2.0f, 16.0f, 4.0f, 3.0f },
+            BoundingBoxes.computeBoundingBoxMinMax(gltfModel), EPSILON);
+        
+        root.setTranslation(new float[] { 0.0f, 0.0f, 0.0f });
+        assertArrayEquals(new float[] { -1.0f, 0.0f, -2.0f, 6.0f, 4.0f, 3.0f },
+            BoundingBoxes.computeBoundingBoxMinMax(gltfModel), EPSILON);
+    }
+    
+    @Test
+    public void testManyNodes()
+    {
+        DefaultMeshModel meshModel = createMeshModel(new float[] 
+        { 
+            0.0f, 0.0f, 0.0f,  
+            1.0f, 1.0f, 1.0f  
+        });
+        DefaultNodeModel root = new DefaultNodeModel();
+        int n = 10000;
+        for (int i = 0; i < n; i++)
+        {
+            DefaultNodeModel child = new DefaultNodeModel();
+            child.addMeshModel(meshModel);
+            child.setTranslation(new float[] { i, -i, i % 10 });
+            root.addChild(child);
+        }
+        GltfModel gltfModel = createGltfModel(root);
+        assertArrayEquals(new float[] { 0.0f, -(n - 1), 0.0f, n, 1.0f, 10.0f },
+            BoundingBoxes.computeBoundingBoxMinMax(gltfModel), EPSILON);
+    }
+    
+    @Test
+    public void testModifiedPositionsAreDetected()
+    {
+        DefaultMeshModel meshModel = createMeshModel(new float[] 
+        { 
+            0.0f, 0.0f, 0.0f,  
+            1.0f, 1.0f, 1.0f  
+        });
+        DefaultNodeModel root = new DefaultNodeModel();
+        root.addMeshModel(meshModel);
+        GltfModel gltfModel = createGltfModel(root);
+        assertArrayEquals(new float[] { 0.0f, 0.0f, 0.0f, 1.0f, 1.0f, 1.0f },
+            BoundingBoxes.computeBoundingBoxMinMax(gltfModel), EPSILON);
+        
+        AccessorFloatData accessorData = (AccessorFloatData) 
+            meshModel.getMeshPrimitiveModels().get(0)
+                .getAttributes().get("POSITION").getAccessorData();
+        accessorData.writeFrom(new float[] { 3.0f, 4.0f, 5.0f }, 1, 1);
+        assertArrayEquals(new float[] { 0.0f, 0.0f, 0.0f, 3.0f, 4.0f, 5.0f },
+            BoundingBoxes.computeBoundingBoxMinMax(gltfModel), EPSILON);
+    }
+    
+    @Test
+    public void testModifiedHierarchyIsDetected()
+    {
+        DefaultMeshModel meshModel = createMeshModel(new float[] 
+        { 
+            0.0f, 0.0f, 0.0f,  
+            1.0f, 1.0f, 1.0f  
+        });
+        DefaultNodeModel root = new DefaultNodeModel();
+        root.addMeshModel(meshModel);
+        GltfModel gltfModel = createGltfModel(root);
+        assertArrayEquals(new float[] { 0.0f, 0.0f, 0.0f, 1.0f, 1.0f, 1.0f },
+            BoundingBoxes.computeBoundingBoxMinMax(gltfModel), EPSILON);
+        
+        DefaultNodeModel child = new DefaultNodeModel();
+        child.addMeshModel(meshModel);
+        child.setTranslation(new float[] { 5.0f, 0.0f, 0.0f });
+        root.addChild(child);
+        assertArrayEquals(new float[] { 0.0f, 0.0f, 0.0f, 6.0f, 1.0f, 1.0f },
+            BoundingBoxes.computeBoundingBoxMinMax(gltfModel), EPSILON);
+        
+        root.setTranslation(new float[] { 0.0f, -1.0f, 0.0f });
+        assertArrayEquals(new float[] { 0.0f, -1.0f, 0.0f, 6.0f, 0.0f, 1.0f },
+            BoundingBoxes.computeBoundingBoxMinMax(gltfModel), EPSILON);
+    }
+    
+    private static DefaultMeshModel createMeshModel(float positions[])
+    {
+        int count = positions.length / 3;
+        DefaultAccessorModel accessorModel = new DefaultAccessorModel(
+            GltfConstants.GL_FLOAT, count, ElementType.VEC3);
+        AccessorFloatData accessorData = (AccessorFloatData) 
+            AccessorDatas.create(GltfConstants.GL_FLOAT, 
+                Buffers.create(positions.length * 4), 0, count, 
+                ElementType.VEC3, null);
+        accessorData.writeFrom(positions, 0, count);
+        accessorModel.setAccessorData(accessorData);
+        
+        DefaultMeshPrimitiveModel meshPrimitiveModel = 
+            new DefaultMeshPrimitiveModel(GltfConstants.GL_TRIANGLES);
+        meshPrimitiveModel.putAttribute("POSITION", accessorModel);
+        DefaultMeshModel meshModel = new DefaultMeshModel();
+        meshModel.addMeshPrimitiveModel(meshPrimitiveModel);
+        return meshModel;
+    }
+    
+    private static GltfModel createGltfModel(DefaultNodeModel root)
+    {
+        DefaultSceneModel sceneModel = new DefaultSceneModel();
+        sceneModel.addNode(root);
+        DefaultGltfModel gltfModel = new DefaultGltfModel();
+        gltfModel.addSceneModel(sceneModel);
+        return gltfModel;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.jgltf.model;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import org.junit.Test;
+
+import de.javagl.jgltf.model.impl.DefaultNodeModel;
+
+/**
+ * Tests for the cached transforms of the {@link DefaultNodeModel}
+ */
+@SuppressWarnings("javadoc")
+public class TestDefaultNodeModel
+{
+    private static final float EPSILON = 1e-6f;
+    
+    @Test
+    public void testGlobalTransformIsProductOfLocalTransforms()
+    {
+        DefaultNodeModel root = new DefaultNodeModel();
+        DefaultNodeModel child = new DefaultNodeModel();
+        DefaultNodeModel grandChild = new DefaultNodeModel();
+        root.addChild(child);
+        child.addChild(grandChild);
+        root.setTranslation(new float[] { 1.0f, 2.0f, 3.0f });
+        child.setRotation(new float[] { 0.0f, 0.7071068f, 0.0f, 0.7071068f });
+        grandChild.setScale(new float[] { 2.0f, 2.0f, 2.0f });
+
+        assertArrayEquals(computeExpectedGlobalTransform(grandChild),
+            grandChild.computeGlobalTransform(null), EPSILON);
+        assertArrayEquals(computeExpectedGlobalTransform(grandChild),
+            grandChild.computeGlobalTransform(null), EPSILON);
+    }
+
+    @Test
+    public void testSetterInvalidatesDescendants()
+    {
+        DefaultNodeModel root = new DefaultNodeModel();
+        DefaultNodeModel child = new DefaultNodeModel();
+        root.addChild(child);
+        child.setTranslation(new float[] { 0.0f, 1.0f, 0.0f });
+        float before[] = child.computeGlobalTransform(null);
+        assertArrayEquals(new float[] { 0.0f, 1.0f, 0.0f }, 
+            new float[] { before[12], before[13], before[14] }, EPSILON);
+
+        root.setTranslation(new float[] { 5.0f, 0.0f, 0.0f });
+        float after[] = child.computeGlobalTransform(null);
+        assertArrayEquals(new float[] { 5.0f, 1.0f, 0.0f }, 
+            new float[] { after[12], after[13], after[14] }, EPSILON);
+    }
+
+    @Test
+    public void testModifiedArrayIsAppliedWhenSetAgain()
+    {
+        DefaultNodeModel root = new DefaultNodeModel();
+        DefaultNodeModel child = new DefaultNodeModel();
+        root.addChild(child);
+        float translation[] = { 1.0f, 0.0f, 0.0f };
+        root.setTranslation(translation);
+        child.computeGlobalTransform(null);
+        
+        translation[0] = 3.0f;
+        root.setTranslation(translation);
+        assertArrayEquals(computeExpectedGlobalTransform(child),
+            child.computeGlobalTransform(null), EPSILON);
+        assertArrayEquals(DefaultNodeModel.computeLocalTransform(root, null),
+            root.computeLocalTransform(null), EPSILON);
+    }
+    
+    @Test
+    public void testModifiedArrayIsDetected()
+    {
+        DefaultNodeModel root = new DefaultNodeModel();
+        DefaultNodeModel child = new DefaultNodeModel();
+        root.addChild(child);
+        root.setRotation(new float[] { 0.0f, 0.0f, 0.0f, 1.0f });
+        child.setTranslation(new float[] { 1.0f, 0.0f, 0.0f });
+        child.computeGlobalTransform(null);
+        
+        root.getRotation()[1] = 0.7071068f;
+        root.getRotation()[3] = 0.7071068f;
+        child.getTranslation()[2] = 2.0f;
+        assertArrayEquals(computeExpectedGlobalTransform(child),
+            child.computeGlobalTransform(null), EPSILON);
+    }
+    
+    @Test
+    public void testNewParentIsDetected()
+    {
+        DefaultNodeModel first = new DefaultNodeModel();
+        DefaultNodeModel second = new DefaultNodeModel();
+        DefaultNodeModel child = new DefaultNodeModel();
+        first.setTranslation(new float[] { 1.0f, 0.0f, 0.0f });
+        second.setTranslation(new float[] { 0.0f, 2.0f, 0.0f });
+        first.addChild(child);
+        child.computeGlobalTransform(null);
+        
+        second.addChild(child);
+        assertArrayEquals(computeExpectedGlobalTransform(child),
+            child.computeGlobalTransform(null), EPSILON);
+    }
+    
+    private static float[] computeExpectedGlobalTransform(NodeModel nodeModel)
+    {
+        float result[] = new float[16];
+        MathUtils.setIdentity4x4(result);
+        NodeModel current = nodeModel;
+        while (current != null)
+        {
+            float local[] = DefaultNodeModel.computeLocalTransform(
+                current, null);
+            MathUtils.mul4x4(local, result, result);
+            current = current.getParent();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.jgltf.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import de.javagl.jgltf.model.impl.DefaultNodeModel;
+import de.javagl.jgltf.model.impl.DefaultSceneModel;
+
+/**
+ * Tests for the {@link SceneTransformEngine}
+ */
+@SuppressWarnings("javadoc")
+public class TestSceneTransformEngine
+{
+    private static final float EPSILON = 1e-4f;
+    
+    @Test
+    public void testGlobalTransformsOfLargeScene()
+    {
+        Random random = new Random(0);
+        DefaultSceneModel sceneModel = new DefaultSceneModel();
+        List<DefaultNodeModel> nodeModels = new ArrayList<DefaultNodeModel>();
+        for (int i = 0; i < 20000; i++)
+        {
+            DefaultNodeModel nodeModel = createNodeModel(random);
+            if (i < 3)
+            {
+                sceneModel.addNode(nodeModel);
+            }
+            else if (i < 300)
+            {
+                // A deep chain
+                nodeModels.get(i - 1).addChild(nodeModel);
+            }
+            else
+            {
+                nodeModels.get(random.nextInt(i)).addChild(nodeModel);
+            }
+            nodeModels.add(nodeModel);
+        }
+        
+        SceneTransformEngine engine = new SceneTransformEngine(sceneModel);
+        assertEquals(nodeModels.size(), engine.getNodeCount());
+        assertTransformsEqual(engine, nodeModels);
+        
+        nodeModels.get(1).setTranslation(new float[] { 10.0f, 0.0f, 0.0f });
+        nodeModels.get(5).setMatrix(MathUtils.createIdentity4x4());
+        engine.update();
+        assertTransformsEqual(engine, nodeModels);
+    }
+    
+    @Test
+    public void testWritingTransformArrays()
+    {
+        DefaultNodeModel root = new DefaultNodeModel();
+        DefaultNodeModel child = new DefaultNodeModel();
+        root.addChild(child);
+        child.setTranslation(new float[] { 0.0f, 1.0f, 0.0f });
+        SceneTransformEngine engine = 
+            new SceneTransformEngine(Arrays.asList(root));
+
+        int rootIndex = engine.getIndex(root);
+        engine.getTranslations()[rootIndex * 3] = 2.0f;
+        engine.getScales()[rootIndex * 3 + 1] = 3.0f;
+        engine.computeGlobalTransforms();
+        
+        float global[] = engine.createGlobalTransformSupplier(child).get();
+        assertArrayEquals(new float[] { 2.0f, 3.0f, 0.0f }, 
+            new float[] { global[12], global[13], global[14] }, EPSILON);
+    }
+    
+    @Test
+    public void testZeroLengthRotationIsIdentity()
+    {
+        DefaultSceneModel sceneModel = new DefaultSceneModel();
+        DefaultNodeModel nodeModel = new DefaultNodeModel();
+        nodeModel.setTranslation(new float[] { 1.0f, 2.0f, 3.0f });
+        nodeModel.setRotation(new float[4]);
+        sceneModel.addNode(nodeModel);
+        
+        SceneTransformEngine engine = new SceneTransformEngine(sceneModel);
+        float expected[] = MathUtils.createIdentity4x4();
+        expected[12] = 1.0f;
+        expected[13] = 2.0f;
+        expected[14] = 3.0f;
+        assertArrayEquals(expected, engine.getGlobalTransform(0, null), 0.0f);
+        assertArrayEquals(expected, nodeModel.computeGlobalTransform(null), 
+            0.0f);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testNodeContainedTwice()
+    {
+        DefaultNodeModel root = new DefaultNodeModel();
+        DefaultNodeModel child = new DefaultNodeModel();
+        root.addChild(child);
+        new SceneTransformEngine(Arrays.asList(root, child));
+    }
+    
+    private static void assertTransformsEqual(
+        SceneTransformEngine engine, List<? extends NodeModel> nodeModels)
+    {
+        float actual[] = new float[16];
+        for (NodeModel nodeModel : nodeModels)
+        {
+            float expected[] = nodeModel.computeGlobalTransform(null);
+            engine.getGlobalTransform(engine.getIndex(nodeModel), actual);
+            assertArrayEquals(expected, actual, 
+                EPSILON * Math.max(1.0f, maxAbs(expected)));
+        }
+    }
+    
+    private static float maxAbs(float array[])
+    {
+        float result = 0.0f;
+        for (float value : array)
+        {
+            result = Math.max(result, Math.abs(value));
+        }
+        return result;
+    }
+    
+    private static DefaultNodeModel createNodeModel(Random random)
+    {
+        DefaultNodeModel nodeModel = new DefaultNodeModel();
+        nodeModel.setTranslation(new float[] { 
+            random.nextFloat() - 0.5f, 
+            random.nextFloat() - 0.5f, 
+            random.nextFloat() - 0.5f });
+        nodeModel.setRotation(new float[] { 
+            random.nextFloat(), random.nextFloat(), 
+            random.nextFloat(), random.nextFloat() + 0.1f });
+        if (random.nextBoolean())
+        {
+            float s = 0.9f + random.nextFloat() * 0.2f;
+            nodeModel.setScale(new float[] { s, s, s });
+        }
+        return nodeModel;
+    }
+}
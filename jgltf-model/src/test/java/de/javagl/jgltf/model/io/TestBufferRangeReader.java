@@ -0,0 +1,182 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.jgltf.model.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.javagl.jgltf.model.AccessorByteData;
+import de.javagl.jgltf.model.AccessorModel;
+import de.javagl.jgltf.model.BufferViewModel;
+import de.javagl.jgltf.model.GltfModel;
+import de.javagl.jgltf.model.impl.DefaultBufferModel;
+
+/**
+ * Tests for the {@link BufferRangeReader} and the buffer range loading
+ * of the {@link GltfModelReader}
+ */
+@SuppressWarnings("javadoc")
+public class TestBufferRangeReader
+{
+    private static final int BUFFER_SIZE = 1 << 20;
+    
+    @Test
+    public void testReadAllCoalescesNeighboringRanges() throws IOException
+    {
+        Path directory = Files.createTempDirectory("jgltf");
+        try
+        {
+            Path file = directory.resolve("buffer.bin");
+            Files.write(file, createBufferData());
+            BufferRangeReader reader = new BufferRangeReader(file);
+            ByteBuffer datas[] = reader.readAll(
+                new long[] { 50000, 20, 0 }, new int[] { 16, 10, 10 });
+            
+            // The first two ranges are combined, the last one is separate
+            assertEquals(2, reader.getReadCount());
+            assertEquals(30 + 16, reader.getByteCount());
+            assertEquals(16, datas[0].capacity());
+            assertEquals((byte) 50000, datas[0].get(0));
+            assertEquals((byte) 20, datas[1].get(0));
+            assertEquals((byte) 9, datas[2].get(9));
+            
+            reader.setMaxGap(0);
+            reader.readAll(new long[] { 0, 20 }, new int[] { 10, 10 });
+            assertEquals(4, reader.getReadCount());
+        }
+        finally
+        {
+            delete(directory);
+        }
+    }
+    
+    @Test
+    public void testGltfModelReaderReadsOnlyRequiredRanges() 
+        throws IOException
+    {
+        Path directory = Files.createTempDirectory("jgltf");
+        try
+        {
+            Files.write(directory.resolve("buffer.bin"), createBufferData());
+            Path file = directory.resolve("model.gltf");
+            Files.write(file, createJson().getBytes(StandardCharsets.UTF_8));
+            
+            GltfModelReader gltfModelReader = new GltfModelReader();
+            GltfModel expectedModel = gltfModelReader.read(file);
+            
+            gltfModelReader.setBufferRangeLoading(true);
+            GltfModel actualModel = gltfModelReader.read(file);
+            DefaultBufferModel bufferModel = 
+                (DefaultBufferModel) actualModel.getBufferModels().get(0);
+            BufferRangeReader reader = bufferModel.getBufferRangeReader();
+            
+            AccessorModel accessorModel = 
+                actualModel.getAccessorModels().get(2);
+            assertEquals(
+                expectedModel.getAccessorModels().get(2)
+                    .getAccessorData().createByteBuffer(),
+                accessorModel.getAccessorData().createByteBuffer());
+            assertEquals(1, reader.getReadCount());
+            assertEquals(36, reader.getByteCount());
+            
+            List<BufferViewModel> bufferViewModels = 
+                actualModel.getBufferViewModels();
+            bufferModel.loadBufferViewDatas(bufferViewModels);
+            
+            // The first two views are read together, including the
+            // gap of 4 bytes between them
+            assertEquals(2, reader.getReadCount());
+            assertEquals(36 + 76, reader.getByteCount());
+            for (int i = 0; i < bufferViewModels.size(); i++)
+            {
+                assertEquals(expectedModel.getBufferViewModels().get(i)
+                    .getBufferViewData(), 
+                    bufferViewModels.get(i).getBufferViewData());
+            }
+            assertEquals(2, reader.getReadCount());
+            assertTrue(reader.getByteCount() < BUFFER_SIZE / 1000);
+        }
+        finally
+        {
+            delete(directory);
+        }
+    }
+    
+    @Test(expected = ReadOnlyBufferException.class)
+    public void testRangeDataIsReadOnly() throws IOException
+    {
+        Path directory = Files.createTempDirectory("jgltf");
+        try
+        {
+            Files.write(directory.resolve("buffer.bin"), createBufferData());
+            Path file = directory.resolve("model.gltf");
+            Files.write(file, createJson().getBytes(StandardCharsets.UTF_8));
+            
+            GltfModelReader gltfModelReader = new GltfModelReader();
+            gltfModelReader.setBufferRangeLoading(true);
+            GltfModel gltfModel = gltfModelReader.read(file);
+            AccessorByteData accessorData = (AccessorByteData) 
+                gltfModel.getAccessorModels().get(0).getAccessorData();
+            assertEquals((byte) 5, accessorData.get(1, 2));
+            accessorData.set(1, 2, (byte) 0);
+        }
+        finally
+        {
+            delete(directory);
+        }
+    }
+    
+    private static byte[] createBufferData()
+    {
+        byte data[] = new byte[BUFFER_SIZE];
+        for (int i = 0; i < data.length; i++)
+        {
+            data[i] = (byte) i;
+        }
+        return data;
+    }
+    
+    private static String createJson()
+    {
+        String accessorTemplate = "{ \"bufferView\" : %d, " 
+            + "\"componentType\" : 5121, \"count\" : 12, \"type\" : \"VEC3\" }";
+        return "{" +
+            "  \"asset\" : { \"version\" : \"2.0\" }," +
+            "  \"buffers\" : [ { \"uri\" : \"buffer.bin\", " +
+            "    \"byteLength\" : " + BUFFER_SIZE + " } ]," +
+            "  \"bufferViews\" : [ " +
+            "    { \"buffer\" : 0, \"byteOffset\" : 0, \"byteLength\" : 36 }," +
+            "    { \"buffer\" : 0, \"byteOffset\" : 40, \"byteLength\" : 36 }," +
+            "    { \"buffer\" : 0, \"byteOffset\" : 900000, " +
+            "      \"byteLength\" : 36 } ]," +
+            "  \"accessors\" : [ " +
+            String.format(accessorTemplate, 0) + ", " +
+            String.format(accessorTemplate, 1) + ", " +
+            String.format(accessorTemplate, 2) + " ]" +
+            "}";
+    }
+    
+    private static void delete(Path directory) throws IOException
+    {
+        for (Path path : Arrays.asList(
+            directory.resolve("buffer.bin"), directory.resolve("model.gltf")))
+        {
+            Files.deleteIfExists(path);
+        }
+        Files.delete(directory);
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.jgltf.model.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+import de.javagl.jgltf.model.GltfModel;
+
+/**
+ * Tests for the {@link ConcurrentGltfReferenceResolver}
+ */
+@SuppressWarnings("javadoc")
+public class TestConcurrentGltfReferenceResolver
+{
+    @Test
+    public void testResolveAll() throws IOException
+    {
+        Map<String, ByteBuffer> results =
+            new ConcurrentHashMap<String, ByteBuffer>();
+        List<GltfReference> references = new ArrayList<GltfReference>();
+        for (int i = 0; i < 20; i++)
+        {
+            String uri = "data" + i + ".bin";
+            references.add(new GltfReference("buffer " + i, uri,
+                b -> results.put(uri, b)));
+        }
+        Function<String, ByteBuffer> uriResolver =
+            uri -> Buffers.create(uri.length());
+
+        List<Double> progress = new ArrayList<Double>();
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try
+        {
+            ConcurrentGltfReferenceResolver resolver =
+                new ConcurrentGltfReferenceResolver(executorService);
+            resolver.addProgressConsumer(p ->
+            {
+                synchronized (progress)
+                {
+                    progress.add(p);
+                }
+            });
+            resolver.resolveAll(references, uriResolver);
+        }
+        finally
+        {
+            executorService.shutdown();
+        }
+        assertEquals(20, results.size());
+        assertEquals(20, progress.size());
+        assertTrue(progress.contains(1.0));
+        assertEquals("data7.bin".length(),
+            results.get("data7.bin").capacity());
+    }
+
+    @Test
+    public void testCancel() throws Exception
+    {
+        Map<String, ByteBuffer> results =
+            new ConcurrentHashMap<String, ByteBuffer>();
+        List<GltfReference> references = new ArrayList<GltfReference>();
+        for (int i = 0; i < 8; i++)
+        {
+            String uri = "data" + i + ".bin";
+            references.add(new GltfReference("buffer " + i, uri,
+                b -> results.put(uri, b)));
+        }
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        Function<String, ByteBuffer> uriResolver = uri ->
+        {
+            started.countDown();
+            try
+            {
+                blocked.await();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+            return Buffers.create(1);
+        };
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try
+        {
+            ConcurrentGltfReferenceResolver resolver =
+                new ConcurrentGltfReferenceResolver(executorService);
+            Thread canceller = new Thread(() ->
+            {
+                try
+                {
+                    started.await();
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+                resolver.cancel();
+            });
+            canceller.start();
+            try
+            {
+                resolver.resolveAll(references, uriResolver);
+                fail("Expected a CancellationException");
+            }
+            catch (CancellationException e)
+            {
+                // Expected
+            }
+            canceller.join();
+        }
+        finally
+        {
+            executorService.shutdownNow();
+            assertTrue(executorService.awaitTermination(5, TimeUnit.SECONDS));
+        }
+        assertTrue(results.isEmpty());
+    }
+
+    @Test
+    public void testResolveAllWaitsForRunningTargets() throws Exception
+    {
+        Map<String, ByteBuffer> results =
+            new ConcurrentHashMap<String, ByteBuffer>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        List<GltfReference> references = new ArrayList<GltfReference>();
+        references.add(new GltfReference("failing", "failing.bin",
+            b -> results.put("failing.bin", b)));
+        references.add(new GltfReference("slow", "slow.bin", b -> 
+        {
+            // A target that is still running when the other task fails
+            started.countDown();
+            awaitUninterruptibly(released);
+            results.put("slow.bin", b);
+        }));
+        Function<String, ByteBuffer> uriResolver = uri ->
+        {
+            if (uri.equals("failing.bin"))
+            {
+                awaitUninterruptibly(started);
+                throw new IllegalStateException("Failing for test");
+            }
+            return Buffers.create(1);
+        };
+        Thread releaser = new Thread(() -> 
+        {
+            awaitUninterruptibly(started);
+            try
+            {
+                Thread.sleep(100);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+            released.countDown();
+        });
+        releaser.start();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try
+        {
+            ConcurrentGltfReferenceResolver resolver =
+                new ConcurrentGltfReferenceResolver(executorService);
+            try
+            {
+                resolver.resolveAll(references, uriResolver);
+                fail("Expected an IOException");
+            }
+            catch (IOException e)
+            {
+                // Expected
+            }
+            
+            // The target that was already running must have finished
+            // before resolveAll returned
+            assertEquals(1, results.size());
+            assertTrue(results.containsKey("slow.bin"));
+            releaser.join();
+        }
+        finally
+        {
+            executorService.shutdown();
+            assertTrue(executorService.awaitTermination(5, TimeUnit.SECONDS));
+        }
+    }
+    
+    /**
+     * Wait for the given latch, ignoring interrupts
+     * 
+     * @param latch The latch
+     */
+    private static void awaitUninterruptibly(CountDownLatch latch)
+    {
+        boolean interrupted = false;
+        while (true)
+        {
+            try
+            {
+                latch.await();
+                break;
+            }
+            catch (InterruptedException e)
+            {
+                interrupted = true;
+            }
+        }
+        if (interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    public void testGltfModelReaderWithExecutor() throws IOException
+    {
+        String basePath = "./src/test/resources/testModels/v2/";
+        Path inputFile = Paths.get(basePath,
+            "unitCubeTextured/glTF/unitCubeTextured.gltf");
+
+        GltfModelReader gltfModelReader = new GltfModelReader();
+        GltfModel expectedModel = gltfModelReader.read(inputFile);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try
+        {
+            gltfModelReader.setExecutor(executorService);
+            GltfModel actualModel = gltfModelReader.read(inputFile);
+            assertEquals(
+                expectedModel.getBufferModels().get(0).getBufferData(),
+                actualModel.getBufferModels().get(0).getBufferData());
+            assertEquals(
+                expectedModel.getImageModels().get(0).getImageData(),
+                actualModel.getImageModels().get(0).getImageData());
+        }
+        finally
+        {
+            executorService.shutdown();
+        }
+    }
+}
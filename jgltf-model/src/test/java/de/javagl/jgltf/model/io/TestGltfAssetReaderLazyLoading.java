@@ -0,0 +1,192 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.jgltf.model.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import de.javagl.jgltf.model.AccessorModel;
+import de.javagl.jgltf.model.GltfModel;
+import de.javagl.jgltf.model.GltfModels;
+import de.javagl.jgltf.model.ImageModel;
+import de.javagl.jgltf.model.impl.DefaultBufferModel;
+import de.javagl.jgltf.model.impl.DefaultImageModel;
+import de.javagl.jgltf.model.io.v2.GltfAssetV2;
+
+/**
+ * Tests for the lazy loading of external references in the
+ * {@link GltfAssetReader}
+ */
+@SuppressWarnings("javadoc")
+public class TestGltfAssetReaderLazyLoading
+{
+    @Test
+    public void testReferencesAreLoadedOnFirstAccess() throws IOException
+    {
+        String basePath = "./src/test/resources/testModels/v2/";
+        Path inputFile = Paths.get(basePath,
+            "unitCubeTextured/glTF/unitCubeTextured.gltf");
+
+        GltfAssetReader gltfAssetReader = new GltfAssetReader();
+        GltfModel expectedModel =
+            GltfModels.create(gltfAssetReader.read(inputFile));
+
+        gltfAssetReader.setLazyLoading(true);
+        GltfAsset gltfAsset = gltfAssetReader.read(inputFile);
+        assertTrue(gltfAsset.getReferenceDatas().isEmpty());
+
+        GltfModel actualModel = GltfModels.create(gltfAsset);
+        assertTrue(gltfAsset.getReferenceDatas().isEmpty());
+
+        AccessorModel expectedAccessorModel =
+            expectedModel.getAccessorModels().get(0);
+        AccessorModel actualAccessorModel =
+            actualModel.getAccessorModels().get(0);
+        assertEquals(
+            expectedAccessorModel.getAccessorData().createByteBuffer(),
+            actualAccessorModel.getAccessorData().createByteBuffer());
+        assertEquals(1, gltfAsset.getReferenceDatas().size());
+        assertTrue(gltfAsset.getReferenceDatas().containsKey("buffer.bin"));
+
+        ImageModel expectedImageModel = expectedModel.getImageModels().get(0);
+        ImageModel actualImageModel = actualModel.getImageModels().get(0);
+        assertEquals(expectedImageModel.getMimeType(),
+            actualImageModel.getMimeType());
+        assertEquals(expectedImageModel.getImageData(),
+            actualImageModel.getImageData());
+        assertEquals(2, gltfAsset.getReferenceDatas().size());
+    }
+
+    @Test
+    public void testFailedResolutionIsNotRepeated() throws IOException
+    {
+        String basePath = "./src/test/resources/testModels/v2/";
+        Path inputFile = Paths.get(basePath,
+            "unitCubeTextured/glTF/unitCubeTextured.gltf");
+        GltfAssetV2 inputAsset = 
+            (GltfAssetV2) new GltfAssetReader().read(inputFile);
+        
+        AtomicInteger calls = new AtomicInteger();
+        GltfAssetV2 gltfAsset = new GltfAssetV2(inputAsset.getGltf(), null);
+        gltfAsset.setLazyUriResolver(uri -> 
+        {
+            calls.incrementAndGet();
+            return null;
+        });
+        assertNull(gltfAsset.getReferenceData("buffer.bin"));
+        assertNull(gltfAsset.getReferenceData("buffer.bin"));
+        assertEquals(1, calls.get());
+        
+        DefaultBufferModel bufferModel = new DefaultBufferModel();
+        bufferModel.setBufferDataSupplier(() -> 
+            gltfAsset.getReferenceData("buffer.bin"));
+        assertNull(bufferModel.getBufferData());
+        assertNull(bufferModel.getBufferData());
+        assertEquals(1, calls.get());
+    }
+    
+    @Test
+    public void testMimeTypeIsDetectedAfterImageDataAccess() throws IOException
+    {
+        String basePath = "./src/test/resources/testModels/v2/";
+        Path inputDirectory = Paths.get(basePath, "unitCubeTextured/glTF/");
+        String json = new String(Files.readAllBytes(
+            inputDirectory.resolve("unitCubeTextured.gltf")),
+            StandardCharsets.UTF_8);
+        json = json.replace("\"mimeType\" : \"image/png\"", 
+            "\"name\" : \"texture\"");
+        
+        Path directory = Files.createTempDirectory("jgltf");
+        try
+        {
+            Path inputFile = directory.resolve("unitCubeTextured.gltf");
+            Files.write(inputFile, json.getBytes(StandardCharsets.UTF_8));
+            for (String name : Arrays.asList("buffer.bin", "texture.png"))
+            {
+                Files.copy(inputDirectory.resolve(name), 
+                    directory.resolve(name));
+            }
+            GltfModel gltfModel = new GltfModelReader().read(inputFile);
+            ImageModel imageModel = gltfModel.getImageModels().get(0);
+            assertNotNull(imageModel.getImageData());
+            assertEquals("image/png", imageModel.getMimeType());
+        }
+        finally
+        {
+            for (String name : Arrays.asList(
+                "unitCubeTextured.gltf", "buffer.bin", "texture.png"))
+            {
+                Files.deleteIfExists(directory.resolve(name));
+            }
+            Files.delete(directory);
+        }
+    }
+    
+    @Test
+    public void testImageDataSupplierDeterminesMimeType() throws IOException
+    {
+        String basePath = "./src/test/resources/testModels/v2/";
+        byte data[] = Files.readAllBytes(
+            Paths.get(basePath, "unitCubeTextured/glTF/texture.png"));
+        DefaultImageModel imageModel = new DefaultImageModel();
+        imageModel.setImageDataSupplier(() -> Buffers.create(data));
+        assertEquals(data.length, imageModel.getImageData().capacity());
+        assertEquals("image/png", imageModel.getMimeType());
+    }
+    
+    @Test
+    public void testBufferDataSupplierIsCalledOnce() throws Exception
+    {
+        AtomicInteger calls = new AtomicInteger();
+        DefaultBufferModel bufferModel = new DefaultBufferModel();
+        bufferModel.setBufferDataSupplier(() ->
+        {
+            calls.incrementAndGet();
+            return Buffers.create(16);
+        });
+
+        int numThreads = 8;
+        ExecutorService executorService =
+            Executors.newFixedThreadPool(numThreads);
+        try
+        {
+            List<Callable<ByteBuffer>> tasks =
+                new ArrayList<Callable<ByteBuffer>>();
+            for (int i = 0; i < numThreads * 4; i++)
+            {
+                tasks.add(() -> bufferModel.getBufferData());
+            }
+            for (Future<ByteBuffer> future : executorService.invokeAll(tasks))
+            {
+                assertEquals(16, future.get().capacity());
+            }
+        }
+        finally
+        {
+            executorService.shutdown();
+        }
+        assertEquals(1, calls.get());
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.jgltf.model.io;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.Test;
+
+import de.javagl.jgltf.impl.v2.Asset;
+import de.javagl.jgltf.impl.v2.Buffer;
+import de.javagl.jgltf.impl.v2.GlTF;
+import de.javagl.jgltf.model.io.v2.GltfAssetV2;
+import de.javagl.jgltf.model.io.v2.GltfAssetWriterV2;
+
+/**
+ * Tests for writing binary glTF with the {@link GltfAssetWriterV2}
+ */
+@SuppressWarnings("javadoc")
+public class TestGltfAssetWriterV2
+{
+    @Test
+    public void testWriteBinaryLayout() throws IOException
+    {
+        GltfAssetV2 gltfAsset = createAsset(5);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        new GltfAssetWriterV2().writeBinary(gltfAsset, baos);
+        ByteBuffer data = 
+            ByteBuffer.wrap(baos.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+        
+        assertEquals(0x46546C67, data.getInt(0));
+        assertEquals(2, data.getInt(4));
+        assertEquals(data.capacity(), data.getInt(8));
+        int jsonChunkLength = data.getInt(12);
+        assertEquals(0, jsonChunkLength % 4);
+        int binChunkStart = 20 + jsonChunkLength;
+        assertEquals(8, data.getInt(binChunkStart));
+        assertEquals(0x004E4942, data.getInt(binChunkStart + 4));
+        for (int i = 0; i < 5; i++)
+        {
+            assertEquals(i + 1, data.get(binChunkStart + 8 + i));
+        }
+        for (int i = 5; i < 8; i++)
+        {
+            assertEquals(0, data.get(binChunkStart + 8 + i));
+        }
+        
+        RawGltfData rawGltfData = RawGltfDataReader.read(data);
+        assertEquals(8, rawGltfData.getBinaryData().capacity());
+    }
+
+    @Test
+    public void testWriteBinaryToChannels() throws IOException
+    {
+        GltfAssetV2 gltfAsset = createAsset(1001);
+        GltfAssetWriterV2 gltfAssetWriter = new GltfAssetWriterV2();
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        gltfAssetWriter.writeBinary(gltfAsset, expected);
+        
+        // A channel that is not a gathering channel, and writes 
+        // at most 7 bytes in each call
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        gltfAssetWriter.writeBinary(gltfAsset, 
+            createSlowChannel(actual));
+        assertEquals(ByteBuffer.wrap(expected.toByteArray()),
+            ByteBuffer.wrap(actual.toByteArray()));
+        
+        Path file = Files.createTempFile("TestGltfAssetWriterV2", ".glb");
+        try
+        {
+            try (FileChannel channel = FileChannel.open(file, 
+                StandardOpenOption.WRITE, 
+                StandardOpenOption.TRUNCATE_EXISTING))
+            {
+                gltfAssetWriter.writeBinary(gltfAsset, channel);
+            }
+            assertEquals(ByteBuffer.wrap(expected.toByteArray()),
+                ByteBuffer.wrap(Files.readAllBytes(file)));
+        }
+        finally
+        {
+            Files.deleteIfExists(file);
+        }
+    }
+    
+    private static GltfAssetV2 createAsset(int binaryLength)
+    {
+        GlTF gltf = new GlTF();
+        Asset asset = new Asset();
+        asset.setVersion("2.0");
+        gltf.setAsset(asset);
+        Buffer buffer = new Buffer();
+        buffer.setByteLength(binaryLength);
+        gltf.addBuffers(buffer);
+        
+        ByteBuffer binaryData = Buffers.create(binaryLength);
+        for (int i = 0; i < binaryLength; i++)
+        {
+            binaryData.put(i, (byte) (i + 1));
+        }
+        return new GltfAssetV2(gltf, binaryData);
+    }
+    
+    private static WritableByteChannel createSlowChannel(
+        OutputStream outputStream)
+    {
+        return new WritableByteChannel()
+        {
+            @Override
+            public boolean isOpen()
+            {
+                return true;
+            }
+
+            @Override
+            public void close()
+            {
+                // Nothing to do here
+            }
+
+            @Override
+            public int write(ByteBuffer src) throws IOException
+            {
+                int n = Math.min(7, src.remaining());
+                for (int i = 0; i < n; i++)
+                {
+                    outputStream.write(src.get());
+                }
+                return n;
+            }
+        };
+    }
+}
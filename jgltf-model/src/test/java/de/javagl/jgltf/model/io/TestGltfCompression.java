@@ -0,0 +1,181 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.jgltf.model.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import de.javagl.jgltf.model.GltfModel;
+
+/**
+ * Tests for writing and reading compressed glTF data with the
+ * {@link GltfCompression}
+ */
+@SuppressWarnings("javadoc")
+public class TestGltfCompression
+{
+    private static final String INPUT_FILE = 
+        "./src/test/resources/testModels/v2/unitCubeTextured/" + 
+        "glTF/unitCubeTextured.gltf";
+    
+    @Test
+    public void testBinaryRoundTrip() throws IOException
+    {
+        assertRoundTrip(GltfCompression.GZIP, true);
+        assertRoundTrip(GltfCompression.DEFLATE, true);
+    }
+
+    @Test
+    public void testEmbeddedRoundTrip() throws IOException
+    {
+        assertRoundTrip(GltfCompression.GZIP, false);
+        assertRoundTrip(GltfCompression.DEFLATE, false);
+    }
+    
+    @Test
+    public void testReadCompressedFile() throws IOException
+    {
+        GltfModel expectedModel = 
+            new GltfModelReader().read(Paths.get(INPUT_FILE));
+        
+        Path directory = Files.createTempDirectory("TestGltfCompression");
+        Path file = directory.resolve("unitCubeTextured.glb.gz");
+        try
+        {
+            GltfModelWriter gltfModelWriter = new GltfModelWriter();
+            gltfModelWriter.setCompression(GltfCompression.GZIP);
+            gltfModelWriter.writeBinary(expectedModel, file.toFile());
+            
+            GltfModelReader gltfModelReader = new GltfModelReader();
+            gltfModelReader.setMemoryMapping(true);
+            GltfModel actualModel = gltfModelReader.read(file);
+            assertSameData(expectedModel, actualModel);
+        }
+        finally
+        {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(directory);
+        }
+    }
+    
+    @Test
+    public void testReadingDoesNotCloseTheStream() throws IOException
+    {
+        GltfModel gltfModel = new GltfModelReader().read(Paths.get(INPUT_FILE));
+        for (GltfCompression compression : Arrays.asList(
+            GltfCompression.GZIP, GltfCompression.DEFLATE))
+        {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            GltfModelWriter gltfModelWriter = new GltfModelWriter();
+            gltfModelWriter.setCompression(compression);
+            gltfModelWriter.writeBinary(gltfModel, compressed);
+            
+            AtomicBoolean closed = new AtomicBoolean();
+            InputStream inputStream = 
+                new ByteArrayInputStream(compressed.toByteArray())
+            {
+                @Override
+                public void close() throws IOException
+                {
+                    closed.set(true);
+                    super.close();
+                }
+            };
+            RawGltfData rawGltfData = RawGltfDataReader.read(inputStream);
+            assertTrue(rawGltfData.getBinaryData() != null);
+            assertFalse(closed.get());
+        }
+    }
+    
+    @Test
+    public void testDetect()
+    {
+        assertEquals(GltfCompression.NONE, GltfCompression.detect(
+            ByteBuffer.wrap("{ }".getBytes())));
+        assertEquals(GltfCompression.NONE, GltfCompression.detect(
+            ByteBuffer.wrap("glTF".getBytes())));
+        assertEquals(GltfCompression.GZIP, GltfCompression.detect(
+            ByteBuffer.wrap(new byte[] { 0x1F, (byte)0x8B, 0x08 })));
+        assertEquals(GltfCompression.DEFLATE, GltfCompression.detect(
+            ByteBuffer.wrap(new byte[] { 0x78, (byte)0x9C })));
+    }
+
+    private static void assertRoundTrip(
+        GltfCompression compression, boolean binary) throws IOException
+    {
+        GltfModel expectedModel = 
+            new GltfModelReader().read(Paths.get(INPUT_FILE));
+
+        ByteArrayOutputStream uncompressed = new ByteArrayOutputStream();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        GltfModelWriter gltfModelWriter = new GltfModelWriter();
+        write(gltfModelWriter, expectedModel, binary, uncompressed);
+        gltfModelWriter.setCompression(compression);
+        write(gltfModelWriter, expectedModel, binary, compressed);
+        assertEquals(compression, GltfCompression.detect(
+            ByteBuffer.wrap(compressed.toByteArray())));
+
+        GltfModelReader gltfModelReader = new GltfModelReader();
+        GltfModel actualModel = null;
+        try (InputStream inputStream = 
+            new ByteArrayInputStream(compressed.toByteArray()))
+        {
+            actualModel = gltfModelReader.readWithoutReferences(inputStream);
+        }
+        assertSameData(expectedModel, actualModel);
+        
+        // The decompressed data must be the same as the uncompressed output
+        try (InputStream inputStream = compression.createInputStream(
+            new ByteArrayInputStream(compressed.toByteArray())))
+        {
+            assertEquals(ByteBuffer.wrap(uncompressed.toByteArray()),
+                ByteBuffer.wrap(IO.readStream(inputStream)));
+        }
+    }
+    
+    private static void write(GltfModelWriter gltfModelWriter, 
+        GltfModel gltfModel, boolean binary, ByteArrayOutputStream target)
+            throws IOException
+    {
+        if (binary)
+        {
+            gltfModelWriter.writeBinary(gltfModel, target);
+        }
+        else
+        {
+            gltfModelWriter.writeEmbedded(gltfModel, target);
+        }
+    }
+
+    private static void assertSameData(
+        GltfModel expectedModel, GltfModel actualModel)
+    {
+        // The buffers may differ, because the binary glTF contains the 
+        // image data in the buffer, so only the accessor data is compared
+        assertEquals(
+            expectedModel.getAccessorModels().get(0)
+                .getAccessorData().createByteBuffer(),
+            actualModel.getAccessorModels().get(0)
+                .getAccessorData().createByteBuffer());
+        assertEquals(
+            expectedModel.getImageModels().get(0).getImageData(),
+            actualModel.getImageModels().get(0).getImageData());
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.jgltf.model.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Test;
+
+import de.javagl.jgltf.model.AccessorFloatData;
+import de.javagl.jgltf.model.GltfModel;
+
+/**
+ * Tests for the {@link GltfLoadListener} support in the readers
+ */
+@SuppressWarnings("javadoc")
+public class TestGltfLoadListener
+{
+    @Test
+    public void testPhasesAreReported() throws IOException
+    {
+        String basePath = "./src/test/resources/testModels/v2/";
+        Path inputFile = Paths.get(basePath, 
+            "unitCubeTextured/glTF/unitCubeTextured.gltf");
+        
+        Map<GltfLoadPhase, long[]> phases = 
+            new ConcurrentHashMap<GltfLoadPhase, long[]>();
+        GltfModelReader gltfModelReader = new GltfModelReader();
+        gltfModelReader.setLoadListener(
+            (phase, durationNs, byteCount, elementCount) -> 
+                phases.put(phase, 
+                    new long[] { durationNs, byteCount, elementCount }));
+        GltfModel gltfModel = gltfModelReader.read(inputFile);
+        
+        assertEquals(Files.size(inputFile), 
+            phases.get(GltfLoadPhase.READ)[1]);
+        assertEquals(Files.size(inputFile), 
+            phases.get(GltfLoadPhase.PARSE_JSON)[1]);
+        assertTrue(phases.get(GltfLoadPhase.PARSE_JSON)[2] > 0);
+        
+        long resolvedBytes = 
+            gltfModel.getBufferModels().get(0).getByteLength() +
+            gltfModel.getImageModels().get(0).getImageData().capacity();
+        assertEquals(resolvedBytes, 
+            phases.get(GltfLoadPhase.RESOLVE_REFERENCES)[1]);
+        assertEquals(2, phases.get(GltfLoadPhase.RESOLVE_REFERENCES)[2]);
+        assertEquals(GltfLoadListeners.countElements(gltfModel),
+            phases.get(GltfLoadPhase.CREATE_MODEL)[2]);
+        assertFalse(phases.containsKey(GltfLoadPhase.SUBSTITUTE_SPARSE));
+    }
+    
+    @Test
+    public void testSparseSubstitutionIsReported() throws IOException
+    {
+        Map<GltfLoadPhase, long[]> phases = 
+            new ConcurrentHashMap<GltfLoadPhase, long[]>();
+        GltfModelReader gltfModelReader = new GltfModelReader();
+        gltfModelReader.setLoadListener(
+            (phase, durationNs, byteCount, elementCount) -> 
+                phases.put(phase, 
+                    new long[] { durationNs, byteCount, elementCount }));
+        GltfModel gltfModel = gltfModelReader.readWithoutReferences(
+            new ByteArrayInputStream(createSparseGltfJson()));
+        assertFalse(phases.containsKey(GltfLoadPhase.SUBSTITUTE_SPARSE));
+        
+        AccessorFloatData accessorData = (AccessorFloatData) 
+            gltfModel.getAccessorModels().get(0).getAccessorData();
+        assertEquals(2.0f, accessorData.get(1, 1), 0.0f);
+        assertEquals(24, phases.get(GltfLoadPhase.SUBSTITUTE_SPARSE)[1]);
+        assertEquals(1, phases.get(GltfLoadPhase.SUBSTITUTE_SPARSE)[2]);
+    }
+    
+    private static byte[] createSparseGltfJson()
+    {
+        ByteBuffer data = 
+            ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+        data.put(0, (byte) 1);
+        data.putFloat(4, 1.0f);
+        data.putFloat(8, 2.0f);
+        data.putFloat(12, 3.0f);
+        String uri = "data:application/octet-stream;base64," 
+            + Base64.getEncoder().encodeToString(data.array());
+        String json = 
+            "{" +
+            "  \"asset\" : { \"version\" : \"2.0\" }," +
+            "  \"buffers\" : [ { \"uri\" : \"" + uri + "\", " +
+            "    \"byteLength\" : 16 } ]," +
+            "  \"bufferViews\" : [ " +
+            "    { \"buffer\" : 0, \"byteOffset\" : 0, \"byteLength\" : 1 }," +
+            "    { \"buffer\" : 0, \"byteOffset\" : 4, \"byteLength\" : 12 } ]," +
+            "  \"accessors\" : [ {" +
+            "    \"componentType\" : 5126, \"count\" : 2, \"type\" : \"VEC3\"," +
+            "    \"sparse\" : { \"count\" : 1," +
+            "      \"indices\" : { \"bufferView\" : 0, " +
+            "        \"componentType\" : 5121 }," +
+            "      \"values\" : { \"bufferView\" : 1 } } } ]" +
+            "}";
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.jgltf.model.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+import de.javagl.jgltf.model.AccessorModel;
+import de.javagl.jgltf.model.GltfModel;
+
+/**
+ * Tests for {@link GltfModelReader#readAsync(Path, java.util.concurrent.Executor)}
+ */
+@SuppressWarnings("javadoc")
+public class TestGltfModelReaderAsync
+{
+    private static final String BASE_PATH = 
+        "./src/test/resources/testModels/v2/";
+    
+    @Test
+    public void testReadAsyncEmbeddedReferences() throws Exception
+    {
+        assertSameModel(Paths.get(BASE_PATH, 
+            "unitCubeTextured/glTF/unitCubeTextured.gltf"));
+    }
+
+    @Test
+    public void testReadAsyncBinary() throws Exception
+    {
+        assertSameModel(Paths.get(BASE_PATH, "testBox/glTF-Binary/Box.glb"));
+    }
+    
+    @Test
+    public void testReadAsyncUri() throws Exception
+    {
+        Path inputFile = Paths.get(BASE_PATH, 
+            "unitCubeTextured/glTF/unitCubeTextured.gltf");
+        GltfModelReader gltfModelReader = new GltfModelReader();
+        GltfModel expectedModel = gltfModelReader.read(inputFile);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try
+        {
+            GltfModel actualModel = gltfModelReader.readAsync(
+                inputFile.toUri(), executorService).get();
+            assertEquals(
+                expectedModel.getImageModels().get(0).getImageData(),
+                actualModel.getImageModels().get(0).getImageData());
+        }
+        finally
+        {
+            executorService.shutdown();
+        }
+    }
+    
+    @Test
+    public void testReadAsyncUsesResourceCache() throws Exception
+    {
+        Path inputFile = Paths.get(BASE_PATH, 
+            "unitCubeTextured/glTF/unitCubeTextured.gltf");
+        ResourceCache resourceCache = new ResourceCache(1 << 20);
+        GltfModelReader gltfModelReader = new GltfModelReader();
+        gltfModelReader.setResourceCache(resourceCache);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try
+        {
+            gltfModelReader.readAsync(inputFile, executorService).get();
+            assertEquals(0, resourceCache.getHitCount());
+            assertEquals(3, resourceCache.getSize());
+            gltfModelReader.readAsync(inputFile, executorService).get();
+            assertEquals(3, resourceCache.getHitCount());
+        }
+        finally
+        {
+            executorService.shutdown();
+        }
+    }
+    
+    @Test
+    public void testReadAsyncWithMemoryMapping() throws Exception
+    {
+        GltfModelReader gltfModelReader = new GltfModelReader();
+        gltfModelReader.setMemoryMapping(true);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try
+        {
+            GltfModel gltfModel = gltfModelReader.readAsync(Paths.get(
+                BASE_PATH, "testBox/glTF-Binary/Box.glb"), 
+                executorService).get();
+            assertTrue(gltfModel.getBufferModels().get(0)
+                .getBufferData().isReadOnly());
+        }
+        finally
+        {
+            executorService.shutdown();
+        }
+    }
+    
+    @Test
+    public void testReadAsyncMissingFile() throws InterruptedException
+    {
+        GltfModelReader gltfModelReader = new GltfModelReader();
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try
+        {
+            gltfModelReader.readAsync(Paths.get(BASE_PATH, 
+                "doesNotExist.gltf"), executorService).get();
+            fail("Expected an ExecutionException");
+        }
+        catch (ExecutionException e)
+        {
+            assertTrue(e.getCause() instanceof NoSuchFileException);
+        }
+        finally
+        {
+            executorService.shutdown();
+        }
+    }
+    
+    private static void assertSameModel(Path inputFile) 
+        throws IOException, InterruptedException, ExecutionException
+    {
+        GltfModelReader gltfModelReader = new GltfModelReader();
+        GltfModel expectedModel = gltfModelReader.read(inputFile);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try
+        {
+            GltfModel actualModel = 
+                gltfModelReader.readAsync(inputFile, executorService).get();
+            assertEquals(expectedModel.getAccessorModels().size(),
+                actualModel.getAccessorModels().size());
+            for (int i = 0; i < expectedModel.getAccessorModels().size(); i++)
+            {
+                AccessorModel expected = 
+                    expectedModel.getAccessorModels().get(i);
+                AccessorModel actual = 
+                    actualModel.getAccessorModels().get(i);
+                assertEquals(
+                    expected.getAccessorData().createByteBuffer(),
+                    actual.getAccessorData().createByteBuffer());
+            }
+            assertEquals(expectedModel.getImageModels().size(),
+                actualModel.getImageModels().size());
+            for (int i = 0; i < expectedModel.getImageModels().size(); i++)
+            {
+                assertEquals(
+                    expectedModel.getImageModels().get(i).getImageData(),
+                    actualModel.getImageModels().get(i).getImageData());
+            }
+        }
+        finally
+        {
+            executorService.shutdown();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.jgltf.model.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.Test;
+
+import de.javagl.jgltf.model.BufferModel;
+import de.javagl.jgltf.model.GltfModel;
+
+/**
+ * Tests for reading binary glTF files with memory mapping in the 
+ * {@link GltfModelReader}
+ */
+@SuppressWarnings("javadoc")
+public class TestGltfModelReaderMemoryMapping
+{
+    @Test
+    public void testReadBinaryMapped() throws IOException 
+    {
+        String basePath = "./src/test/resources/testModels/v2/"; 
+        Path inputFile = Paths.get(basePath, "testBox/glTF-Binary/Box.glb");
+        
+        GltfModelReader gltfModelReader = new GltfModelReader();
+        GltfModel expectedModel = gltfModelReader.read(inputFile);
+        
+        gltfModelReader.setMemoryMapping(true);
+        GltfModel actualModel = gltfModelReader.read(inputFile);
+        
+        assertEquals(1, actualModel.getBufferModels().size());
+        BufferModel expectedBufferModel = expectedModel.getBufferModels().get(0);
+        BufferModel actualBufferModel = actualModel.getBufferModels().get(0);
+        ByteBuffer actualBufferData = actualBufferModel.getBufferData();
+        assertTrue(actualBufferData.isDirect());
+        assertTrue(actualBufferData.isReadOnly());
+        assertEquals(expectedBufferModel.getBufferData(), actualBufferData);
+        assertEquals(expectedModel.getAccessorModels().size(), 
+            actualModel.getAccessorModels().size());
+    }
+    
+    @Test
+    public void testReadDefaultMapped() throws IOException 
+    {
+        String basePath = "./src/test/resources/testModels/v2/"; 
+        Path inputFile = Paths.get(basePath, "testBox/glTF/Box.gltf");
+        
+        GltfModelReader gltfModelReader = new GltfModelReader();
+        gltfModelReader.setMemoryMapping(true);
+        GltfModel gltfModel = gltfModelReader.read(inputFile);
+        
+        assertEquals(1, gltfModel.getBufferModels().size());
+        BufferModel bufferModel = gltfModel.getBufferModels().get(0);
+        assertEquals(648, bufferModel.getByteLength());
+    }
+}
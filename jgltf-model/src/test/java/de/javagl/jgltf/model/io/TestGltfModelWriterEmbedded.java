@@ -0,0 +1,100 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.jgltf.model.io;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Base64;
+
+import org.junit.Test;
+
+import de.javagl.jgltf.model.GltfModel;
+import de.javagl.jgltf.model.io.v2.GltfAssetsV2;
+
+/**
+ * Tests for writing embedded glTF 2.0 assets with the 
+ * {@link GltfModelWriter}, where the data URIs are encoded while they 
+ * are written
+ */
+@SuppressWarnings("javadoc")
+public class TestGltfModelWriterEmbedded
+{
+    private static final String BASE_PATH = 
+        "./src/test/resources/testModels/v2/";
+    
+    @Test
+    public void testSameOutputAsEmbeddedAsset() throws IOException
+    {
+        assertSameOutput(Paths.get(BASE_PATH, 
+            "unitCubeTextured/glTF/unitCubeTextured.gltf"));
+        assertSameOutput(Paths.get(BASE_PATH, 
+            "unitCubeTextured/glTF-Binary/unitCubeTextured.glb"));
+        assertSameOutput(Paths.get(BASE_PATH, 
+            "testBox/glTF/Box.gltf"));
+    }
+    
+    @Test
+    public void testSameOutputForLargeBuffer() throws IOException
+    {
+        // A buffer that is encoded in multiple chunks, with padding
+        byte data[] = new byte[40001];
+        for (int i = 0; i < data.length; i++)
+        {
+            data[i] = (byte) (i * 31);
+        }
+        String json = "{ \"asset\" : { \"version\" : \"2.0\" }, " 
+            + "\"buffers\" : [ { \"byteLength\" : " + data.length + ", " 
+            + "\"uri\" : \"data:application/gltf-buffer;base64," 
+            + Base64.getEncoder().encodeToString(data) + "\" } ] }";
+        GltfModel gltfModel = new GltfModelReader().readWithoutReferences(
+            new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        assertSameOutput(gltfModel);
+    }
+    
+    @Test
+    public void testRoundTrip() throws IOException
+    {
+        Path path = Paths.get(BASE_PATH, 
+            "unitCubeTextured/glTF/unitCubeTextured.gltf");
+        GltfModel expectedModel = new GltfModelReader().read(path);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        new GltfModelWriter().writeEmbedded(expectedModel, baos);
+        GltfModel actualModel = new GltfModelReader().readWithoutReferences(
+            new ByteArrayInputStream(baos.toByteArray()));
+        assertEquals(
+            expectedModel.getBufferModels().get(0).getBufferData(),
+            actualModel.getBufferModels().get(0).getBufferData());
+        assertEquals(
+            expectedModel.getImageModels().get(0).getImageData(),
+            actualModel.getImageModels().get(0).getImageData());
+    }
+
+    private static void assertSameOutput(Path path) throws IOException
+    {
+        assertSameOutput(new GltfModelReader().read(path));
+    }
+    
+    private static void assertSameOutput(GltfModel gltfModel) 
+        throws IOException
+    {
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        new GltfWriter().write(
+            GltfAssetsV2.createEmbedded(gltfModel).getGltf(), expected);
+        
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        new GltfModelWriter().writeEmbedded(gltfModel, actual);
+        
+        assertEquals(
+            new String(expected.toByteArray(), StandardCharsets.UTF_8),
+            new String(actual.toByteArray(), StandardCharsets.UTF_8));
+    }
+}
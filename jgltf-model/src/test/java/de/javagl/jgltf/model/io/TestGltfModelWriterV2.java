@@ -5,6 +5,10 @@
  */
 package de.javagl.jgltf.model.io;
 
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -12,6 +16,7 @@ import java.nio.file.Paths;
 
 import org.junit.Test;
 
+import de.javagl.jgltf.model.AccessorModel;
 import de.javagl.jgltf.model.GltfModel;
 
 /**
@@ -113,5 +118,39 @@ public class TestGltfModelWriterV2
             outputPath.toString(), outputFileName);
     }
     
+    @Test
+    public void testGltfToGltfBinaryWithReusedBufferViewsV2() 
+        throws IOException 
+    {
+        String basePath = "./src/test/resources/testModels/v2/"; 
+        Path inputFile = Paths.get(basePath, 
+            "unitCubeTextured/glTF/unitCubeTextured.gltf");
+        
+        GltfModelReader gltfModelReader = new GltfModelReader();
+        GltfModel gltfModel = gltfModelReader.read(inputFile);
+        
+        GltfModelWriter gltfModelWriter = new GltfModelWriter();
+        gltfModelWriter.setReuseBufferViews(true);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        gltfModelWriter.writeBinary(gltfModel, outputStream);
+        
+        // The separate buffer views of the input are retained, and one
+        // buffer view is appended for the image
+        GltfModel result = gltfModelReader.readWithoutReferences(
+            new ByteArrayInputStream(outputStream.toByteArray()));
+        assertEquals(gltfModel.getBufferViewModels().size() + 1,
+            result.getBufferViewModels().size());
+        for (int i = 0; i < gltfModel.getAccessorModels().size(); i++)
+        {
+            AccessorModel expected = gltfModel.getAccessorModels().get(i);
+            AccessorModel actual = result.getAccessorModels().get(i);
+            assertEquals(expected.getBufferViewModel().getByteLength(),
+                actual.getBufferViewModel().getByteLength());
+            assertEquals(
+                expected.getAccessorData().createByteBuffer(),
+                actual.getAccessorData().createByteBuffer());
+        }
+    }
+    
 }
 
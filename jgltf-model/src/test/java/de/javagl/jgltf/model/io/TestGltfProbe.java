@@ -0,0 +1,105 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.jgltf.model.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.Test;
+
+import de.javagl.jgltf.impl.v2.GlTF;
+
+/**
+ * Tests for {@link GltfAssetReader#probe(Path)}
+ */
+@SuppressWarnings("javadoc")
+public class TestGltfProbe
+{
+    private static final String BASE_PATH = "./src/test/resources/testModels/";
+    
+    @Test
+    public void testProbeBinaryGltfV2() throws IOException
+    {
+        Path inputFile = Paths.get(BASE_PATH, "v2/testBox/glTF-Binary/Box.glb");
+        GltfAssetReader gltfAssetReader = new GltfAssetReader();
+        GltfAsset expected = gltfAssetReader.read(inputFile);
+        GltfProbe probe = gltfAssetReader.probe(inputFile);
+        
+        assertTrue(probe.isBinary());
+        assertEquals(2, probe.getBinaryGltfVersion());
+        assertEquals(Files.size(inputFile), probe.getLength());
+        assertEquals(expected.getBinaryData().capacity(), 
+            probe.getBinaryLength());
+        assertNull(probe.getGltfAsset().getBinaryData());
+        assertEquals(toJson(expected), toJson(probe.getGltfAsset()));
+        
+        GlTF gltf = (GlTF) probe.getGltfAsset().getGltf();
+        assertEquals("2.0", gltf.getAsset().getVersion());
+        assertEquals(3, gltf.getAccessors().size());
+    }
+    
+    @Test
+    public void testProbeInputStreamStopsBeforeBinaryData() throws IOException
+    {
+        Path inputFile = Paths.get(BASE_PATH, "v2/testBox/glTF-Binary/Box.glb");
+        GltfAssetReader gltfAssetReader = new GltfAssetReader();
+        try (InputStream inputStream = Files.newInputStream(inputFile);
+            ProgressInputStream progressInputStream = 
+                new ProgressInputStream(inputStream))
+        {
+            GltfProbe probe = gltfAssetReader.probe(progressInputStream);
+            long expectedBytesRead = 12 + 8 + probe.getJsonLength() + 8;
+            assertEquals(expectedBytesRead, 
+                progressInputStream.getTotalNumBytesRead());
+            assertEquals(probe.getLength(), 
+                expectedBytesRead + probe.getBinaryLength());
+        }
+    }
+    
+    @Test
+    public void testProbeBinaryGltfV1() throws IOException
+    {
+        Path inputFile = Paths.get(BASE_PATH, "v1/testBox/glTF-Binary/Box.glb");
+        GltfAssetReader gltfAssetReader = new GltfAssetReader();
+        GltfAsset expected = gltfAssetReader.read(inputFile);
+        GltfProbe probe = gltfAssetReader.probe(inputFile);
+        assertEquals(1, probe.getBinaryGltfVersion());
+        assertEquals(expected.getBinaryData().capacity(), 
+            probe.getBinaryLength());
+        assertEquals(toJson(expected), toJson(probe.getGltfAsset()));
+    }
+    
+    @Test
+    public void testProbeJson() throws IOException
+    {
+        Path inputFile = Paths.get(BASE_PATH, "v2/testBox/glTF/Box.gltf");
+        GltfAssetReader gltfAssetReader = new GltfAssetReader();
+        GltfProbe probe = gltfAssetReader.probe(inputFile);
+        assertFalse(probe.isBinary());
+        assertEquals(Files.size(inputFile), probe.getJsonLength());
+        assertEquals(0, probe.getBinaryLength());
+        try (InputStream inputStream = Files.newInputStream(inputFile))
+        {
+            GltfProbe streamProbe = gltfAssetReader.probe(inputStream);
+            assertEquals(toJson(probe.getGltfAsset()), 
+                toJson(streamProbe.getGltfAsset()));
+        }
+    }
+    
+    private static String toJson(GltfAsset gltfAsset) throws IOException
+    {
+        return JacksonUtils.getObjectWriter(true)
+            .writeValueAsString(gltfAsset.getGltf());
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.jgltf.model.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import de.javagl.jgltf.impl.v2.GlTF;
+import de.javagl.jgltf.impl.v2.Node;
+import de.javagl.jgltf.model.GltfModel;
+import de.javagl.jgltf.model.NodeModel;
+
+/**
+ * Tests for reading glTF assets with a {@link GltfSelection}
+ */
+@SuppressWarnings("javadoc")
+public class TestGltfSelection
+{
+    private static final String JSON =
+        "{" +
+        "  \"asset\" : { \"version\" : \"2.0\" }," +
+        "  \"buffers\" : [ " +
+        "    { \"uri\" : \"a.bin\", \"byteLength\" : 36 }," +
+        "    { \"uri\" : \"b.bin\", \"byteLength\" : 36 }," +
+        "    { \"uri\" : \"c.bin\", \"byteLength\" : 16 } ]," +
+        "  \"bufferViews\" : [ " +
+        "    { \"buffer\" : 0, \"byteLength\" : 36 }," +
+        "    { \"buffer\" : 1, \"byteLength\" : 36 }," +
+        "    { \"buffer\" : 2, \"byteLength\" : 16 } ]," +
+        "  \"accessors\" : [ " +
+        "    { \"bufferView\" : 0, \"componentType\" : 5126, " +
+        "      \"count\" : 3, \"type\" : \"VEC3\" }," +
+        "    { \"bufferView\" : 1, \"componentType\" : 5126, " +
+        "      \"count\" : 3, \"type\" : \"VEC3\" }," +
+        "    { \"bufferView\" : 2, \"componentType\" : 5126, " +
+        "      \"count\" : 4, \"type\" : \"SCALAR\" } ]," +
+        "  \"images\" : [ { \"uri\" : \"a.png\" }, { \"uri\" : \"b.png\" } ]," +
+        "  \"textures\" : [ { \"source\" : 0 }, { \"source\" : 1 } ]," +
+        "  \"materials\" : [ " +
+        "    { \"pbrMetallicRoughness\" : " +
+        "      { \"baseColorTexture\" : { \"index\" : 0 } } }," +
+        "    { \"pbrMetallicRoughness\" : " +
+        "      { \"baseColorTexture\" : { \"index\" : 1 } }," +
+        "      \"extensions\" : { \"KHR_materials_clearcoat\" : " +
+        "        { \"clearcoatTexture\" : { \"index\" : 1 } } } } ]," +
+        "  \"meshes\" : [ " +
+        "    { \"name\" : \"meshA\", \"primitives\" : [ " +
+        "      { \"attributes\" : { \"POSITION\" : 0 }, \"material\" : 0 } ] }," +
+        "    { \"name\" : \"meshB\", \"primitives\" : [ " +
+        "      { \"attributes\" : { \"POSITION\" : 1 }, \"material\" : 1 } ] } ]," +
+        "  \"nodes\" : [ " +
+        "    { \"name\" : \"root\", \"children\" : [ 1, 2 ], \"mesh\" : 0 }," +
+        "    { \"name\" : \"a\", \"mesh\" : 0 }," +
+        "    { \"name\" : \"b\", \"mesh\" : 1 }," +
+        "    { \"name\" : \"other\", \"mesh\" : 0 } ]," +
+        "  \"animations\" : [ { " +
+        "    \"channels\" : [ { \"sampler\" : 0, " +
+        "      \"target\" : { \"node\" : 1, \"path\" : \"translation\" } } ]," +
+        "    \"samplers\" : [ { \"input\" : 2, \"output\" : 0 } ] } ]," +
+        "  \"scenes\" : [ { \"nodes\" : [ 0 ] }, { \"nodes\" : [ 3 ] } ]," +
+        "  \"scene\" : 0" +
+        "}";
+
+    @Test
+    public void testSelectMeshes() throws IOException
+    {
+        GltfAsset gltfAsset = read(GltfSelection.ofMeshes(1));
+        assertEquals(Arrays.asList("b.bin", "b.png"), 
+            referenceUris(gltfAsset));
+        
+        GlTF gltf = (GlTF) gltfAsset.getGltf();
+        List<Node> nodes = gltf.getNodes();
+        assertEquals(2, nodes.size());
+        assertEquals("root", nodes.get(0).getName());
+        assertNull(nodes.get(0).getMesh());
+        assertEquals(Arrays.asList(1), nodes.get(0).getChildren());
+        assertEquals("b", nodes.get(1).getName());
+        assertEquals(Integer.valueOf(0), nodes.get(1).getMesh());
+        assertEquals("meshB", gltf.getMeshes().get(0).getName());
+        assertEquals(1, gltf.getAccessors().size());
+        assertEquals(1, gltf.getBufferViews().size());
+        assertEquals(Integer.valueOf(0), 
+            gltf.getBufferViews().get(0).getBuffer());
+        assertEquals(1, gltf.getTextures().size());
+        assertEquals(Integer.valueOf(0), gltf.getMaterials().get(0)
+            .getPbrMetallicRoughness().getBaseColorTexture().getIndex());
+        Map<?, ?> clearcoat = (Map<?, ?>) gltf.getMaterials().get(0)
+            .getExtensions().get("KHR_materials_clearcoat");
+        Map<?, ?> clearcoatTexture = 
+            (Map<?, ?>) clearcoat.get("clearcoatTexture");
+        assertEquals(0, ((Number) clearcoatTexture.get("index")).intValue());
+        assertNull(gltf.getAnimations());
+        assertEquals(1, gltf.getScenes().size());
+        assertEquals(Integer.valueOf(0), gltf.getScene());
+    }
+    
+    @Test
+    public void testSelectScenes() throws IOException
+    {
+        GltfAsset gltfAsset = read(GltfSelection.ofScenes(1));
+        assertEquals(Arrays.asList("a.bin", "a.png"), 
+            referenceUris(gltfAsset));
+        
+        GlTF gltf = (GlTF) gltfAsset.getGltf();
+        assertEquals(1, gltf.getNodes().size());
+        assertEquals("other", gltf.getNodes().get(0).getName());
+        assertEquals(Arrays.asList(0), gltf.getScenes().get(0).getNodes());
+        assertEquals(Integer.valueOf(0), gltf.getScene());
+    }
+    
+    @Test
+    public void testSelectNodes() throws IOException
+    {
+        GltfAsset gltfAsset = 
+            read(GltfSelection.ofNodes(n -> "a".equals(n.getName())));
+        assertEquals(Arrays.asList("a.bin", "c.bin", "a.png"), 
+            referenceUris(gltfAsset));
+        
+        GlTF gltf = (GlTF) gltfAsset.getGltf();
+        assertEquals(2, gltf.getNodes().size());
+        assertEquals(1, gltf.getAnimations().size());
+        assertEquals(Integer.valueOf(1), gltf.getAnimations().get(0)
+            .getChannels().get(0).getTarget().getNode());
+        assertEquals(Integer.valueOf(1), gltf.getAnimations().get(0)
+            .getSamplers().get(0).getInput());
+    }
+    
+    @Test
+    public void testGltfModelReaderWithSelection() throws IOException
+    {
+        GltfModelReader gltfModelReader = new GltfModelReader();
+        gltfModelReader.setSelection(GltfSelection.ofMeshes(1));
+        GltfModel gltfModel = gltfModelReader.readWithoutReferences(
+            new ByteArrayInputStream(JSON.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(1, gltfModel.getMeshModels().size());
+        assertEquals(1, gltfModel.getBufferModels().size());
+        assertEquals(1, gltfModel.getImageModels().size());
+        NodeModel root = 
+            gltfModel.getSceneModels().get(0).getNodeModels().get(0);
+        assertEquals(1, root.getChildren().size());
+        assertEquals(gltfModel.getMeshModels().get(0), 
+            root.getChildren().get(0).getMeshModels().get(0));
+    }
+    
+    @Test
+    public void testSelectMeshWithMaterialVariants() throws IOException
+    {
+        String json = 
+            "{" +
+            "  \"asset\" : { \"version\" : \"2.0\" }," +
+            "  \"extensionsUsed\" : [ \"KHR_materials_variants\" ]," +
+            "  \"materials\" : [ { \"name\" : \"m0\" }, " +
+            "    { \"name\" : \"m1\" }, { \"name\" : \"m2\" } ]," +
+            "  \"meshes\" : [ " +
+            "    { \"primitives\" : [ " +
+            "      { \"attributes\" : { }, \"material\" : 0 } ] }," +
+            "    { \"primitives\" : [ " +
+            "      { \"attributes\" : { }, \"material\" : 1, " +
+            "        \"extensions\" : { \"KHR_materials_variants\" : " +
+            "          { \"mappings\" : [ " +
+            "            { \"material\" : 2, \"variants\" : [ 0 ] } ] } } } ] } ]," +
+            "  \"nodes\" : [ { \"mesh\" : 0 }, { \"mesh\" : 1 } ]" +
+            "}";
+        GltfAsset gltfAsset = read(json, GltfSelection.ofMeshes(1));
+        GlTF gltf = (GlTF) gltfAsset.getGltf();
+        assertEquals(2, gltf.getMaterials().size());
+        assertEquals("m2", gltf.getMaterials().get(1).getName());
+        Map<?, ?> variants = (Map<?, ?>) gltf.getMeshes().get(0)
+            .getPrimitives().get(0).getExtensions()
+            .get("KHR_materials_variants");
+        Map<?, ?> mapping = (Map<?, ?>) 
+            ((List<?>) variants.get("mappings")).get(0);
+        assertEquals(1, ((Number) mapping.get("material")).intValue());
+    }
+    
+    @Test(expected = IOException.class)
+    public void testRequiredUnsupportedExtensionCausesException() 
+        throws IOException
+    {
+        String json = JSON.replace("\"asset\" : { \"version\" : \"2.0\" },",
+            "\"asset\" : { \"version\" : \"2.0\" }," +
+            "\"extensionsUsed\" : [ \"EXT_mesh_features\" ]," +
+            "\"extensionsRequired\" : [ \"EXT_mesh_features\" ],");
+        json = json.replace("\"material\" : 1 }", "\"material\" : 1, " +
+            "\"extensions\" : { \"EXT_mesh_features\" : " +
+            "{ \"featureIds\" : [ { \"texture\" : { \"index\" : 1 } } ] } } }");
+        read(json, GltfSelection.ofMeshes(1));
+    }
+    
+    @Test
+    public void testOptionalUnsupportedExtensions() throws IOException
+    {
+        String json = JSON.replace("\"asset\" : { \"version\" : \"2.0\" },",
+            "\"asset\" : { \"version\" : \"2.0\" }," +
+            "\"extensionsUsed\" : [ \"VENDOR_reference\", \"VENDOR_tag\" ],");
+        json = json.replace(
+            "{ \"baseColorTexture\" : { \"index\" : 1 } }",
+            "{ \"baseColorTexture\" : { \"index\" : 1, " +
+            "\"extensions\" : { \"VENDOR_reference\" : { \"texture\" : 0 }, " +
+            "\"VENDOR_tag\" : { \"tag\" : \"example\" } } } }");
+        GltfAsset gltfAsset = read(json, GltfSelection.ofMeshes(1));
+        GlTF gltf = (GlTF) gltfAsset.getGltf();
+        
+        // The extension that may contain references is removed, and the
+        // extension that does not contain references is retained
+        Map<String, Object> extensions = gltf.getMaterials().get(0)
+            .getPbrMetallicRoughness().getBaseColorTexture().getExtensions();
+        assertEquals(Collections.singleton("VENDOR_tag"), extensions.keySet());
+        assertEquals(Collections.singletonList("VENDOR_tag"), 
+            gltf.getExtensionsUsed());
+    }
+    
+    private static GltfAsset read(GltfSelection selection) throws IOException
+    {
+        return read(JSON, selection);
+    }
+    
+    private static GltfAsset read(String json, GltfSelection selection) 
+        throws IOException
+    {
+        GltfAssetReader gltfAssetReader = new GltfAssetReader();
+        gltfAssetReader.setSelection(selection);
+        try (InputStream inputStream = new ByteArrayInputStream(
+            json.getBytes(StandardCharsets.UTF_8)))
+        {
+            return gltfAssetReader.readWithoutReferences(inputStream);
+        }
+    }
+    
+    private static List<String> referenceUris(GltfAsset gltfAsset)
+    {
+        return gltfAsset.getReferences().stream()
+            .map(GltfReference::getUri)
+            .collect(Collectors.toList());
+    }
+}
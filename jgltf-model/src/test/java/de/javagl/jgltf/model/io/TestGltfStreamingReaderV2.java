@@ -0,0 +1,133 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.jgltf.model.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.javagl.jgltf.impl.v2.GlTF;
+import de.javagl.jgltf.model.io.v2.GltfReaderV2;
+
+/**
+ * Tests for the {@link GltfStreamingReaderV2}, comparing its results to
+ * the results of the {@link GltfReaderV2}
+ */
+@SuppressWarnings("javadoc")
+public class TestGltfStreamingReaderV2
+{
+    @Test
+    public void testReadTestModels() throws IOException
+    {
+        String basePath = "./src/test/resources/testModels/v2/";
+        assertSameResult(Files.readAllBytes(
+            Paths.get(basePath, "testBox/glTF/Box.gltf")));
+        assertSameResult(Files.readAllBytes(
+            Paths.get(basePath, "testShortAccessorByteStride.gltf")));
+        assertSameResult(Files.readAllBytes(
+            Paths.get(basePath, "unitCubeTextured/glTF/unitCubeTextured.gltf")));
+    }
+
+    @Test
+    public void testReadUnusualContents() throws IOException
+    {
+        String json =
+            "{" +
+            "  \"asset\" : { \"version\" : \"2.0\", \"unknown\" : [ 1 ] }," +
+            "  \"extensionsUsed\" : \"EXT_example\"," +
+            "  \"accessors\" : [ {" +
+            "    \"componentType\" : 5126, \"count\" : 2, \"type\" : \"VEC2\"," +
+            "    \"min\" : [ 0, 0.5 ], \"max\" : 1," +
+            "    \"sparse\" : { \"count\" : 1," +
+            "      \"indices\" : { \"bufferView\" : 0, \"componentType\" : 5123 }," +
+            "      \"values\" : { \"bufferView\" : 1, \"extras\" : null } }," +
+            "    \"extensions\" : { \"EXT_example\" : { \"a\" : [ 1, 2.5 ] } }" +
+            "  } ]," +
+            "  \"nodes\" : [ {" +
+            "    \"children\" : 1, \"rotation\" : [ 0, 0, 2, 1 ]," +
+            "    \"translation\" : [ 1, 2, 3 ], \"weights\" : [ 0.25 ]," +
+            "    \"extras\" : { \"note\" : \"x\" }" +
+            "  }, { \"name\" : \"child\", \"unknown\" : { \"x\" : 1 } } ]," +
+            "  \"meshes\" : [ { \"primitives\" : { " +
+            "    \"attributes\" : { \"POSITION\" : 0 }," +
+            "    \"targets\" : [ { \"POSITION\" : 0 } ], \"mode\" : 17 } } ]," +
+            "  \"materials\" : [ { \"pbrMetallicRoughness\" : " +
+            "    { \"baseColorFactor\" : [ 1, 0, 0, 1 ] }, \"unknown\" : 1 } ]," +
+            "  \"scenes\" : [ { \"nodes\" : [ 0 ] } ]," +
+            "  \"scene\" : 0" +
+            "}";
+        List<String> errors = assertSameResult(
+            json.getBytes(StandardCharsets.UTF_8));
+
+        // Unknown properties, the invalid rotation and the invalid mode
+        assertEquals(5, errors.size());
+    }
+
+    @Test
+    public void testReturnsNullForUnsupportedContents() throws IOException
+    {
+        assertNull(readStreaming(
+            "{ \"asset\" : { \"version\" : \"2.0\" }, " +
+            "\"scene\" : \"0\" }", new ArrayList<String>()));
+        assertNull(readStreaming(
+            "{ \"asset\" : { \"version\" : \"2.0\" }, " +
+            "\"scenes\" : [ null ] }", new ArrayList<String>()));
+        assertNull(readStreaming(
+            "{ \"asset\" : { \"version\" : \"1.0\" } }",
+            new ArrayList<String>()));
+        assertNull(readStreaming(
+            "{ \"accessors\" : { \"accessor0\" : { } } }",
+            new ArrayList<String>()));
+    }
+
+    private static List<String> assertSameResult(byte json[])
+        throws IOException
+    {
+        List<String> expectedErrors = new ArrayList<String>();
+        GltfReaderV2 gltfReader = new GltfReaderV2();
+        gltfReader.setJsonErrorConsumer(
+            e -> expectedErrors.add(e.getJsonPathString()));
+        GlTF expected = gltfReader.read(new ByteArrayInputStream(json));
+
+        List<String> actualErrors = new ArrayList<String>();
+        GlTF actual = readStreaming(
+            new String(json, StandardCharsets.UTF_8), actualErrors);
+        assertNotNull(actual);
+
+        assertEquals(toJson(expected), toJson(actual));
+        assertEquals(expectedErrors, actualErrors);
+        return actualErrors;
+    }
+
+    private static GlTF readStreaming(String json, List<String> errors)
+        throws IOException
+    {
+        GltfStreamingReaderV2 gltfReader = new GltfStreamingReaderV2();
+        gltfReader.setJsonErrorConsumer(
+            e -> errors.add(e.getJsonPathString()));
+        try (InputStream inputStream = new ByteArrayInputStream(
+            json.getBytes(StandardCharsets.UTF_8)))
+        {
+            return gltfReader.read(inputStream);
+        }
+    }
+
+    private static String toJson(GlTF gltf) throws IOException
+    {
+        return JacksonUtils.getObjectWriter(true).writeValueAsString(gltf);
+    }
+}
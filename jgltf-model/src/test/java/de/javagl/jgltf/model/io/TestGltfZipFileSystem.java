@@ -0,0 +1,124 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.jgltf.model.io;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+import de.javagl.jgltf.model.GltfModel;
+
+/**
+ * Tests for reading glTF assets from a zip file system
+ */
+@SuppressWarnings("javadoc")
+public class TestGltfZipFileSystem
+{
+    private static final String BASE_PATH = 
+        "./src/test/resources/testModels/v2/unitCubeTextured/glTF/";
+    
+    @Test
+    public void testReadStored() throws Exception
+    {
+        assertReadFromZip(true);
+    }
+
+    @Test
+    public void testReadCompressed() throws Exception
+    {
+        assertReadFromZip(false);
+    }
+    
+    private static void assertReadFromZip(boolean stored) 
+        throws IOException, InterruptedException, ExecutionException
+    {
+        Path inputFile = Paths.get(BASE_PATH, "unitCubeTextured.gltf");
+        GltfModel expectedModel = new GltfModelReader().read(inputFile);
+        
+        Path directory = Files.createTempDirectory("TestGltfZipFileSystem");
+        Path zipFile = directory.resolve("unitCubeTextured.zip");
+        try
+        {
+            createZip(zipFile, stored);
+            try (FileSystem fileSystem = 
+                FileSystems.newFileSystem(zipFile, (ClassLoader) null))
+            {
+                Path path = fileSystem.getPath(
+                    "model", "unitCubeTextured.gltf");
+                
+                GltfModelReader gltfModelReader = new GltfModelReader();
+                assertSameData(expectedModel, gltfModelReader.read(path));
+                
+                gltfModelReader.setMemoryMapping(true);
+                gltfModelReader.setBufferRangeLoading(true);
+                assertSameData(expectedModel, gltfModelReader.read(path));
+
+                ExecutorService executorService = 
+                    Executors.newFixedThreadPool(2);
+                try
+                {
+                    GltfModelReader asyncReader = new GltfModelReader();
+                    assertSameData(expectedModel, 
+                        asyncReader.readAsync(path, executorService).get());
+                }
+                finally
+                {
+                    executorService.shutdown();
+                }
+            }
+        }
+        finally
+        {
+            Files.deleteIfExists(zipFile);
+            Files.deleteIfExists(directory);
+        }
+    }
+    
+    private static void createZip(Path zipFile, boolean stored)
+        throws IOException
+    {
+        Map<String, String> env = new HashMap<String, String>();
+        env.put("create", "true");
+        env.put("noCompression", String.valueOf(stored));
+        URI uri = URI.create("jar:" + zipFile.toUri());
+        try (FileSystem fileSystem = FileSystems.newFileSystem(uri, env))
+        {
+            Path target = fileSystem.getPath("model");
+            Files.createDirectories(target);
+            for (String name : new String[] { 
+                "unitCubeTextured.gltf", "buffer.bin", "texture.png" })
+            {
+                Files.copy(Paths.get(BASE_PATH, name), target.resolve(name));
+            }
+        }
+    }
+
+    private static void assertSameData(
+        GltfModel expectedModel, GltfModel actualModel)
+    {
+        assertEquals(
+            expectedModel.getAccessorModels().get(0)
+                .getAccessorData().createByteBuffer(),
+            actualModel.getAccessorModels().get(0)
+                .getAccessorData().createByteBuffer());
+        assertEquals(
+            expectedModel.getImageModels().get(0).getImageData(),
+            actualModel.getImageModels().get(0).getImageData());
+    }
+}
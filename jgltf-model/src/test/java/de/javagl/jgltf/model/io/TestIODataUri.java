@@ -0,0 +1,77 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.jgltf.model.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Base64;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests for the data URI handling in {@link IO}
+ */
+@SuppressWarnings("javadoc")
+public class TestIODataUri
+{
+    @Test
+    public void testReadDataUriAsBuffer()
+    {
+        Random random = new Random(0);
+        for (int size = 0; size < 100; size++)
+        {
+            assertSameData(random, size);
+        }
+        assertSameData(random, 100000);
+    }
+    
+    @Test
+    public void testReadDataUriAsBufferWithoutPadding()
+    {
+        String uriString = "data:application/octet-stream;base64,AAEC/w";
+        ByteBuffer buffer = IO.readDataUriAsBuffer(uriString);
+        assertEquals(ByteBuffer.wrap(new byte[] { 0, 1, 2, -1 }), buffer);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testReadDataUriAsBufferInvalidCharacter()
+    {
+        IO.readDataUriAsBuffer("data:application/octet-stream;base64,AA*A");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReadDataUriAsBufferInvalidLength()
+    {
+        IO.readDataUriAsBuffer("data:application/octet-stream;base64,AAAAA");
+    }
+    
+    @Test
+    public void testIsDataUriString()
+    {
+        assertTrue(IO.isDataUriString("data:image/png;base64,AAAA"));
+        assertTrue(IO.isDataUriString("DATA:image/png;base64,AAAA"));
+        assertFalse(IO.isDataUriString("image.png"));
+        assertFalse(IO.isDataUriString("data"));
+        assertFalse(IO.isDataUriString(null));
+    }
+    
+    private static void assertSameData(Random random, int size)
+    {
+        byte data[] = new byte[size];
+        random.nextBytes(data);
+        String uriString = "data:application/octet-stream;base64," 
+            + Base64.getEncoder().encodeToString(data);
+        ByteBuffer buffer = IO.readDataUriAsBuffer(uriString);
+        assertTrue(buffer.isDirect());
+        assertEquals(ByteOrder.LITTLE_ENDIAN, buffer.order());
+        assertEquals(ByteBuffer.wrap(IO.readDataUri(uriString)), buffer);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.jgltf.model.io;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.junit.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Tests for the {@link JfrGltfLoadListener}.<br>
+ * <br>
+ * This test requires the <code>jdk.jfr</code> API, and is therefore 
+ * excluded from the compilation on Java 8.
+ */
+@SuppressWarnings("javadoc")
+public class TestJfrGltfLoadListener
+{
+    @Test
+    public void testJfrEvents() throws IOException
+    {
+        String basePath = "./src/test/resources/testModels/v2/";
+        Path inputFile = Paths.get(basePath, "testBox/glTF/Box.gltf");
+        Path recordingFile = Files.createTempFile("jgltf", ".jfr");
+        try (Recording recording = new Recording())
+        {
+            recording.enable(JfrGltfLoadListener.EVENT_NAME);
+            recording.start();
+            GltfModelReader gltfModelReader = new GltfModelReader();
+            gltfModelReader.setLoadListener(GltfLoadListeners.createJfr());
+            gltfModelReader.read(inputFile);
+            recording.stop();
+            recording.dump(recordingFile);
+            List<RecordedEvent> events = 
+                RecordingFile.readAllEvents(recordingFile);
+            assertEquals(4, events.size());
+            RecordedEvent event = events.get(0);
+            assertEquals(JfrGltfLoadListener.EVENT_NAME, 
+                event.getEventType().getName());
+            assertEquals("READ", event.getString("phase"));
+            assertEquals(Files.size(inputFile), event.getLong("byteCount"));
+        }
+        finally
+        {
+            Files.deleteIfExists(recordingFile);
+        }
+    }
+}
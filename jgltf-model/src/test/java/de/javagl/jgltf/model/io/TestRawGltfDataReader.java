@@ -0,0 +1,98 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.jgltf.model.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link RawGltfDataReader}
+ */
+@SuppressWarnings("javadoc")
+public class TestRawGltfDataReader
+{
+    @Test
+    public void testReadBinaryFromStream() throws IOException 
+    {
+        String basePath = "./src/test/resources/testModels/v2/"; 
+        Path inputFile = Paths.get(basePath, "testBox/glTF-Binary/Box.glb");
+        byte data[] = Files.readAllBytes(inputFile);
+        
+        // Append trailing data that must not be consumed by the reader
+        byte dataWithTrailer[] = new byte[data.length + 4];
+        System.arraycopy(data, 0, dataWithTrailer, 0, data.length);
+        InputStream inputStream = 
+            createTrickleInputStream(new ByteArrayInputStream(dataWithTrailer));
+        
+        RawGltfData actual = RawGltfDataReader.read(inputStream);
+        RawGltfData expected = RawGltfDataReader.read(ByteBuffer.wrap(data));
+        
+        assertEquals(expected.getJsonData(), actual.getJsonData());
+        assertEquals(expected.getBinaryData(), actual.getBinaryData());
+        assertTrue(actual.getBinaryData().isDirect());
+        assertEquals(4, inputStream.available());
+    }
+    
+    @Test(expected = IOException.class)
+    public void testReadBinaryFromStreamWithInvalidChunkLength() 
+        throws IOException 
+    {
+        String basePath = "./src/test/resources/testModels/v2/"; 
+        Path inputFile = Paths.get(basePath, "testBox/glTF-Binary/Box.glb");
+        byte data[] = Files.readAllBytes(inputFile);
+        
+        // Set the length of the JSON chunk to a value where the end
+        // of the chunk does not fit into an int
+        ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN)
+            .putInt(12, Integer.MAX_VALUE - 4);
+        RawGltfDataReader.read(new ByteArrayInputStream(data));
+    }
+    
+    @Test
+    public void testReadJsonFromStream() throws IOException 
+    {
+        byte data[] = "{}".getBytes("UTF-8");
+        InputStream inputStream = 
+            createTrickleInputStream(new ByteArrayInputStream(data));
+        RawGltfData actual = RawGltfDataReader.read(inputStream);
+        assertEquals("{}", actual.getJsonString());
+        assertNull(actual.getBinaryData());
+    }
+    
+    /**
+     * Creates an input stream that only returns a single byte in each
+     * call to <code>read</code>, as a worst case for a non-seekable 
+     * stream
+     * 
+     * @param inputStream The delegate stream
+     * @return The input stream
+     */
+    private static InputStream createTrickleInputStream(
+        InputStream inputStream)
+    {
+        return new FilterInputStream(inputStream)
+        {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException
+            {
+                return super.read(b, off, Math.min(len, 1));
+            }
+        };
+    }
+}
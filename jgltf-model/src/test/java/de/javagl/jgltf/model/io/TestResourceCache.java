@@ -0,0 +1,164 @@
+/*
+ * www.javagl.de - JglTF
+ *
+ * Copyright 2015-2024 Marco Hutter - http://www.javagl.de
+ */
+package de.javagl.jgltf.model.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import de.javagl.jgltf.model.GltfModel;
+
+/**
+ * Tests for the {@link ResourceCache}
+ */
+@SuppressWarnings("javadoc")
+public class TestResourceCache
+{
+    @Test
+    public void testLeastRecentlyUsedEviction()
+    {
+        ResourceCache resourceCache = new ResourceCache(300);
+        URI a = URI.create("file:/a.bin");
+        URI b = URI.create("file:/b.bin");
+        URI c = URI.create("file:/c.bin");
+        
+        resourceCache.get(a, u -> Buffers.create(100));
+        resourceCache.get(b, u -> Buffers.create(100));
+        resourceCache.get(a, u -> Buffers.create(100));
+        resourceCache.get(c, u -> Buffers.create(150));
+        
+        // "b" was the least recently used entry
+        assertEquals(2, resourceCache.getSize());
+        assertEquals(250, resourceCache.getByteSize());
+        assertEquals(1, resourceCache.getEvictionCount());
+        assertEquals(1, resourceCache.getHitCount());
+        assertEquals(3, resourceCache.getMissCount());
+        
+        resourceCache.get(a, u -> Buffers.create(100));
+        resourceCache.get(b, u -> Buffers.create(100));
+        assertEquals(2, resourceCache.getHitCount());
+        assertEquals(4, resourceCache.getMissCount());
+    }
+    
+    @Test
+    public void testEntriesLargerThanBudgetAreNotCached()
+    {
+        ResourceCache resourceCache = new ResourceCache(10);
+        URI a = URI.create("file:/a.bin");
+        ByteBuffer data = resourceCache.get(a, u -> Buffers.create(20));
+        assertEquals(20, data.capacity());
+        assertEquals(0, resourceCache.getSize());
+        assertNull(resourceCache.get(
+            URI.create("file:/missing.bin"), u -> null));
+        assertEquals(0, resourceCache.getSize());
+    }
+    
+    @Test
+    public void testViewsAreReadOnlyAndIndependent()
+    {
+        ResourceCache resourceCache = new ResourceCache(1000);
+        URI a = URI.create("file:/a.bin");
+        ByteBuffer first = resourceCache.get(a, u -> 
+        {
+            ByteBuffer byteBuffer = Buffers.create(8);
+            byteBuffer.putInt(0, 12345);
+            return byteBuffer;
+        });
+        ByteBuffer second = resourceCache.get(a, u -> null);
+        assertTrue(first.isReadOnly());
+        assertEquals(ByteOrder.LITTLE_ENDIAN, second.order());
+        first.position(4);
+        assertEquals(0, second.position());
+        assertEquals(12345, second.getInt(0));
+    }
+    
+    @Test
+    public void testConcurrentRequestsLoadOnce() throws Exception
+    {
+        ResourceCache resourceCache = new ResourceCache(1000);
+        URI a = URI.create("file:/a.bin");
+        AtomicInteger calls = new AtomicInteger();
+        int numThreads = 8;
+        CountDownLatch started = new CountDownLatch(numThreads);
+        ExecutorService executorService = 
+            Executors.newFixedThreadPool(numThreads);
+        try
+        {
+            List<Callable<ByteBuffer>> tasks = 
+                new ArrayList<Callable<ByteBuffer>>();
+            for (int i = 0; i < numThreads; i++)
+            {
+                tasks.add(() -> 
+                {
+                    started.countDown();
+                    started.await();
+                    return resourceCache.get(a, u -> 
+                    {
+                        calls.incrementAndGet();
+                        return Buffers.create(16);
+                    });
+                });
+            }
+            for (Future<ByteBuffer> future : executorService.invokeAll(tasks))
+            {
+                assertEquals(16, future.get().capacity());
+            }
+        }
+        finally
+        {
+            executorService.shutdown();
+        }
+        assertEquals(1, calls.get());
+        assertEquals(numThreads - 1, resourceCache.getHitCount());
+    }
+    
+    @Test
+    public void testGltfModelReaderWithResourceCache() throws IOException
+    {
+        String basePath = "./src/test/resources/testModels/v2/";
+        Path inputFile = Paths.get(basePath, 
+            "unitCubeTextured/glTF/unitCubeTextured.gltf");
+        
+        GltfModelReader gltfModelReader = new GltfModelReader();
+        GltfModel expectedModel = gltfModelReader.read(inputFile);
+        
+        ResourceCache resourceCache = new ResourceCache(1 << 20);
+        gltfModelReader.setResourceCache(resourceCache);
+        GltfModel firstModel = gltfModelReader.read(inputFile);
+        GltfModel secondModel = gltfModelReader.read(inputFile.toUri());
+        assertEquals(2, resourceCache.getMissCount());
+        assertEquals(2, resourceCache.getHitCount());
+        
+        assertEquals(
+            expectedModel.getBufferModels().get(0).getBufferData(),
+            firstModel.getBufferModels().get(0).getBufferData());
+        assertEquals(
+            expectedModel.getImageModels().get(0).getImageData(),
+            secondModel.getImageModels().get(0).getImageData());
+        assertEquals(
+            expectedModel.getAccessorModels().get(0)
+                .getAccessorData().createByteBuffer(),
+            secondModel.getAccessorModels().get(0)
+                .getAccessorData().createByteBuffer());
+    }
+}
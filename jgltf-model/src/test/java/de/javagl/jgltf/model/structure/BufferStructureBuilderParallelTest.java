@@ -0,0 +1,77 @@
+package de.javagl.jgltf.model.structure;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import de.javagl.jgltf.model.impl.DefaultBufferModel;
+
+@SuppressWarnings("javadoc")
+public class BufferStructureBuilderParallelTest
+{
+    @Test
+    public void testParallelBuildIsEqualToSequentialBuild()
+    {
+        // The total size of the buffers exceeds the threshold for
+        // copying the data in parallel, but each single buffer 
+        // is small enough to be built sequentially 
+        int numBuffers = 4;
+        BufferStructureBuilder parallel = new BufferStructureBuilder();
+        for (int i = 0; i < numBuffers; i++)
+        {
+            addBuffer(parallel, i);
+        }
+        List<DefaultBufferModel> parallelBufferModels = 
+            parallel.build().getBufferModels();
+        assertEquals(numBuffers, parallelBufferModels.size());
+        
+        for (int i = 0; i < numBuffers; i++)
+        {
+            BufferStructureBuilder sequential = new BufferStructureBuilder();
+            addBuffer(sequential, i);
+            List<DefaultBufferModel> sequentialBufferModels = 
+                sequential.build().getBufferModels();
+            ByteBuffer expected = 
+                sequentialBufferModels.get(0).getBufferData();
+            ByteBuffer actual = 
+                parallelBufferModels.get(i).getBufferData();
+            assertEquals(expected, actual);
+        }
+    }
+    
+    private static void addBuffer(BufferStructureBuilder b, int seed)
+    {
+        Random random = new Random(seed);
+        int numElements = 20000;
+        
+        short indices[] = new short[numElements];
+        for (int i = 0; i < indices.length; i++)
+        {
+            indices[i] = (short) random.nextInt(numElements);
+        }
+        b.createAccessorModel("indices", indices, "SCALAR");
+        b.createArrayElementBufferViewModel("indices");
+        
+        float positions[] = new float[numElements * 3];
+        for (int i = 0; i < positions.length; i++)
+        {
+            positions[i] = random.nextFloat();
+        }
+        byte colors[] = new byte[numElements * 3];
+        random.nextBytes(colors);
+        b.createAccessorModel("positions", positions, "VEC3");
+        b.createAccessorModel("colors", colors, "VEC3");
+        b.createArrayBufferViewModel("attributes");
+        
+        byte matrices[] = new byte[9 * 100];
+        random.nextBytes(matrices);
+        b.createAccessorModel("matrices", matrices, "MAT3");
+        b.createBufferViewModel("matrices", null);
+        
+        b.createBufferModel("buffer", "buffer" + seed + ".bin");
+    }
+}
@@ -0,0 +1,131 @@
+package de.javagl.jgltf.model.structure;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.javagl.jgltf.model.AccessorFloatData;
+import de.javagl.jgltf.model.AccessorModel;
+import de.javagl.jgltf.model.BufferViewModel;
+import de.javagl.jgltf.model.ElementType;
+import de.javagl.jgltf.model.GltfConstants;
+import de.javagl.jgltf.model.GltfModel;
+import de.javagl.jgltf.model.impl.DefaultAccessorModel;
+import de.javagl.jgltf.model.impl.DefaultBufferModel;
+import de.javagl.jgltf.model.impl.DefaultBufferViewModel;
+import de.javagl.jgltf.model.impl.DefaultGltfModel;
+import de.javagl.jgltf.model.io.Buffers;
+import de.javagl.jgltf.model.io.GltfModelReader;
+
+@SuppressWarnings("javadoc")
+public class GltfModelStructuresTest
+{
+    private static GltfModel readBinaryModel() throws IOException
+    {
+        Path path = Paths.get("./src/test/resources/testModels/v2/",
+            "unitCubeTextured/glTF-Binary/unitCubeTextured.glb");
+        return new GltfModelReader().read(path);
+    }
+    
+    @Test
+    public void testCompliantLayoutIsRetainedForDefault() throws IOException
+    {
+        GltfModel source = readBinaryModel();
+        GltfModelStructures g = new GltfModelStructures();
+        g.setReuseBufferViews(true);
+        g.prepare(source);
+        DefaultGltfModel target = g.createDefault();
+        
+        // The buffer view of the image is omitted, but the layout 
+        // of the accessors is retained
+        List<BufferViewModel> bufferViewModels = 
+            target.getBufferViewModels();
+        assertEquals(source.getBufferViewModels().size() - 1, 
+            bufferViewModels.size());
+        for (int i = 0; i < source.getAccessorModels().size(); i++)
+        {
+            AccessorModel expected = source.getAccessorModels().get(i);
+            AccessorModel actual = target.getAccessorModels().get(i);
+            assertEquals(expected.getByteOffset(), actual.getByteOffset());
+            assertEquals(
+                expected.getAccessorData().createByteBuffer(),
+                actual.getAccessorData().createByteBuffer());
+        }
+        assertEquals("image0.png", target.getImageModels().get(0).getUri());
+    }
+
+    @Test
+    public void testCompliantBufferIsReusedForBinary() throws IOException
+    {
+        GltfModel source = readBinaryModel();
+        GltfModelStructures g = new GltfModelStructures();
+        g.setReuseBufferViews(true);
+        g.prepare(source);
+        DefaultGltfModel target = g.createBinary();
+        
+        // The data of the single buffer is not copied
+        ByteBuffer sourceData = source.getBufferModels().get(0).getBufferData();
+        ByteBuffer targetData = target.getBufferModels().get(0).getBufferData();
+        assertEquals(sourceData.capacity(), targetData.capacity());
+        sourceData.put(0, (byte) 123);
+        assertEquals(123, targetData.get(0));
+    }
+    
+    @Test
+    public void testBufferViewsAreNotReusedByDefault() throws IOException
+    {
+        GltfModel source = readBinaryModel();
+        GltfModelStructures g = new GltfModelStructures();
+        g.prepare(source);
+        DefaultGltfModel target = g.createBinary();
+        
+        ByteBuffer sourceData = source.getBufferModels().get(0).getBufferData();
+        ByteBuffer targetData = target.getBufferModels().get(0).getBufferData();
+        sourceData.put(0, (byte) 123);
+        assertNotEquals(123, targetData.get(0));
+    }
+    
+    @Test
+    public void testNonCompliantLayoutIsRestructured()
+    {
+        // A float accessor with a byte offset of 2 in its buffer view
+        ByteBuffer bufferData = Buffers.create(14);
+        bufferData.putFloat(2, 1.0f);
+        bufferData.putFloat(6, 2.0f);
+        bufferData.putFloat(10, 3.0f);
+        DefaultBufferModel bufferModel = new DefaultBufferModel();
+        bufferModel.setBufferData(bufferData);
+        DefaultBufferViewModel bufferViewModel = 
+            new DefaultBufferViewModel(null);
+        bufferViewModel.setBufferModel(bufferModel);
+        bufferViewModel.setByteLength(14);
+        DefaultAccessorModel accessorModel = new DefaultAccessorModel(
+            GltfConstants.GL_FLOAT, 3, ElementType.SCALAR);
+        accessorModel.setBufferViewModel(bufferViewModel);
+        accessorModel.setByteOffset(2);
+        DefaultGltfModel source = new DefaultGltfModel();
+        source.addBufferModel(bufferModel);
+        source.addBufferViewModel(bufferViewModel);
+        source.addAccessorModel(accessorModel);
+        
+        GltfModelStructures g = new GltfModelStructures();
+        g.setReuseBufferViews(true);
+        g.prepare(source);
+        DefaultGltfModel target = g.createDefault();
+        
+        AccessorModel actual = target.getAccessorModels().get(0);
+        assertEquals(0, actual.getByteOffset());
+        assertEquals(12, target.getBufferModels().get(0).getByteLength());
+        AccessorFloatData accessorData = 
+            (AccessorFloatData) actual.getAccessorData();
+        assertEquals(1.0f, accessorData.get(0), 0.0f);
+        assertEquals(3.0f, accessorData.get(2), 0.0f);
+    }
+}
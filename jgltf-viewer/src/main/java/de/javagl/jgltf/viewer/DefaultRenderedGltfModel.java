@@ -49,6 +49,7 @@ import de.javagl.jgltf.model.MeshPrimitiveModel;
 import de.javagl.jgltf.model.NodeModel;
 import de.javagl.jgltf.model.Optionals;
 import de.javagl.jgltf.model.SceneModel;
+import de.javagl.jgltf.model.SceneTransformEngine;
 import de.javagl.jgltf.model.SkinModel;
 import de.javagl.jgltf.model.TextureModel;
 import de.javagl.jgltf.model.gl.ProgramModel;
@@ -110,6 +111,12 @@ class DefaultRenderedGltfModel implements RenderedGltfModel
      */
     private final RenderedMaterialHandler materialModelHandler;
     
+    /**
+     * The {@link SceneTransformEngine} instances that compute the global 
+     * transforms of the nodes of the scenes
+     */
+    private final List<SceneTransformEngine> sceneTransformEngines;
+    
     /**
      * The list of commands that have to be executed for rendering the
      * opaque mesh primitives
@@ -161,12 +168,28 @@ class DefaultRenderedGltfModel implements RenderedGltfModel
             rtcCenter[2] = 0.0f;
         }
         
+        this.sceneTransformEngines = new ArrayList<SceneTransformEngine>();
+        for (SceneModel sceneModel : Optionals.of(gltfModel.getSceneModels()))
+        {
+            try
+            {
+                sceneTransformEngines.add(
+                    new SceneTransformEngine(sceneModel));
+            }
+            catch (IllegalArgumentException e)
+            {
+                logger.warning("Could not create the transform engine for " 
+                    + "scene " + sceneModel + ": " + e.getMessage());
+            }
+        }
+        
         this.gltfRenderData = new GltfRenderData(glContext);
         this.uniformGetterFactory = new UniformGetterFactory( 
             viewConfiguration::getViewport,
             viewConfiguration::getViewMatrix,
             viewConfiguration::getProjectionMatrix,
-            rtcCenter);
+            rtcCenter,
+            this::createGlobalTransformSupplier);
         this.uniformSetterFactory = new UniformSetterFactory(glContext);
         
         Map<TextureModel, Integer> textureIndexMap = 
@@ -200,6 +223,10 @@ class DefaultRenderedGltfModel implements RenderedGltfModel
     @Override
     public void render()
     {
+        for (SceneTransformEngine sceneTransformEngine : sceneTransformEngines)
+        {
+            sceneTransformEngine.update();
+        }
         for (Runnable renderCommand : opaqueRenderCommands)
         {
             renderCommand.run();
@@ -210,6 +237,31 @@ class DefaultRenderedGltfModel implements RenderedGltfModel
         }
     }
     
+    /**
+     * Create a supplier for the global transform of the given 
+     * {@link NodeModel}. If the node is part of one of the scenes, then
+     * the supplier will provide the transform that was computed by the
+     * respective {@link SceneTransformEngine} at the beginning of the 
+     * current rendering pass. Otherwise, the global transform will be
+     * computed by the node itself.
+     * 
+     * @param nodeModel The {@link NodeModel}
+     * @return The supplier
+     */
+    private Supplier<float[]> createGlobalTransformSupplier(
+        NodeModel nodeModel)
+    {
+        for (SceneTransformEngine sceneTransformEngine : sceneTransformEngines)
+        {
+            if (sceneTransformEngine.getIndex(nodeModel) != -1)
+            {
+                return sceneTransformEngine.createGlobalTransformSupplier(
+                    nodeModel);
+            }
+        }
+        return nodeModel.createGlobalTransformSupplier();
+    }
+    
     /**
      * Process the given {@link SceneModel}, passing all its nodes to the
      * {@link #processNodeModel(NodeModel)} method
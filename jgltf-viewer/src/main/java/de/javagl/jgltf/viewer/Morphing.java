@@ -54,6 +54,12 @@ class Morphing
     private static final Logger logger =
         Logger.getLogger(Morphing.class.getName());
     
+    /**
+     * The number of elements that are combined at once when computing
+     * the morphed data
+     */
+    private static final int COMBINE_CHUNK_SIZE = 1024;
+    
     /**
      * A class representing an attribute to which morphing can be applied.
      */
@@ -278,20 +284,48 @@ class Morphing
         // which cannot be morphed.
         int numComponents = 3;
         int numElements = morphed.getNumElements();
-        for (int e = 0; e < numElements; e++)
+        
+        // The data is processed in chunks of elements, which are read
+        // and written with the bulk methods of the accessor data
+        int chunkSize = Math.min(numElements, COMBINE_CHUNK_SIZE);
+        int morphedNc = morphed.getNumComponentsPerElement();
+        int baseNc = base.getNumComponentsPerElement();
+        float morphedValues[] = new float[chunkSize * morphedNc];
+        float baseValues[] = new float[chunkSize * baseNc];
+        float targetValues[] = new float[chunkSize * 4];
+        for (int start = 0; start < numElements; start += chunkSize)
         {
-            for (int c = 0; c < numComponents; c++)
+            int n = Math.min(chunkSize, numElements - start);
+            morphed.readInto(morphedValues, start, n);
+            base.readInto(baseValues, start, n);
+            for (int e = 0; e < n; e++)
+            {
+                for (int c = 0; c < numComponents; c++)
+                {
+                    morphedValues[e * morphedNc + c] = 
+                        baseValues[e * baseNc + c];
+                }
+            }
+            for (int i = 0; i < weights.length; i++)
             {
-                float r = base.get(e, c);
-                for (int i = 0; i < weights.length; i++)
+                float w = weights[i];
+                AccessorFloatData target = targets.get(i);
+                int targetNc = target.getNumComponentsPerElement();
+                if (targetValues.length < n * targetNc)
+                {
+                    targetValues = new float[chunkSize * targetNc];
+                }
+                target.readInto(targetValues, start, n);
+                for (int e = 0; e < n; e++)
                 {
-                    float w = weights[i];
-                    AccessorFloatData target = targets.get(i);
-                    float d = target.get(e, c);
-                    r += w * d;
+                    for (int c = 0; c < numComponents; c++)
+                    {
+                        float d = targetValues[e * targetNc + c];
+                        morphedValues[e * morphedNc + c] += w * d;
+                    }
                 }
-                morphed.set(e, c, r);
             }
+            morphed.writeFrom(morphedValues, start, n);
         }
     }
 
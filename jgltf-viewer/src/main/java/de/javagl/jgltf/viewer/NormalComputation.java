@@ -75,6 +75,12 @@ public class NormalComputation
         AccessorFloatData normalsAccessorData = 
             AccessorDatas.createFloat(normalsAccessorModel); 
         
+        // Read all positions and write all normals with single bulk 
+        // operations, instead of accessing the components one by one
+        float positions[] = new float[numPositions * 3];
+        positionsAccessorData.readInto(positions, 0, numPositions);
+        float normals[] = new float[numPositions * 3];
+        
         float vertex0[] = new float[3];
         float vertex1[] = new float[3];
         float vertex2[] = new float[3];
@@ -87,17 +93,18 @@ public class NormalComputation
             int index0 = indices[i * 3 + 0];
             int index1 = indices[i * 3 + 1];
             int index2 = indices[i * 3 + 2];
-            getVector3D(positionsAccessorData, index0, vertex0);
-            getVector3D(positionsAccessorData, index1, vertex1);
-            getVector3D(positionsAccessorData, index2, vertex2);
+            getVector3D(positions, index0, vertex0);
+            getVector3D(positions, index1, vertex1);
+            getVector3D(positions, index2, vertex2);
             subtract(vertex1, vertex0, edge01);
             subtract(vertex2, vertex0, edge02);
             cross(edge01, edge02, cross);
             normalize(cross, normal);
-            setVector3D(normalsAccessorData, index0, normal);
-            setVector3D(normalsAccessorData, index1, normal);
-            setVector3D(normalsAccessorData, index2, normal);
+            setVector3D(normals, index0, normal);
+            setVector3D(normals, index1, normal);
+            setVector3D(normals, index2, normal);
         }
+        normalsAccessorData.writeFrom(normals, 0, numPositions);
         return normalsAccessorModel;
     }
     
@@ -207,33 +214,33 @@ public class NormalComputation
     }
     
     /**
-     * Obtain a 3D vector from the given {@link AccessorFloatData}
+     * Obtain a 3D vector from the given array of vector components
      * 
-     * @param accessorFloatData The data
+     * @param vectors The vector components
      * @param index The index of the vector (element)
      * @param result The array that will store the result
      */
-    private static void getVector3D(AccessorFloatData accessorFloatData,
+    private static void getVector3D(float vectors[], 
         int index, float result[])
     {
-        result[0] = accessorFloatData.get(index, 0);
-        result[1] = accessorFloatData.get(index, 1);
-        result[2] = accessorFloatData.get(index, 2);
+        result[0] = vectors[index * 3 + 0];
+        result[1] = vectors[index * 3 + 1];
+        result[2] = vectors[index * 3 + 2];
     }    
     
     /**
-     * Set a 3D vector in the given {@link AccessorFloatData}
+     * Set a 3D vector in the given array of vector components
      * 
-     * @param accessorFloatData The data
+     * @param vectors The vector components
      * @param index The index of the vector (element)
      * @param vector The vector to set
      */
-    private static void setVector3D(AccessorFloatData accessorFloatData,
+    private static void setVector3D(float vectors[],
         int index, float vector[])
     {
-        accessorFloatData.set(index, 0, vector[0]);
-        accessorFloatData.set(index, 1, vector[1]);
-        accessorFloatData.set(index, 2, vector[2]);
+        vectors[index * 3 + 0] = vector[0];
+        vectors[index * 3 + 1] = vector[1];
+        vectors[index * 3 + 2] = vector[2];
     }    
 
     /**
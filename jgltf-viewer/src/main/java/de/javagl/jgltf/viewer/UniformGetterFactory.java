@@ -32,6 +32,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -70,6 +71,13 @@ class UniformGetterFactory
      */
     private final Supplier<float[]> viewportSupplier;
     
+    /**
+     * The function that creates the suppliers for the global transforms
+     * of nodes
+     */
+    private final Function<NodeModel, Supplier<float[]>> 
+        globalTransformSupplierFactory;
+    
     /**
      * The set of uniform names for which a <code>null</code> value 
      * was already reported. This is mainly intended for debugging.
@@ -93,12 +101,16 @@ class UniformGetterFactory
      * column-major order
      * @param rtcCenter An optional 3D center point for the CESIUM_RTC 
      * extension
+     * @param globalTransformSupplierFactory The function that creates the
+     * suppliers for the global transforms of nodes, which are assumed to
+     * provide 4x4 matrices in column-major order
      */
     public UniformGetterFactory(
         Supplier<float[]> viewportSupplier,
         Supplier<float[]> viewMatrixSupplier,
         Supplier<float[]> projectionMatrixSupplier,
-        float rtcCenter[])
+        float rtcCenter[],
+        Function<NodeModel, Supplier<float[]>> globalTransformSupplierFactory)
     {
         this.viewportSupplier = Objects.requireNonNull(viewportSupplier, 
             "The viewportSupplier may not be null");
@@ -108,6 +120,9 @@ class UniformGetterFactory
             Objects.requireNonNull(projectionMatrixSupplier, 
                 "The projectionMatrixSupplier may not be null");
         this.rtcCenter = rtcCenter == null ? new float[3] : rtcCenter.clone();
+        this.globalTransformSupplierFactory = 
+            Objects.requireNonNull(globalTransformSupplierFactory, 
+                "The globalTransformSupplierFactory may not be null");
         this.reportedNullUniformNames = new LinkedHashSet<String>();
     }
     
@@ -293,7 +308,7 @@ class UniformGetterFactory
             
             case MODEL:
             {
-                return nodeModel.createGlobalTransformSupplier();
+                return globalTransformSupplierFactory.apply(nodeModel);
             }
             
             case VIEW:
@@ -309,7 +324,7 @@ class UniformGetterFactory
             case MODELVIEW:
             {
                 Supplier<float[]> modelMatrixSupplier = 
-                    nodeModel.createGlobalTransformSupplier();
+                    globalTransformSupplierFactory.apply(nodeModel);
                 return MatrixOps
                     .create4x4(viewMatrixSupplier)
                     .multiply4x4(modelMatrixSupplier)
@@ -320,7 +335,7 @@ class UniformGetterFactory
             case MODELVIEWPROJECTION:
             {
                 Supplier<float[]> modelMatrixSupplier = 
-                    nodeModel.createGlobalTransformSupplier();
+                    globalTransformSupplierFactory.apply(nodeModel);
                 return MatrixOps
                     .create4x4(projectionMatrixSupplier)
                     .multiply4x4(viewMatrixSupplier)
@@ -332,7 +347,7 @@ class UniformGetterFactory
             case MODELINVERSE:
             {
                 Supplier<float[]> modelMatrixSupplier = 
-                    nodeModel.createGlobalTransformSupplier();
+                    globalTransformSupplierFactory.apply(nodeModel);
                 return MatrixOps
                     .create4x4(modelMatrixSupplier)
                     .invert4x4()
@@ -352,7 +367,7 @@ class UniformGetterFactory
             case MODELVIEWINVERSE:
             {
                 Supplier<float[]> modelMatrixSupplier = 
-                    nodeModel.createGlobalTransformSupplier();
+                    globalTransformSupplierFactory.apply(nodeModel);
                 return MatrixOps
                     .create4x4(viewMatrixSupplier)
                     .multiply4x4(modelMatrixSupplier)
@@ -373,7 +388,7 @@ class UniformGetterFactory
             case MODELVIEWPROJECTIONINVERSE:
             {
                 Supplier<float[]> modelMatrixSupplier = 
-                    nodeModel.createGlobalTransformSupplier();
+                    globalTransformSupplierFactory.apply(nodeModel);
                 return MatrixOps
                     .create4x4(projectionMatrixSupplier)
                     .multiply4x4(viewMatrixSupplier)
@@ -386,7 +401,7 @@ class UniformGetterFactory
             case MODELINVERSETRANSPOSE:
             {
                 Supplier<float[]> modelMatrixSupplier = 
-                    nodeModel.createGlobalTransformSupplier();
+                    globalTransformSupplierFactory.apply(nodeModel);
                 return MatrixOps
                     .create4x4(modelMatrixSupplier)
                     .invert4x4()
@@ -399,7 +414,7 @@ class UniformGetterFactory
             case MODELVIEWINVERSETRANSPOSE:
             {
                 Supplier<float[]> modelMatrixSupplier = 
-                    nodeModel.createGlobalTransformSupplier();
+                    globalTransformSupplierFactory.apply(nodeModel);
                 return MatrixOps
                     .create4x4(viewMatrixSupplier)
                     .multiply4x4(modelMatrixSupplier)
@@ -435,7 +450,7 @@ class UniformGetterFactory
      * @param nodeModel The {@link NodeModel} 
      * @return The supplier
      */
-    private static Supplier<float[]> createJointMatrixSupplier(
+    private Supplier<float[]> createJointMatrixSupplier(
         NodeModel nodeModel)
     {
         SkinModel skinModel = nodeModel.getSkinModel();
@@ -487,11 +502,13 @@ class UniformGetterFactory
             
             Supplier<float[]> inverseBindMatrixSupplier = 
                 inverseBindMatrixSuppliers.get(j);
+            Supplier<float[]> jointGlobalTransformSupplier = 
+                globalTransformSupplierFactory.apply(jointNodeModel);
             
             Supplier<float[]> jointMatrixSupplier = MatrixOps
-                .create4x4(nodeModel.createGlobalTransformSupplier())
+                .create4x4(globalTransformSupplierFactory.apply(nodeModel))
                 .invert4x4()
-                .multiply4x4(jointNodeModel.createGlobalTransformSupplier())
+                .multiply4x4(jointGlobalTransformSupplier)
                 .multiply4x4(inverseBindMatrixSupplier)
                 .multiply4x4(bindShapeMatrixSupplier)
                 .log("jointMatrix "+j, Level.FINE)